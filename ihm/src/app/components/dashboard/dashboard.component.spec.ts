@@ -5,6 +5,7 @@ import { of } from 'rxjs'; // Import 'of' for creating observables
 
 import { DashboardComponent } from './dashboard.component';
 import { ApiService } from '../../services/api.service'; // Import ApiService
+import { AuthService } from '../../services/auth.service';
 
 /**
  * Suite de tests pour le composant DashboardComponent.
@@ -26,6 +27,10 @@ describe('DashboardComponent', () => {
    * Mock du service ApiService.
    */
   let mockApiService: any;
+  /**
+   * Mock du service AuthService.
+   */
+  let mockAuthService: any;
 
   /**
    * Configure l'environnement de test avant chaque test.
@@ -37,14 +42,21 @@ describe('DashboardComponent', () => {
 
     // Création d'un mock pour ApiService
     mockApiService = {
-      getProjectsByUserId: jasmine.createSpy('getProjectsByUserId').and.returnValue(of([]))
+      getProjectsByUserId: jasmine.createSpy('getProjectsByUserId').and.returnValue(of([])),
+      getUserDashboard: jasmine.createSpy('getUserDashboard').and.returnValue(of({
+        userId: 1, projects: [], tasks: [], statusCounts: { TODO: 2 }
+      }))
+    };
+    mockAuthService = {
+      user: { id: 1 }
     };
 
     await TestBed.configureTestingModule({
       imports: [DashboardComponent, HttpClientTestingModule],
       providers: [
         { provide: Router, useValue: mockRouter },
-        { provide: ApiService, useValue: mockApiService }
+        { provide: ApiService, useValue: mockApiService },
+        { provide: AuthService, useValue: mockAuthService }
       ]
     }).compileComponents();
 
@@ -67,4 +79,13 @@ describe('DashboardComponent', () => {
     component.goToNewProject();
     expect(mockRouter.navigate).toHaveBeenCalledWith(['/new-project']);
   });
+
+  /**
+   * Vérifie que le tableau de bord de l'utilisateur connecté est chargé et ses compteurs affichés.
+   */
+  it('should load the dashboard of the current user', () => {
+    expect(mockApiService.getUserDashboard).toHaveBeenCalledWith(1);
+    const counts = fixture.nativeElement.querySelectorAll('.status-count .count');
+    expect(Array.from(counts).map((c: any) => c.textContent.trim())).toEqual(['2', '0', '0']);
+  });
 });
\ No newline at end of file
@@ -1,10 +1,15 @@
-import { Component } from '@angular/core';
+import { Component, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { Router } from '@angular/router';
+import { Observable } from 'rxjs';
 import { ProjectListComponent } from '../project-list/project-list.component';
+import { ApiService } from '../../services/api.service';
+import { AuthService } from '../../services/auth.service';
+import { UserDashboard } from '../../models/dashboard.model';
 
 /**
- * Composant du tableau de bord affichant la liste des projets et permettant la navigation.
+ * Composant du tableau de bord affichant les tâches assignées à l'utilisateur, leur nombre par statut,
+ * la liste des projets, et permettant la navigation.
  */
 @Component({
   selector: 'app-dashboard',
@@ -13,13 +18,43 @@ import { ProjectListComponent } from '../project-list/project-list.component';
   templateUrl: './dashboard.component.html',
   styleUrls: ['./dashboard.component.css']
 })
-export class DashboardComponent {
+export class DashboardComponent implements OnInit {
+  /**
+   * Les statuts affichés dans le résumé, dans l'ordre.
+   */
+  readonly statuses: { key: 'TODO' | 'IN_PROGRESS' | 'DONE'; label: string }[] = [
+    { key: 'TODO', label: 'À faire' },
+    { key: 'IN_PROGRESS', label: 'En cours' },
+    { key: 'DONE', label: 'Terminées' }
+  ];
+
+  /**
+   * Un Observable du tableau de bord de l'utilisateur connecté.
+   */
+  dashboard$?: Observable<UserDashboard>;
 
   /**
    * Constructeur du DashboardComponent.
    * @param router Le service Router pour la navigation.
+   * @param apiService Le service API pour récupérer le tableau de bord.
+   * @param authService Le service d'authentification pour obtenir l'ID de l'utilisateur.
    */
-  constructor(private router: Router) {}
+  constructor(
+    private router: Router,
+    private apiService: ApiService,
+    private authService: AuthService
+  ) {}
+
+  /**
+   * Méthode du cycle de vie ngOnInit.
+   * Charge le tableau de bord de l'utilisateur connecté.
+   */
+  ngOnInit(): void {
+    const user = this.authService.user;
+    if (user) {
+      this.dashboard$ = this.apiService.getUserDashboard(user.id);
+    }
+  }
 
   /**
    * Navigue vers la page de création d'un nouveau projet.
@@ -27,4 +62,12 @@ export class DashboardComponent {
   goToNewProject() {
     this.router.navigate(['/new-project']);
   }
-}
\ No newline at end of file
+
+  /**
+   * Navigue vers le projet d'une tâche assignée.
+   * @param projectId L'ID du projet de la tâche.
+   */
+  goToProject(projectId: number): void {
+    this.router.navigate(['/project', projectId]);
+  }
+}
@@ -5,10 +5,11 @@ import { of } from 'rxjs';
 import { SimpleChanges, SimpleChange } from '@angular/core';
 import { By } from '@angular/platform-browser';
 
-import { HistoriqueComponent } from './historique.component';
+import { HistoriqueComponent, HISTORIQUE_PAGE_SIZE } from './historique.component';
 import { ApiService } from '../../services/api.service';
 import { Historique } from '../../models/historique.model';
-import { User } from '../../models/user.model';
+import { UserSummary } from '../../models/user.model';
+import { Type } from '../../models/type.model';
 
 /**
  * Suite de tests pour le composant HistoriqueComponent.
@@ -27,10 +28,12 @@ describe('HistoriqueComponent', () => {
    */
   let mockApiService: any;
 
-  const mockUser: User = { id: 1, nom: 'Test User', email: 'test@example.com' };
+  const mockUser: UserSummary = { id: 1, nom: 'Test User' };
   const mockHistoriques: Historique[] = [
-    { id: 1, oldString: 'Old1', newString: 'New1', dateM: new Date(), typeM: 0, user: mockUser },
-    { id: 2, oldString: 'Old2', newString: 'New2', dateM: new Date(), typeM: 1, user: mockUser }
+    { id: 1, oldString: 'Old1', newString: 'New1', dateM: new Date(), typeM: Type.Titre, user: mockUser,
+      changes: [{ field: Type.Titre, oldValue: 'Old1', newValue: 'New1' }] },
+    { id: 2, oldString: '', newString: '', dateM: new Date(), typeM: Type.Modification, user: mockUser,
+      changes: [{ field: Type.Statut, oldValue: 'TODO', newValue: 'DONE' }, { field: Type.Priorite, oldValue: null, newValue: 'HIGH' }] }
   ];
 
   beforeEach(async () => {
@@ -147,4 +150,50 @@ describe('HistoriqueComponent', () => {
     const timelineItems = fixture.debugElement.queryAll(By.css('.timeline > li'));
     expect(timelineItems.length).toBe(mockHistoriques.length);
   });
+
+  /**
+   * Teste que chaque champ d'une entrée regroupant plusieurs modifications est affiché avec son libellé.
+   */
+  it('should render every field change of an entry', () => {
+    component.historiques = mockHistoriques;
+    fixture.detectChanges();
+    const labels = fixture.debugElement.queryAll(By.css('.field-label')).map(e => e.nativeElement.textContent.trim());
+    expect(labels).toEqual(['Titre', 'Statut', 'Priorité']);
+    const newValues = fixture.debugElement.queryAll(By.css('.new-value')).map(e => e.nativeElement.textContent.trim());
+    expect(newValues).toEqual(['+ New1', '+ DONE', '+ HIGH']);
+  });
+
+  /**
+   * Teste que la création d'une tâche est signalée en tête de son entrée.
+   */
+  it('should label task creation entries', () => {
+    component.historiques = [
+      { id: 3, oldString: '', newString: '', dateM: new Date(), typeM: Type.Creation, user: mockUser,
+        changes: [{ field: Type.Titre, oldValue: null, newValue: 'Nouvelle tâche' }] },
+      ...mockHistoriques
+    ];
+    fixture.detectChanges();
+    const events = fixture.debugElement.queryAll(By.css('.event-label')).map(e => e.nativeElement.textContent.trim());
+    expect(events).toEqual(['Tâche créée']);
+  });
+
+  /**
+   * Teste que la page suivante est demandée à partir de la dernière entrée affichée et ajoutée à la liste.
+   */
+  it('should load the next page before the last displayed entry', fakeAsync(() => {
+    const firstPage: Historique[] = Array.from({ length: HISTORIQUE_PAGE_SIZE }, (_, i) => ({
+      ...mockHistoriques[0], id: 100 - i
+    }));
+    mockApiService.getHistoriqueForProject.and.returnValues(of(firstPage), of(mockHistoriques));
+    component.projectId = 1;
+    component.loadHistory();
+    tick();
+    expect(component.hasMore).toBeTrue();
+
+    component.loadMore();
+    tick();
+    expect(mockApiService.getHistoriqueForProject).toHaveBeenCalledWith(1, firstPage[firstPage.length - 1].id);
+    expect(component.historiques.length).toBe(HISTORIQUE_PAGE_SIZE + mockHistoriques.length);
+    expect(component.hasMore).toBeFalse();
+  }));
 });
@@ -1,8 +1,31 @@
 import { Component, Input, OnChanges, SimpleChanges } from '@angular/core';
 import { CommonModule, DatePipe } from '@angular/common'; // Import CommonModule and DatePipe
 import { Historique } from '../../models/historique.model';
+import { Type } from '../../models/type.model';
+import { Observable } from 'rxjs';
 import { ApiService } from '../../services/api.service'; // Use ApiService
 
+/**
+ * Libellés affichés pour chaque champ modifié.
+ */
+const FIELD_LABELS: Record<Type, string> = {
+  [Type.Titre]: 'Titre',
+  [Type.Description]: 'Description',
+  [Type.Statut]: 'Statut',
+  [Type.Priorite]: 'Priorité',
+  [Type.DateEcheance]: 'Échéance',
+  [Type.DateFin]: 'Date de fin',
+  [Type.DateDebut]: 'Date de début',
+  [Type.Modification]: 'Modification',
+  [Type.Creation]: 'Tâche créée',
+  [Type.Suppression]: 'Tâche supprimée'
+};
+
+/**
+ * Nombre d'entrées renvoyées par page par l'API d'historique.
+ */
+export const HISTORIQUE_PAGE_SIZE = 50;
+
 /**
  * Composant d'affichage de l'historique des modifications pour un projet ou une tâche.
  * Il récupère et affiche la liste des événements historiques.
@@ -31,6 +54,11 @@ export class HistoriqueComponent implements OnChanges {
    */
   historiques: Historique[] = [];
 
+  /**
+   * Indique si des entrées plus anciennes peuvent encore être chargées.
+   */
+  hasMore = false;
+
   /**
    * Constructeur du HistoriqueComponent.
    * @param apiService Le service API pour récupérer les données historiques.
@@ -49,18 +77,63 @@ export class HistoriqueComponent implements OnChanges {
   }
 
   /**
-   * Charge l'historique des modifications en fonction du projectId ou du taskId fourni.
+   * Charge la première page de l'historique des modifications en fonction du projectId ou du taskId fourni.
    * Met à jour la propriété `historiques` avec les données récupérées.
    */
   public loadHistory(): void {
+    this.fetchPage()?.subscribe(data => {
+      this.historiques = data;
+      this.hasMore = data.length >= HISTORIQUE_PAGE_SIZE;
+    });
+  }
+
+  /**
+   * Charge la page suivante de l'historique, à partir de la plus ancienne entrée affichée.
+   */
+  public loadMore(): void {
+    const last = this.historiques[this.historiques.length - 1];
+    if (!last) {
+      return;
+    }
+    this.fetchPage(last.id)?.subscribe(data => {
+      this.historiques = [...this.historiques, ...data];
+      this.hasMore = data.length >= HISTORIQUE_PAGE_SIZE;
+    });
+  }
+
+  /**
+   * Demande une page d'historique pour le projet ou la tâche affiché.
+   * @param before L'identifiant de la dernière entrée déjà reçue, absent pour la première page.
+   * @returns L'Observable de la page, ou undefined si ni projet ni tâche n'est défini.
+   */
+  private fetchPage(before?: number): Observable<Historique[]> | undefined {
     if (this.projectId) {
-      this.apiService.getHistoriqueForProject(this.projectId).subscribe(data => {
-        this.historiques = data;
-      });
+      return before === undefined
+        ? this.apiService.getHistoriqueForProject(this.projectId)
+        : this.apiService.getHistoriqueForProject(this.projectId, before);
     } else if (this.taskId) {
-      this.apiService.getHistoriqueForTask(this.taskId).subscribe(data => {
-        this.historiques = data;
-      });
+      return before === undefined
+        ? this.apiService.getHistoriqueForTask(this.taskId)
+        : this.apiService.getHistoriqueForTask(this.taskId, before);
     }
+    return undefined;
+  }
+
+  /**
+   * Retourne le libellé d'un champ modifié.
+   * @param field Le champ modifié.
+   * @returns Le libellé à afficher.
+   */
+  fieldLabel(field: Type): string {
+    return FIELD_LABELS[field] ?? field;
+  }
+
+  /**
+   * Indique si une entrée correspond à la création ou à la suppression d'une tâche.
+   * @param item L'entrée d'historique.
+   * @returns true pour une création ou une suppression.
+   */
+  isLifecycleEvent(item: Historique): boolean {
+    return item.typeM === Type.Creation || item.typeM === Type.Suppression;
   }
 }
\ No newline at end of file
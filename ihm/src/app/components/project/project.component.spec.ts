@@ -1,9 +1,10 @@
 import { ComponentFixture, TestBed, fakeAsync, tick } from '@angular/core/testing';
 import { ActivatedRoute, Router } from '@angular/router';
 import { FormBuilder, ReactiveFormsModule } from '@angular/forms';
-import { of, throwError } from 'rxjs';
+import { of, throwError, NEVER } from 'rxjs';
 import { ProjectComponent } from './project.component';
 import { ApiService } from '../../services/api.service';
+import { ProjectBoard } from '../../models/board.model';
 import { AuthService } from '../../services/auth.service';
 import { Project } from '../../models/project.model';
 import { User } from '../../models/user.model';
@@ -92,6 +93,21 @@ describe('ProjectComponent', () => {
       { id: 3, nom: 'Task 3', status: 'DONE', projectId: 101 } as Task,
     ],
   };
+  /**
+   * Tableau mocké du projet, tel que renvoyé en une seule réponse.
+   */
+  const mockBoard: ProjectBoard = {
+    project: {
+      id: mockProject.id,
+      nom: mockProject.nom,
+      description: mockProject.description,
+      dateDebut: mockProject.dateDebut,
+      dateFin: mockProject.dateFin,
+    },
+    tasks: mockProject.tasks,
+    members: [{ id: 7, userId: 1, nom: 'Test User', email: 'test@example.com', role: 'ADMIN' }],
+    assignments: [{ id: 9, userId: 1, taskId: 2, username: 'Test User' }],
+  };
   /**
    * Liste de tous les utilisateurs mockés.
    */
@@ -112,13 +128,14 @@ describe('ProjectComponent', () => {
       },
     };
     mockApiService = {
-      getProjectById: jasmine.createSpy('getProjectById').and.returnValue(of(mockProject)),
+      getProjectBoard: jasmine.createSpy('getProjectBoard').and.returnValue(of(mockBoard)),
       getAllUsers: jasmine.createSpy('getAllUsers').and.returnValue(of(mockAllUsers)),
       updateProject: jasmine.createSpy('updateProject').and.returnValue(of(mockProject)),
       deleteProject: jasmine.createSpy('deleteProject').and.returnValue(of(void 0)),
       updateTask: jasmine.createSpy('updateTask').and.returnValue(of({})), // For drop method
       getUsersProject: jasmine.createSpy('getUsersProject').and.returnValue(of({ users: [] })),
       getHistoriqueForProject: jasmine.createSpy('getHistoriqueForProject').and.returnValue(of([])),
+      getProjectEvents: jasmine.createSpy('getProjectEvents').and.returnValue(NEVER),
     };
     mockAuthService = {
       user: mockUser,
@@ -165,8 +182,10 @@ describe('ProjectComponent', () => {
     tick(); // Simulate passage of time for async operations
 
     expect(component['loadProjectData']).toHaveBeenCalledWith(101); // Check private method call
-    expect(mockApiService.getProjectById).toHaveBeenCalledWith(101);
+    expect(mockApiService.getProjectBoard).toHaveBeenCalledWith(101);
     expect(component.project).toEqual(mockProject);
+    expect(component.currentUserRole).toBe('ADMIN');
+    expect(component.assigneesByTask.get(2)).toEqual(['Test User']);
     expect(component.todoTasks.length).toBe(1);
     expect(component.inProgressTasks.length).toBe(1);
     expect(component.doneTasks.length).toBe(1);
@@ -1,4 +1,6 @@
-import { AfterViewInit, Component, inject, OnInit, ViewChild } from '@angular/core';
+import { AfterViewInit, Component, inject, OnDestroy, OnInit, ViewChild } from '@angular/core';
+import { Subscription } from 'rxjs';
+import { debounceTime } from 'rxjs/operators';
 import { ActivatedRoute, Router } from '@angular/router';
 import { ApiService } from '../../services/api.service';
 import { Project } from '../../models/project.model';
@@ -24,7 +26,7 @@ import { ProjectUpdatePayload } from '../../models/project-update.model';
   templateUrl: './project.component.html',
   styleUrls: ['./project.component.css']
 })
-export class ProjectComponent implements OnInit, AfterViewInit {
+export class ProjectComponent implements OnInit, AfterViewInit, OnDestroy {
   /**
    * Référence au composant Historique enfant.
    */
@@ -53,6 +55,11 @@ export class ProjectComponent implements OnInit, AfterViewInit {
 
   private authService = inject(AuthService);
 
+  /**
+   * Abonnement aux changements du projet poussés par le serveur.
+   */
+  private eventsSubscription?: Subscription;
+
   /**
    * Liste des tâches avec le statut 'À FAIRE'.
    */
@@ -66,6 +73,11 @@ export class ProjectComponent implements OnInit, AfterViewInit {
    */
   doneTasks: Task[] = [];
 
+  /**
+   * Noms des utilisateurs assignés à chaque tâche, indexés par identifiant de tâche.
+   */
+  assigneesByTask = new Map<number, string[]>();
+
   /**
    * Liste de tous les utilisateurs disponibles.
    */
@@ -98,15 +110,27 @@ export class ProjectComponent implements OnInit, AfterViewInit {
 
   /**
    * Méthode du cycle de vie ngOnInit.
-   * Charge les données du projet lorsque le composant est initialisé.
+   * Charge les données du projet lorsque le composant est initialisé, puis les recharge à chaque
+   * changement poussé par le serveur ; les changements rapprochés ne provoquent qu'un rechargement.
    */
   ngOnInit(): void {
     const id = this.route.snapshot.paramMap.get('id');
     if (id) {
       this.loadProjectData(+id);
+      this.eventsSubscription = this.apiService.getProjectEvents(+id)
+        .pipe(debounceTime(300))
+        .subscribe(() => this.loadProjectData(+id));
     }
   }
 
+  /**
+   * Méthode du cycle de vie ngOnDestroy.
+   * Ferme la connexion aux changements du projet.
+   */
+  ngOnDestroy(): void {
+    this.eventsSubscription?.unsubscribe();
+  }
+
   /**
    * Méthode du cycle de vie ngAfterViewInit.
    * Assure que les composants enfants sont initialisés avant d'appeler leurs méthodes.
@@ -123,24 +147,28 @@ export class ProjectComponent implements OnInit, AfterViewInit {
    * @param id L'ID du projet à charger.
    */
   private loadProjectData(id: number): void {
-    this.apiService.getProjectById(id).subscribe(project => {
+    this.apiService.getProjectBoard(id).subscribe(board => {
+      const project: Project = { ...board.project, tasks: board.tasks };
       this.project = project;
       this.projectForm.patchValue(project);
       this.todoTasks = project.tasks.filter(t => t.status === 'TODO');
       this.inProgressTasks = project.tasks.filter(t => t.status === 'IN_PROGRESS');
       this.doneTasks = project.tasks.filter(t => t.status === 'DONE');
 
+      this.assigneesByTask = new Map();
+      for (const assigned of board.assignments) {
+        const names = this.assigneesByTask.get(assigned.taskId) ?? [];
+        names.push(assigned.username);
+        this.assigneesByTask.set(assigned.taskId, names);
+      }
+
       this.apiService.getAllUsers().subscribe(users => {
         this.allUsers = users;
       });
 
-      // Fetch current user's role for this project
-      if (this.authService.user && this.project.id) {
-        this.apiService.getUsersProject(this.project.id).subscribe(usersProject => {
-          const userRole = usersProject.users.find(up => up.userId === this.authService.user?.id);
-          this.currentUserRole = userRole ? userRole.role : null;
-        });
-      }
+      // Rôle de l'utilisateur courant, lu parmi les membres du tableau
+      const member = board.members.find(m => m.userId === this.authService.user?.id);
+      this.currentUserRole = member ? member.role : null;
 
       // Explicitly reload child components after main project data is loaded
       if (this.historiqueComponent) {
@@ -0,0 +1,78 @@
+import { Task } from './task.model';
+import { Assigned } from './user.model';
+
+/**
+ * Interface représentant un membre d'un projet avec son rôle.
+ */
+export interface ProjectMember {
+    /**
+     * L'identifiant de l'association entre l'utilisateur et le projet.
+     */
+    id: number;
+    /**
+     * L'identifiant de l'utilisateur.
+     */
+    userId: number;
+    /**
+     * Le nom de l'utilisateur.
+     */
+    nom: string;
+    /**
+     * L'adresse e-mail de l'utilisateur.
+     */
+    email: string;
+    /**
+     * Le rôle de l'utilisateur dans le projet (par exemple, 'ADMIN', 'MEMBER', 'OBSERVER').
+     */
+    role: string;
+}
+
+/**
+ * Interface représentant le tableau d'un projet, reçu en une seule réponse.
+ */
+export interface ProjectBoard {
+    /**
+     * Le projet, sans ses tâches.
+     */
+    project: {
+        id: number;
+        nom: string;
+        description: string;
+        dateDebut: Date;
+        dateFin: Date;
+    };
+    /**
+     * Les tâches du projet.
+     */
+    tasks: Task[];
+    /**
+     * Les membres du projet avec leur rôle.
+     */
+    members: ProjectMember[];
+    /**
+     * Les assignations des tâches du projet.
+     */
+    assignments: Assigned[];
+}
+
+/**
+ * Interface représentant les compteurs de tâches d'un projet, tenus à jour par le serveur.
+ */
+export interface ProjectStats {
+    /**
+     * L'identifiant du projet.
+     */
+    projectId: number;
+    /**
+     * Le nombre total de tâches du projet.
+     */
+    total: number;
+    /**
+     * Le nombre de tâches par statut, y compris les statuts sans tâche.
+     */
+    statusCounts: Record<Task['status'], number>;
+    /**
+     * Le nombre de tâches par priorité, y compris les priorités sans tâche.
+     */
+    prioriteCounts: Record<Task['priorite'], number>;
+}
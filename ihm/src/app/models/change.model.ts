@@ -0,0 +1,89 @@
+import { Project } from './project.model';
+import { Task } from './task.model';
+import { Assigned } from './user.model';
+import { UserRole } from './userProject.model';
+
+/**
+ * Type d'entité concerné par un changement.
+ */
+export type ChangeEntity = 'PROJECT' | 'TASK' | 'PROJECT_USER' | 'TASK_ASSIGN';
+
+/**
+ * Nature d'un changement : version courante à appliquer, ou entité supprimée.
+ */
+export type ChangeOperation = 'UPSERT' | 'DELETE';
+
+/**
+ * Interface représentant un changement du flux de synchronisation.
+ */
+export interface Change {
+    /**
+     * L'identifiant de l'entrée du journal.
+     */
+    id: number;
+    /**
+     * Le type de l'entité.
+     */
+    entity: ChangeEntity;
+    /**
+     * L'identifiant de l'entité.
+     */
+    entityId: number;
+    /**
+     * L'identifiant du projet de l'entité.
+     */
+    projectId: number | null;
+    /**
+     * La nature du changement.
+     */
+    operation: ChangeOperation;
+    /**
+     * La version courante de l'entité, absente pour une suppression.
+     * La suppression d'un projet vaut suppression de son contenu, celle d'une tâche de ses assignations.
+     */
+    data: Project | Task | UserRole | Assigned | null;
+}
+
+/**
+ * Interface représentant une page du flux de synchronisation.
+ */
+export interface ChangeFeed {
+    /**
+     * Les changements de la page, au plus un par entité.
+     */
+    changes: Change[];
+    /**
+     * Le curseur à renvoyer pour obtenir les changements suivants.
+     */
+    cursor: number;
+    /**
+     * Indique que d'autres changements sont déjà disponibles.
+     */
+    hasMore: boolean;
+    /**
+     * Indique que le client doit recharger toutes ses données avant de repartir du curseur.
+     */
+    reset: boolean;
+}
+
+/**
+ * Interface représentant un changement poussé en direct aux clients abonnés à un projet.
+ */
+export interface ProjectEvent {
+    /**
+     * Le type de l'entité.
+     */
+    entity: ChangeEntity;
+    /**
+     * L'identifiant de l'entité.
+     */
+    entityId: number;
+    /**
+     * L'identifiant du projet de l'entité.
+     */
+    projectId: number;
+    /**
+     * La nature du changement.
+     */
+    operation: ChangeOperation;
+}
@@ -0,0 +1,49 @@
+import { Task } from './task.model';
+
+/**
+ * Interface représentant un projet dans le tableau de bord d'un utilisateur.
+ */
+export interface DashboardProject {
+    /**
+     * L'identifiant de l'association entre l'utilisateur et le projet.
+     */
+    id: number;
+    /**
+     * L'identifiant de l'utilisateur.
+     */
+    userId: number;
+    /**
+     * L'identifiant du projet.
+     */
+    projectId: number;
+    /**
+     * Le nom du projet.
+     */
+    nom: string;
+    /**
+     * Le rôle de l'utilisateur dans le projet (par exemple, 'ADMIN', 'MEMBER', 'OBSERVER').
+     */
+    role: string;
+}
+
+/**
+ * Interface représentant le tableau de bord d'accueil d'un utilisateur.
+ */
+export interface UserDashboard {
+    /**
+     * L'identifiant de l'utilisateur.
+     */
+    userId: number;
+    /**
+     * Les projets de l'utilisateur.
+     */
+    projects: DashboardProject[];
+    /**
+     * Les tâches assignées à l'utilisateur.
+     */
+    tasks: Task[];
+    /**
+     * Le nombre de tâches assignées par statut ; les statuts sans tâche sont absents.
+     */
+    statusCounts: Partial<Record<Task['status'], number>>;
+}
@@ -1,6 +1,24 @@
-import { User } from './user.model';
+import { UserSummary } from './user.model';
 import { Type } from './type.model';
 
+/**
+ * Interface représentant la modification d'un champ au sein d'une entrée d'historique.
+ */
+export interface FieldChange {
+    /**
+     * Le champ modifié.
+     */
+    field: Type;
+    /**
+     * L'ancienne valeur du champ, absente si le champ était vide.
+     */
+    oldValue?: string | null;
+    /**
+     * La nouvelle valeur du champ, absente si le champ a été vidé.
+     */
+    newValue?: string | null;
+}
+
 /**
  * Interface représentant l'historique des modifications d'un projet ou d'une tâche.
  */
@@ -10,9 +28,9 @@ export interface Historique {
      */
     id: number;
     /**
-     * L'utilisateur ayant effectué la modification.
+     * L'utilisateur ayant effectué la modification, ou null s'il n'existe plus.
      */
-    user: User;
+    user: UserSummary | null;
     /**
      * L'identifiant du projet si la modification concerne un projet.
      * Optionnel, car l'historique peut concerner une tâche.
@@ -39,4 +57,8 @@ export interface Historique {
      * Le type de modification effectuée.
      */
     typeM: Type;
+    /**
+     * Les champs modifiés lors de cette mise à jour, avec leurs anciennes et nouvelles valeurs.
+     */
+    changes: FieldChange[];
 }
\ No newline at end of file
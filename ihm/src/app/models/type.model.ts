@@ -1,13 +1,46 @@
 /**
  * Énumération représentant les types de modifications possibles pour l'historique.
+ * Les valeurs correspondent aux noms envoyés par l'API.
  */
 export enum Type {
     /**
      * Indique une modification du titre.
      */
-    Titre,
+    Titre = 'Titre',
     /**
      * Indique une modification de la description.
      */
-    Description
-}
\ No newline at end of file
+    Description = 'Description',
+    /**
+     * Indique une modification du statut d'une tâche.
+     */
+    Statut = 'Statut',
+    /**
+     * Indique une modification de la priorité d'une tâche.
+     */
+    Priorite = 'Priorite',
+    /**
+     * Indique une modification de la date d'échéance d'une tâche.
+     */
+    DateEcheance = 'DateEcheance',
+    /**
+     * Indique une modification de la date de fin.
+     */
+    DateFin = 'DateFin',
+    /**
+     * Indique une modification de la date de début d'un projet.
+     */
+    DateDebut = 'DateDebut',
+    /**
+     * Indique une mise à jour regroupant plusieurs champs, détaillés dans `changes`.
+     */
+    Modification = 'Modification',
+    /**
+     * Indique la création d'une tâche, avec ses valeurs initiales dans `changes`.
+     */
+    Creation = 'Creation',
+    /**
+     * Indique la suppression d'une tâche, avec ses dernières valeurs dans `changes`.
+     */
+    Suppression = 'Suppression'
+}
@@ -14,8 +14,31 @@ export interface User {
    * L'adresse e-mail de l'utilisateur.
    */
   email: string;
+  /**
+   * La manière dont l'utilisateur reçoit ses notifications e-mail.
+   */
+  notificationMode?: NotificationMode;
 }
 
+/**
+ * Interface représentant un utilisateur réduit à son identifiant et son nom, tel qu'il apparaît dans l'historique.
+ */
+export interface UserSummary {
+  /**
+   * L'identifiant unique de l'utilisateur.
+   */
+  id: number;
+  /**
+   * Le nom de l'utilisateur.
+   */
+  nom: string;
+}
+
+/**
+ * Mode de réception des notifications : un e-mail par assignation, ou un récapitulatif périodique.
+ */
+export type NotificationMode = 'IMMEDIATE' | 'DIGEST';
+
 /**
  * Interface représentant un utilisateur assigné à une tâche.
  */
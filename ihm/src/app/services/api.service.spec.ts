@@ -9,6 +9,7 @@ import { Project } from '../models/project.model';
 import { Task } from '../models/task.model';
 import { UsersProject } from '../models/userProject.model';
 import { Historique } from '../models/historique.model';
+import { Type } from '../models/type.model';
 import { ProjectUpdatePayload } from '../models/project-update.model';
 
 /**
@@ -672,7 +673,7 @@ describe('ApiService', () => {
    */
   it('getHistoriqueForProject should send a GET request and return Historique[]', () => {
     const projectId = 1;
-    const mockHistorique: Historique[] = [{ id: 1, oldString: 'Old', newString: 'New', dateM: new Date(), user: { id: 1, nom: 'U1', email: 'u1@e.com' }, typeM: 0 }];
+    const mockHistorique: Historique[] = [{ id: 1, oldString: 'Old', newString: 'New', dateM: new Date(), user: { id: 1, nom: 'U1' }, typeM: Type.Titre, changes: [{ field: Type.Titre, oldValue: 'Old', newValue: 'New' }] }];
 
     service.getHistoriqueForProject(projectId).subscribe(history => {
       expect(history).toEqual(mockHistorique);
@@ -699,12 +700,20 @@ describe('ApiService', () => {
     req.error(new ErrorEvent('Network error'), mockError);
   });
 
+  it('getHistoriqueForProject should pass the before cursor', () => {
+    service.getHistoriqueForProject(1, 42).subscribe();
+
+    const req = httpTestingController.expectOne(`${apiUrl}/historique/project/1?before=42`);
+    expect(req.request.method).toEqual('GET');
+    req.flush([]);
+  });
+
   /**
    * Tests pour la méthode `getHistoriqueForTask`.
    */
   it('getHistoriqueForTask should send a GET request and return Historique[]', () => {
     const taskId = 1;
-    const mockHistorique: Historique[] = [{ id: 1, oldString: 'Old', newString: 'New', dateM: new Date(), user: { id: 1, nom: 'U1', email: 'u1@e.com' }, typeM: 0 }];
+    const mockHistorique: Historique[] = [{ id: 1, oldString: 'Old', newString: 'New', dateM: new Date(), user: { id: 1, nom: 'U1' }, typeM: Type.Titre, changes: [{ field: Type.Titre, oldValue: 'Old', newValue: 'New' }] }];
 
     service.getHistoriqueForTask(taskId).subscribe(history => {
       expect(history).toEqual(mockHistorique);
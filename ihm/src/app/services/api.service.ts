@@ -3,12 +3,15 @@ import { Injectable } from '@angular/core';
 import { Observable, throwError } from 'rxjs';
 import { catchError } from 'rxjs/operators';
 import { LoginRequest, LoginResponse, SigninRequest } from '../models/requests.model';
-import { Assigned, User } from '../models/user.model';
+import { Assigned, NotificationMode, User } from '../models/user.model';
 import { Project } from '../models/project.model';
 import { Task } from '../models/task.model';
 import { UsersProject } from '../models/userProject.model';
 import { Historique } from '../models/historique.model';
 import { ProjectUpdatePayload } from '../models/project-update.model';
+import { ChangeFeed, ProjectEvent } from '../models/change.model';
+import { ProjectBoard, ProjectStats } from '../models/board.model';
+import { UserDashboard } from '../models/dashboard.model';
 
 /**
  * Interface représentant une erreur API.
@@ -82,6 +85,19 @@ export class ApiService {
       );
   }
 
+  /**
+   * Modifie la manière dont un utilisateur reçoit ses notifications e-mail.
+   * @param userId L'identifiant de l'utilisateur.
+   * @param mode Le mode de notification souhaité.
+   * @returns Un Observable de l'utilisateur mis à jour.
+   */
+  updateNotificationMode(userId: number, mode: NotificationMode): Observable<User> {
+    return this.httpClient.put<User>(`${this.apiUrl}/user/${userId}/notification-mode`, {}, { params: { mode } })
+      .pipe(
+        catchError(this.catchError)
+      );
+  }
+
   /**
    * Crée un nouveau projet.
    * @param project Les données du projet à créer.
@@ -107,7 +123,7 @@ export class ApiService {
   }
 
   /**
-   * Récupère un projet par son identifiant.
+   * Récupère un projet par son identifiant, sans ses tâches (voir getProjectBoard).
    * @param id L'identifiant du projet.
    * @returns Un Observable du projet.
    */
@@ -274,24 +290,94 @@ export class ApiService {
   }
 
   /**
-   * Récupère l'historique des modifications pour un projet.
+   * Récupère en une seule requête le tableau d'un projet : le projet, ses tâches, ses membres et les assignations.
+   * @param id L'identifiant du projet.
+   * @returns Un Observable du tableau du projet.
+   */
+  getProjectBoard(id: number): Observable<ProjectBoard> {
+    return this.httpClient.get<ProjectBoard>(`${this.apiUrl}/project/${id}/board`)
+      .pipe(
+        catchError(this.catchError)
+      );
+  }
+
+  /**
+   * Récupère les compteurs de tâches d'un projet (total, par statut et par priorité) sans charger ses tâches.
+   * @param id L'identifiant du projet.
+   * @returns Un Observable des compteurs du projet.
+   */
+  getProjectStats(id: number): Observable<ProjectStats> {
+    return this.httpClient.get<ProjectStats>(`${this.apiUrl}/project/${id}/stats`)
+      .pipe(
+        catchError(this.catchError)
+      );
+  }
+
+  /**
+   * Récupère le tableau de bord d'accueil d'un utilisateur : ses projets, ses tâches assignées et leur nombre par statut.
+   * @param userId L'identifiant de l'utilisateur.
+   * @returns Un Observable du tableau de bord.
+   */
+  getUserDashboard(userId: number): Observable<UserDashboard> {
+    return this.httpClient.get<UserDashboard>(`${this.apiUrl}/user/${userId}/dashboard`)
+      .pipe(
+        catchError(this.catchError)
+      );
+  }
+
+  /**
+   * S'abonne aux changements d'un projet poussés par le serveur (Server-Sent Events).
+   * Un événement « resync », envoyé quand le client n'a pas suivi, est transmis comme un changement
+   * sans entité : le projet doit être rechargé. La connexion est fermée au désabonnement.
+   * @param projectId L'identifiant du projet.
+   * @returns Un Observable des changements du projet.
+   */
+  getProjectEvents(projectId: number): Observable<ProjectEvent | null> {
+    return new Observable<ProjectEvent | null>(subscriber => {
+      const source = new EventSource(`${this.apiUrl}/project/${projectId}/events`);
+      source.addEventListener('change', event => subscriber.next(JSON.parse((event as MessageEvent).data)));
+      source.addEventListener('resync', () => subscriber.next(null));
+      return () => source.close();
+    });
+  }
+
+  /**
+   * Récupère les changements intervenus depuis la dernière synchronisation.
+   * Sans curseur, ou si le curseur est trop ancien, la réponse demande de tout recharger (reset).
+   * @param since Le curseur renvoyé par l'appel précédent.
+   * @returns Un Observable d'une page du flux de synchronisation.
+   */
+  getChanges(since?: number): Observable<ChangeFeed> {
+    const params: Record<string, number> = since !== undefined ? { since } : {};
+    return this.httpClient.get<ChangeFeed>(`${this.apiUrl}/changes`, { params })
+      .pipe(
+        catchError(this.catchError)
+      );
+  }
+
+  /**
+   * Récupère une page de l'historique des modifications pour un projet, de la plus récente à la plus ancienne.
    * @param projectId L'identifiant du projet.
+   * @param before L'identifiant de la dernière entrée déjà reçue, pour obtenir la page suivante.
    * @returns Un Observable d'un tableau d'objets Historique.
    */
-  getHistoriqueForProject(projectId: number): Observable<Historique[]> {
-    return this.httpClient.get<Historique[]>(`${this.apiUrl}/historique/project/${projectId}`)
+  getHistoriqueForProject(projectId: number, before?: number): Observable<Historique[]> {
+    const params: Record<string, number> = before !== undefined ? { before } : {};
+    return this.httpClient.get<Historique[]>(`${this.apiUrl}/historique/project/${projectId}`, { params })
       .pipe(
           catchError(this.catchError)
         );
   }
 
   /**
-   * Récupère l'historique des modifications pour une tâche.
+   * Récupère une page de l'historique des modifications pour une tâche, de la plus récente à la plus ancienne.
    * @param taskId L'identifiant de la tâche.
+   * @param before L'identifiant de la dernière entrée déjà reçue, pour obtenir la page suivante.
    * @returns Un Observable d'un tableau d'objets Historique.
    */
-  getHistoriqueForTask(taskId: number): Observable<Historique[]> {
-    return this.httpClient.get<Historique[]>(`${this.apiUrl}/historique/task/${taskId}`)
+  getHistoriqueForTask(taskId: number, before?: number): Observable<Historique[]> {
+    const params: Record<string, number> = before !== undefined ? { before } : {};
+    return this.httpClient.get<Historique[]>(`${this.apiUrl}/historique/task/${taskId}`, { params })
       .pipe(
           catchError(this.catchError)
         );
@@ -0,0 +1,228 @@
+package com.pmt.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Cache en mémoire borné en nombre d'entrées et en durée de vie.
+ * <p>
+ * Au-delà de {@code maxSize} entrées, l'entrée la moins récemment lue est évincée ; une entrée expire
+ * {@code ttl} après son écriture. Un même élément n'est chargé qu'une fois à la fois : les lectures
+ * concurrentes attendent le chargement en cours. Un chargement pendant lequel l'élément a été évincé
+ * n'est pas mis en cache, car il a pu lire l'état précédant l'écriture qui a provoqué l'éviction.
+ * </p>
+ * Les lectures réussies et manquées, les écritures et les évictions sont comptées pour les métriques.
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    /**
+     * Chargement en cours d'un élément, marqué comme périmé si l'élément est évincé entre-temps.
+     */
+    private static final class Load {
+        private final FutureTask<Object> task;
+        private boolean stale;
+
+        Load(FutureTask<Object> task) {
+            this.task = task;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<Object, Entry> entries;
+    private final Map<Object, Load> loading = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, System::nanoTime);
+    }
+
+    BoundedCache(String name, int maxSize, Duration ttl, LongSupplier nanoTime) {
+        super(true);
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value;
+        synchronized (this) {
+            value = valueOf(key);
+        }
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    /**
+     * Renvoie la valeur en cache de l'élément, ou la charge. Les exceptions du chargement ne sont pas mises en cache.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Load load;
+        boolean owner = false;
+        synchronized (this) {
+            Object value = valueOf(key);
+            if (value != null) {
+                hits.increment();
+                return (T) fromStoreValue(value);
+            }
+            misses.increment();
+            load = loading.get(key);
+            if (load == null) {
+                load = new Load(new FutureTask<>(() -> toStoreValue(valueLoader.call())));
+                loading.put(key, load);
+                owner = true;
+            }
+        }
+        if (owner) {
+            load.task.run();
+        }
+        try {
+            Object value = load.task.get();
+            if (owner) {
+                synchronized (this) {
+                    loading.remove(key);
+                    if (!load.stale) {
+                        store(key, value);
+                    }
+                }
+            }
+            return (T) fromStoreValue(value);
+        } catch (ExecutionException e) {
+            if (owner) {
+                synchronized (this) {
+                    loading.remove(key);
+                }
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public synchronized void put(Object key, Object value) {
+        store(key, toStoreValue(value));
+    }
+
+    @Override
+    public synchronized ValueWrapper putIfAbsent(Object key, Object value) {
+        Object existing = valueOf(key);
+        if (existing == null) {
+            store(key, toStoreValue(value));
+        }
+        return toValueWrapper(existing);
+    }
+
+    @Override
+    public synchronized void evict(Object key) {
+        entries.remove(key);
+        Load load = loading.get(key);
+        if (load != null) {
+            load.stale = true;
+        }
+    }
+
+    @Override
+    public synchronized boolean evictIfPresent(Object key) {
+        boolean present = entries.containsKey(key);
+        evict(key);
+        return present;
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        loading.values().forEach(load -> load.stale = true);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long putCount() {
+        return puts.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Lit la valeur d'une entrée non expirée ; à appeler sous le verrou du cache.
+     */
+    private Object valueOf(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() - nanoTime.getAsLong() <= 0) {
+            entries.remove(key);
+            evictions.increment();
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Écrit une entrée ; à appeler sous le verrou du cache.
+     */
+    private void store(Object key, Object value) {
+        entries.put(key, new Entry(value, nanoTime.getAsLong() + ttlNanos));
+        puts.increment();
+    }
+}
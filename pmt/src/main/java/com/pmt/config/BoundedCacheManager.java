@@ -0,0 +1,58 @@
+package com.pmt.config;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+/**
+ * Gestionnaire des caches bornés de l'application.
+ * Dans une transaction, les écritures et évictions de cache ne sont appliquées qu'après sa validation :
+ * une lecture concurrente ne peut pas remettre en cache l'état que la transaction est en train de modifier.
+ * Chaque éviction est aussi signalée, au moment de la demande, à l'éventuel {@link CacheEvictionListener}
+ * qui la propage aux autres instances ; celles-ci l'appliquent par {@link #evictLocally(String, Long)}.
+ */
+public class BoundedCacheManager extends AbstractTransactionSupportingCacheManager {
+    private final Map<String, BoundedCache> caches;
+    private volatile CacheEvictionListener evictionListener;
+
+    public BoundedCacheManager(List<BoundedCache> caches) {
+        this.caches = caches.stream().collect(Collectors.toMap(BoundedCache::getName, Function.identity()));
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return caches.values();
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        return new NotifyingCache(super.decorateCache(cache), (BoundedCache) cache, () -> evictionListener);
+    }
+
+    public void setEvictionListener(CacheEvictionListener evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Applique immédiatement une éviction venue d'une autre instance, sans la signaler de nouveau.
+     * @param cacheName Le nom du cache ; un cache inconnu est ignoré.
+     * @param key La clé de l'entrée à évincer, ou null pour vider tout le cache.
+     */
+    public void evictLocally(String cacheName, Long key) {
+        BoundedCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+}
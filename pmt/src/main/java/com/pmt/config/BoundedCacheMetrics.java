@@ -0,0 +1,50 @@
+package com.pmt.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Métriques d'un cache borné : {@code cache.gets} (tag {@code result} : hit ou miss), {@code cache.puts},
+ * {@code cache.evictions}, {@code cache.size} et {@code cache.max.size}, consultables via /actuator/metrics.
+ */
+public class BoundedCacheMetrics extends CacheMeterBinder<BoundedCache> {
+
+    public BoundedCacheMetrics(BoundedCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        return (long) getCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.max.size", getCache(), BoundedCache::getMaxSize)
+                .tags(getTagsWithCacheName())
+                .description("The maximum number of entries in the cache")
+                .register(registry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.pmt.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Configuration des caches des lectures unitaires d'utilisateurs, de projets et de tâches.
+ * Chaque cache est borné en nombre d'entrées et en durée de vie ; ses lectures réussies et manquées
+ * sont publiées dans les métriques {@code cache.*}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    /**
+     * Utilisateurs, par identifiant.
+     */
+    public static final String USERS = "users";
+    /**
+     * États des projets (sans leurs tâches), par identifiant.
+     */
+    public static final String PROJECTS = "projects";
+    /**
+     * Tâches, par identifiant.
+     */
+    public static final String TASKS = "tasks";
+
+    /**
+     * Gestionnaire des caches, dont les évictions suivent la validation des transactions.
+     *
+     * @return Le gestionnaire des caches.
+     */
+    @Bean
+    public BoundedCacheManager cacheManager(@Value("${pmt.cache.users.max-size:10000}") int usersMaxSize,
+                                            @Value("${pmt.cache.users.ttl:PT10M}") Duration usersTtl,
+                                            @Value("${pmt.cache.projects.max-size:5000}") int projectsMaxSize,
+                                            @Value("${pmt.cache.projects.ttl:PT10M}") Duration projectsTtl,
+                                            @Value("${pmt.cache.tasks.max-size:50000}") int tasksMaxSize,
+                                            @Value("${pmt.cache.tasks.ttl:PT5M}") Duration tasksTtl) {
+        return new BoundedCacheManager(List.of(
+                new BoundedCache(USERS, usersMaxSize, usersTtl),
+                new BoundedCache(PROJECTS, projectsMaxSize, projectsTtl),
+                new BoundedCache(TASKS, tasksMaxSize, tasksTtl)));
+    }
+
+    /**
+     * Publie les métriques des caches bornés auprès de l'actuator.
+     *
+     * @return Le fournisseur des métriques d'un cache borné.
+     */
+    @Bean
+    public CacheMeterBinderProvider<NotifyingCache> boundedCacheMeterBinderProvider() {
+        return new CacheMeterBinderProvider<>() {
+            @Override
+            public MeterBinder getMeterBinder(NotifyingCache cache, Iterable<Tag> tags) {
+                return new BoundedCacheMetrics(cache.getTargetCache(), tags);
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.pmt.config;
+
+/**
+ * Reçoit les évictions demandées sur les caches de {@link BoundedCacheManager},
+ * pour les propager aux autres instances de l'application.
+ */
+public interface CacheEvictionListener {
+    /**
+     * Signale l'éviction d'une entrée, ou de tout un cache.
+     * Appelé au moment de la demande, dans la transaction en cours s'il y en a une.
+     *
+     * @param cacheName Le nom du cache.
+     * @param key La clé de l'entrée évincée, ou null si tout le cache est vidé.
+     */
+    void evicted(String cacheName, Object key);
+}
@@ -0,0 +1,38 @@
+package com.pmt.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration du pool de travailleurs chargé de l'envoi des notifications e-mail.
+ */
+@Configuration
+public class NotificationConfig {
+
+    /**
+     * Pool borné d'envoi des notifications : un serveur SMTP lent ne peut occuper
+     * que ces threads, jamais ceux des requêtes HTTP.
+     *
+     * @param workers Le nombre de threads d'envoi.
+     * @param queueCapacity Le nombre maximal de notifications en attente d'un thread.
+     * @param drainTimeout Le temps laissé aux envois en cours à l'arrêt.
+     * @return Le pool de travailleurs.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor(@Value("${pmt.outbox.workers:4}") int workers,
+                                                       @Value("${pmt.outbox.queue-capacity:100}") int queueCapacity,
+                                                       @Value("${pmt.outbox.drain-timeout:PT30S}") Duration drainTimeout) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("notification-");
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds((int) drainTimeout.toSeconds());
+        return executor;
+    }
+}
@@ -0,0 +1,95 @@
+package com.pmt.config;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Cache signalant chaque éviction à un {@link CacheEvictionListener} avant de la déléguer.
+ * Les lectures et écritures sont simplement déléguées.
+ */
+public class NotifyingCache implements Cache {
+    private final Cache delegate;
+    private final BoundedCache target;
+    private final Supplier<CacheEvictionListener> listener;
+
+    NotifyingCache(Cache delegate, BoundedCache target, Supplier<CacheEvictionListener> listener) {
+        this.delegate = delegate;
+        this.target = target;
+        this.listener = listener;
+    }
+
+    /**
+     * @return Le cache borné sous-jacent, pour ses métriques.
+     */
+    public BoundedCache getTargetCache() {
+        return target;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        notify(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        notify(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        notify(null);
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        notify(null);
+        return delegate.invalidate();
+    }
+
+    private void notify(Object key) {
+        CacheEvictionListener current = listener.get();
+        if (current != null) {
+            current.evicted(getName(), key);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pmt.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active l'exécution des tâches planifiées (purge des projets supprimés...).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,52 @@
+package com.pmt.controller;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pmt.dto.ChangeFeed;
+import com.pmt.errors.ValidationException;
+import com.pmt.service.ChangeFeedService;
+
+/**
+ * Contrôleur du flux de synchronisation par différence.
+ * Le client conserve le curseur renvoyé et le repasse dans {@code since} pour n'obtenir que
+ * les projets, tâches, appartenances et assignations modifiés ou supprimés depuis.
+ */
+@RestController
+@RequestMapping("/changes")
+public class ChangeController {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeController.class);
+
+    @Autowired
+    ChangeFeedService changeFeedService;
+
+    /**
+     * Récupère les changements postérieurs à un curseur.
+     * @param since Le curseur renvoyé par l'appel précédent, absent pour une première synchronisation.
+     * @param size La taille de page.
+     * @return Une page du flux de synchronisation.
+     */
+    @GetMapping
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) Long since,
+                                        @RequestParam(required = false) Integer size) {
+        try {
+            ChangeFeed feed = changeFeedService.findSince(since, size);
+            return ResponseEntity.status(HttpStatus.OK).body(feed);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Erreur lors de la lecture du journal des changements (since={}, size={})", since, size, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Erreur lors de la lecture du journal des changements."));
+        }
+    }
+}
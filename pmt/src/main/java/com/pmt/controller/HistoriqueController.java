@@ -3,10 +3,13 @@ package com.pmt.controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.pmt.model.Historique;
+import com.pmt.dto.HistoriqueDTO;
+import com.pmt.dto.HistoriqueFilter;
+import com.pmt.errors.ValidationException;
 import com.pmt.service.HistoriqueService;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,6 +19,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 
 /**
  * Contrôleur pour la gestion de l'historique des projets et des tâches.
+ * L'historique est renvoyé par pages, de la plus récente à la plus ancienne entrée :
+ * la page suivante s'obtient en passant l'ID de la dernière entrée reçue dans {@code before},
+ * les nouvelles entrées en passant l'ID de la première entrée reçue dans {@code after}.
  */
 @RestController
 @RequestMapping("/historique")
@@ -24,30 +30,36 @@ public class HistoriqueController {
     HistoriqueService historiqueService;
     
     /**
-     * Récupère l'historique d'un projet par son ID.
+     * Récupère une page de l'historique d'un projet par son ID.
      * @param id L'ID du projet.
+     * @param filter Les curseurs, la taille de page et l'intervalle de dates, lus depuis les paramètres de la requête.
      * @return La liste des entrées d'historique pour le projet.
      */
     @GetMapping("/project/{id}")
-    public ResponseEntity<?> getProjetHistorique(@PathVariable Long id) {
+    public ResponseEntity<?> getProjetHistorique(@PathVariable Long id, HistoriqueFilter filter) {
         try {
-            List<Historique> projet = historiqueService.findAllByProject(id);
+            List<HistoriqueDTO> projet = historiqueService.findPageByProject(id, filter);
             return ResponseEntity.status(HttpStatus.OK).body(projet);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     /**
-     * Récupère l'historique d'une tâche par son ID.
+     * Récupère une page de l'historique d'une tâche par son ID.
      * @param id L'ID de la tâche.
+     * @param filter Les curseurs, la taille de page et l'intervalle de dates, lus depuis les paramètres de la requête.
      * @return La liste des entrées d'historique pour la tâche.
      */
     @GetMapping("/task/{id}")
-    public ResponseEntity<?>getTaskHistorique(@PathVariable Long id) {
+    public ResponseEntity<?>getTaskHistorique(@PathVariable Long id, HistoriqueFilter filter) {
         try {
-            List<Historique> task = historiqueService.findAllByTask(id);
+            List<HistoriqueDTO> task = historiqueService.findPageByTask(id, filter);
             return ResponseEntity.status(HttpStatus.OK).body(task);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
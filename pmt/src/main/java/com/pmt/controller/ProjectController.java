@@ -1,25 +1,34 @@
 package com.pmt.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.pmt.dto.ProjectBoard;
+import com.pmt.dto.ProjectState;
+import com.pmt.dto.ProjectStats;
 import com.pmt.dto.ProjectUpdate;
 import com.pmt.errors.ValidationException;
 import com.pmt.model.Project;
+import com.pmt.service.ProjectEventService;
 import com.pmt.service.ProjectService;
+import com.pmt.service.ProjectStatsService;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Contrôleur pour les opérations CRUD sur les projets.
@@ -29,6 +38,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 public class ProjectController {
     @Autowired
     ProjectService projectService;
+    @Autowired
+    ProjectEventService projectEventService;
+    @Autowired
+    ProjectStatsService projectStatsService;
 
     /**
      * Récupère la liste de tous les projets.
@@ -40,20 +53,84 @@ public class ProjectController {
     }
 
     /**
-     * Récupère un projet par son ID.
+     * Récupère l'état courant d'un projet par son ID, sans ses tâches (servies par {@code {id}/board}),
+     * ou son état à un instant passé si {@code asOf} est précisé.
+     * L'état courant est servi depuis le cache des projets.
      * @param id L'ID du projet.
-     * @return Le projet correspondant.
+     * @param asOf L'instant demandé (ISO 8601), facultatif.
+     * @return L'état courant du projet, ou son état reconstruit à partir de l'historique.
      */
     @GetMapping("{id}")
-    public ResponseEntity<Project> getProject(@PathVariable Long id) {
+    public ResponseEntity<?> getProject(@PathVariable Long id,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        if (asOf != null) {
+            try {
+                ProjectState state = projectService.findByIdAsOf(id, asOf);
+                return ResponseEntity.status(HttpStatus.OK).body(state);
+            } catch (ValidationException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+            }
+        }
         try {
-            Project projet = projectService.findById(id);
+            ProjectState projet = projectService.findState(id);
             return ResponseEntity.status(HttpStatus.OK).body(projet);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Récupère en une seule requête le tableau d'un projet : le projet, ses tâches, ses membres et les assignations.
+     * @param id L'ID du projet.
+     * @return Le tableau du projet.
+     */
+    @GetMapping("{id}/board")
+    public ResponseEntity<?> getBoard(@PathVariable Long id) {
+        try {
+            ProjectBoard board = projectService.findBoard(id);
+            return ResponseEntity.status(HttpStatus.OK).body(board);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Récupère les compteurs de tâches d'un projet, au total, par statut et par priorité, sans charger ses tâches.
+     * @param id L'ID du projet.
+     * @return Les compteurs du projet.
+     */
+    @GetMapping("{id}/stats")
+    public ResponseEntity<?> getStats(@PathVariable Long id) {
+        try {
+            ProjectStats stats = projectStatsService.findByProjectId(id);
+            return ResponseEntity.status(HttpStatus.OK).body(stats);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Abonne le client aux changements des tâches, assignations et membres d'un projet (Server-Sent Events).
+     * Chaque changement validé est poussé sous forme d'événement {@code change} ; un événement {@code resync}
+     * demande au client trop lent de recharger le projet.
+     * @param id L'ID du projet.
+     * @return Le flux d'événements.
+     */
+    @GetMapping("{id}/events")
+    public ResponseEntity<?> subscribe(@PathVariable Long id) {
+        try {
+            projectService.findState(id);
+            SseEmitter emitter = projectEventService.subscribe(id);
+            return ResponseEntity.status(HttpStatus.OK).body(emitter);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Crée un nouveau projet.
      * @param project Le projet à créer.
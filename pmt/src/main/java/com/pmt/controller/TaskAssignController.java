@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Contrôleur pour l'assignation des tâches aux utilisateurs.
@@ -43,6 +44,22 @@ public class TaskAssignController {
         }
     }
 
+    /**
+     * Récupère en un seul appel les utilisateurs assignés à plusieurs tâches,
+     * par exemple toutes les cartes visibles d'un tableau.
+     * @param taskIds Les IDs des tâches, séparés par des virgules.
+     * @return Une liste d'utilisateurs assignés, triés par tâche.
+     */
+    @GetMapping("")
+    public ResponseEntity<?> getUsersByTaskIds(@RequestParam List<Long> taskIds) {
+        try {
+            List<Assigned> users = taskAssignService.getUsersByTaskIds(taskIds);
+            return ResponseEntity.status(HttpStatus.OK).body(users);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Récupère la liste des utilisateurs assignés à une tâche.
      * @param taskId L'ID de la tâche.
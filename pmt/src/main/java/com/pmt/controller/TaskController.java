@@ -10,10 +10,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.pmt.dto.TaskDTO;
+import com.pmt.dto.TaskFilter;
 import com.pmt.errors.ValidationException;
 import com.pmt.model.Task;
 import com.pmt.service.TaskService;
 
+import jakarta.persistence.EntityNotFoundException;
+
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -31,13 +34,15 @@ public class TaskController {
     TaskService taskService;
 
     /**
-     * Récupère la liste de toutes les tâches.
-     * @return Une liste de tâches.
+     * Récupère une page de tâches, filtrée par projet, statut, priorité ou date d'échéance.
+     * La page suivante s'obtient en passant l'ID de la dernière tâche reçue dans {@code afterId}.
+     * @param filter Les filtres et le curseur, lus depuis les paramètres de la requête.
+     * @return Une liste de tâches triées par ID.
      */
     @GetMapping("")  
-    public ResponseEntity<?> getAll() {
+    public ResponseEntity<?> getAll(TaskFilter filter) {
         try {
-            List<TaskDTO> tasks = taskService.findAll();
+            List<TaskDTO> tasks = taskService.findAll(filter);
             return ResponseEntity.status(HttpStatus.OK).body(tasks);
         } catch (ValidationException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
@@ -74,10 +79,26 @@ public class TaskController {
         }
     }
 
+    /**
+     * Crée un lot de tâches en une seule requête.
+     * La liste entière est validée avant toute écriture.
+     * @param dtos Les données des tâches à créer.
+     * @return Les tâches créées.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTasks(@RequestBody List<TaskDTO> dtos) {
+        try {
+            List<TaskDTO> createdTasks = taskService.createAll(dtos);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdTasks);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Met à jour une tâche existante.
      * @param task Les données de la tâche à mettre à jour.
-     * @return La tâche mise à jour.
+     * @return La tâche mise à jour, ou 404 si elle n'existe pas.
      */
     @PutMapping("")
     public ResponseEntity<?> putTask(@RequestBody TaskDTO task) {
@@ -86,6 +107,25 @@ public class TaskController {
             return ResponseEntity.status(HttpStatus.OK).body(patchedTask);
         } catch (ValidationException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Met à jour un lot de tâches en une seule requête.
+     * @param dtos Les données des tâches à mettre à jour.
+     * @return Les tâches mises à jour, ou 404 si l'une d'elles n'existe pas.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<?> putTasks(@RequestBody List<TaskDTO> dtos) {
+        try {
+            List<TaskDTO> patchedTasks = taskService.updateAll(dtos);
+            return ResponseEntity.status(HttpStatus.OK).body(patchedTasks);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
         }
     }
 
@@ -5,9 +5,12 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.pmt.dto.LoginRequest;
 import com.pmt.dto.LoginResponse;
+import com.pmt.dto.UserDashboard;
 import com.pmt.errors.AuthException;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.NotificationMode;
 import com.pmt.model.User;
+import com.pmt.service.DashboardService;
 import com.pmt.service.UserService;
 
 import java.util.List;
@@ -19,7 +22,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Contrôleur pour la gestion des utilisateurs et de l'authentification.
@@ -29,6 +34,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 public class UserController {
     @Autowired
     UserService userService;
+    @Autowired
+    DashboardService dashboardService;
 
     /**
      * Récupère la liste de tous les utilisateurs.
@@ -59,6 +66,22 @@ public class UserController {
         }
     }
 
+    /**
+     * Récupère le tableau de bord d'accueil d'un utilisateur : ses projets, ses tâches assignées
+     * et leur nombre par statut.
+     * @param id L'ID de l'utilisateur.
+     * @return Le tableau de bord de l'utilisateur.
+     */
+    @GetMapping("{id}/dashboard")
+    public ResponseEntity<?> getDashboard(@PathVariable Long id) {
+        try {
+            UserDashboard dashboard = dashboardService.findByUserId(id);
+            return ResponseEntity.status(HttpStatus.OK).body(dashboard);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Crée un nouvel utilisateur (inscription).
      * @param user L'utilisateur à créer.
@@ -103,5 +126,22 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
     }
+
+    /**
+     * Modifie la manière dont un utilisateur reçoit ses notifications : un e-mail par assignation (IMMEDIATE)
+     * ou un récapitulatif périodique (DIGEST).
+     * @param id L'ID de l'utilisateur.
+     * @param mode Le mode de notification souhaité.
+     * @return L'utilisateur mis à jour.
+     */
+    @PutMapping("{id}/notification-mode")
+    public ResponseEntity<?> updateNotificationMode(@PathVariable Long id, @RequestParam NotificationMode mode) {
+        try {
+            User user = userService.updateNotificationMode(id, mode);
+            return ResponseEntity.status(HttpStatus.OK).body(user);
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        }
+    }
     
 }
@@ -0,0 +1,86 @@
+package com.pmt.dto;
+
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeOperation;
+
+/**
+ * DTO représentant un changement renvoyé par le flux de synchronisation : la version courante
+ * d'une entité créée ou modifiée, ou la seule trace (tombstone) d'une entité supprimée.
+ */
+public class ChangeDTO {
+    /**
+     * Identifiant de l'entrée du journal.
+     */
+    private Long id;
+    /**
+     * Type de l'entité.
+     */
+    private ChangeEntity entity;
+    /**
+     * Identifiant de l'entité.
+     */
+    private Long entityId;
+    /**
+     * Identifiant du projet de l'entité.
+     */
+    private Long projectId;
+    /**
+     * Nature du changement.
+     */
+    private ChangeOperation operation;
+    /**
+     * Version courante de l'entité ({@link ProjectState} sans tâches, {@link TaskDTO},
+     * {@link UsersProject.UserRoleDTO} ou {@link Assigned}) ; null pour une suppression.
+     */
+    private Object data;
+
+    public ChangeDTO() {
+    }
+
+    public ChangeDTO(Long id, ChangeEntity entity, Long entityId, Long projectId, ChangeOperation operation, Object data) {
+        this.id = id;
+        this.entity = entity;
+        this.entityId = entityId;
+        this.projectId = projectId;
+        this.operation = operation;
+        this.data = data;
+    }
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public ChangeEntity getEntity() {
+        return entity;
+    }
+    public void setEntity(ChangeEntity entity) {
+        this.entity = entity;
+    }
+    public Long getEntityId() {
+        return entityId;
+    }
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+    public Object getData() {
+        return data;
+    }
+    public void setData(Object data) {
+        this.data = data;
+    }
+}
@@ -0,0 +1,62 @@
+package com.pmt.dto;
+
+import java.util.List;
+
+/**
+ * DTO représentant une page du flux de synchronisation par différence.
+ */
+public class ChangeFeed {
+    /**
+     * Les changements de la page, au plus un par entité, dans l'ordre du journal.
+     */
+    private List<ChangeDTO> changes;
+    /**
+     * Le curseur à renvoyer pour obtenir la page suivante.
+     */
+    private Long cursor;
+    /**
+     * Indique que d'autres changements sont déjà disponibles après cette page.
+     */
+    private boolean hasMore;
+    /**
+     * Indique que le curseur est absent ou trop ancien : le client doit recharger toutes ses données
+     * puis repartir du curseur renvoyé.
+     */
+    private boolean reset;
+
+    public ChangeFeed() {
+    }
+
+    public ChangeFeed(List<ChangeDTO> changes, Long cursor, boolean hasMore, boolean reset) {
+        this.changes = changes;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+        this.reset = reset;
+    }
+
+    // Getters et setters
+    public List<ChangeDTO> getChanges() {
+        return changes;
+    }
+    public void setChanges(List<ChangeDTO> changes) {
+        this.changes = changes;
+    }
+    public Long getCursor() {
+        return cursor;
+    }
+    public void setCursor(Long cursor) {
+        this.cursor = cursor;
+    }
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    public boolean isReset() {
+        return reset;
+    }
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+}
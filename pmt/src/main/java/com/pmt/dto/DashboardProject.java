@@ -0,0 +1,71 @@
+package com.pmt.dto;
+
+import com.pmt.model.Role;
+
+/**
+ * DTO représentant un projet dans le tableau de bord d'un utilisateur, avec le rôle qu'il y tient.
+ */
+public class DashboardProject {
+    /**
+     * Identifiant de l'association entre l'utilisateur et le projet.
+     */
+    private Long id;
+    /**
+     * Identifiant de l'utilisateur.
+     */
+    private Long userId;
+    /**
+     * Identifiant du projet.
+     */
+    private Long projectId;
+    /**
+     * Nom du projet.
+     */
+    private String nom;
+    /**
+     * Rôle de l'utilisateur dans le projet.
+     */
+    private Role role;
+
+    /**
+     * Constructeur utilisé par les projections JPQL ({@code SELECT new ...}).
+     */
+    public DashboardProject(Long id, Long userId, Long projectId, String nom, Role role) {
+        this.id = id;
+        this.userId = userId;
+        this.projectId = projectId;
+        this.nom = nom;
+        this.role = role;
+    }
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public String getNom() {
+        return nom;
+    }
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+    public Role getRole() {
+        return role;
+    }
+    public void setRole(Role role) {
+        this.role = role;
+    }
+}
@@ -0,0 +1,127 @@
+package com.pmt.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.pmt.model.FieldChange;
+import com.pmt.model.Historique;
+import com.pmt.model.Type;
+
+/**
+ * DTO représentant une entrée d'historique telle qu'elle est renvoyée par l'API :
+ * l'auteur de la modification n'y figure que par son identifiant et son nom.
+ */
+public class HistoriqueDTO {
+    /**
+     * Identifiant unique de l'entrée d'historique.
+     */
+    private Long id;
+    /**
+     * Utilisateur ayant effectué la modification, ou null s'il n'existe plus.
+     */
+    private UserSummary user;
+    /**
+     * Identifiant du projet concerné par la modification (si applicable).
+     */
+    private Long projectId;
+    /**
+     * Identifiant de la tâche concernée par la modification (si applicable).
+     */
+    private Long taskId;
+    /**
+     * Date et heure de la modification.
+     */
+    private LocalDateTime dateM;
+    /**
+     * Type de la modification.
+     */
+    private Type typeM;
+    /**
+     * Ancienne valeur, pour les entrées ne portant qu'un champ.
+     */
+    private String oldString;
+    /**
+     * Nouvelle valeur, pour les entrées ne portant qu'un champ.
+     */
+    private String newString;
+    /**
+     * Champs modifiés, avec leurs anciennes et nouvelles valeurs.
+     */
+    private List<FieldChange> changes;
+
+    public HistoriqueDTO() {};
+
+    /**
+     * Construit le DTO d'une entrée d'historique sans accéder à son utilisateur,
+     * résolu séparément pour toute la page.
+     * @param historique L'entrée d'historique.
+     * @param user L'auteur de la modification, ou null.
+     */
+    public HistoriqueDTO(Historique historique, UserSummary user) {
+        this.id = historique.getId();
+        this.user = user;
+        this.projectId = historique.getProjectId();
+        this.taskId = historique.getTaskId();
+        this.dateM = historique.getDateM();
+        this.typeM = historique.getTypeM();
+        this.oldString = historique.getOldString();
+        this.newString = historique.getNewString();
+        this.changes = historique.getChanges();
+    }
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public UserSummary getUser() {
+        return user;
+    }
+    public void setUser(UserSummary user) {
+        this.user = user;
+    }
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public Long getTaskId() {
+        return taskId;
+    }
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    public LocalDateTime getDateM() {
+        return dateM;
+    }
+    public void setDateM(LocalDateTime dateM) {
+        this.dateM = dateM;
+    }
+    public Type getTypeM() {
+        return typeM;
+    }
+    public void setTypeM(Type typeM) {
+        this.typeM = typeM;
+    }
+    public String getOldString() {
+        return oldString;
+    }
+    public void setOldString(String oldString) {
+        this.oldString = oldString;
+    }
+    public String getNewString() {
+        return newString;
+    }
+    public void setNewString(String newString) {
+        this.newString = newString;
+    }
+    public List<FieldChange> getChanges() {
+        return changes;
+    }
+    public void setChanges(List<FieldChange> changes) {
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,68 @@
+package com.pmt.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * DTO représentant les critères de recherche et de pagination de l'historique.
+ * Les entrées sont renvoyées de la plus récente à la plus ancienne. La page suivante
+ * s'obtient en passant l'identifiant de la dernière entrée reçue dans {@code before} ;
+ * les entrées apparues depuis la première entrée reçue s'obtiennent avec {@code after}.
+ */
+public class HistoriqueFilter {
+    /**
+     * Curseur : seules les entrées antérieures à l'entrée de cet identifiant sont renvoyées.
+     */
+    private Long before;
+    /**
+     * Curseur : seules les entrées postérieures à l'entrée de cet identifiant sont renvoyées.
+     */
+    private Long after;
+    /**
+     * Nombre maximal d'entrées renvoyées.
+     */
+    private Integer size;
+    /**
+     * Borne inférieure (incluse) de la date de modification.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    /**
+     * Borne supérieure (incluse) de la date de modification.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // Getters et setters
+    public Long getBefore() {
+        return before;
+    }
+    public void setBefore(Long before) {
+        this.before = before;
+    }
+    public Long getAfter() {
+        return after;
+    }
+    public void setAfter(Long after) {
+        this.after = after;
+    }
+    public Integer getSize() {
+        return size;
+    }
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+    public LocalDateTime getTo() {
+        return to;
+    }
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+}
@@ -0,0 +1,62 @@
+package com.pmt.dto;
+
+import java.util.List;
+
+/**
+ * DTO représentant tout ce qu'affiche le tableau d'un projet, renvoyé en une seule réponse :
+ * le projet, ses tâches, ses membres et les assignations de ses tâches.
+ */
+public class ProjectBoard {
+    /**
+     * Le projet, sans ses tâches.
+     */
+    private ProjectState project;
+    /**
+     * Les tâches du projet, triées par identifiant.
+     */
+    private List<TaskDTO> tasks;
+    /**
+     * Les membres du projet avec leur rôle.
+     */
+    private List<ProjectMember> members;
+    /**
+     * Les assignations des tâches du projet, triées par tâche.
+     */
+    private List<Assigned> assignments;
+
+    public ProjectBoard() {
+    }
+
+    public ProjectBoard(ProjectState project, List<TaskDTO> tasks, List<ProjectMember> members, List<Assigned> assignments) {
+        this.project = project;
+        this.tasks = tasks;
+        this.members = members;
+        this.assignments = assignments;
+    }
+
+    // Getters et setters
+    public ProjectState getProject() {
+        return project;
+    }
+    public void setProject(ProjectState project) {
+        this.project = project;
+    }
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+    public List<ProjectMember> getMembers() {
+        return members;
+    }
+    public void setMembers(List<ProjectMember> members) {
+        this.members = members;
+    }
+    public List<Assigned> getAssignments() {
+        return assignments;
+    }
+    public void setAssignments(List<Assigned> assignments) {
+        this.assignments = assignments;
+    }
+}
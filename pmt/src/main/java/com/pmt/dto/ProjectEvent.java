@@ -0,0 +1,74 @@
+package com.pmt.dto;
+
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
+
+/**
+ * DTO représentant un changement poussé aux clients abonnés à un projet.
+ * Il ne porte que l'entité concernée : le client relit ce qui l'intéresse,
+ * ou synchronise ses données par le flux {@code GET /changes}.
+ */
+public class ProjectEvent {
+    /**
+     * Type de l'entité.
+     */
+    private ChangeEntity entity;
+    /**
+     * Identifiant de l'entité.
+     */
+    private Long entityId;
+    /**
+     * Identifiant du projet de l'entité.
+     */
+    private Long projectId;
+    /**
+     * Nature du changement.
+     */
+    private ChangeOperation operation;
+
+    public ProjectEvent() {
+    }
+
+    public ProjectEvent(ChangeEntity entity, Long entityId, Long projectId, ChangeOperation operation) {
+        this.entity = entity;
+        this.entityId = entityId;
+        this.projectId = projectId;
+        this.operation = operation;
+    }
+
+    /**
+     * Construit l'événement correspondant à une entrée du journal des changements.
+     * @param change L'entrée du journal.
+     * @return L'événement.
+     */
+    public static ProjectEvent of(ChangeLog change) {
+        return new ProjectEvent(change.getEntity(), change.getEntityId(), change.getProjectId(), change.getOperation());
+    }
+
+    // Getters et setters
+    public ChangeEntity getEntity() {
+        return entity;
+    }
+    public void setEntity(ChangeEntity entity) {
+        this.entity = entity;
+    }
+    public Long getEntityId() {
+        return entityId;
+    }
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+}
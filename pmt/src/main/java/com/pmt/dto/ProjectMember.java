@@ -0,0 +1,68 @@
+package com.pmt.dto;
+
+import com.pmt.model.Role;
+
+/**
+ * DTO représentant un membre d'un projet : l'utilisateur et son rôle dans le projet.
+ */
+public class ProjectMember {
+    /**
+     * Identifiant de l'association entre l'utilisateur et le projet.
+     */
+    private Long id;
+    /**
+     * Identifiant de l'utilisateur.
+     */
+    private Long userId;
+    /**
+     * Nom de l'utilisateur.
+     */
+    private String nom;
+    /**
+     * Adresse e-mail de l'utilisateur.
+     */
+    private String email;
+    /**
+     * Rôle de l'utilisateur dans le projet.
+     */
+    private Role role;
+
+    public ProjectMember(Long id, Long userId, String nom, String email, Role role) {
+        this.id = id;
+        this.userId = userId;
+        this.nom = nom;
+        this.email = email;
+        this.role = role;
+    }
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    public String getNom() {
+        return nom;
+    }
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+    public String getEmail() {
+        return email;
+    }
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    public Role getRole() {
+        return role;
+    }
+    public void setRole(Role role) {
+        this.role = role;
+    }
+}
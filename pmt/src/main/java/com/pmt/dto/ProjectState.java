@@ -0,0 +1,105 @@
+package com.pmt.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pmt.model.Project;
+
+/**
+ * DTO représentant l'état d'un projet et de ses tâches à un instant donné,
+ * reconstruit à partir de l'historique.
+ */
+public class ProjectState {
+    /**
+     * Identifiant unique du projet.
+     */
+    private Long id;
+    /**
+     * Nom du projet.
+     */
+    private String nom;
+    /**
+     * Description du projet.
+     */
+    private String description;
+    /**
+     * Date de début du projet.
+     */
+    private LocalDate dateDebut;
+    /**
+     * Date de fin prévue du projet.
+     */
+    private LocalDate dateFin;
+    /**
+     * Instant dont l'état est décrit ; absent dans le flux de synchronisation, qui décrit l'état courant.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime asOf;
+    /**
+     * Les tâches du projet à cet instant, triées par identifiant ; absentes dans le flux de synchronisation,
+     * où chaque tâche est un changement distinct.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TaskDTO> tasks;
+
+    /**
+     * Construit l'état courant d'un projet, sans ses tâches.
+     * @param project Le projet.
+     * @return L'état du projet.
+     */
+    public static ProjectState of(Project project) {
+        ProjectState state = new ProjectState();
+        state.setId(project.getId());
+        state.setNom(project.getNom());
+        state.setDescription(project.getDescription());
+        state.setDateDebut(project.getDateDebut());
+        state.setDateFin(project.getDateFin());
+        return state;
+    }
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public String getNom() {
+        return nom;
+    }
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+    public String getDescription() {
+        return description;
+    }
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    public LocalDate getDateDebut() {
+        return dateDebut;
+    }
+    public void setDateDebut(LocalDate dateDebut) {
+        this.dateDebut = dateDebut;
+    }
+    public LocalDate getDateFin() {
+        return dateFin;
+    }
+    public void setDateFin(LocalDate dateFin) {
+        this.dateFin = dateFin;
+    }
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+}
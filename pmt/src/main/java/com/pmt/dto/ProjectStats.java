@@ -0,0 +1,64 @@
+package com.pmt.dto;
+
+import java.util.Map;
+
+import com.pmt.model.Priorite;
+import com.pmt.model.Status;
+
+/**
+ * DTO représentant les compteurs de tâches d'un projet, pour les colonnes du tableau Kanban.
+ */
+public class ProjectStats {
+    /**
+     * Identifiant du projet.
+     */
+    private Long projectId;
+    /**
+     * Nombre total de tâches du projet.
+     */
+    private long total;
+    /**
+     * Nombre de tâches par statut, y compris les statuts sans tâche.
+     */
+    private Map<Status, Long> statusCounts;
+    /**
+     * Nombre de tâches par priorité, y compris les priorités sans tâche.
+     */
+    private Map<Priorite, Long> prioriteCounts;
+
+    public ProjectStats() {
+    }
+
+    public ProjectStats(Long projectId, long total, Map<Status, Long> statusCounts, Map<Priorite, Long> prioriteCounts) {
+        this.projectId = projectId;
+        this.total = total;
+        this.statusCounts = statusCounts;
+        this.prioriteCounts = prioriteCounts;
+    }
+
+    // Getters et setters
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public long getTotal() {
+        return total;
+    }
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    public Map<Status, Long> getStatusCounts() {
+        return statusCounts;
+    }
+    public void setStatusCounts(Map<Status, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+    public Map<Priorite, Long> getPrioriteCounts() {
+        return prioriteCounts;
+    }
+    public void setPrioriteCounts(Map<Priorite, Long> prioriteCounts) {
+        this.prioriteCounts = prioriteCounts;
+    }
+}
@@ -0,0 +1,75 @@
+package com.pmt.dto;
+
+import com.pmt.model.Priorite;
+import com.pmt.model.Status;
+
+/**
+ * DTO représentant un nombre de tâches d'un projet ayant un statut et une priorité donnés.
+ * Sert aussi de variation (+1, -1) des compteurs d'un projet lors de l'écriture d'une tâche.
+ */
+public class TaskCount {
+    /**
+     * Identifiant du projet.
+     */
+    private Long projectId;
+    /**
+     * Statut des tâches comptées.
+     */
+    private Status status;
+    /**
+     * Priorité des tâches comptées.
+     */
+    private Priorite priorite;
+    /**
+     * Nombre de tâches, négatif pour des tâches retirées.
+     */
+    private long count;
+
+    /**
+     * Constructeur utilisé par les projections JPQL ({@code SELECT new ...}).
+     */
+    public TaskCount(Long projectId, Status status, Priorite priorite, Long count) {
+        this.projectId = projectId;
+        this.status = status;
+        this.priorite = priorite;
+        this.count = count;
+    }
+
+    /**
+     * Construit la variation des compteurs d'un projet pour une tâche ajoutée ou retirée.
+     * @param projectId L'identifiant du projet de la tâche.
+     * @param status Le statut de la tâche.
+     * @param priorite La priorité de la tâche.
+     * @param count 1 pour une tâche ajoutée, -1 pour une tâche retirée.
+     * @return La variation.
+     */
+    public static TaskCount of(Long projectId, Status status, Priorite priorite, long count) {
+        return new TaskCount(projectId, status, priorite, count);
+    }
+
+    // Getters et setters
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public Status getStatus() {
+        return status;
+    }
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    public Priorite getPriorite() {
+        return priorite;
+    }
+    public void setPriorite(Priorite priorite) {
+        this.priorite = priorite;
+    }
+    public long getCount() {
+        return count;
+    }
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
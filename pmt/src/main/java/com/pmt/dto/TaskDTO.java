@@ -47,6 +47,22 @@ public class TaskDTO {
     private Status status;
 
     public TaskDTO() {};
+
+    /**
+     * Constructeur utilisé par les projections JPQL ({@code SELECT new ...}),
+     * qui lisent directement les colonnes sans instancier l'entité Task.
+     */
+    public TaskDTO(Long id, String nom, String description, LocalDate dateFin, LocalDate dateEcheance,
+                   Long projectId, Priorite priorite, Status status) {
+        this.id = id;
+        this.nom = nom;
+        this.description = description;
+        this.dateFin = dateFin;
+        this.dateEcheance = dateEcheance;
+        this.projectId = projectId;
+        this.priorite = priorite;
+        this.status = status;
+    }
     
     // Getters et setters
     public Long getId() {
@@ -0,0 +1,90 @@
+package com.pmt.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.pmt.model.Priorite;
+import com.pmt.model.Status;
+
+/**
+ * DTO représentant les critères de recherche et de pagination des tâches.
+ * La pagination se fait par curseur sur l'identifiant : la page suivante
+ * s'obtient en passant l'identifiant de la dernière tâche reçue dans {@code afterId}.
+ */
+public class TaskFilter {
+    /**
+     * Curseur : seules les tâches d'identifiant strictement supérieur sont renvoyées.
+     */
+    private Long afterId;
+    /**
+     * Nombre maximal de tâches renvoyées.
+     */
+    private Integer size;
+    /**
+     * Filtre sur le projet de la tâche.
+     */
+    private Long projectId;
+    /**
+     * Filtre sur le statut de la tâche.
+     */
+    private Status status;
+    /**
+     * Filtre sur la priorité de la tâche.
+     */
+    private Priorite priorite;
+    /**
+     * Borne inférieure (incluse) de la date d'échéance.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate echeanceFrom;
+    /**
+     * Borne supérieure (incluse) de la date d'échéance.
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate echeanceTo;
+
+    // Getters et setters
+    public Long getAfterId() {
+        return afterId;
+    }
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+    public Integer getSize() {
+        return size;
+    }
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public Status getStatus() {
+        return status;
+    }
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    public Priorite getPriorite() {
+        return priorite;
+    }
+    public void setPriorite(Priorite priorite) {
+        this.priorite = priorite;
+    }
+    public LocalDate getEcheanceFrom() {
+        return echeanceFrom;
+    }
+    public void setEcheanceFrom(LocalDate echeanceFrom) {
+        this.echeanceFrom = echeanceFrom;
+    }
+    public LocalDate getEcheanceTo() {
+        return echeanceTo;
+    }
+    public void setEcheanceTo(LocalDate echeanceTo) {
+        this.echeanceTo = echeanceTo;
+    }
+}
@@ -0,0 +1,65 @@
+package com.pmt.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.pmt.model.Status;
+
+/**
+ * DTO représentant le tableau de bord d'accueil d'un utilisateur : ses projets, les tâches qui lui sont
+ * assignées et leur nombre par statut.
+ */
+public class UserDashboard {
+    /**
+     * Identifiant de l'utilisateur.
+     */
+    private Long userId;
+    /**
+     * Les projets de l'utilisateur, dans l'ordre de leur association.
+     */
+    private List<DashboardProject> projects;
+    /**
+     * Les tâches assignées à l'utilisateur, triées par identifiant.
+     */
+    private List<TaskDTO> tasks;
+    /**
+     * Le nombre de tâches assignées par statut ; les statuts sans tâche sont absents.
+     */
+    private Map<Status, Long> statusCounts;
+
+    public UserDashboard() {
+    }
+
+    public UserDashboard(Long userId, List<DashboardProject> projects, List<TaskDTO> tasks, Map<Status, Long> statusCounts) {
+        this.userId = userId;
+        this.projects = projects;
+        this.tasks = tasks;
+        this.statusCounts = statusCounts;
+    }
+
+    // Getters et setters
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    public List<DashboardProject> getProjects() {
+        return projects;
+    }
+    public void setProjects(List<DashboardProject> projects) {
+        this.projects = projects;
+    }
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+    public Map<Status, Long> getStatusCounts() {
+        return statusCounts;
+    }
+    public void setStatusCounts(Map<Status, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+}
@@ -0,0 +1,33 @@
+package com.pmt.dto;
+
+/**
+ * DTO représentant un utilisateur réduit à ce qui est affiché : son identifiant et son nom.
+ */
+public class UserSummary {
+    /**
+     * Identifiant unique de l'utilisateur.
+     */
+    private Long id;
+    /**
+     * Le nom de l'utilisateur.
+     */
+    private String nom;
+
+    public UserSummary(Long id, String nom) {
+        this.id = id;
+        this.nom = nom;
+    }
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public String getNom() {
+        return nom;
+    }
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+}
@@ -0,0 +1,98 @@
+package com.pmt.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Représente une éviction de cache à appliquer par toutes les instances de l'application.
+ * La ligne est écrite dans la même transaction que la modification qui rend l'entrée périmée ;
+ * chaque instance lit les lignes des autres instances et retire l'entrée de son propre cache.
+ * Son identifiant, croissant, sert de curseur.
+ */
+@Entity
+@Table(name = "cache_invalidation", indexes = {
+    @Index(name = "idx_cache_invalidation_created_at", columnList = "created_at")
+})
+public class CacheInvalidation {
+    /**
+     * Identifiant unique de l'éviction, croissant : sert de curseur de lecture.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Identifiant de l'instance à l'origine de l'éviction, qui l'a déjà appliquée.
+     */
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+    /**
+     * Nom du cache concerné.
+     */
+    @Column(name = "cache_name", nullable = false, length = 64)
+    private String cacheName;
+    /**
+     * Clé de l'entrée évincée, ou null pour vider tout le cache.
+     */
+    @Column(name = "cache_key")
+    private Long cacheKey;
+    /**
+     * Date de l'éviction.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Construit une éviction datée de l'instant présent.
+     * @param nodeId L'identifiant de l'instance à l'origine de l'éviction.
+     * @param cacheName Le nom du cache.
+     * @param cacheKey La clé de l'entrée, ou null pour vider tout le cache.
+     * @return L'éviction, non encore sauvegardée.
+     */
+    public static CacheInvalidation of(String nodeId, String cacheName, Long cacheKey) {
+        CacheInvalidation invalidation = new CacheInvalidation();
+        invalidation.setNodeId(nodeId);
+        invalidation.setCacheName(cacheName);
+        invalidation.setCacheKey(cacheKey);
+        invalidation.setCreatedAt(LocalDateTime.now());
+        return invalidation;
+    }
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public String getNodeId() {
+        return nodeId;
+    }
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+    public String getCacheName() {
+        return cacheName;
+    }
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+    public Long getCacheKey() {
+        return cacheKey;
+    }
+    public void setCacheKey(Long cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pmt.model;
+
+/**
+ * Représente le type d'entité concerné par une entrée du journal des changements.
+ * Remarque importante : cette énumération est utilisée avec {@code @Enumerated(EnumType.ORDINAL)}
+ * dans une entité JPA, modifier l'ordre des éléments ou en insérer de nouveaux
+ * pourrait causer des problèmes d'intégrité des données dans la base de données existante.
+ */
+public enum ChangeEntity {
+    /**
+     * Un projet.
+     */
+    PROJECT,
+    /**
+     * Une tâche.
+     */
+    TASK,
+    /**
+     * L'appartenance d'un utilisateur à un projet.
+     */
+    PROJECT_USER,
+    /**
+     * L'assignation d'une tâche à un utilisateur.
+     */
+    TASK_ASSIGN
+}
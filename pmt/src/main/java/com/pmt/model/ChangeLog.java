@@ -0,0 +1,115 @@
+package com.pmt.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Représente une entrée du journal des changements, lu par les clients pour se synchroniser
+ * par différence. La ligne est écrite dans la même transaction que le changement qu'elle signale ;
+ * elle ne porte que l'entité concernée, dont la version courante est relue au moment de la lecture.
+ * Son identifiant, croissant, sert de curseur.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+    @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+public class ChangeLog {
+    /**
+     * Identifiant unique de l'entrée, croissant : sert de curseur de synchronisation.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Type de l'entité modifiée.
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "entity_type", nullable = false)
+    private ChangeEntity entity;
+    /**
+     * Identifiant de l'entité modifiée.
+     */
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    /**
+     * Identifiant du projet de l'entité, pour permettre au client de filtrer.
+     */
+    @Column(name = "project_id")
+    private Long projectId;
+    /**
+     * Nature du changement.
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false)
+    private ChangeOperation operation;
+    /**
+     * Date du changement.
+     */
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    /**
+     * Construit une entrée du journal datée de l'instant présent.
+     * @param entity Le type de l'entité modifiée.
+     * @param entityId L'identifiant de l'entité.
+     * @param projectId L'identifiant du projet de l'entité.
+     * @param operation La nature du changement.
+     * @return L'entrée, non encore sauvegardée.
+     */
+    public static ChangeLog of(ChangeEntity entity, Long entityId, Long projectId, ChangeOperation operation) {
+        ChangeLog change = new ChangeLog();
+        change.setEntity(entity);
+        change.setEntityId(entityId);
+        change.setProjectId(projectId);
+        change.setOperation(operation);
+        change.setChangedAt(LocalDateTime.now());
+        return change;
+    }
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public ChangeEntity getEntity() {
+        return entity;
+    }
+    public void setEntity(ChangeEntity entity) {
+        this.entity = entity;
+    }
+    public Long getEntityId() {
+        return entityId;
+    }
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,28 @@
+package com.pmt.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Ligne unique verrouillée par chaque transaction qui écrit dans le journal des changements,
+ * de l'insertion de ses entrées jusqu'à sa validation : les identifiants du journal, qui servent
+ * de curseur, sont ainsi attribués dans l'ordre de validation.
+ */
+@Entity
+@Table(name = "change_log_lock")
+public class ChangeLogLock {
+    /**
+     * Identifiant de la ligne, toujours {@code 1}.
+     */
+    @Id
+    private Long id;
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,18 @@
+package com.pmt.model;
+
+/**
+ * Représente la nature d'un changement du journal des changements.
+ * Remarque importante : cette énumération est utilisée avec {@code @Enumerated(EnumType.ORDINAL)}
+ * dans une entité JPA, modifier l'ordre des éléments ou en insérer de nouveaux
+ * pourrait causer des problèmes d'intégrité des données dans la base de données existante.
+ */
+public enum ChangeOperation {
+    /**
+     * L'entité a été créée ou modifiée : le client doit la remplacer par sa version courante.
+     */
+    UPSERT,
+    /**
+     * L'entité a été supprimée : le client doit la retirer (tombstone).
+     */
+    DELETE
+}
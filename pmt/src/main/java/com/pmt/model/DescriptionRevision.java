@@ -0,0 +1,114 @@
+package com.pmt.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * Représente une version de la description d'une tâche ou d'un projet, conservée pour l'historique.
+ * <p>
+ * Une version est soit un instantané, qui contient le texte complet compressé, soit un delta
+ * compressé par rapport à la version parente. Le texte d'un delta se reconstruit en appliquant,
+ * depuis l'instantané {@code snapshotId}, les deltas de la chaîne des parents.
+ * </p>
+ */
+@Entity
+@Table(name = "description_revision", indexes = {
+    @Index(name = "idx_revision_task_id", columnList = "task_id, id"),
+    @Index(name = "idx_revision_project_id", columnList = "project_id, id"),
+    @Index(name = "idx_revision_snapshot_id", columnList = "snapshot_id")
+})
+public class DescriptionRevision {
+    /**
+     * Identifiant unique de la version.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Identifiant de la tâche décrite (si applicable).
+     */
+    @Column(name = "task_id")
+    private Long taskId;
+    /**
+     * Identifiant du projet décrit (si applicable).
+     */
+    @Column(name = "project_id")
+    private Long projectId;
+    /**
+     * Identifiant de la version parente, null pour un instantané.
+     */
+    @Column(name = "parent_id")
+    private Long parentId;
+    /**
+     * Identifiant de l'instantané à l'origine de la chaîne, null pour un instantané.
+     */
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+    /**
+     * Nombre de deltas depuis l'instantané : 0 pour un instantané.
+     */
+    @Column(nullable = false)
+    private int depth;
+    /**
+     * Texte complet (instantané) ou delta, compressé ; null pour une description vide.
+     */
+    @Lob
+    private byte[] payload;
+
+    /**
+     * @return true si la version contient le texte complet.
+     */
+    public boolean isSnapshot() {
+        return parentId == null;
+    }
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public Long getTaskId() {
+        return taskId;
+    }
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public Long getParentId() {
+        return parentId;
+    }
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+    public void setSnapshotId(Long snapshotId) {
+        this.snapshotId = snapshotId;
+    }
+    public int getDepth() {
+        return depth;
+    }
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+    public byte[] getPayload() {
+        return payload;
+    }
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,129 @@
+package com.pmt.model;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Représente la modification d'un champ au sein d'une entrée d'historique :
+ * le champ concerné, son ancienne et sa nouvelle valeur.
+ * Les descriptions ne sont pas copiées dans l'historique : la modification référence
+ * leurs versions ({@code oldRevision}, {@code newRevision}), dont le texte est reconstruit à la lecture.
+ */
+public class FieldChange {
+    /**
+     * Le champ modifié.
+     */
+    private Type field;
+    /**
+     * L'ancienne valeur, sous forme textuelle.
+     */
+    private String oldValue;
+    /**
+     * La nouvelle valeur, sous forme textuelle.
+     */
+    private String newValue;
+    /**
+     * Identifiant de la version de l'ancienne valeur, pour un champ versionné.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long oldRevision;
+    /**
+     * Identifiant de la version de la nouvelle valeur, pour un champ versionné.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long newRevision;
+
+    public FieldChange() {
+    }
+
+    public FieldChange(Type field, String oldValue, String newValue) {
+        this.field = field;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * Construit la modification d'un champ à partir de valeurs quelconques.
+     * Les énumérations sont représentées par leur nom et les dates au format ISO.
+     *
+     * @param field Le champ modifié.
+     * @param oldValue L'ancienne valeur, ou null.
+     * @param newValue La nouvelle valeur, ou null.
+     * @return La modification.
+     */
+    public static FieldChange of(Type field, Object oldValue, Object newValue) {
+        return new FieldChange(field, Objects.toString(oldValue, null), Objects.toString(newValue, null));
+    }
+
+    /**
+     * Construit la modification d'un champ versionné, dont les valeurs sont conservées à part.
+     *
+     * @param field Le champ modifié.
+     * @param oldRevision L'identifiant de la version de l'ancienne valeur.
+     * @param newRevision L'identifiant de la version de la nouvelle valeur.
+     * @return La modification.
+     */
+    public static FieldChange ofRevisions(Type field, Long oldRevision, Long newRevision) {
+        FieldChange change = new FieldChange(field, null, null);
+        change.oldRevision = oldRevision;
+        change.newRevision = newRevision;
+        return change;
+    }
+
+    /**
+     * @return true si les valeurs sont conservées à part et doivent être reconstruites.
+     */
+    public boolean hasRevisions() {
+        return newRevision != null;
+    }
+
+    // Getters et setters
+    public Type getField() {
+        return field;
+    }
+    public void setField(Type field) {
+        this.field = field;
+    }
+    public String getOldValue() {
+        return oldValue;
+    }
+    public void setOldValue(String oldValue) {
+        this.oldValue = oldValue;
+    }
+    public String getNewValue() {
+        return newValue;
+    }
+    public void setNewValue(String newValue) {
+        this.newValue = newValue;
+    }
+    public Long getOldRevision() {
+        return oldRevision;
+    }
+    public void setOldRevision(Long oldRevision) {
+        this.oldRevision = oldRevision;
+    }
+    public Long getNewRevision() {
+        return newRevision;
+    }
+    public void setNewRevision(Long newRevision) {
+        this.newRevision = newRevision;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FieldChange other)) {
+            return false;
+        }
+        return field == other.field && Objects.equals(oldValue, other.oldValue) && Objects.equals(newValue, other.newValue)
+                && Objects.equals(oldRevision, other.oldRevision) && Objects.equals(newRevision, other.newRevision);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, oldValue, newValue, oldRevision, newRevision);
+    }
+}
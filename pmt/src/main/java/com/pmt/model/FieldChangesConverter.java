@@ -0,0 +1,43 @@
+package com.pmt.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Convertit la liste des champs modifiés d'une entrée d'historique en JSON compact pour la colonne {@code changes}.
+ */
+@Converter
+public class FieldChangesConverter implements AttributeConverter<List<FieldChange>, String> {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<FieldChange>> TYPE = new TypeReference<>() { };
+
+    @Override
+    public String convertToDatabaseColumn(List<FieldChange> changes) {
+        if (changes == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Modifications d'historique impossibles à sérialiser", e);
+        }
+    }
+
+    @Override
+    public List<FieldChange> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Modifications d'historique illisibles : " + json, e);
+        }
+    }
+}
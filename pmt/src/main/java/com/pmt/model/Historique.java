@@ -1,22 +1,39 @@
 package com.pmt.model;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 /**
  * Représente une entrée dans l'historique des modifications d'un projet ou d'une tâche.
+ * Depuis l'introduction des change-sets, une mise à jour produit une seule entrée de type
+ * {@link Type#Modification} listant tous les champs modifiés ; les entrées plus anciennes
+ * ne portent qu'un champ, décrit par {@code typeM}, {@code oldString} et {@code newString}.
+ * <p>
+ * Sous MySQL, la table est partitionnée par mois sur {@code date_m} par
+ * {@link com.pmt.service.impl.HistoriquePartitionManager} : elle ne porte donc pas de clé étrangère.
+ * </p>
  */
 @Entity
-@Table(name="historique")
+@Table(name = "historique", indexes = {
+    @Index(name = "idx_historique_project_date", columnList = "project_id, date_m"),
+    @Index(name = "idx_historique_task_date", columnList = "task_id, date_m")
+})
 public class Historique {
     /**
      * Identifiant unique de l'entrée d'historique.
@@ -26,11 +43,18 @@ public class Historique {
     private Long id;
     
     /**
-     * Utilisateur ayant effectué la modification.
+     * Utilisateur ayant effectué la modification, chargé seulement à la demande.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
+    /**
+     * Identifiant de l'utilisateur ayant effectué la modification, lu sans charger l'utilisateur.
+     */
+    @Column(name = "user_id", insertable = false, updatable = false)
+    private Long userId;
+
     /**
      * Identifiant du projet concerné par la modification (si applicable).
      */
@@ -66,6 +90,13 @@ public class Historique {
     @Column(name = "type_m")
     private Type typeM;
 
+    /**
+     * Champs modifiés par la mise à jour, avec leurs anciennes et nouvelles valeurs (JSON).
+     */
+    @Convert(converter = FieldChangesConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<FieldChange> changes;
+
     public Long getId() {
         return id;
     }
@@ -82,6 +113,16 @@ public class Historique {
         this.user = user;
     }
 
+    /**
+     * @return L'identifiant de l'auteur, lu en base ou, pour une entrée non encore écrite, pris sur l'utilisateur.
+     */
+    public Long getUserId() {
+        if (userId == null && user != null) {
+            return user.getId();
+        }
+        return userId;
+    }
+
     public Long getProjectId() {
         return projectId;
     }
@@ -129,4 +170,20 @@ public class Historique {
     public void setOldString(String oldString) {
         this.oldString = oldString;
     }
+
+    /**
+     * Les entrées antérieures aux change-sets sont présentées sous la même forme :
+     * une liste contenant leur unique champ modifié.
+     * @return Les champs modifiés.
+     */
+    public List<FieldChange> getChanges() {
+        if (changes == null && typeM != null && typeM != Type.Modification) {
+            return List.of(new FieldChange(typeM, oldString, newString));
+        }
+        return changes;
+    }
+
+    public void setChanges(List<FieldChange> changes) {
+        this.changes = changes;
+    }
 }
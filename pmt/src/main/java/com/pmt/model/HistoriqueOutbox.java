@@ -0,0 +1,176 @@
+package com.pmt.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Représente une entrée d'historique en attente de regroupement (transactional outbox).
+ * La ligne est écrite dans la même transaction que la modification qu'elle décrit, puis
+ * déplacée par lots vers {@code historique} par {@link com.pmt.service.impl.HistoriqueWriter}.
+ * Les colonnes sont celles de {@link Historique}.
+ */
+@Entity
+@Table(name = "historique_outbox", indexes = {
+    @Index(name = "idx_historique_outbox_project_date", columnList = "project_id, date_m"),
+    @Index(name = "idx_historique_outbox_task_date", columnList = "task_id, date_m")
+})
+public class HistoriqueOutbox {
+    /**
+     * Identifiant unique de l'entrée en attente, dans l'ordre d'écriture.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Identifiant de l'utilisateur ayant effectué la modification.
+     */
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Identifiant du projet concerné par la modification (si applicable).
+     */
+    @Column(name = "project_id")
+    private Long projectId;
+
+    /**
+     * Identifiant de la tâche concernée par la modification (si applicable).
+     */
+    @Column(name = "task_id")
+    private Long taskId;
+
+    /**
+     * Date et heure de la modification.
+     */
+    @Column(name = "date_m")
+    private LocalDateTime dateM;
+
+    /**
+     * Nouvelle valeur après modification.
+     */
+    private String newString;
+
+    /**
+     * Ancienne valeur avant modification.
+     */
+    private String oldString;
+
+    /**
+     * Type de champ modifié.
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "type_m")
+    private Type typeM;
+
+    /**
+     * Champs modifiés par la mise à jour, avec leurs anciennes et nouvelles valeurs (JSON).
+     */
+    @Convert(converter = FieldChangesConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<FieldChange> changes;
+
+    /**
+     * Construit l'entrée d'historique correspondante, sans identifiant : elle n'est pas encore écrite.
+     * @return L'entrée d'historique.
+     */
+    public Historique toHistorique() {
+        Historique history = new Historique();
+        if (userId != null) {
+            User user = new User();
+            user.setId(userId);
+            history.setUser(user);
+        }
+        history.setProjectId(projectId);
+        history.setTaskId(taskId);
+        history.setDateM(dateM);
+        history.setNewString(newString);
+        history.setOldString(oldString);
+        history.setTypeM(typeM);
+        history.setChanges(changes);
+        return history;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public LocalDateTime getDateM() {
+        return dateM;
+    }
+
+    public void setDateM(LocalDateTime dateM) {
+        this.dateM = dateM;
+    }
+
+    public String getNewString() {
+        return newString;
+    }
+
+    public void setNewString(String newString) {
+        this.newString = newString;
+    }
+
+    public String getOldString() {
+        return oldString;
+    }
+
+    public void setOldString(String oldString) {
+        this.oldString = oldString;
+    }
+
+    public Type getTypeM() {
+        return typeM;
+    }
+
+    public void setTypeM(Type typeM) {
+        this.typeM = typeM;
+    }
+
+    public List<FieldChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<FieldChange> changes) {
+        this.changes = changes;
+    }
+}
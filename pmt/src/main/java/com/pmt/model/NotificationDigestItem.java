@@ -0,0 +1,91 @@
+package com.pmt.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Représente une notification en attente de regroupement dans le récapitulatif d'un utilisateur.
+ * Les libellés sont copiés au moment de la notification : l'envoi du récapitulatif ne relit ni les tâches ni les projets.
+ */
+@Entity
+@Table(name = "notification_digest_item", indexes = {
+    @Index(name = "idx_digest_recipient_created", columnList = "recipient, created_at")
+})
+public class NotificationDigestItem {
+    /**
+     * Identifiant unique de l'élément.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Adresse e-mail du destinataire.
+     */
+    @Column(nullable = false)
+    private String recipient;
+    /**
+     * Nom du destinataire.
+     */
+    @Column(name = "recipient_name")
+    private String recipientName;
+    /**
+     * Nom de la tâche assignée.
+     */
+    @Column(name = "task_name")
+    private String taskName;
+    /**
+     * Nom du projet de la tâche.
+     */
+    @Column(name = "project_name")
+    private String projectName;
+    /**
+     * Date de la notification.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public String getRecipient() {
+        return recipient;
+    }
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+    public String getRecipientName() {
+        return recipientName;
+    }
+    public void setRecipientName(String recipientName) {
+        this.recipientName = recipientName;
+    }
+    public String getTaskName() {
+        return taskName;
+    }
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+    public String getProjectName() {
+        return projectName;
+    }
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,18 @@
+package com.pmt.model;
+
+/**
+ * Représente la manière dont un utilisateur souhaite recevoir ses notifications e-mail.
+ * Remarque importante : cette énumération est utilisée avec {@code @Enumerated(EnumType.ORDINAL)}
+ * dans une entité JPA, modifier l'ordre des éléments ou en insérer de nouveaux
+ * pourrait causer des problèmes d'intégrité des données dans la base de données existante.
+ */
+public enum NotificationMode {
+    /**
+     * Un e-mail par notification, envoyé dès que possible.
+     */
+    IMMEDIATE,
+    /**
+     * Les notifications sont regroupées sur une fenêtre de temps et envoyées en un seul e-mail récapitulatif.
+     */
+    DIGEST
+}
@@ -0,0 +1,161 @@
+package com.pmt.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Représente une notification e-mail en attente d'envoi (transactional outbox).
+ * La ligne est écrite dans la même transaction que l'action qui la déclenche,
+ * puis envoyée en arrière-plan par le dispatcher.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at")
+})
+public class NotificationOutbox {
+    /**
+     * Identifiant unique de la notification.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Adresse e-mail du destinataire.
+     */
+    @Column(nullable = false)
+    private String recipient;
+    /**
+     * Objet de l'e-mail.
+     */
+    @Column(nullable = false)
+    private String subject;
+    /**
+     * Corps de l'e-mail.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String body;
+    /**
+     * État de la notification.
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @Column(nullable = false)
+    private OutboxStatus status;
+    /**
+     * Nombre de tentatives d'envoi déjà effectuées.
+     */
+    @Column(nullable = false)
+    private int attempts;
+    /**
+     * Date à partir de laquelle la prochaine tentative peut avoir lieu.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    /**
+     * Fin du bail d'envoi : tant qu'elle n'est pas dépassée, la notification est réservée par {@code lockOwner}.
+     */
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    /**
+     * Identifiant de l'instance qui a réservé la notification.
+     */
+    @Column(name = "lock_owner", length = 64)
+    private String lockOwner;
+    /**
+     * Date de création de la notification.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    /**
+     * Date d'envoi effectif de la notification.
+     */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    /**
+     * Message de la dernière erreur d'envoi.
+     */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public String getRecipient() {
+        return recipient;
+    }
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+    public String getSubject() {
+        return subject;
+    }
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+    public String getBody() {
+        return body;
+    }
+    public void setBody(String body) {
+        this.body = body;
+    }
+    public OutboxStatus getStatus() {
+        return status;
+    }
+    public void setStatus(OutboxStatus status) {
+        this.status = status;
+    }
+    public int getAttempts() {
+        return attempts;
+    }
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+    public String getLockOwner() {
+        return lockOwner;
+    }
+    public void setLockOwner(String lockOwner) {
+        this.lockOwner = lockOwner;
+    }
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+    public String getLastError() {
+        return lastError;
+    }
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
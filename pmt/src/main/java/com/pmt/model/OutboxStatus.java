@@ -0,0 +1,22 @@
+package com.pmt.model;
+
+/**
+ * Représente l'état d'une notification en attente d'envoi dans l'outbox.
+ * Remarque importante : cette énumération est utilisée avec {@code @Enumerated(EnumType.ORDINAL)}
+ * dans une entité JPA, modifier l'ordre des éléments ou en insérer de nouveaux
+ * pourrait causer des problèmes d'intégrité des données dans la base de données existante.
+ */
+public enum OutboxStatus {
+    /**
+     * La notification attend d'être envoyée (premier envoi ou nouvelle tentative).
+     */
+    PENDING,
+    /**
+     * La notification a été envoyée.
+     */
+    SENT,
+    /**
+     * Toutes les tentatives d'envoi ont échoué ; la notification est abandonnée.
+     */
+    FAILED
+}
@@ -3,8 +3,12 @@ package com.pmt.model;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.hibernate.annotations.SQLRestriction;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,9 +18,11 @@ import jakarta.persistence.Table;
 
 /**
  * Représente un projet au sein de l'application.
+ * Les projets marqués comme supprimés, en attente de purge, sont exclus de toutes les lectures.
  */
 @Entity
 @Table(name = "project")
+@SQLRestriction("deleted = false")
 public class Project {
     /**
      * Identifiant unique du projet.
@@ -60,6 +66,13 @@ public class Project {
     @OneToMany(mappedBy = "project")
     private List<ProjectUser> projectUsers;
 
+    /**
+     * Indique que le projet a été supprimé et que ses tâches sont en cours de purge en arrière-plan.
+     */
+    @Column(nullable = false)
+    @JsonIgnore
+    private boolean deleted;
+
     // Getters et setters
     public Long getId() {
         return id;
@@ -97,5 +110,11 @@ public class Project {
     public void setTasks(List<Task> tasks) {
         this.tasks = tasks;
     }
+    public boolean isDeleted() {
+        return deleted;
+    }
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
     
 }
@@ -0,0 +1,96 @@
+package com.pmt.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Représente les compteurs de tâches d'un projet tels que sauvegardés périodiquement, pour être rechargés
+ * au démarrage sans recompter toutes les tâches. Une colonne par valeur de {@link Status} et de {@link Priorite} :
+ * l'ajout d'une valeur à l'une de ces énumérations demande l'ajout de la colonne correspondante.
+ */
+@Entity
+@Table(name = "project_counters")
+public class ProjectCounters {
+    /**
+     * Identifiant du projet.
+     */
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+    /**
+     * Nombre total de tâches, y compris celles sans statut ou sans priorité.
+     */
+    private long total;
+    private long todo;
+    @Column(name = "in_progress")
+    private long inProgress;
+    private long done;
+    private long low;
+    private long medium;
+    private long high;
+    /**
+     * Date de la sauvegarde.
+     */
+    @Column(name = "saved_at", nullable = false)
+    private LocalDateTime savedAt;
+
+    // Getters et setters
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public long getTotal() {
+        return total;
+    }
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    public long getTodo() {
+        return todo;
+    }
+    public void setTodo(long todo) {
+        this.todo = todo;
+    }
+    public long getInProgress() {
+        return inProgress;
+    }
+    public void setInProgress(long inProgress) {
+        this.inProgress = inProgress;
+    }
+    public long getDone() {
+        return done;
+    }
+    public void setDone(long done) {
+        this.done = done;
+    }
+    public long getLow() {
+        return low;
+    }
+    public void setLow(long low) {
+        this.low = low;
+    }
+    public long getMedium() {
+        return medium;
+    }
+    public void setMedium(long medium) {
+        this.medium = medium;
+    }
+    public long getHigh() {
+        return high;
+    }
+    public void setHigh(long high) {
+        this.high = high;
+    }
+    public LocalDateTime getSavedAt() {
+        return savedAt;
+    }
+    public void setSavedAt(LocalDateTime savedAt) {
+        this.savedAt = savedAt;
+    }
+}
@@ -0,0 +1,71 @@
+package com.pmt.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * Représente l'état complet d'un projet et de ses tâches à un instant donné, conservé pour
+ * reconstruire rapidement son état passé : seules les entrées d'historique postérieures
+ * à l'instant demandé et antérieures à l'instantané sont défaites.
+ */
+@Entity
+@Table(name = "project_snapshot", indexes = {
+    @Index(name = "idx_snapshot_project_taken_at", columnList = "project_id, taken_at")
+})
+public class ProjectSnapshot {
+    /**
+     * Identifiant unique de l'instantané.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Identifiant du projet.
+     */
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+    /**
+     * Instant dont l'état est conservé : toutes les entrées d'historique jusqu'à cette date incluse y sont appliquées.
+     */
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+    /**
+     * État du projet et de ses tâches, en JSON compressé.
+     */
+    @Lob
+    private byte[] payload;
+
+    // Getters et setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+    public Long getProjectId() {
+        return projectId;
+    }
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+    public void setTakenAt(LocalDateTime takenAt) {
+        this.takenAt = takenAt;
+    }
+    public byte[] getPayload() {
+        return payload;
+    }
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+}
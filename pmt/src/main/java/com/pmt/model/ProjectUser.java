@@ -9,12 +9,16 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 /**
  * Représente l'association entre un projet et un utilisateur, incluant le rôle de cet utilisateur au sein du projet.
+ * Un utilisateur n'est associé qu'une seule fois à un même projet.
  */
 @Entity
-@Table(name = "project_user")
+@Table(name = "project_user", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_project_user", columnNames = {"project_id", "user_id"})
+})
 public class ProjectUser {
     /**
      * Identifiant unique de l'association projet-utilisateur.
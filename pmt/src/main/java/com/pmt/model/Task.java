@@ -7,9 +7,11 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -18,7 +20,12 @@ import jakarta.persistence.Table;
  * Représente une tâche au sein d'un projet.
  */
 @Entity
-@Table(name = "task")
+@Table(name = "task", indexes = {
+    @Index(name = "idx_task_project_id", columnList = "project_id, id"),
+    @Index(name = "idx_task_status_id", columnList = "status, id"),
+    @Index(name = "idx_task_priorite_id", columnList = "priorite, id"),
+    @Index(name = "idx_task_echeance_id", columnList = "date_echeance, id")
+})
 public class Task {
     /**
      * Identifiant unique de la tâche.
@@ -44,8 +51,9 @@ public class Task {
     private LocalDate dateEcheance;
     /**
      * Le projet auquel la tâche est associée.
+     * Chargé à la demande : l'identifiant du projet reste accessible sans requête supplémentaire.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     @JsonBackReference
     private Project project;
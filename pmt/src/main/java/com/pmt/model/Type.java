@@ -5,6 +5,7 @@ package com.pmt.model;
  * Remarque importante : cette énumération est utilisée avec {@code @Enumerated(EnumType.ORDINAL)}
  * dans une entité JPA, modifier l'ordre des éléments (Titre, Description) ou en insérer de nouveaux
  * pourrait causer des problèmes d'intégrité des données dans la base de données existante.
+ * Les nouveaux éléments sont donc toujours ajoutés à la fin.
  */
 public enum Type {
     /**
@@ -14,5 +15,37 @@ public enum Type {
     /**
      * Représente le champ 'Description'.
      */
-    Description // 1
-}
\ No newline at end of file
+    Description, // 1
+    /**
+     * Représente le statut d'une tâche.
+     */
+    Statut, // 2
+    /**
+     * Représente la priorité d'une tâche.
+     */
+    Priorite, // 3
+    /**
+     * Représente la date d'échéance d'une tâche.
+     */
+    DateEcheance, // 4
+    /**
+     * Représente la date de fin d'une tâche ou d'un projet.
+     */
+    DateFin, // 5
+    /**
+     * Représente la date de début d'un projet.
+     */
+    DateDebut, // 6
+    /**
+     * Entrée regroupant toutes les modifications d'une mise à jour, détaillées dans {@code Historique.changes}.
+     */
+    Modification, // 7
+    /**
+     * Création d'une tâche, avec ses valeurs initiales dans {@code Historique.changes}.
+     */
+    Creation, // 8
+    /**
+     * Suppression d'une tâche, avec ses dernières valeurs dans {@code Historique.changes}.
+     */
+    Suppression // 9
+}
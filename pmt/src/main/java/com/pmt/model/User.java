@@ -4,6 +4,8 @@ import java.util.List;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -36,6 +38,12 @@ public class User {
      * Le mot de passe de l'utilisateur.
      */
     private String mdp;
+    /**
+     * La manière dont l'utilisateur reçoit ses notifications e-mail.
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "notification_mode")
+    private NotificationMode notificationMode = NotificationMode.IMMEDIATE;
     /**
      * Liste des tâches assignées à l'utilisateur.
      */
@@ -72,5 +80,11 @@ public class User {
     public void setMdp(String mdp) {
         this.mdp = mdp;
     }
+    public NotificationMode getNotificationMode() {
+        return notificationMode != null ? notificationMode : NotificationMode.IMMEDIATE;
+    }
+    public void setNotificationMode(NotificationMode notificationMode) {
+        this.notificationMode = notificationMode;
+    }
     
 }
\ No newline at end of file
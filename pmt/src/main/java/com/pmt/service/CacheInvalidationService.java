@@ -0,0 +1,28 @@
+package com.pmt.service;
+
+/**
+ * Interface de service pour la cohérence des caches entre les instances de l'application.
+ * Les évictions d'une instance sont écrites dans la base partagée ; chaque instance lit celles
+ * des autres et les applique à ses propres caches.
+ */
+public interface CacheInvalidationService {
+    /**
+     * Enregistre une éviction à appliquer par les autres instances, dans la transaction en cours s'il y en a une.
+     *
+     * @param cacheName Le nom du cache.
+     * @param key La clé de l'entrée évincée, ou null si tout le cache est vidé.
+     */
+    void publish(String cacheName, Long key);
+    /**
+     * Applique aux caches de cette instance les évictions écrites par les autres instances depuis le dernier appel.
+     *
+     * @return Le nombre d'évictions appliquées.
+     */
+    int poll();
+    /**
+     * Supprime les évictions plus anciennes que la durée de conservation.
+     *
+     * @return Le nombre d'évictions supprimées.
+     */
+    int purgeExpired();
+}
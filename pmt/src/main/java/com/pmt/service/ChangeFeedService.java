@@ -0,0 +1,44 @@
+package com.pmt.service;
+
+import java.util.List;
+
+import com.pmt.dto.ChangeFeed;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
+
+/**
+ * Interface de service pour le journal des changements, lu par les clients pour se synchroniser
+ * par différence au lieu de recharger toutes leurs données.
+ */
+public interface ChangeFeedService {
+    /**
+     * Enregistre un changement dans la transaction en cours.
+     *
+     * @param entity Le type de l'entité modifiée.
+     * @param entityId L'identifiant de l'entité.
+     * @param projectId L'identifiant du projet de l'entité.
+     * @param operation La nature du changement.
+     */
+    void record(ChangeEntity entity, Long entityId, Long projectId, ChangeOperation operation);
+    /**
+     * Enregistre plusieurs changements dans la transaction en cours, par lots.
+     *
+     * @param changes Les entrées à enregistrer.
+     */
+    void recordAll(List<ChangeLog> changes);
+    /**
+     * Récupère les changements postérieurs à un curseur, avec la version courante des entités modifiées.
+     *
+     * @param since Le curseur renvoyé par l'appel précédent, ou null pour une première synchronisation.
+     * @param size La taille de page, ou null pour la taille par défaut.
+     * @return Une page du flux de synchronisation.
+     */
+    ChangeFeed findSince(Long since, Integer size);
+    /**
+     * Supprime les entrées du journal plus anciennes que la durée de conservation.
+     *
+     * @return Le nombre d'entrées supprimées.
+     */
+    int purgeExpired();
+}
@@ -0,0 +1,25 @@
+package com.pmt.service;
+
+import java.util.List;
+
+import com.pmt.dto.UserDashboard;
+import com.pmt.model.ChangeLog;
+
+/**
+ * Interface de service pour le tableau de bord d'accueil des utilisateurs.
+ */
+public interface DashboardService {
+    /**
+     * Récupère le tableau de bord d'un utilisateur.
+     *
+     * @param userId L'identifiant de l'utilisateur.
+     * @return Ses projets, ses tâches assignées et leur nombre par statut.
+     */
+    UserDashboard findByUserId(Long userId);
+    /**
+     * Reporte des changements sur les tableaux de bord tenus à jour, après la validation de la transaction en cours.
+     *
+     * @param changes Les changements enregistrés.
+     */
+    void apply(List<ChangeLog> changes);
+}
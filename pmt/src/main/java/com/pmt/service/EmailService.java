@@ -1,13 +1,29 @@
 package com.pmt.service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
 /**
  * Service pour l'envoi d'e-mails.
+ * <p>
+ * Les envois par lot réutilisent une seule connexion SMTP pour au plus {@code batchSize} messages,
+ * et le nombre de connexions simultanées vers le serveur est borné par {@code maxConnections}.
+ * </p>
  */
 @Service
 public class EmailService {
@@ -18,12 +34,49 @@ public class EmailService {
     @Autowired
     private JavaMailSender emailSender;
 
+    /**
+     * Le registre des métriques d'envoi.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * L'adresse e-mail de l'expéditeur, injectée à partir des propriétés de configuration.
      */
     @Value("${spring.mail.from}")
     private String from;
 
+    /**
+     * Nombre maximal de messages envoyés sur une même connexion SMTP.
+     */
+    @Value("${pmt.mail.batch-size:50}")
+    int batchSize;
+
+    /**
+     * Nombre maximal de connexions SMTP ouvertes simultanément vers le serveur.
+     */
+    @Value("${pmt.mail.max-connections:2}")
+    int maxConnections;
+
+    private Semaphore connections;
+    private Counter sent;
+    private Counter failed;
+    private Timer batchTimer;
+
+    /**
+     * Initialise le sémaphore des connexions et les métriques.
+     */
+    @PostConstruct
+    void init() {
+        connections = new Semaphore(Math.max(1, maxConnections), true);
+        sent = Counter.builder("pmt.mail.messages").tag("result", "sent")
+                .description("Messages acceptés par le serveur SMTP").register(meterRegistry);
+        failed = Counter.builder("pmt.mail.messages").tag("result", "failed")
+                .description("Messages refusés ou non envoyés").register(meterRegistry);
+        batchTimer = Timer.builder("pmt.mail.batch")
+                .description("Durée d'envoi d'un lot sur une connexion SMTP").register(meterRegistry);
+    }
+
     /**
      * Envoie un simple message électronique.
      *
@@ -32,11 +85,91 @@ public class EmailService {
      * @param text Le corps du texte de l'e-mail.
      */
     public void sendSimpleMessage(String to, String subject, String text) {
-        SimpleMailMessage message = new SimpleMailMessage(); 
+        Exception error = sendBatch(List.of(newMessage(to, subject, text))).get(0);
+        if (error instanceof MailException mailException) {
+            throw mailException;
+        }
+        if (error != null) {
+            throw new MailSendException(error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Construit un message avec l'expéditeur configuré.
+     *
+     * @param to Le destinataire de l'e-mail.
+     * @param subject L'objet de l'e-mail.
+     * @param text Le corps du texte de l'e-mail.
+     * @return Le message à envoyer.
+     */
+    public SimpleMailMessage newMessage(String to, String subject, String text) {
+        SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(from);
-        message.setTo(to); 
-        message.setSubject(subject); 
+        message.setTo(to);
+        message.setSubject(subject);
         message.setText(text);
-        emailSender.send(message);
+        return message;
+    }
+
+    /**
+     * Envoie des messages par lots de {@code batchSize}, chaque lot sur une seule connexion SMTP.
+     * Un échec n'interrompt pas l'envoi des autres messages.
+     *
+     * @param messages Les messages à envoyer.
+     * @return Les erreurs des messages non envoyés, indexées par leur position dans la liste ; vide si tout est envoyé.
+     */
+    public Map<Integer, Exception> sendBatch(List<SimpleMailMessage> messages) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        int size = Math.max(1, batchSize);
+        for (int start = 0; start < messages.size(); start += size) {
+            sendChunk(messages.subList(start, Math.min(start + size, messages.size())), start, failures);
+        }
+        return failures;
+    }
+
+    /**
+     * Envoie un lot sur une seule connexion, dans la limite de {@code maxConnections} connexions simultanées.
+     *
+     * @param chunk Les messages du lot.
+     * @param offset La position du premier message du lot dans la liste d'origine.
+     * @param failures Les erreurs, complétées avec celles du lot.
+     */
+    private void sendChunk(List<SimpleMailMessage> chunk, int offset, Map<Integer, Exception> failures) {
+        try {
+            connections.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (int i = 0; i < chunk.size(); i++) {
+                failures.put(offset + i, e);
+            }
+            failed.increment(chunk.size());
+            return;
+        }
+        int errors = 0;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            emailSender.send(chunk.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // Échec partiel : seuls les messages listés ont été refusés
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (int i = 0; i < chunk.size(); i++) {
+                Exception error = failedMessages.isEmpty() ? e : failedMessages.get(chunk.get(i));
+                if (error != null) {
+                    failures.put(offset + i, error);
+                    errors++;
+                }
+            }
+        } catch (MailException e) {
+            // Connexion ou authentification impossible : aucun message du lot n'est parti
+            for (int i = 0; i < chunk.size(); i++) {
+                failures.put(offset + i, e);
+            }
+            errors = chunk.size();
+        } finally {
+            sample.stop(batchTimer);
+            connections.release();
+        }
+        sent.increment(chunk.size() - errors);
+        failed.increment(errors);
     }
-}
\ No newline at end of file
+}
@@ -2,24 +2,27 @@ package com.pmt.service;
 
 import java.util.List;
 
-import com.pmt.model.Historique;
+import com.pmt.dto.HistoriqueDTO;
+import com.pmt.dto.HistoriqueFilter;
 
 /**
  * Interface de service pour la gestion de l'historique des modifications.
  */
 public interface HistoriqueService {
     /**
-     * Récupère toutes les entrées d'historique pour un projet donné.
+     * Récupère une page de l'historique d'un projet, de la plus récente à la plus ancienne entrée.
      *
-     * @param project_id L'identifiant du projet.
-     * @return Une liste d'objets Historique associés au projet.
+     * @param projectId L'identifiant du projet.
+     * @param filter Les curseurs, la taille de page et l'intervalle de dates.
+     * @return Une liste d'objets HistoriqueDTO associés au projet.
      */
-    List<Historique> findAllByProject(Long project_id);
+    List<HistoriqueDTO> findPageByProject(Long projectId, HistoriqueFilter filter);
     /**
-     * Récupère toutes les entrées d'historique pour une tâche donnée.
+     * Récupère une page de l'historique d'une tâche, de la plus récente à la plus ancienne entrée.
      *
-     * @param task_id L'identifiant de la tâche.
-     * @return Une liste d'objets Historique associés à la tâche.
+     * @param taskId L'identifiant de la tâche.
+     * @param filter Les curseurs, la taille de page et l'intervalle de dates.
+     * @return Une liste d'objets HistoriqueDTO associés à la tâche.
      */
-    List<Historique> findAllByTask(Long task_id);
-}
\ No newline at end of file
+    List<HistoriqueDTO> findPageByTask(Long taskId, HistoriqueFilter filter);
+}
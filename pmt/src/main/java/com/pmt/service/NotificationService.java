@@ -0,0 +1,40 @@
+package com.pmt.service;
+
+import java.util.List;
+
+import com.pmt.model.NotificationDigestItem;
+import com.pmt.model.NotificationOutbox;
+import com.pmt.model.Task;
+import com.pmt.model.User;
+
+/**
+ * Interface de service pour l'envoi différé des notifications e-mail.
+ */
+public interface NotificationService {
+    /**
+     * Enregistre une notification e-mail dans l'outbox, dans la transaction courante.
+     * Elle n'est envoyée qu'après validation de cette transaction, en arrière-plan.
+     *
+     * @param to Le destinataire de l'e-mail.
+     * @param subject L'objet de l'e-mail.
+     * @param text Le corps du texte de l'e-mail.
+     * @return La notification enregistrée.
+     */
+    NotificationOutbox enqueue(String to, String subject, String text);
+    /**
+     * Notifie un utilisateur de l'assignation d'une tâche, selon sa préférence :
+     * e-mail immédiat, ou ajout à son prochain récapitulatif.
+     *
+     * @param user L'utilisateur assigné, avec une adresse e-mail.
+     * @param task La tâche assignée.
+     */
+    void notifyAssignment(User user, Task task);
+    /**
+     * Enregistre dans l'outbox un seul e-mail pour des notifications d'un même destinataire :
+     * l'e-mail d'assignation s'il n'y en a qu'une, le récapitulatif sinon.
+     *
+     * @param items Les notifications à regrouper, au moins une.
+     * @return La notification enregistrée.
+     */
+    NotificationOutbox enqueueSummary(List<NotificationDigestItem> items);
+}
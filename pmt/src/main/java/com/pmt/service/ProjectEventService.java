@@ -0,0 +1,32 @@
+package com.pmt.service;
+
+import java.util.List;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.pmt.dto.ProjectEvent;
+
+/**
+ * Interface de service pour la diffusion en direct des changements d'un projet à ses clients abonnés.
+ */
+public interface ProjectEventService {
+    /**
+     * Abonne un client aux changements d'un projet.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Le flux d'événements à renvoyer au client.
+     */
+    SseEmitter subscribe(Long projectId);
+    /**
+     * Diffuse des événements aux abonnés de leurs projets, après la validation de la transaction en cours.
+     *
+     * @param events Les événements.
+     */
+    void publish(List<ProjectEvent> events);
+    /**
+     * Récupère le nombre de connexions ouvertes.
+     *
+     * @return Le nombre de connexions.
+     */
+    int connections();
+}
@@ -0,0 +1,18 @@
+package com.pmt.service;
+
+/**
+ * Interface de service pour la purge en arrière-plan des projets supprimés.
+ */
+public interface ProjectPurgeService {
+    /**
+     * Purge tous les projets marqués comme supprimés.
+     */
+    void purgeDeletedProjects();
+    /**
+     * Purge un projet marqué comme supprimé : son historique, ses assignations et ses tâches
+     * sont supprimés par lots, chaque lot dans sa propre transaction, puis le projet lui-même.
+     *
+     * @param projectId L'identifiant du projet à purger.
+     */
+    void purge(Long projectId);
+}
@@ -1,7 +1,10 @@
 package com.pmt.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.pmt.dto.ProjectBoard;
+import com.pmt.dto.ProjectState;
 import com.pmt.dto.ProjectUpdate;
 import com.pmt.model.Project;
 
@@ -22,6 +25,28 @@ public interface ProjectService {
      * @return Le projet correspondant à l'identifiant, ou null s'il n'existe pas.
      */
     Project findById(Long id);
+    /**
+     * Récupère l'état courant d'un projet, sans ses tâches, depuis le cache si possible.
+     *
+     * @param id L'identifiant du projet.
+     * @return L'état du projet.
+     */
+    ProjectState findState(Long id);
+    /**
+     * Reconstruit l'état d'un projet et de ses tâches à un instant passé.
+     *
+     * @param id L'identifiant du projet.
+     * @param asOf L'instant demandé.
+     * @return L'état du projet à cet instant.
+     */
+    ProjectState findByIdAsOf(Long id, LocalDateTime asOf);
+    /**
+     * Récupère en un seul appel le tableau d'un projet : le projet, ses tâches, ses membres et leurs assignations.
+     *
+     * @param id L'identifiant du projet.
+     * @return Le tableau du projet.
+     */
+    ProjectBoard findBoard(Long id);
     /**
      * Crée un nouveau projet.
      *
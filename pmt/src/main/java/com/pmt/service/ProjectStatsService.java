@@ -0,0 +1,31 @@
+package com.pmt.service;
+
+import java.util.List;
+
+import com.pmt.dto.ProjectStats;
+import com.pmt.dto.TaskCount;
+
+/**
+ * Interface de service pour les compteurs de tâches des projets, par statut et par priorité.
+ */
+public interface ProjectStatsService {
+    /**
+     * Récupère les compteurs de tâches d'un projet.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre de tâches du projet, au total, par statut et par priorité.
+     */
+    ProjectStats findByProjectId(Long projectId);
+    /**
+     * Reporte des variations sur les compteurs des projets, après la validation de la transaction en cours.
+     *
+     * @param counts Les tâches ajoutées (nombre positif) ou retirées (nombre négatif).
+     */
+    void count(List<TaskCount> counts);
+    /**
+     * Supprime les compteurs d'un projet dans la transaction en cours.
+     *
+     * @param projectId L'identifiant du projet supprimé.
+     */
+    void drop(Long projectId);
+}
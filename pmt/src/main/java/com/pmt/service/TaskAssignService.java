@@ -24,6 +24,13 @@ public interface TaskAssignService {
      * @return Une liste d'objets Assigned.
      */
     List<Assigned> getUsersByTaskId(Long taskId);
+    /**
+     * Récupère en une seule fois les utilisateurs assignés à plusieurs tâches.
+     *
+     * @param taskIds Les identifiants des tâches.
+     * @return Une liste d'objets Assigned, triés par tâche.
+     */
+    List<Assigned> getUsersByTaskIds(List<Long> taskIds);
     /**
      * Supprime toutes les assignations de tâches pour un identifiant de tâche donné.
      *
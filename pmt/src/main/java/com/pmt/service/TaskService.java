@@ -3,6 +3,7 @@ package com.pmt.service;
 import java.util.List;
 
 import com.pmt.dto.TaskDTO;
+import com.pmt.dto.TaskFilter;
 import com.pmt.model.Task;
 
 /**
@@ -10,11 +11,12 @@ import com.pmt.model.Task;
  */
 public interface TaskService {
     /**
-     * Récupère toutes les tâches.
+     * Récupère une page de tâches correspondant aux filtres donnés.
      *
-     * @return Une liste d'objets TaskDTO représentant toutes les tâches.
+     * @param filter Les critères de filtrage et le curseur de pagination.
+     * @return Une liste d'objets TaskDTO triés par identifiant.
      */
-    List<TaskDTO> findAll();
+    List<TaskDTO> findAll(TaskFilter filter);
     /**
      * Récupère une tâche par son identifiant.
      *
@@ -29,6 +31,13 @@ public interface TaskService {
      * @return L'objet Task créé.
      */
     Task create(TaskDTO dto);
+    /**
+     * Crée un lot de tâches en une seule transaction.
+     *
+     * @param dtos Les objets TaskDTO des tâches à créer.
+     * @return Les tâches créées, avec leurs identifiants.
+     */
+    List<TaskDTO> createAll(List<TaskDTO> dtos);
     /**
      * Met à jour une tâche existante.
      *
@@ -36,6 +45,13 @@ public interface TaskService {
      * @return L'objet TaskDTO mis à jour.
      */
     TaskDTO update(TaskDTO task);
+    /**
+     * Met à jour un lot de tâches en une seule transaction.
+     *
+     * @param dtos Les objets TaskDTO des tâches à mettre à jour.
+     * @return Les tâches mises à jour.
+     */
+    List<TaskDTO> updateAll(List<TaskDTO> dtos);
     /**
      * Supprime une tâche par son identifiant.
      *
@@ -2,6 +2,7 @@ package com.pmt.service;
 
 import java.util.List;
 
+import com.pmt.model.NotificationMode;
 import com.pmt.model.User;
 
 /**
@@ -43,4 +44,12 @@ public interface UserService {
      * @return Une liste d'objets User.
      */
     List<User> findByProjectId(Long id);
+    /**
+     * Modifie la manière dont un utilisateur reçoit ses notifications e-mail.
+     *
+     * @param id L'identifiant de l'utilisateur.
+     * @param mode Le mode de notification souhaité.
+     * @return L'utilisateur mis à jour.
+     */
+    User updateNotificationMode(Long id, NotificationMode mode);
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.pmt.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pmt.config.BoundedCacheManager;
+import com.pmt.config.CacheEvictionListener;
+import com.pmt.model.CacheInvalidation;
+import com.pmt.service.CacheInvalidationService;
+import com.pmt.store.CacheInvalidationStore;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Implémentation du service de cohérence des caches entre les instances, sans autre intermédiaire
+ * que la base partagée.
+ * <p>
+ * Chaque éviction demandée sur un cache de cette instance est écrite dans la table {@code cache_invalidation},
+ * par lots, juste avant la validation de la transaction qui l'a provoquée : elle n'est visible des autres
+ * instances que si la modification l'est aussi. Hors transaction, elle est écrite immédiatement.
+ * </p>
+ * <p>
+ * Toutes les {@code pmt.cache.invalidation.poll-delay}, l'instance lit les évictions postérieures à la
+ * dernière lue et applique celles des autres instances. Les identifiants sont attribués à l'insertion mais
+ * visibles à la validation, dans un ordre qui peut différer : un identifiant sauté est relu à chaque passage
+ * jusqu'à ce que sa ligne apparaisse, ou pendant {@code pmt.cache.invalidation.gap-timeout} au plus
+ * (transaction annulée). Les entrées restent de toute façon bornées par la durée de vie des caches.
+ * </p>
+ */
+@Service
+public class CacheInvalidationServiceImpl implements CacheInvalidationService, CacheEvictionListener {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationServiceImpl.class);
+
+    /**
+     * Nombre maximal d'identifiants sautés suivis à la fois.
+     */
+    static final int MAX_GAPS = 10000;
+
+    @Autowired
+    CacheInvalidationStore cacheInvalidationStore;
+    @Autowired
+    BoundedCacheManager cacheManager;
+
+    /**
+     * Nombre maximal d'évictions lues par passage.
+     */
+    @Value("${pmt.cache.invalidation.batch-size:500}")
+    int batchSize;
+    /**
+     * Durée pendant laquelle un identifiant sauté est relu.
+     */
+    @Value("${pmt.cache.invalidation.gap-timeout:PT10S}")
+    Duration gapTimeout;
+    /**
+     * Durée de conservation des évictions.
+     */
+    @Value("${pmt.cache.invalidation.retention:PT1H}")
+    Duration retention;
+
+    /**
+     * Identifiant de cette instance, propre à chaque démarrage.
+     */
+    final String instanceId = UUID.randomUUID().toString();
+    /**
+     * Identifiant de la plus récente éviction lue.
+     */
+    private long lastId;
+    /**
+     * Identifiants sautés, encore relus, avec l'instant où ils l'ont été.
+     */
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    /**
+     * Démarre la lecture après les évictions existantes, les caches de l'instance étant vides,
+     * et s'abonne aux évictions de ses caches.
+     */
+    @PostConstruct
+    public void init() {
+        lastId = cacheInvalidationStore.findLastId().orElse(0L);
+        cacheManager.setEvictionListener(this);
+    }
+
+    /**
+     * Propage une éviction d'un cache de cette instance. Seules les clés numériques sont propagées
+     * telles quelles : toute autre éviction vide le cache concerné sur les autres instances.
+     */
+    @Override
+    public void evicted(String cacheName, Object key) {
+        publish(cacheName, key instanceof Long id ? id : null);
+    }
+
+    /**
+     * Enregistre une éviction, regroupée avec celles de la transaction en cours pour être écrite juste
+     * avant sa validation. Un échec d'écriture est journalisé sans faire échouer la transaction :
+     * les autres instances gardent alors l'entrée au plus jusqu'à son expiration.
+     * @param cacheName Le nom du cache.
+     * @param key La clé de l'entrée évincée, ou null si tout le cache est vidé.
+     */
+    @Override
+    public void publish(String cacheName, Long key) {
+        CacheInvalidation invalidation = CacheInvalidation.of(instanceId, cacheName, key);
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(invalidation));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<CacheInvalidation> pending = (List<CacheInvalidation>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<CacheInvalidation> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    insert(batch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(CacheInvalidationServiceImpl.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(invalidation);
+    }
+
+    private void insert(List<CacheInvalidation> invalidations) {
+        try {
+            cacheInvalidationStore.insertAll(invalidations);
+        } catch (RuntimeException e) {
+            logger.error("Erreur lors de l'écriture de {} évictions de cache", invalidations.size(), e);
+        }
+    }
+
+    /**
+     * Lit les nouvelles évictions et les identifiants sautés, puis applique celles des autres instances.
+     * @return Le nombre d'évictions appliquées.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${pmt.cache.invalidation.poll-delay:PT0.1S}")
+    public synchronized int poll() {
+        List<CacheInvalidation> rows = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            rows.addAll(cacheInvalidationStore.findByIdIn(gaps.keySet()));
+        }
+        rows.addAll(cacheInvalidationStore.findPage(lastId, Limit.of(batchSize)));
+
+        long now = System.nanoTime();
+        int applied = 0;
+        for (CacheInvalidation row : rows) {
+            long id = row.getId();
+            if (gaps.remove(id) == null) {
+                if (id <= lastId) {
+                    continue;
+                }
+                for (long skipped = lastId + 1; skipped < id && gaps.size() < MAX_GAPS; skipped++) {
+                    gaps.put(skipped, now);
+                }
+                lastId = id;
+            }
+            if (!instanceId.equals(row.getNodeId())) {
+                cacheManager.evictLocally(row.getCacheName(), row.getCacheKey());
+                applied++;
+            }
+        }
+        for (Iterator<Long> it = gaps.values().iterator(); it.hasNext(); ) {
+            if (now - it.next() >= gapTimeout.toNanos()) {
+                it.remove();
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Supprime périodiquement les évictions plus anciennes que la durée de conservation.
+     * @return Le nombre d'évictions supprimées.
+     */
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${pmt.cache.invalidation.purge-interval:PT10M}",
+               fixedDelayString = "${pmt.cache.invalidation.purge-interval:PT10M}")
+    public int purgeExpired() {
+        return cacheInvalidationStore.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+}
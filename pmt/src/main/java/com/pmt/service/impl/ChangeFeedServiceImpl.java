@@ -0,0 +1,270 @@
+package com.pmt.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pmt.dto.ChangeDTO;
+import com.pmt.dto.ChangeFeed;
+import com.pmt.dto.ProjectEvent;
+import com.pmt.dto.ProjectState;
+import com.pmt.dto.UsersProject;
+import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
+import com.pmt.service.ChangeFeedService;
+import com.pmt.service.DashboardService;
+import com.pmt.service.ProjectEventService;
+import com.pmt.store.ChangeLogStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.ProjectUserStore;
+import com.pmt.store.TaskAssignStore;
+import com.pmt.store.TaskStore;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Implémentation du service du journal des changements.
+ * <p>
+ * Chaque écriture sur un projet, une tâche, une appartenance ou une assignation ajoute une ligne au journal
+ * dans sa propre transaction : le journal ne signale jamais un changement annulé ni n'en omet un validé.
+ * À la lecture, les entrées d'une page sont ramenées à une par entité (la dernière l'emporte) et la
+ * version courante des entités est relue par une requête par type ; une entité disparue depuis est
+ * renvoyée comme supprimée. La suppression d'un projet vaut suppression de ses tâches, appartenances
+ * et assignations, celle d'une tâche suppression de ses assignations : elles ne font pas l'objet
+ * d'entrées distinctes.
+ * </p>
+ * Les identifiants servent de curseur : ils doivent suivre l'ordre de validation, sans quoi une transaction
+ * plus lente validerait une entrée d'identifiant inférieur à une entrée déjà lue, que le client ne verrait
+ * jamais. Les entrées sont donc insérées juste avant la validation, sous un verrou ({@code change_log_lock})
+ * gardé jusqu'à celle-ci : les transactions qui écrivent dans le journal valident l'une après l'autre, et
+ * toute entrée visible a un identifiant supérieur à celui de toutes les entrées validées avant elle.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedServiceImpl.class);
+
+    @Autowired
+    ChangeLogStore changeLogStore;
+    @Autowired
+    ProjectStore projectStore;
+    @Autowired
+    TaskStore taskStore;
+    @Autowired
+    ProjectUserStore projectUserStore;
+    @Autowired
+    TaskAssignStore taskAssignStore;
+    @Autowired
+    ProjectEventService projectEventService;
+    @Autowired
+    DashboardService dashboardService;
+
+    /**
+     * Taille de page utilisée lorsque le client n'en précise pas.
+     */
+    static final int DEFAULT_PAGE_SIZE = 500;
+    /**
+     * Taille de page maximale acceptée.
+     */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Durée de conservation du journal ; un client dont le curseur est plus ancien doit tout recharger.
+     */
+    @Value("${pmt.changes.retention:P30D}")
+    Period retention;
+
+    /**
+     * Crée la ligne du verrou du journal sur une nouvelle base.
+     */
+    @PostConstruct
+    public void init() {
+        changeLogStore.initCommitLock();
+    }
+
+    /**
+     * Enregistre un changement dans la transaction en cours, au moment de sa validation ; il est poussé
+     * aux abonnés du projet et reporté sur les tableaux de bord après la validation.
+     * @param entity Le type de l'entité modifiée.
+     * @param entityId L'identifiant de l'entité.
+     * @param projectId L'identifiant du projet de l'entité.
+     * @param operation La nature du changement.
+     */
+    @Override
+    public void record(ChangeEntity entity, Long entityId, Long projectId, ChangeOperation operation) {
+        ChangeLog change = ChangeLog.of(entity, entityId, projectId, operation);
+        write(List.of(change));
+        projectEventService.publish(List.of(ProjectEvent.of(change)));
+        dashboardService.apply(List.of(change));
+    }
+
+    /**
+     * Enregistre plusieurs changements dans la transaction en cours, au moment de sa validation, par lots JDBC ;
+     * ils sont poussés aux abonnés de leurs projets et reportés sur les tableaux de bord après la validation.
+     * @param changes Les entrées à enregistrer.
+     */
+    @Override
+    public void recordAll(List<ChangeLog> changes) {
+        write(changes);
+        projectEventService.publish(changes.stream().map(ProjectEvent::of).toList());
+        dashboardService.apply(changes);
+    }
+
+    /**
+     * Insère des entrées juste avant la validation de la transaction en cours, ou immédiatement hors transaction.
+     */
+    private void write(List<ChangeLog> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    changeLogStore.insertInCommitOrder(changes);
+                }
+            });
+        } else {
+            changeLogStore.insertInCommitOrder(changes);
+        }
+    }
+
+    /**
+     * Récupère les changements postérieurs à un curseur.
+     * Sans curseur, ou avec un curseur antérieur aux entrées conservées, aucun changement n'est renvoyé :
+     * le client doit recharger toutes ses données puis repartir du curseur renvoyé.
+     * @param since Le curseur renvoyé par l'appel précédent, ou null pour une première synchronisation.
+     * @param size La taille de page, ou null pour la taille par défaut.
+     * @return Une page du flux de synchronisation.
+     * @throws ValidationException si le curseur est négatif ou si la taille de page est invalide.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeFeed findSince(Long since, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize <= 0) {
+            throw new ValidationException("La taille de page doit être positive.");
+        }
+        pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+        if (since != null && since < 0) {
+            throw new ValidationException("Le curseur ne peut pas être négatif.");
+        }
+        if (since == null || isExpired(since)) {
+            return new ChangeFeed(new ArrayList<>(), changeLogStore.findLastId().orElse(0L), false, true);
+        }
+
+        List<ChangeLog> page = changeLogStore.findPage(since, Limit.of(pageSize + 1));
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+        if (page.isEmpty()) {
+            return new ChangeFeed(new ArrayList<>(), since, false, false);
+        }
+        Long cursor = page.get(page.size() - 1).getId();
+        return new ChangeFeed(resolve(collapse(page)), cursor, hasMore, false);
+    }
+
+    /**
+     * Supprime périodiquement les entrées du journal plus anciennes que la durée de conservation.
+     * @return Le nombre d'entrées supprimées.
+     */
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${pmt.changes.purge-initial-delay:PT5M}",
+               fixedDelayString = "${pmt.changes.purge-interval:PT6H}")
+    public int purgeExpired() {
+        int deleted = changeLogStore.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("{} entrées du journal des changements supprimées", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * @return true si des entrées postérieures au curseur ont déjà été supprimées.
+     */
+    private boolean isExpired(long since) {
+        Optional<Long> first = changeLogStore.findFirstId();
+        return first.isPresent() && since < first.get() - 1;
+    }
+
+    /**
+     * Ne garde que la dernière entrée de chaque entité, à la position de cette dernière entrée.
+     */
+    private static List<ChangeLog> collapse(List<ChangeLog> page) {
+        Map<String, ChangeLog> latest = new LinkedHashMap<>();
+        for (ChangeLog change : page) {
+            String key = change.getEntity() + ":" + change.getEntityId();
+            latest.remove(key);
+            latest.put(key, change);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    /**
+     * Relit la version courante des entités créées ou modifiées, une requête par type d'entité.
+     * Une entité introuvable a été supprimée depuis : elle est renvoyée comme supprimée.
+     */
+    private List<ChangeDTO> resolve(List<ChangeLog> changes) {
+        Map<ChangeEntity, Set<Long>> ids = new EnumMap<>(ChangeEntity.class);
+        for (ChangeLog change : changes) {
+            if (change.getOperation() == ChangeOperation.UPSERT) {
+                ids.computeIfAbsent(change.getEntity(), e -> new TreeSet<>()).add(change.getEntityId());
+            }
+        }
+        Map<ChangeEntity, Map<Long, Object>> data = new EnumMap<>(ChangeEntity.class);
+        ids.forEach((entity, entityIds) -> data.put(entity, load(entity, entityIds)));
+
+        List<ChangeDTO> result = new ArrayList<>(changes.size());
+        for (ChangeLog change : changes) {
+            Object current = change.getOperation() == ChangeOperation.UPSERT
+                    ? data.get(change.getEntity()).get(change.getEntityId())
+                    : null;
+            ChangeOperation operation = current == null ? ChangeOperation.DELETE : ChangeOperation.UPSERT;
+            result.add(new ChangeDTO(change.getId(), change.getEntity(), change.getEntityId(),
+                    change.getProjectId(), operation, current));
+        }
+        return result;
+    }
+
+    /**
+     * Charge en une requête la version courante d'entités d'un même type.
+     */
+    private Map<Long, Object> load(ChangeEntity entity, Set<Long> ids) {
+        Map<Long, Object> data = new HashMap<>();
+        switch (entity) {
+            case PROJECT -> projectStore.findAllById(ids).forEach(p -> data.put(p.getId(), ProjectState.of(p)));
+            case TASK -> taskStore.findDtosByIdIn(ids).forEach(t -> data.put(t.getId(), t));
+            case PROJECT_USER -> projectUserStore.findAllById(ids).forEach(pu -> {
+                UsersProject.UserRoleDTO dto = new UsersProject.UserRoleDTO();
+                dto.setId(pu.getId());
+                dto.setUserId(pu.getUser().getId());
+                dto.setRole(pu.getRole());
+                data.put(pu.getId(), dto);
+            });
+            case TASK_ASSIGN -> taskAssignStore.findAssignedByIdIn(ids).forEach(a -> data.put(a.getId(), a));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,540 @@
+package com.pmt.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pmt.dto.Assigned;
+import com.pmt.dto.DashboardProject;
+import com.pmt.dto.TaskDTO;
+import com.pmt.dto.UserDashboard;
+import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
+import com.pmt.model.Project;
+import com.pmt.model.Status;
+import com.pmt.service.DashboardService;
+import com.pmt.store.ChangeLogStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.ProjectUserStore;
+import com.pmt.store.TaskAssignStore;
+import com.pmt.store.TaskStore;
+import com.pmt.store.UserStore;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Implémentation du service des tableaux de bord.
+ * <p>
+ * Les tableaux de bord des {@code cacheSize} derniers utilisateurs servis sont tenus en mémoire et mis à jour
+ * à chaque changement validé d'une tâche, d'une assignation, d'une appartenance ou d'un projet : un tableau
+ * de bord en cache est servi sans requête, quel que soit le nombre de projets et de tâches de l'utilisateur.
+ * Un utilisateur absent du cache est lu en base puis ajouté au cache.
+ * </p>
+ * <p>
+ * Les changements de cette instance sont reportés dès la validation de leur transaction ; ceux de toutes les
+ * instances sont en outre lus dans le journal des changements toutes les {@code pmt.dashboard.poll-delay}, pour
+ * que le cache de chaque instance suive aussi les écritures des autres.
+ * </p>
+ * Les changements sont appliqués un lot à la fois, dans l'ordre des validations, en relisant en base l'état
+ * courant des seules entités présentes dans le cache. Un tableau de bord lu pendant qu'un lot est appliqué
+ * est servi mais pas mis en cache : il pourrait précéder un changement que ce lot n'a pas reporté.
+ * La suppression d'un projet, rare, retire simplement du cache les tableaux de bord qui y font référence.
+ */
+@Service
+public class DashboardServiceImpl implements DashboardService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardServiceImpl.class);
+
+    @Autowired
+    UserStore userStore;
+    @Autowired
+    ProjectStore projectStore;
+    @Autowired
+    ProjectUserStore projectUserStore;
+    @Autowired
+    TaskStore taskStore;
+    @Autowired
+    TaskAssignStore taskAssignStore;
+    @Autowired
+    ChangeLogStore changeLogStore;
+
+    /**
+     * Nombre maximal de tableaux de bord tenus en mémoire.
+     */
+    @Value("${pmt.dashboard.cache-size:10000}")
+    int cacheSize;
+    /**
+     * Nombre maximal de changements lus dans le journal par requête.
+     */
+    @Value("${pmt.dashboard.batch-size:500}")
+    int batchSize;
+
+    /**
+     * Tableau de bord d'un utilisateur tenu en mémoire.
+     */
+    static final class Entry {
+        private final Long userId;
+        /**
+         * Projets par identifiant d'association.
+         */
+        private final Map<Long, DashboardProject> projects = new LinkedHashMap<>();
+        /**
+         * Identifiant de la tâche par identifiant d'assignation.
+         */
+        private final Map<Long, Long> assignments = new HashMap<>();
+        /**
+         * Tâches assignées par identifiant.
+         */
+        private final Map<Long, TaskDTO> tasks = new TreeMap<>();
+        private final Map<Status, Long> counts = new EnumMap<>(Status.class);
+
+        Entry(Long userId) {
+            this.userId = userId;
+        }
+
+        /**
+         * Ajoute une tâche au nombre de tâches de son statut, ou l'en retire.
+         */
+        void count(TaskDTO task, long delta) {
+            if (task != null && task.getStatus() != null) {
+                counts.merge(task.getStatus(), delta, (count, d) -> count + d == 0 ? null : count + d);
+            }
+        }
+
+        boolean references(Set<Long> projectIds) {
+            return projects.values().stream().anyMatch(p -> projectIds.contains(p.getProjectId()))
+                    || tasks.values().stream().anyMatch(t -> projectIds.contains(t.getProjectId()));
+        }
+
+        UserDashboard toDashboard() {
+            return new UserDashboard(userId, new ArrayList<>(projects.values()), new ArrayList<>(tasks.values()),
+                    new EnumMap<>(counts));
+        }
+    }
+
+    /**
+     * Protège le cache et ses index.
+     */
+    private final Object lock = new Object();
+    /**
+     * Sérialise l'application des lots de changements.
+     */
+    private final Object refreshLock = new Object();
+    private Map<Long, Entry> cache;
+    private final Map<Long, Set<Long>> usersByTask = new HashMap<>();
+    private final Map<Long, Set<Long>> usersByProject = new HashMap<>();
+    private final Map<Long, Long> userByAssignment = new HashMap<>();
+    private final Map<Long, Long> userByMembership = new HashMap<>();
+    /**
+     * Incrémenté à chaque lot de changements, pour ne pas mettre en cache une lecture qui l'a croisé.
+     */
+    private long generation;
+    /**
+     * Identifiant du plus récent changement lu dans le journal.
+     */
+    private long lastChangeId;
+
+    /**
+     * Crée le cache des tableaux de bord, vide, et démarre la lecture du journal après ses entrées existantes.
+     */
+    @PostConstruct
+    public void init() {
+        lastChangeId = changeLogStore.findLastId().orElse(0L);
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > cacheSize) {
+                    unindex(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Récupère le tableau de bord d'un utilisateur, depuis le cache ou à défaut depuis la base.
+     * @param userId L'identifiant de l'utilisateur.
+     * @return Ses projets, ses tâches assignées et leur nombre par statut.
+     * @throws ValidationException si l'utilisateur n'existe pas.
+     */
+    @Override
+    public UserDashboard findByUserId(Long userId) {
+        long readAt;
+        synchronized (lock) {
+            Entry entry = cache.get(userId);
+            if (entry != null) {
+                return entry.toDashboard();
+            }
+            readAt = generation;
+        }
+        if (!userStore.existsById(userId)) {
+            throw new ValidationException("Utilisateur non trouvé avec l'ID: " + userId);
+        }
+        Entry entry = load(userId);
+        synchronized (lock) {
+            if (generation == readAt && !cache.containsKey(userId)) {
+                index(entry);
+                cache.put(userId, entry);
+            }
+            return entry.toDashboard();
+        }
+    }
+
+    /**
+     * Lit en base le tableau de bord d'un utilisateur.
+     */
+    private Entry load(Long userId) {
+        Entry entry = new Entry(userId);
+        for (DashboardProject project : projectUserStore.findDashboardProjectsByUserId(userId)) {
+            entry.projects.put(project.getId(), project);
+        }
+        List<Assigned> assigned = taskAssignStore.findAssignedByUserId(userId);
+        if (assigned.isEmpty()) {
+            return entry;
+        }
+        Map<Long, TaskDTO> tasks = findTasks(assigned.stream().map(Assigned::getTaskId).collect(Collectors.toSet()));
+        for (Assigned assignment : assigned) {
+            TaskDTO task = tasks.get(assignment.getTaskId());
+            if (task != null) {
+                entry.assignments.put(assignment.getId(), task.getId());
+                if (entry.tasks.putIfAbsent(task.getId(), task) == null) {
+                    entry.count(task, 1);
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Reporte des changements sur les tableaux de bord en cache. Dans une transaction, ils ne sont reportés
+     * qu'après sa validation, et ignorés en cas d'annulation ; sinon, immédiatement.
+     * @param changes Les changements enregistrés.
+     */
+    @Override
+    public void apply(List<ChangeLog> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(changes);
+                }
+            });
+        } else {
+            refresh(changes);
+        }
+    }
+
+    /**
+     * Lit dans le journal les changements validés par toutes les instances depuis le dernier lu, et les reporte
+     * sur les tableaux de bord en cache. Les identifiants du journal suivent l'ordre des validations : aucun
+     * changement n'est sauté. Ceux de cette instance, déjà reportés, ne font que relire les entités concernées.
+     * @return Le nombre de changements lus.
+     */
+    @Scheduled(fixedDelayString = "${pmt.dashboard.poll-delay:PT1S}")
+    public synchronized int poll() {
+        int read = 0;
+        List<ChangeLog> page;
+        do {
+            page = changeLogStore.findPage(lastChangeId, Limit.of(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            refresh(page);
+            lastChangeId = page.get(page.size() - 1).getId();
+            read += page.size();
+        } while (page.size() == batchSize);
+        return read;
+    }
+
+    /**
+     * Reporte un lot de changements validés sur les tableaux de bord en cache.
+     * En cas d'erreur, le cache est vidé : les tableaux de bord seront relus en base.
+     * @param changes Les changements validés.
+     */
+    void refresh(List<ChangeLog> changes) {
+        synchronized (refreshLock) {
+            synchronized (lock) {
+                generation++;
+                if (cache.isEmpty()) {
+                    return;
+                }
+            }
+            // Seule la dernière opération sur chaque entité compte : l'état courant est relu en base
+            Map<ChangeEntity, Map<Long, ChangeOperation>> latest = new EnumMap<>(ChangeEntity.class);
+            for (ChangeLog change : changes) {
+                latest.computeIfAbsent(change.getEntity(), e -> new LinkedHashMap<>())
+                        .put(change.getEntityId(), change.getOperation());
+            }
+            try {
+                refreshProjects(latest.getOrDefault(ChangeEntity.PROJECT, Map.of()));
+                refreshMemberships(latest.getOrDefault(ChangeEntity.PROJECT_USER, Map.of()));
+                refreshTasks(latest.getOrDefault(ChangeEntity.TASK, Map.of()));
+                refreshAssignments(latest.getOrDefault(ChangeEntity.TASK_ASSIGN, Map.of()));
+            } catch (RuntimeException e) {
+                logger.error("Erreur lors de la mise à jour des tableaux de bord, cache vidé", e);
+                clear();
+            }
+        }
+    }
+
+    private void refreshProjects(Map<Long, ChangeOperation> operations) {
+        Set<Long> deleted = new HashSet<>();
+        Set<Long> updated = new HashSet<>();
+        synchronized (lock) {
+            operations.forEach((projectId, operation) -> {
+                if (operation == ChangeOperation.DELETE) {
+                    deleted.add(projectId);
+                } else if (usersByProject.containsKey(projectId)) {
+                    updated.add(projectId);
+                }
+            });
+            if (!deleted.isEmpty()) {
+                cache.values().stream().filter(entry -> entry.references(deleted)).map(entry -> entry.userId)
+                        .toList().forEach(this::evict);
+            }
+        }
+        if (updated.isEmpty()) {
+            return;
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Project project : projectStore.findAllById(updated)) {
+            names.put(project.getId(), project.getNom());
+        }
+        synchronized (lock) {
+            for (Long projectId : updated) {
+                String nom = names.get(projectId);
+                for (Long userId : List.copyOf(usersByProject.getOrDefault(projectId, Set.of()))) {
+                    if (nom == null) {
+                        evict(userId);
+                        continue;
+                    }
+                    Entry entry = cache.get(userId);
+                    // Remplacé et non modifié : un tableau de bord déjà renvoyé peut être en cours de sérialisation
+                    entry.projects.replaceAll((id, p) -> p.getProjectId().equals(projectId)
+                            ? new DashboardProject(p.getId(), p.getUserId(), projectId, nom, p.getRole()) : p);
+                }
+            }
+        }
+    }
+
+    private void refreshMemberships(Map<Long, ChangeOperation> operations) {
+        List<Long> upserted = new ArrayList<>();
+        synchronized (lock) {
+            operations.forEach((membershipId, operation) -> {
+                if (operation == ChangeOperation.DELETE) {
+                    removeProject(membershipId);
+                } else {
+                    upserted.add(membershipId);
+                }
+            });
+        }
+        if (upserted.isEmpty()) {
+            return;
+        }
+        List<DashboardProject> projects = projectUserStore.findDashboardProjectsByIdIn(upserted);
+        synchronized (lock) {
+            Set<Long> found = new HashSet<>();
+            for (DashboardProject project : projects) {
+                found.add(project.getId());
+                Entry entry = cache.get(project.getUserId());
+                if (entry != null && entry.projects.put(project.getId(), project) == null) {
+                    userByMembership.put(project.getId(), entry.userId);
+                    index(usersByProject, project.getProjectId(), entry.userId);
+                }
+            }
+            upserted.stream().filter(id -> !found.contains(id)).forEach(this::removeProject);
+        }
+    }
+
+    private void refreshTasks(Map<Long, ChangeOperation> operations) {
+        List<Long> upserted = new ArrayList<>();
+        synchronized (lock) {
+            operations.forEach((taskId, operation) -> {
+                if (operation == ChangeOperation.DELETE) {
+                    for (Long userId : List.copyOf(usersByTask.getOrDefault(taskId, Set.of()))) {
+                        removeTask(cache.get(userId), taskId);
+                    }
+                } else if (usersByTask.containsKey(taskId)) {
+                    upserted.add(taskId);
+                }
+            });
+        }
+        if (upserted.isEmpty()) {
+            return;
+        }
+        Map<Long, TaskDTO> tasks = findTasks(upserted);
+        synchronized (lock) {
+            for (Long taskId : upserted) {
+                TaskDTO task = tasks.get(taskId);
+                for (Long userId : List.copyOf(usersByTask.getOrDefault(taskId, Set.of()))) {
+                    Entry entry = cache.get(userId);
+                    if (task == null) {
+                        removeTask(entry, taskId);
+                    } else {
+                        putTask(entry, task);
+                    }
+                }
+            }
+        }
+    }
+
+    private void refreshAssignments(Map<Long, ChangeOperation> operations) {
+        List<Long> upserted = new ArrayList<>();
+        synchronized (lock) {
+            operations.forEach((assignmentId, operation) -> {
+                if (operation == ChangeOperation.DELETE) {
+                    removeAssignment(assignmentId);
+                } else if (!userByAssignment.containsKey(assignmentId)) {
+                    upserted.add(assignmentId);
+                }
+            });
+        }
+        if (upserted.isEmpty()) {
+            return;
+        }
+        List<Assigned> assigned;
+        List<Assigned> found = taskAssignStore.findAssignedByIdIn(upserted);
+        synchronized (lock) {
+            assigned = found.stream().filter(a -> cache.containsKey(a.getUserId())).toList();
+        }
+        if (assigned.isEmpty()) {
+            return;
+        }
+        Map<Long, TaskDTO> tasks = findTasks(assigned.stream().map(Assigned::getTaskId).collect(Collectors.toSet()));
+        synchronized (lock) {
+            for (Assigned assignment : assigned) {
+                Entry entry = cache.get(assignment.getUserId());
+                TaskDTO task = tasks.get(assignment.getTaskId());
+                if (entry == null || task == null || entry.assignments.putIfAbsent(assignment.getId(), task.getId()) != null) {
+                    continue;
+                }
+                userByAssignment.put(assignment.getId(), entry.userId);
+                putTask(entry, task);
+            }
+        }
+    }
+
+    private Map<Long, TaskDTO> findTasks(Collection<Long> ids) {
+        return taskStore.findDtosByIdIn(ids).stream().collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+    }
+
+    // Les méthodes suivantes sont appelées sous le verrou du cache
+
+    private void putTask(Entry entry, TaskDTO task) {
+        TaskDTO previous = entry.tasks.put(task.getId(), task);
+        entry.count(previous, -1);
+        entry.count(task, 1);
+        if (previous == null) {
+            index(usersByTask, task.getId(), entry.userId);
+        }
+    }
+
+    private void removeTask(Entry entry, Long taskId) {
+        entry.count(entry.tasks.remove(taskId), -1);
+        unindex(usersByTask, taskId, entry.userId);
+        Iterator<Map.Entry<Long, Long>> assignments = entry.assignments.entrySet().iterator();
+        while (assignments.hasNext()) {
+            Map.Entry<Long, Long> assignment = assignments.next();
+            if (assignment.getValue().equals(taskId)) {
+                userByAssignment.remove(assignment.getKey());
+                assignments.remove();
+            }
+        }
+    }
+
+    private void removeAssignment(Long assignmentId) {
+        Long userId = userByAssignment.remove(assignmentId);
+        if (userId == null) {
+            return;
+        }
+        Entry entry = cache.get(userId);
+        Long taskId = entry.assignments.remove(assignmentId);
+        // La tâche reste au tableau de bord tant qu'une autre assignation l'y retient
+        if (taskId != null && !entry.assignments.containsValue(taskId)) {
+            removeTask(entry, taskId);
+        }
+    }
+
+    private void removeProject(Long membershipId) {
+        Long userId = userByMembership.remove(membershipId);
+        if (userId == null) {
+            return;
+        }
+        Entry entry = cache.get(userId);
+        DashboardProject removed = entry.projects.remove(membershipId);
+        if (removed != null && entry.projects.values().stream().noneMatch(p -> p.getProjectId().equals(removed.getProjectId()))) {
+            unindex(usersByProject, removed.getProjectId(), userId);
+        }
+    }
+
+    private void evict(Long userId) {
+        Entry entry = cache.remove(userId);
+        if (entry != null) {
+            unindex(entry);
+        }
+    }
+
+    private void clear() {
+        synchronized (lock) {
+            cache.clear();
+            usersByTask.clear();
+            usersByProject.clear();
+            userByAssignment.clear();
+            userByMembership.clear();
+        }
+    }
+
+    private void index(Entry entry) {
+        entry.projects.values().forEach(p -> {
+            userByMembership.put(p.getId(), entry.userId);
+            index(usersByProject, p.getProjectId(), entry.userId);
+        });
+        entry.assignments.keySet().forEach(id -> userByAssignment.put(id, entry.userId));
+        entry.tasks.keySet().forEach(id -> index(usersByTask, id, entry.userId));
+    }
+
+    private void unindex(Entry entry) {
+        entry.projects.values().forEach(p -> {
+            userByMembership.remove(p.getId());
+            unindex(usersByProject, p.getProjectId(), entry.userId);
+        });
+        entry.assignments.keySet().forEach(userByAssignment::remove);
+        entry.tasks.keySet().forEach(id -> unindex(usersByTask, id, entry.userId));
+    }
+
+    private static void index(Map<Long, Set<Long>> index, Long key, Long userId) {
+        index.computeIfAbsent(key, k -> new HashSet<>()).add(userId);
+    }
+
+    private static void unindex(Map<Long, Set<Long>> index, Long key, Long userId) {
+        index.computeIfPresent(key, (k, users) -> {
+            users.remove(userId);
+            return users.isEmpty() ? null : users;
+        });
+    }
+}
@@ -0,0 +1,232 @@
+package com.pmt.service.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.pmt.dto.HistoriqueDTO;
+import com.pmt.model.DescriptionRevision;
+import com.pmt.model.FieldChange;
+import com.pmt.model.Type;
+import com.pmt.store.DescriptionRevisionStore;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Conserve l'historique des descriptions sous forme de versions compressées : un instantané
+ * complet toutes les {@code snapshotInterval} versions, des deltas entre les deux.
+ * <p>
+ * Chaque version référence explicitement sa version parente : deux modifications concurrentes
+ * d'une même description produisent deux branches, chacune cohérente. Si la dernière version
+ * connue ne correspond pas à l'ancienne valeur (première modification, ou description modifiée
+ * hors historique), l'ancienne valeur est d'abord conservée en instantané.
+ * </p>
+ * Les textes reconstruits sont gardés dans un cache LRU de {@code cacheSize} versions : l'affichage
+ * d'une page d'historique ne relit en général que les versions qui n'y sont pas encore.
+ */
+@Component
+public class DescriptionHistory {
+    @Autowired
+    DescriptionRevisionStore revisionStore;
+
+    /**
+     * Nombre maximal de versions entre deux instantanés.
+     */
+    @Value("${pmt.history.snapshot-interval:20}")
+    int snapshotInterval;
+    /**
+     * Nombre maximal de textes reconstruits gardés en mémoire.
+     */
+    @Value("${pmt.history.text-cache-size:1000}")
+    int cacheSize;
+
+    private Map<Long, Optional<String>> cache;
+
+    /**
+     * Crée le cache des textes reconstruits.
+     */
+    @PostConstruct
+    public void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Optional<String>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Enregistre une nouvelle version de la description d'une tâche.
+     * @param taskId L'identifiant de la tâche.
+     * @param oldText L'ancienne description, ou null.
+     * @param newText La nouvelle description, ou null.
+     * @return La modification à placer dans l'historique, qui référence les deux versions.
+     */
+    public FieldChange recordTask(Long taskId, String oldText, String newText) {
+        DescriptionRevision head = revisionStore.findFirstByTaskIdOrderByIdDesc(taskId).orElse(null);
+        return record(taskId, null, head, oldText, newText);
+    }
+
+    /**
+     * Enregistre une nouvelle version de la description d'un projet.
+     * @param projectId L'identifiant du projet.
+     * @param oldText L'ancienne description, ou null.
+     * @param newText La nouvelle description, ou null.
+     * @return La modification à placer dans l'historique, qui référence les deux versions.
+     */
+    public FieldChange recordProject(Long projectId, String oldText, String newText) {
+        DescriptionRevision head = revisionStore.findFirstByProjectIdOrderByIdDesc(projectId).orElse(null);
+        return record(null, projectId, head, oldText, newText);
+    }
+
+    private FieldChange record(Long taskId, Long projectId, DescriptionRevision head, String oldText, String newText) {
+        DescriptionRevision parent = head;
+        if (parent == null || !Objects.equals(texts(List.of(parent.getId())).get(parent.getId()), oldText)) {
+            parent = save(newRevision(taskId, projectId, TextDelta.snapshot(oldText)), oldText);
+        }
+
+        DescriptionRevision revision;
+        if (oldText == null || newText == null || parent.getDepth() + 1 >= snapshotInterval) {
+            revision = newRevision(taskId, projectId, TextDelta.snapshot(newText));
+        } else {
+            revision = newRevision(taskId, projectId, TextDelta.diff(oldText, newText));
+            revision.setParentId(parent.getId());
+            revision.setSnapshotId(parent.isSnapshot() ? parent.getId() : parent.getSnapshotId());
+            revision.setDepth(parent.getDepth() + 1);
+        }
+        revision = save(revision, newText);
+        return FieldChange.ofRevisions(Type.Description, parent.getId(), revision.getId());
+    }
+
+    private static DescriptionRevision newRevision(Long taskId, Long projectId, byte[] payload) {
+        DescriptionRevision revision = new DescriptionRevision();
+        revision.setTaskId(taskId);
+        revision.setProjectId(projectId);
+        revision.setPayload(payload);
+        return revision;
+    }
+
+    private DescriptionRevision save(DescriptionRevision revision, String text) {
+        DescriptionRevision saved = revisionStore.save(revision);
+        cache.put(saved.getId(), Optional.ofNullable(text));
+        return saved;
+    }
+
+    /**
+     * Remplace, dans une page d'historique, les références de versions par les textes reconstruits.
+     * @param page Les entrées d'historique.
+     */
+    public void resolve(List<HistoriqueDTO> page) {
+        Set<Long> ids = new HashSet<>();
+        for (HistoriqueDTO dto : page) {
+            if (dto.getChanges() == null) {
+                continue;
+            }
+            for (FieldChange change : dto.getChanges()) {
+                if (change.hasRevisions()) {
+                    ids.add(change.getOldRevision());
+                    ids.add(change.getNewRevision());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, String> texts = texts(ids);
+        for (HistoriqueDTO dto : page) {
+            if (dto.getChanges() != null && dto.getChanges().stream().anyMatch(FieldChange::hasRevisions)) {
+                dto.setChanges(dto.getChanges().stream()
+                        .map(c -> c.hasRevisions()
+                                ? new FieldChange(c.getField(), texts.get(c.getOldRevision()), texts.get(c.getNewRevision()))
+                                : c)
+                        .toList());
+            }
+        }
+    }
+
+    /**
+     * Reconstruit les textes de versions données. Les versions absentes du cache sont lues avec leurs
+     * chaînes complètes en deux requêtes : les versions elles-mêmes, puis leurs instantanés et deltas.
+     * @param ids Les identifiants des versions.
+     * @return Les textes par identifiant de version ; une version inconnue est absente.
+     */
+    Map<Long, String> texts(Collection<Long> ids) {
+        Map<Long, String> texts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Optional<String> cached = cache.get(id);
+            if (cached != null) {
+                texts.put(id, cached.orElse(null));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return texts;
+        }
+
+        Set<Long> snapshotIds = new HashSet<>();
+        revisionStore.findAllById(missing)
+                .forEach(r -> snapshotIds.add(r.isSnapshot() ? r.getId() : r.getSnapshotId()));
+        if (snapshotIds.isEmpty()) {
+            return texts;
+        }
+        Map<Long, DescriptionRevision> chains = revisionStore.findChains(snapshotIds).stream()
+                .collect(Collectors.toMap(DescriptionRevision::getId, r -> r));
+        for (Long id : missing) {
+            if (chains.containsKey(id)) {
+                texts.put(id, rebuild(id, chains));
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * Reconstruit le texte d'une version en remontant ses parents jusqu'à un texte connu
+     * (en cache ou instantané), puis en appliquant les deltas dans l'ordre.
+     */
+    private String rebuild(Long id, Map<Long, DescriptionRevision> chains) {
+        Deque<DescriptionRevision> path = new ArrayDeque<>();
+        String text;
+        Long current = id;
+        while (true) {
+            Optional<String> cached = cache.get(current);
+            if (cached != null) {
+                text = cached.orElse(null);
+                break;
+            }
+            DescriptionRevision revision = chains.get(current);
+            if (revision == null) {
+                throw new IllegalStateException("Version de description introuvable : " + current);
+            }
+            if (revision.isSnapshot()) {
+                text = TextDelta.restore(revision.getPayload());
+                cache.put(revision.getId(), Optional.ofNullable(text));
+                break;
+            }
+            path.push(revision);
+            current = revision.getParentId();
+        }
+        while (!path.isEmpty()) {
+            DescriptionRevision revision = path.pop();
+            text = TextDelta.patch(text, revision.getPayload());
+            cache.put(revision.getId(), Optional.of(text));
+        }
+        return text;
+    }
+}
@@ -0,0 +1,264 @@
+package com.pmt.service.impl;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Partitionne la table {@code historique} par mois sur {@code date_m} (MySQL uniquement).
+ * <p>
+ * L'application crée ses tables avec {@code ddl-auto=update} : la table {@code historique} d'une
+ * nouvelle base n'est donc pas partitionnée. Tant qu'elle est vide, elle est convertie dès le premier
+ * passage, ce qui ne coûte rien. Une table non partitionnée qui contient déjà des entrées n'est convertie
+ * que si {@code convertExisting} est activé : la conversion réécrit toute la table et la verrouille pendant
+ * ce temps, elle est donc à lancer lors d'une maintenance planifiée. MySQL n'acceptant ni clé étrangère ni clé primaire sans la colonne de partitionnement sur une table
+ * partitionnée, la clé étrangère vers {@code user_app} est alors supprimée et la clé primaire devient
+ * (id, date_m). Chaque mois a ensuite sa partition {@code pAAAAMM}, créée {@code monthsAhead} mois
+ * à l'avance par découpage de la partition {@code pmax}, qui reste vide.
+ * </p>
+ * Les partitions plus anciennes que {@code retention} sont retirées en une opération de
+ * métadonnées, sans DELETE : supprimées ({@link RetentionMode#DROP}) ou échangées avec une table
+ * d'archive {@code historique_archive_pAAAAMM} ({@link RetentionMode#ARCHIVE}). Sur une autre base,
+ * comme H2 en test, la table reste inchangée.
+ */
+@Component
+public class HistoriquePartitionManager {
+    private static final Logger logger = LoggerFactory.getLogger(HistoriquePartitionManager.class);
+    static final String TABLE = "historique";
+    static final String MAX_PARTITION = "pmax";
+    private static final Pattern MONTHLY = Pattern.compile("p(\\d{4})(\\d{2})");
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    /**
+     * Sort des partitions expirées.
+     */
+    public enum RetentionMode {
+        /**
+         * La partition et ses entrées sont supprimées.
+         */
+        DROP,
+        /**
+         * Les entrées sont déplacées dans une table d'archive, puis la partition vide est supprimée.
+         */
+        ARCHIVE
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * Active la gestion des partitions.
+     */
+    @Value("${pmt.history.partitioning.enabled:true}")
+    boolean enabled;
+    /**
+     * Autorise la conversion d'une table non partitionnée qui contient déjà des entrées ; désactivée par défaut.
+     */
+    @Value("${pmt.history.partitioning.convert-existing:false}")
+    boolean convertExisting;
+    /**
+     * Nombre de mois à venir dont la partition doit déjà exister.
+     */
+    @Value("${pmt.history.partitioning.months-ahead:3}")
+    int monthsAhead;
+    /**
+     * Durée de conservation de l'historique ; nulle pour tout conserver.
+     */
+    @Value("${pmt.history.retention:P0D}")
+    Period retention;
+    /**
+     * Sort des partitions expirées.
+     */
+    @Value("${pmt.history.retention-mode:ARCHIVE}")
+    RetentionMode retentionMode;
+
+    private Boolean supported;
+
+    /**
+     * Convertit la table si elle est vide ou si c'est autorisé, crée les partitions à venir et retire les partitions expirées.
+     */
+    @Scheduled(initialDelayString = "${pmt.history.partitioning.initial-delay:PT30S}",
+               fixedDelayString = "${pmt.history.partitioning.check-interval:PT12H}")
+    public void maintain() {
+        if (!enabled || !isSupported()) {
+            return;
+        }
+        try {
+            YearMonth current = YearMonth.now();
+            List<String> partitions = partitions(TABLE);
+            if (partitions.isEmpty()) {
+                if (!convertExisting && !isEmpty()) {
+                    logger.warn("La table {} n'est pas partitionnée ; activer pmt.history.partitioning.convert-existing"
+                            + " lors d'une maintenance pour la convertir", TABLE);
+                    return;
+                }
+                convert(current);
+                partitions = partitions(TABLE);
+            }
+            extend(current, partitions);
+            expire(current, partitions);
+        } catch (RuntimeException e) {
+            // Les partitions seront vérifiées au prochain passage
+            logger.error("Erreur lors de la maintenance des partitions de l'historique", e);
+        }
+    }
+
+    private boolean isSupported() {
+        if (supported == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            supported = "MySQL".equalsIgnoreCase(product);
+        }
+        return supported;
+    }
+
+    /**
+     * @return true si la table {@code historique} ne contient aucune entrée, comme sur une nouvelle base.
+     */
+    private boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + TABLE + ")", Boolean.class));
+    }
+
+    /**
+     * @param table Le nom de la table.
+     * @return Les noms des partitions de la table, dans l'ordre ; vide si elle n'est pas partitionnée.
+     */
+    private List<String> partitions(String table) {
+        return jdbcTemplate.queryForList("""
+                SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """, String.class, table);
+    }
+
+    /**
+     * Convertit la table en table partitionnée, avec une partition par mois depuis la plus ancienne entrée.
+     */
+    private void convert(YearMonth current) {
+        logger.info("Conversion de la table {} en table partitionnée par mois", TABLE);
+        List<String> foreignKeys = jdbcTemplate.queryForList("""
+                SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+                WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = ?
+                """, String.class, TABLE);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP FOREIGN KEY `" + foreignKey + "`");
+        }
+        String columnType = jdbcTemplate.queryForObject("""
+                SELECT COLUMN_TYPE FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = 'date_m'
+                """, String.class, TABLE);
+        // La colonne de partitionnement entre dans la clé primaire : elle ne peut plus être nulle
+        jdbcTemplate.update("UPDATE " + TABLE + " SET date_m = '1970-01-01' WHERE date_m IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY date_m " + columnType + " NOT NULL,"
+                + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, date_m)");
+
+        LocalDate oldest = jdbcTemplate.queryForObject("SELECT DATE(MIN(date_m)) FROM " + TABLE, LocalDate.class);
+        YearMonth first = oldest == null ? current : YearMonth.from(oldest);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE (TO_DAYS(date_m)) ("
+                + partitionDefinitions(first, current.plusMonths(monthsAhead)) + ")");
+    }
+
+    /**
+     * Crée les partitions manquantes jusqu'à {@code monthsAhead} mois après le mois courant.
+     */
+    private void extend(YearMonth current, List<String> partitions) {
+        Optional<String> statement = extendStatement(current, current.plusMonths(monthsAhead), partitions);
+        if (statement.isPresent()) {
+            jdbcTemplate.execute(statement.get());
+        }
+    }
+
+    /**
+     * Retire les partitions expirées selon {@code retentionMode}.
+     * La table d'archive, créée sur le modèle de {@code historique}, en hérite le partitionnement, que
+     * l'échange de partition n'accepte pas : il lui est retiré, sauf si la table existait déjà sans.
+     */
+    private void expire(YearMonth current, List<String> partitions) {
+        for (String partition : expiredPartitions(current, partitions)) {
+            if (retentionMode == RetentionMode.ARCHIVE) {
+                String archive = TABLE + "_archive_" + partition;
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " LIKE " + TABLE);
+                if (!partitions(archive).isEmpty()) {
+                    jdbcTemplate.execute("ALTER TABLE " + archive + " REMOVE PARTITIONING");
+                }
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + partition + " WITH TABLE " + archive);
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+            logger.info("Partition {} de l'historique retirée ({})", partition, retentionMode);
+        }
+    }
+
+    /**
+     * Construit les définitions des partitions mensuelles de {@code from} à {@code to} inclus, suivies de {@code pmax}.
+     * @param from Le premier mois.
+     * @param to Le dernier mois.
+     * @return Les définitions, séparées par des virgules.
+     */
+    static String partitionDefinitions(YearMonth from, YearMonth to) {
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            definitions.add("PARTITION " + month.format(NAME) + " VALUES LESS THAN (TO_DAYS('" + month.plusMonths(1).atDay(1) + "'))");
+        }
+        definitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE");
+        return String.join(", ", definitions);
+    }
+
+    /**
+     * Construit l'instruction qui découpe {@code pmax} pour créer les partitions manquantes jusqu'à {@code until}.
+     * @param current Le mois courant, premier mois créé si la table n'a encore que {@code pmax}.
+     * @param until Le dernier mois qui doit avoir sa partition.
+     * @param partitions Les partitions existantes.
+     * @return L'instruction, ou vide si toutes les partitions existent.
+     */
+    static Optional<String> extendStatement(YearMonth current, YearMonth until, List<String> partitions) {
+        if (!partitions.contains(MAX_PARTITION)) {
+            return Optional.empty();
+        }
+        YearMonth first = partitions.stream().map(HistoriquePartitionManager::month).flatMap(Optional::stream)
+                .max(YearMonth::compareTo).map(m -> m.plusMonths(1)).orElse(current);
+        if (first.isAfter(until)) {
+            return Optional.empty();
+        }
+        return Optional.of("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                + partitionDefinitions(first, until) + ")");
+    }
+
+    /**
+     * Sélectionne les partitions dont tout le mois est antérieur à la durée de conservation.
+     * @param current Le mois courant.
+     * @param partitions Les partitions existantes.
+     * @return Les noms des partitions expirées ; jamais celle du mois courant.
+     */
+    List<String> expiredPartitions(YearMonth current, List<String> partitions) {
+        if (retention == null || retention.isZero() || retention.isNegative()) {
+            return List.of();
+        }
+        LocalDate cutoff = current.atDay(1).minus(retention);
+        return partitions.stream()
+                .filter(p -> month(p).map(m -> !m.plusMonths(1).atDay(1).isAfter(cutoff) && m.isBefore(current)).orElse(false))
+                .collect(Collectors.toList());
+    }
+
+    private static Optional<YearMonth> month(String partition) {
+        Matcher matcher = MONTHLY.matcher(partition);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
@@ -1,40 +1,213 @@
 package com.pmt.service.impl;
 
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.pmt.dto.HistoriqueDTO;
+import com.pmt.dto.HistoriqueFilter;
+import com.pmt.dto.UserSummary;
+import com.pmt.errors.ValidationException;
 import com.pmt.model.Historique;
 import com.pmt.service.HistoriqueService;
 import com.pmt.store.HistoriqueStore;
+import com.pmt.store.UserStore;
 
 /**
  * Implémentation du service pour la gestion de l'historique des modifications.
+ * <p>
+ * L'historique est paginé par clé sur (date_m, id) : un curseur est l'identifiant d'une entrée
+ * déjà reçue, dont la date est relue pour reprendre le parcours de l'index exactement après elle.
+ * L'intervalle de dates et le curseur sont combinés en une seule position de départ.
+ * </p>
+ * <p>
+ * La table étant partitionnée par mois, une page remonte le temps par fenêtres bornées
+ * ({@code lookback}, puis le double à chaque requête tant que la page n'est pas pleine) :
+ * chaque requête ne lit ainsi que les partitions de sa fenêtre.
+ * </p>
+ * Les entrées sont renvoyées sous forme de DTO : les auteurs distincts d'une page sont lus
+ * en une seule requête, réduits à leur identifiant et leur nom, et les descriptions sont
+ * reconstruites à partir de leurs versions par {@link DescriptionHistory}.
  */
 @Service
 public class HistoriqueServiceImpl implements HistoriqueService {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    /**
+     * Bornes des dates acceptées par une colonne DATETIME MySQL, utilisées en l'absence d'intervalle.
+     */
+    static final LocalDateTime MIN_DATE = LocalDateTime.of(1000, 1, 1, 0, 0);
+    static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     @Autowired
     private HistoriqueStore historiqueStore;
+    @Autowired
+    private UserStore userStore;
+    @Autowired
+    private DescriptionHistory descriptionHistory;
+
+    /**
+     * Fenêtre de la première requête d'une page ; nulle pour lire tout l'intervalle en une requête.
+     */
+    @Value("${pmt.history.page-lookback:P3M}")
+    Period lookback;
+
+    /**
+     * Requête d'une page d'historique en remontant dans le temps à partir d'une position exclue.
+     */
+    @FunctionalInterface
+    private interface BeforeQuery {
+        List<Historique> find(LocalDateTime from, LocalDateTime untilDate, Long untilId, Limit limit);
+    }
+
+    /**
+     * Requête des entrées d'historique postérieures à une position exclue.
+     */
+    @FunctionalInterface
+    private interface AfterQuery {
+        List<Historique> find(LocalDateTime sinceDate, Long sinceId, LocalDateTime to, Limit limit);
+    }
 
     /**
-     * Récupère toutes les entrées d'historique pour un projet donné.
+     * Récupère une page de l'historique d'un projet.
      * @param projectId L'ID du projet.
-     * @return Une liste d'objets Historique.
+     * @param filter Les curseurs, la taille de page et l'intervalle de dates.
+     * @return Une liste d'objets HistoriqueDTO, de la plus récente à la plus ancienne.
+     * @throws ValidationException si les critères sont invalides ou si le curseur est inconnu.
      */
     @Override
-    public List<Historique> findAllByProject(Long projectId) {
-        return historiqueStore.findAllByProjectId(projectId);
+    public List<HistoriqueDTO> findPageByProject(Long projectId, HistoriqueFilter filter) {
+        return toDtos(findPage(filter,
+                (from, untilDate, untilId, limit) -> historiqueStore.findPageByProjectIdBefore(projectId, from, untilDate, untilId, limit),
+                (sinceDate, sinceId, to, limit) -> historiqueStore.findPageByProjectIdAfter(projectId, sinceDate, sinceId, to, limit)));
     }
 
     /**
-     * Récupère toutes les entrées d'historique pour une tâche donnée.
+     * Récupère une page de l'historique d'une tâche.
      * @param taskId L'ID de la tâche.
-     * @return Une liste d'objets Historique.
+     * @param filter Les curseurs, la taille de page et l'intervalle de dates.
+     * @return Une liste d'objets HistoriqueDTO, de la plus récente à la plus ancienne.
+     * @throws ValidationException si les critères sont invalides ou si le curseur est inconnu.
      */
     @Override
-    public List<Historique> findAllByTask(Long taskId) {
-        return historiqueStore.findAllByTaskId(taskId);
+    public List<HistoriqueDTO> findPageByTask(Long taskId, HistoriqueFilter filter) {
+        return toDtos(findPage(filter,
+                (from, untilDate, untilId, limit) -> historiqueStore.findPageByTaskIdBefore(taskId, from, untilDate, untilId, limit),
+                (sinceDate, sinceId, to, limit) -> historiqueStore.findPageByTaskIdAfter(taskId, sinceDate, sinceId, to, limit)));
+    }
+
+    /**
+     * Valide les critères et exécute la requête correspondant au sens du parcours.
+     * Avec {@code after}, les entrées qui suivent immédiatement le curseur sont lues dans l'ordre
+     * chronologique puis renvoyées, comme toutes les pages, de la plus récente à la plus ancienne.
+     */
+    private List<Historique> findPage(HistoriqueFilter filter, BeforeQuery beforeQuery, AfterQuery afterQuery) {
+        int size = filter.getSize() == null ? DEFAULT_PAGE_SIZE : filter.getSize();
+        if (size <= 0) {
+            throw new ValidationException("La taille de page doit être positive.");
+        }
+        if (filter.getBefore() != null && filter.getAfter() != null) {
+            throw new ValidationException("Les curseurs before et after ne peuvent pas être utilisés ensemble.");
+        }
+        LocalDateTime from = filter.getFrom() == null ? MIN_DATE : filter.getFrom();
+        LocalDateTime to = filter.getTo() == null ? MAX_DATE : filter.getTo();
+        if (from.isAfter(to)) {
+            throw new ValidationException("L'intervalle de dates est invalide.");
+        }
+        Limit limit = Limit.of(Math.min(size, MAX_PAGE_SIZE));
+
+        if (filter.getAfter() != null) {
+            LocalDateTime sinceDate = cursorDate(filter.getAfter());
+            Long sinceId = filter.getAfter();
+            if (from.isAfter(sinceDate)) {
+                // La borne from est plus restrictive que le curseur : elle devient la position de départ
+                sinceDate = from;
+                sinceId = 0L;
+            }
+            List<Historique> page = new ArrayList<>(afterQuery.find(sinceDate, sinceId, to, limit));
+            Collections.reverse(page);
+            return page;
+        }
+
+        LocalDateTime untilDate = to;
+        Long untilId = Long.MAX_VALUE;
+        if (filter.getBefore() != null) {
+            LocalDateTime cursor = cursorDate(filter.getBefore());
+            if (!cursor.isAfter(to)) {
+                untilDate = cursor;
+                untilId = filter.getBefore();
+            }
+        }
+        return findBefore(beforeQuery, from, untilDate, untilId, limit.max());
+    }
+
+    /**
+     * Remonte le temps par fenêtres successives jusqu'à remplir la page ou atteindre {@code from}.
+     * Chaque fenêtre reprend strictement avant le début de la précédente.
+     */
+    private List<Historique> findBefore(BeforeQuery beforeQuery, LocalDateTime from, LocalDateTime untilDate, Long untilId, int size) {
+        if (lookback == null || lookback.isZero() || lookback.isNegative()) {
+            return beforeQuery.find(from, untilDate, untilId, Limit.of(size));
+        }
+        List<Historique> page = new ArrayList<>();
+        LocalDateTime end = untilDate;
+        Long endId = untilId;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime base = end.isAfter(now) ? now : end;
+        Period span = lookback;
+        while (page.size() < size) {
+            LocalDateTime start = base.minus(span);
+            if (!start.isAfter(from)) {
+                start = from;
+            }
+            page.addAll(beforeQuery.find(start, end, endId, Limit.of(size - page.size())));
+            if (!start.isAfter(from)) {
+                break;
+            }
+            end = start;
+            endId = Long.MIN_VALUE;
+            base = start;
+            span = span.multipliedBy(2);
+        }
+        return page;
+    }
+
+    private LocalDateTime cursorDate(Long id) {
+        return historiqueStore.findDateMById(id)
+                .orElseThrow(() -> new ValidationException("Curseur d'historique inconnu : " + id));
+    }
+
+    /**
+     * Convertit une page d'historique en DTO, en lisant ses auteurs distincts en une seule requête
+     * et en reconstruisant ses descriptions.
+     * @param page Les entrées d'historique.
+     * @return Les DTO, dans le même ordre.
+     */
+    private List<HistoriqueDTO> toDtos(List<Historique> page) {
+        Set<Long> userIds = page.stream()
+                .map(Historique::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, UserSummary> users = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            userStore.findSummariesByIdIn(userIds).forEach(u -> users.put(u.getId(), u));
+        }
+        List<HistoriqueDTO> dtos = page.stream()
+                .map(h -> new HistoriqueDTO(h, h.getUserId() == null ? null : users.get(h.getUserId())))
+                .toList();
+        descriptionHistory.resolve(dtos);
+        return dtos;
     }
-    
 }
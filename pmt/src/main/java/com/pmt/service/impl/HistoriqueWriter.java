@@ -0,0 +1,312 @@
+package com.pmt.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pmt.model.FieldChange;
+import com.pmt.model.Historique;
+import com.pmt.model.HistoriqueOutbox;
+import com.pmt.model.Type;
+import com.pmt.store.HistoriqueOutboxStore;
+import com.pmt.store.HistoriqueStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Écrit l'historique des modifications en deux temps (transactional outbox).
+ * <p>
+ * Les entrées sont d'abord insérées dans la table d'attente {@code historique_outbox}, dans la
+ * transaction de la modification qu'elles décrivent : une modification annulée ne laisse aucune
+ * trace, une modification validée a toujours son historique, même si le processus s'arrête
+ * brutalement juste après. Un thread dédié parcourt ensuite la table d'attente toutes les
+ * {@code flushInterval} et déplace les entrées vers {@code historique} par lots de {@code batchSize},
+ * en un seul INSERT multi-lignes qui regroupe les entrées de plusieurs requêtes (group commit).
+ * </p>
+ * <p>
+ * Les modifications successives d'un même utilisateur sur une même tâche ou un même projet sont
+ * regroupées pendant {@code coalesceWindow} à partir de la première, d'après leur date : l'entrée
+ * écrite garde, pour chaque champ, l'ancienne valeur d'origine et la dernière nouvelle valeur, et un
+ * champ revenu à sa valeur d'origine disparaît de l'entrée. Les lignes d'un regroupement restent en
+ * attente jusqu'à la fin de la fenêtre : les pages d'historique ne les montrent qu'à ce moment-là,
+ * mais {@link ProjectTimeline} lit aussi la table d'attente, et rien n'est perdu à l'arrêt.
+ * </p>
+ * Les lignes lues sont verrouillées le temps du déplacement : plusieurs instances peuvent tourner
+ * en même temps sans écrire deux fois la même entrée.
+ */
+@Component
+public class HistoriqueWriter {
+    private static final Logger logger = LoggerFactory.getLogger(HistoriqueWriter.class);
+
+    @Autowired
+    HistoriqueStore historiqueStore;
+    @Autowired
+    HistoriqueOutboxStore outboxStore;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    /**
+     * Nombre maximal d'entrées déplacées par lot.
+     */
+    @Value("${pmt.history.batch-size:500}")
+    int batchSize;
+    /**
+     * Intervalle entre deux passages sur la table d'attente.
+     */
+    @Value("${pmt.history.flush-interval:PT0.2S}")
+    Duration flushInterval;
+    /**
+     * Durée maximale d'attente de la fin du passage en cours à l'arrêt.
+     */
+    @Value("${pmt.history.drain-timeout:PT10S}")
+    Duration drainTimeout;
+    /**
+     * Durée pendant laquelle les modifications successives d'une même source sont regroupées ; nulle pour désactiver.
+     * C'est aussi le délai maximal avant que l'historique d'une modification regroupée soit visible dans les pages.
+     */
+    @Value("${pmt.history.coalesce-window:PT5S}")
+    Duration coalesceWindow;
+
+    /**
+     * Clé de regroupement : un utilisateur modifiant une tâche ou un projet.
+     */
+    private record CoalesceKey(Long userId, Long taskId, Long projectId) {
+    }
+
+    /**
+     * Entrée en cours de regroupement, fin de sa fenêtre et lignes d'attente qui la composent.
+     */
+    private static final class Group {
+        private final Historique entry;
+        private final LocalDateTime end;
+        private final List<Long> ids = new ArrayList<>();
+
+        private Group(HistoriqueOutbox row, Duration window) {
+            this.entry = row.toHistorique();
+            this.end = row.getDateM().plus(window);
+            this.ids.add(row.getId());
+        }
+
+        private void add(HistoriqueOutbox row) {
+            entry.setChanges(merge(entry.getChanges(), row.getChanges()));
+            entry.setDateM(row.getDateM());
+            ids.add(row.getId());
+        }
+
+        private void release(Moves moves) {
+            // Toutes les modifications ont été annulées : il n'y a rien à historiser
+            if (!entry.getChanges().isEmpty()) {
+                moves.ready().add(entry);
+            }
+            moves.moved().addAll(ids);
+        }
+    }
+
+    /**
+     * Résultat d'un regroupement : les entrées à écrire et les lignes d'attente à supprimer.
+     */
+    record Moves(List<Historique> ready, List<Long> moved) {
+    }
+
+    private Thread mover;
+    private volatile boolean running;
+    private final Object signal = new Object();
+
+    /**
+     * Démarre le thread de déplacement.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        mover = Thread.ofPlatform().name("historique-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Met en attente des entrées d'historique. Dans une transaction, elles sont validées
+     * ou annulées avec elle ; sinon, elles sont écrites immédiatement.
+     * @param entries Les entrées d'historique.
+     */
+    public void record(List<Historique> entries) {
+        if (!entries.isEmpty()) {
+            outboxStore.stageAll(entries);
+        }
+    }
+
+    /**
+     * Boucle du thread de déplacement : un passage sur la table d'attente toutes les {@code flushInterval}.
+     */
+    private void run() {
+        while (running) {
+            try {
+                moveAll(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                // Les entrées restent en attente : elles seront reprises au prochain passage
+                logger.warn("Échec du passage sur l'historique en attente", e);
+            }
+            synchronized (signal) {
+                if (running) {
+                    try {
+                        signal.wait(flushInterval.toMillis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parcourt toute la table d'attente, lot par lot, et déplace les entrées prêtes.
+     * @param now L'instant du passage, qui décide des fenêtres de regroupement écoulées.
+     */
+    void moveAll(LocalDateTime now) {
+        Long afterId = 0L;
+        while (afterId != null) {
+            afterId = moveBatch(afterId, now);
+        }
+    }
+
+    /**
+     * Déplace un lot de lignes d'attente dans sa propre transaction. En cas d'échec, les lignes sont
+     * déplacées une par une : seules celles que la base refuse restent en attente.
+     * @param afterId L'identifiant de la dernière ligne déjà lue.
+     * @param now L'instant du passage.
+     * @return L'identifiant de la dernière ligne lue, ou null s'il n'y a plus de lot à lire.
+     */
+    private Long moveBatch(Long afterId, LocalDateTime now) {
+        List<Long> ids = outboxStore.findIdsAfter(afterId, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        try {
+            move(ids, now);
+        } catch (RuntimeException e) {
+            logger.warn("Échec du déplacement de {} entrée(s) d'historique", ids.size(), e);
+            for (Long id : ids) {
+                try {
+                    move(List.of(id), now);
+                } catch (RuntimeException refusal) {
+                    logger.error("Entrée d'historique en attente {} refusée ; elle sera reprise au prochain passage", id, refusal);
+                }
+            }
+        }
+        return ids.size() < batchSize ? null : ids.get(ids.size() - 1);
+    }
+
+    private void move(List<Long> ids, LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Les lignes déjà déplacées par une autre instance ne sont plus lues
+            Moves moves = coalesce(outboxStore.findByIdInOrderById(ids), now);
+            historiqueStore.insertAll(moves.ready());
+            if (!moves.moved().isEmpty()) {
+                outboxStore.deleteAllByIdIn(moves.moved());
+            }
+        });
+    }
+
+    /**
+     * Regroupe des lignes d'attente de même source. Un regroupement dont la fenêtre n'est pas
+     * écoulée reste en attente : ses lignes ne font partie ni des entrées à écrire, ni des lignes à supprimer.
+     * @param rows Les lignes d'attente, par ordre d'écriture.
+     * @param now L'instant du passage.
+     * @return Les entrées à écrire et les lignes d'attente qu'elles remplacent.
+     */
+    Moves coalesce(List<HistoriqueOutbox> rows, LocalDateTime now) {
+        Moves moves = new Moves(new ArrayList<>(), new ArrayList<>());
+        Map<CoalesceKey, Group> groups = new LinkedHashMap<>();
+        for (HistoriqueOutbox row : rows) {
+            if (!isCoalescible(row)) {
+                moves.ready().add(row.toHistorique());
+                moves.moved().add(row.getId());
+                continue;
+            }
+            CoalesceKey key = new CoalesceKey(row.getUserId(), row.getTaskId(), row.getProjectId());
+            Group group = groups.get(key);
+            if (group != null && !row.getDateM().isAfter(group.end)) {
+                group.add(row);
+                continue;
+            }
+            if (group != null) {
+                group.release(moves);
+            }
+            groups.put(key, new Group(row, coalesceWindow));
+        }
+        for (Group group : groups.values()) {
+            if (!group.end.isAfter(now)) {
+                group.release(moves);
+            }
+        }
+        return moves;
+    }
+
+    private boolean isCoalescible(HistoriqueOutbox row) {
+        return coalesceWindow != null && coalesceWindow.isPositive()
+                && row.getTypeM() == Type.Modification && row.getChanges() != null
+                && row.getUserId() != null && row.getDateM() != null;
+    }
+
+    /**
+     * Combine deux listes de modifications successives : pour chaque champ, l'ancienne valeur
+     * de la première et la nouvelle valeur de la seconde. Un champ revenu à sa valeur d'origine est retiré.
+     * @param first Les modifications de l'entrée en attente.
+     * @param next Les modifications suivantes.
+     * @return Les modifications combinées.
+     */
+    static List<FieldChange> merge(List<FieldChange> first, List<FieldChange> next) {
+        Map<Type, FieldChange> merged = new LinkedHashMap<>();
+        first.forEach(change -> merged.put(change.getField(), change));
+        for (FieldChange change : next) {
+            FieldChange previous = merged.get(change.getField());
+            FieldChange combined;
+            if (previous == null) {
+                combined = change;
+            } else if (previous.hasRevisions() && change.hasRevisions()) {
+                combined = FieldChange.ofRevisions(change.getField(), previous.getOldRevision(), change.getNewRevision());
+            } else if (!previous.hasRevisions() && !change.hasRevisions()) {
+                combined = new FieldChange(change.getField(), previous.getOldValue(), change.getNewValue());
+            } else {
+                combined = change;
+            }
+            if (!combined.hasRevisions() && Objects.equals(combined.getOldValue(), combined.getNewValue())) {
+                merged.remove(change.getField());
+            } else {
+                merged.put(change.getField(), combined);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Arrête le thread de déplacement après son passage en cours, dans la limite de {@code drainTimeout}.
+     * Les entrées encore en attente seront déplacées au prochain démarrage.
+     */
+    @PreDestroy
+    public void stop() {
+        if (mover == null) {
+            return;
+        }
+        synchronized (signal) {
+            running = false;
+            signal.notifyAll();
+        }
+        try {
+            mover.join(drainTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
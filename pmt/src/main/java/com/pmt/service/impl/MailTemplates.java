@@ -0,0 +1,87 @@
+package com.pmt.service.impl;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Modèles des e-mails envoyés par l'application, compilés une seule fois au démarrage.
+ * <p>
+ * Chaque modèle {@code nom} est composé de {@code templates/mail/nom.subject.mustache} pour l'objet
+ * et de {@code templates/mail/nom.body.mustache} pour le corps. Les e-mails étant en texte brut,
+ * les valeurs ne sont pas échappées ; une valeur absente ou null est rendue vide.
+ * </p>
+ */
+@Component
+public class MailTemplates {
+    /**
+     * E-mail envoyé pour une seule tâche assignée.
+     */
+    public static final String ASSIGNMENT = "assignment";
+    /**
+     * E-mail récapitulatif de plusieurs tâches assignées.
+     */
+    public static final String DIGEST = "digest";
+
+    private static final List<String> NAMES = List.of(ASSIGNMENT, DIGEST);
+
+    private final Map<String, Template> templates = new HashMap<>();
+
+    /**
+     * Compile tous les modèles ; une erreur de syntaxe empêche le démarrage de l'application.
+     * @throws IOException si un modèle est introuvable.
+     */
+    @PostConstruct
+    public void compile() throws IOException {
+        Mustache.Compiler compiler = Mustache.compiler().escapeHTML(false).defaultValue("");
+        for (String name : NAMES) {
+            for (String part : List.of("subject", "body")) {
+                String key = name + "." + part;
+                ClassPathResource resource = new ClassPathResource("templates/mail/" + key + ".mustache");
+                try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                    templates.put(key, compiler.compile(reader));
+                }
+            }
+        }
+    }
+
+    /**
+     * Produit l'objet d'un e-mail.
+     * @param name Le nom du modèle.
+     * @param context Les valeurs du modèle.
+     * @return L'objet de l'e-mail, sur une seule ligne.
+     */
+    public String subject(String name, Map<String, ?> context) {
+        return template(name + ".subject").execute(context).strip();
+    }
+
+    /**
+     * Produit le corps d'un e-mail.
+     * @param name Le nom du modèle.
+     * @param context Les valeurs du modèle.
+     * @return Le corps de l'e-mail.
+     */
+    public String body(String name, Map<String, ?> context) {
+        return template(name + ".body").execute(context);
+    }
+
+    private Template template(String key) {
+        Template template = templates.get(key);
+        if (template == null) {
+            throw new IllegalArgumentException("Modèle d'e-mail inconnu : " + key);
+        }
+        return template;
+    }
+}
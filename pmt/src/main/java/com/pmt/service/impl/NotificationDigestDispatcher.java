@@ -0,0 +1,87 @@
+package com.pmt.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pmt.model.NotificationDigestItem;
+import com.pmt.service.NotificationService;
+import com.pmt.store.NotificationDigestItemStore;
+
+/**
+ * Regroupe les notifications des utilisateurs en mode récapitulatif.
+ * <p>
+ * Dès que la plus ancienne notification en attente d'un utilisateur a dépassé la fenêtre
+ * {@code window}, toutes ses notifications en attente sont remplacées par un seul e-mail
+ * placé dans l'outbox, dans la même transaction. Si une autre instance a déjà traité
+ * une partie de ces notifications, la transaction est annulée et rien n'est envoyé.
+ * </p>
+ */
+@Component
+public class NotificationDigestDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDigestDispatcher.class);
+
+    @Autowired
+    NotificationDigestItemStore digestItemStore;
+    @Autowired
+    NotificationService notificationService;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    /**
+     * Durée pendant laquelle les notifications d'un utilisateur sont regroupées.
+     */
+    @Value("${pmt.digest.window:PT15M}")
+    Duration window;
+    /**
+     * Nombre maximal de récapitulatifs produits par passage.
+     */
+    @Value("${pmt.digest.max-recipients:100}")
+    int maxRecipients;
+
+    /**
+     * Produit les récapitulatifs dont la fenêtre est écoulée.
+     */
+    @Scheduled(fixedDelayString = "${pmt.digest.poll-delay:PT1M}")
+    public void flushDueDigests() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(window);
+        for (String recipient : digestItemStore.findDueRecipients(cutoff, Limit.of(maxRecipients))) {
+            try {
+                flush(recipient);
+            } catch (RuntimeException e) {
+                // Les notifications restent en attente : elles seront reprises au prochain passage
+                logger.error("Erreur lors du récapitulatif de {}", recipient, e);
+            }
+        }
+    }
+
+    /**
+     * Remplace les notifications en attente d'un destinataire par un seul e-mail dans l'outbox.
+     * @param recipient L'adresse e-mail du destinataire.
+     * @return Le nombre de notifications regroupées, 0 si elles ont été traitées par une autre instance.
+     */
+    int flush(String recipient) {
+        return transactionTemplate.execute(status -> {
+            List<NotificationDigestItem> items = digestItemStore.findByRecipientOrderById(recipient);
+            if (items.isEmpty()) {
+                return 0;
+            }
+            List<Long> ids = items.stream().map(NotificationDigestItem::getId).toList();
+            if (digestItemStore.deleteAllByIdIn(ids) != ids.size()) {
+                status.setRollbackOnly();
+                return 0;
+            }
+            notificationService.enqueueSummary(items);
+            return items.size();
+        });
+    }
+}
@@ -0,0 +1,265 @@
+package com.pmt.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pmt.model.NotificationOutbox;
+import com.pmt.model.OutboxStatus;
+import com.pmt.service.EmailService;
+import com.pmt.store.NotificationOutboxStore;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Envoie en arrière-plan les notifications de l'outbox.
+ * <p>
+ * À chaque passage, les notifications dues sont réservées par un bail (plusieurs instances
+ * peuvent tourner sans envoyer deux fois la même notification), puis confiées par lots à un pool
+ * borné de travailleurs ; chaque lot est envoyé sur une seule connexion SMTP. Un lot incomplet
+ * n'est envoyé qu'une fois {@code flushInterval} écoulé depuis le dernier envoi, afin de regrouper
+ * les notifications. On ne réserve jamais plus que la capacité libre du pool. Un échec reprogramme
+ * la notification avec un délai exponentiel ; au-delà de {@code maxAttempts}, elle est abandonnée.
+ * Si une instance s'arrête brutalement, le bail expire et la notification est reprise :
+ * la livraison est garantie au moins une fois.
+ * </p>
+ * À l'arrêt, plus aucune notification n'est réservée et les envois en cours sont attendus.
+ */
+@Component
+public class NotificationDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    @Autowired
+    NotificationOutboxStore outboxStore;
+    @Autowired
+    EmailService emailService;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    @Qualifier("notificationExecutor")
+    ThreadPoolTaskExecutor notificationExecutor;
+
+    /**
+     * Nombre maximal de notifications réservées par passage.
+     */
+    @Value("${pmt.outbox.batch-size:50}")
+    int batchSize;
+    /**
+     * Nombre de notifications par lot confié à un travailleur, et donc par connexion SMTP.
+     */
+    @Value("${pmt.mail.batch-size:50}")
+    int mailBatchSize;
+    /**
+     * Délai maximal d'attente d'un lot complet avant l'envoi d'un lot incomplet.
+     */
+    @Value("${pmt.mail.flush-interval:PT2S}")
+    Duration flushInterval;
+    /**
+     * Durée du bail posé sur une notification réservée.
+     */
+    @Value("${pmt.outbox.lease:PT5M}")
+    Duration lease;
+    /**
+     * Nombre de tentatives avant abandon.
+     */
+    @Value("${pmt.outbox.max-attempts:8}")
+    int maxAttempts;
+    /**
+     * Délai avant la première nouvelle tentative ; il double ensuite à chaque échec.
+     */
+    @Value("${pmt.outbox.backoff-initial:PT10S}")
+    Duration backoffInitial;
+    /**
+     * Délai maximal entre deux tentatives.
+     */
+    @Value("${pmt.outbox.backoff-max:PT1H}")
+    Duration backoffMax;
+    /**
+     * Durée maximale d'attente des envois en cours à l'arrêt.
+     */
+    @Value("${pmt.outbox.drain-timeout:PT30S}")
+    Duration drainTimeout;
+
+    /**
+     * Identifiant de cette instance, utilisé pour réserver les notifications.
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong claims = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile LocalDateTime lastFlush = LocalDateTime.MIN;
+    private volatile boolean draining;
+
+    /**
+     * Réserve les notifications dues dans la limite de la capacité libre du pool et les confie par lots aux travailleurs.
+     */
+    @Scheduled(fixedDelayString = "${pmt.outbox.poll-delay:PT2S}")
+    public void poll() {
+        if (draining) {
+            return;
+        }
+        int chunkSize = Math.max(1, mailBatchSize);
+        int slots = notificationExecutor.getMaxPoolSize() + notificationExecutor.getQueueCapacity() - inFlight.get();
+        int max = (int) Math.min(batchSize, (long) slots * chunkSize);
+        if (max <= 0) {
+            return;
+        }
+
+        List<NotificationOutbox> claimed = claim(max);
+        for (int start = 0; start < claimed.size(); start += chunkSize) {
+            List<NotificationOutbox> chunk = claimed.subList(start, Math.min(start + chunkSize, claimed.size()));
+            inFlight.incrementAndGet();
+            try {
+                notificationExecutor.execute(() -> deliver(chunk));
+            } catch (TaskRejectedException e) {
+                // Pool arrêté : le bail expirera et les notifications seront reprises
+                inFlight.decrementAndGet();
+                logger.warn("{} notification(s) non soumise(s) : {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Réserve au plus {@code max} notifications dues pour cette instance.
+     * Le jeton de réservation est propre à chaque passage, ce qui permet de relire exactement
+     * les notifications obtenues sans dépendre de la précision des dates en base.
+     * Rien n'est réservé si les notifications dues ne forment pas un lot complet et que
+     * {@code flushInterval} ne s'est pas écoulé depuis le dernier envoi.
+     * @param max Le nombre maximal de notifications.
+     * @return Les notifications réservées.
+     */
+    List<NotificationOutbox> claim(int max) {
+        LocalDateTime now = LocalDateTime.now();
+        String owner = instanceId + ":" + claims.incrementAndGet();
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = outboxStore.findDueIds(now, Limit.of(max));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            if (ids.size() < Math.min(max, mailBatchSize) && now.isBefore(lastFlush.plus(flushInterval))) {
+                return List.of();
+            }
+            lastFlush = now;
+            outboxStore.claim(ids, owner, now.plus(lease), now);
+            return outboxStore.findByLockOwnerOrderById(owner);
+        });
+    }
+
+    /**
+     * Envoie un lot de notifications réservées sur une seule connexion et enregistre les résultats.
+     * @param notifications Les notifications à envoyer.
+     */
+    void deliver(List<NotificationOutbox> notifications) {
+        try {
+            List<SimpleMailMessage> messages = new ArrayList<>(notifications.size());
+            for (NotificationOutbox notification : notifications) {
+                messages.add(emailService.newMessage(notification.getRecipient(), notification.getSubject(), notification.getBody()));
+            }
+            Map<Integer, Exception> failures;
+            try {
+                failures = emailService.sendBatch(messages);
+            } catch (RuntimeException e) {
+                for (NotificationOutbox notification : notifications) {
+                    recordFailure(notification, e);
+                }
+                return;
+            }
+
+            List<Long> sentIds = new ArrayList<>();
+            for (int i = 0; i < notifications.size(); i++) {
+                if (!failures.containsKey(i)) {
+                    sentIds.add(notifications.get(i).getId());
+                }
+            }
+            if (!sentIds.isEmpty()) {
+                outboxStore.markAllSent(sentIds, LocalDateTime.now());
+            }
+            for (Map.Entry<Integer, Exception> failure : failures.entrySet()) {
+                recordFailure(notifications.get(failure.getKey()), failure.getValue());
+            }
+        } catch (RuntimeException e) {
+            // Le bail expirera : les notifications seront de nouveau envoyées (livraison au moins une fois)
+            logger.error("Impossible d'enregistrer le résultat d'un lot de {} notification(s)", notifications.size(), e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Reprogramme une notification après un échec d'envoi, ou l'abandonne après {@code maxAttempts} tentatives.
+     * @param notification La notification en échec.
+     * @param error L'erreur rencontrée.
+     */
+    private void recordFailure(NotificationOutbox notification, Exception error) {
+        int attempts = notification.getAttempts() + 1;
+        String message = error.getMessage() == null ? error.getClass().getName() : error.getMessage();
+        if (message.length() > 1000) {
+            message = message.substring(0, 1000);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (attempts >= maxAttempts) {
+            outboxStore.markFailedAttempt(notification.getId(), OutboxStatus.FAILED, attempts, now, message);
+            logger.error("Notification {} abandonnée après {} tentatives : {}", notification.getId(), attempts, message);
+        } else {
+            Duration delay = backoff(attempts);
+            outboxStore.markFailedAttempt(notification.getId(), OutboxStatus.PENDING, attempts, now.plus(delay), message);
+            logger.warn("Échec de l'envoi de la notification {} (tentative {}), nouvel essai dans {} : {}",
+                    notification.getId(), attempts, delay, message);
+        }
+    }
+
+    /**
+     * Calcule le délai avant la prochaine tentative : {@code backoffInitial} doublé à chaque échec, plafonné à {@code backoffMax}.
+     * @param attempts Le nombre de tentatives déjà effectuées (au moins 1).
+     * @return Le délai avant la prochaine tentative.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = backoffInitial.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    /**
+     * Arrête de réserver de nouvelles notifications et attend la fin des envois en cours,
+     * dans la limite de {@code drainTimeout}. Les notifications non terminées seront reprises à l'expiration de leur bail.
+     */
+    @PreDestroy
+    public void drain() {
+        draining = true;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (inFlight.get() > 0) {
+            logger.warn("{} lot(s) de notifications encore en cours d'envoi à l'arrêt", inFlight.get());
+        }
+    }
+
+    /**
+     * @return Le nombre de lots confiés aux travailleurs et pas encore terminés.
+     */
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,133 @@
+package com.pmt.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.pmt.errors.ValidationException;
+import com.pmt.model.NotificationDigestItem;
+import com.pmt.model.NotificationMode;
+import com.pmt.model.NotificationOutbox;
+import com.pmt.model.OutboxStatus;
+import com.pmt.model.Task;
+import com.pmt.model.User;
+import com.pmt.service.NotificationService;
+import com.pmt.store.NotificationDigestItemStore;
+import com.pmt.store.NotificationOutboxStore;
+
+/**
+ * Implémentation du service de notification par outbox transactionnelle.
+ * Les notifications sont écrites avec les données qui les déclenchent et envoyées
+ * ensuite par {@link NotificationDispatcher}, hors du thread de la requête.
+ * Pour les utilisateurs en mode récapitulatif, elles sont d'abord mises de côté
+ * puis regroupées par {@link NotificationDigestDispatcher}.
+ */
+@Service
+public class NotificationServiceImpl implements NotificationService {
+    @Autowired
+    NotificationOutboxStore outboxStore;
+    @Autowired
+    NotificationDigestItemStore digestItemStore;
+    @Autowired
+    MailTemplates mailTemplates;
+
+    /**
+     * Enregistre une notification e-mail dans l'outbox, prête à être envoyée immédiatement.
+     * @param to Le destinataire de l'e-mail.
+     * @param subject L'objet de l'e-mail.
+     * @param text Le corps du texte de l'e-mail.
+     * @return La notification enregistrée.
+     * @throws ValidationException si le destinataire est manquant.
+     */
+    @Override
+    @Transactional
+    public NotificationOutbox enqueue(String to, String subject, String text) {
+        if (to == null || to.isBlank()) {
+            throw new ValidationException("Le destinataire de la notification est obligatoire.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        NotificationOutbox notification = new NotificationOutbox();
+        notification.setRecipient(to);
+        notification.setSubject(subject);
+        notification.setBody(text);
+        notification.setStatus(OutboxStatus.PENDING);
+        notification.setAttempts(0);
+        notification.setCreatedAt(now);
+        notification.setNextAttemptAt(now);
+
+        return outboxStore.save(notification);
+    }
+
+    /**
+     * Notifie un utilisateur de l'assignation d'une tâche. En mode récapitulatif, la notification
+     * est mise de côté jusqu'au prochain récapitulatif ; sinon un e-mail est placé dans l'outbox.
+     * @param user L'utilisateur assigné.
+     * @param task La tâche assignée.
+     * @throws ValidationException si l'utilisateur n'a pas d'adresse e-mail.
+     */
+    @Override
+    @Transactional
+    public void notifyAssignment(User user, Task task) {
+        if (user.getEmail() == null || user.getEmail().isBlank()) {
+            throw new ValidationException("Le destinataire de la notification est obligatoire.");
+        }
+        NotificationDigestItem item = new NotificationDigestItem();
+        item.setRecipient(user.getEmail());
+        item.setRecipientName(user.getNom());
+        item.setTaskName(task.getNom());
+        item.setProjectName(task.getProject() != null ? task.getProject().getNom() : null);
+        item.setCreatedAt(LocalDateTime.now());
+
+        if (user.getNotificationMode() == NotificationMode.DIGEST) {
+            digestItemStore.save(item);
+        } else {
+            enqueueSummary(List.of(item));
+        }
+    }
+
+    /**
+     * Produit un seul e-mail pour des notifications d'un même destinataire et le place dans l'outbox.
+     * @param items Les notifications à regrouper.
+     * @return La notification enregistrée.
+     * @throws ValidationException si la liste est vide.
+     */
+    @Override
+    @Transactional
+    public NotificationOutbox enqueueSummary(List<NotificationDigestItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("Aucune notification à envoyer.");
+        }
+        NotificationDigestItem first = items.get(0);
+        Map<String, Object> context = new HashMap<>();
+        context.put("nom", first.getRecipientName());
+
+        String template;
+        if (items.size() == 1) {
+            template = MailTemplates.ASSIGNMENT;
+            context.putAll(itemContext(first));
+        } else {
+            template = MailTemplates.DIGEST;
+            List<Map<String, Object>> lines = new ArrayList<>(items.size());
+            for (NotificationDigestItem item : items) {
+                lines.add(itemContext(item));
+            }
+            context.put("count", items.size());
+            context.put("items", lines);
+        }
+        return enqueue(first.getRecipient(), mailTemplates.subject(template, context), mailTemplates.body(template, context));
+    }
+
+    private static Map<String, Object> itemContext(NotificationDigestItem item) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("task", item.getTaskName());
+        context.put("project", item.getProjectName());
+        return context;
+    }
+}
@@ -0,0 +1,253 @@
+package com.pmt.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.pmt.dto.ProjectEvent;
+import com.pmt.service.ProjectEventService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Implémentation du service de diffusion des changements.
+ * Pousse aux clients abonnés à un projet, par Server-Sent Events, les changements de ses tâches,
+ * assignations et appartenances.
+ * <p>
+ * Les événements enregistrés pendant une transaction ne sont diffusés qu'après sa validation.
+ * Chaque connexion a sa propre file bornée, vidée par un thread virtuel : un client lent ne ralentit
+ * ni l'écrivain ni les autres clients, et une connexion inactive ne coûte qu'un thread virtuel parké.
+ * Si la file d'un client déborde, ses événements en attente sont abandonnés et remplacés par un seul
+ * événement {@code resync}, qui lui demande de recharger le projet.
+ * </p>
+ * Un commentaire est envoyé toutes les {@code pmt.events.heartbeat} aux connexions sans trafic, pour que
+ * les proxys ne les ferment pas et que les clients partis soient détectés.
+ */
+@Service
+public class ProjectEventServiceImpl implements ProjectEventService {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectEventServiceImpl.class);
+    /**
+     * Marqueurs placés dans les files, distincts de tout événement réel.
+     */
+    private static final ProjectEvent HEARTBEAT = new ProjectEvent();
+    private static final ProjectEvent CLOSE = new ProjectEvent();
+
+    /**
+     * Nombre maximal d'événements en attente par connexion.
+     */
+    @Value("${pmt.events.queue-capacity:256}")
+    int queueCapacity;
+    /**
+     * Nombre maximal de connexions ouvertes.
+     */
+    @Value("${pmt.events.max-connections:10000}")
+    int maxConnections;
+    /**
+     * Durée de vie d'une connexion ; le client se reconnecte automatiquement.
+     */
+    @Value("${pmt.events.timeout:PT30M}")
+    Duration timeout;
+
+    /**
+     * Connexion d'un client à un projet.
+     */
+    final class Subscriber {
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ProjectEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Place un événement dans la file, sans jamais bloquer l'appelant.
+         */
+        void offer(ProjectEvent event) {
+            if (!queue.offer(event)) {
+                overflowed.set(true);
+            }
+        }
+
+        /**
+         * Vide la file vers le client jusqu'à la fermeture de la connexion.
+         */
+        void run() {
+            try {
+                while (!closed.get()) {
+                    ProjectEvent event = queue.take();
+                    if (event == CLOSE) {
+                        break;
+                    }
+                    if (overflowed.getAndSet(false)) {
+                        queue.clear();
+                        emitter.send(SseEmitter.event().name("resync").data(projectId));
+                    } else if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name("change").data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client parti : la connexion est libérée ci-dessous
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                byProject.computeIfPresent(projectId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                connections.decrementAndGet();
+                queue.clear();
+                queue.offer(CLOSE);
+            }
+        }
+    }
+
+    private final Map<Long, Set<Subscriber>> byProject = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /**
+     * Abonne un client aux changements d'un projet.
+     * @param projectId L'identifiant du projet.
+     * @return Le flux d'événements à renvoyer au client.
+     * @throws IllegalStateException si le nombre maximal de connexions est atteint.
+     */
+    @Override
+    public SseEmitter subscribe(Long projectId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("Nombre maximal de connexions atteint.");
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        byProject.compute(projectId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers == null ? ConcurrentHashMap.newKeySet() : subscribers;
+            set.add(subscriber);
+            return set;
+        });
+        // Premier envoi immédiat : les en-têtes partent et le client sait son abonnement actif
+        subscriber.offer(HEARTBEAT);
+        Thread.ofVirtual().name("sse-project-" + projectId).start(subscriber::run);
+        return emitter;
+    }
+
+    /**
+     * Crée le flux d'une nouvelle connexion.
+     */
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    /**
+     * Diffuse des événements aux abonnés de leurs projets. Dans une transaction, ils ne sont diffusés
+     * qu'après sa validation, et ignorés en cas d'annulation ; sinon, immédiatement.
+     * @param events Les événements.
+     */
+    @Override
+    public void publish(List<ProjectEvent> events) {
+        if (events.isEmpty() || byProject.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(events);
+                }
+            });
+        } else {
+            dispatch(events);
+        }
+    }
+
+    /**
+     * Place les événements dans les files des abonnés de leurs projets.
+     * @param events Les événements.
+     */
+    void dispatch(List<ProjectEvent> events) {
+        Map<Long, List<ProjectEvent>> grouped = new LinkedHashMap<>();
+        for (ProjectEvent event : events) {
+            if (event.getProjectId() != null) {
+                grouped.computeIfAbsent(event.getProjectId(), id -> new ArrayList<>()).add(event);
+            }
+        }
+        grouped.forEach((projectId, projectEvents) -> {
+            Set<Subscriber> subscribers = byProject.get(projectId);
+            if (subscribers == null) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                projectEvents.forEach(subscriber::offer);
+            }
+        });
+    }
+
+    /**
+     * Envoie un signe de vie aux connexions sans événement en attente.
+     */
+    @Scheduled(fixedDelayString = "${pmt.events.heartbeat:PT20S}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : byProject.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue.isEmpty()) {
+                    subscriber.offer(HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Le nombre de connexions ouvertes.
+     */
+    @Override
+    public int connections() {
+        return connections.get();
+    }
+
+    /**
+     * Ferme toutes les connexions à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void stop() {
+        for (Set<Subscriber> subscribers : byProject.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.close();
+                subscriber.emitter.complete();
+            }
+        }
+        logger.info("Flux d'événements des projets fermés");
+    }
+}
@@ -0,0 +1,111 @@
+package com.pmt.service.impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pmt.config.CacheConfig;
+import com.pmt.service.ProjectPurgeService;
+import com.pmt.store.DescriptionRevisionStore;
+import com.pmt.store.HistoriqueOutboxStore;
+import com.pmt.store.HistoriqueStore;
+import com.pmt.store.ProjectSnapshotStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.TaskAssignStore;
+import com.pmt.store.TaskStore;
+
+/**
+ * Implémentation du service de purge des projets supprimés.
+ * Les projets trop volumineux pour être supprimés pendant la requête sont seulement marqués
+ * par {@link ProjectServiceImpl#deleteProject(Long)} ; ce service les purge ensuite par lots bornés,
+ * chaque lot étant validé séparément pour ne jamais verrouiller longtemps les tables.
+ */
+@Service
+public class ProjectPurgeServiceImpl implements ProjectPurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectPurgeServiceImpl.class);
+
+    @Autowired
+    ProjectStore projectStore;
+    @Autowired
+    TaskStore taskStore;
+    @Autowired
+    TaskAssignStore taskAssignStore;
+    @Autowired
+    HistoriqueStore historiqueStore;
+    @Autowired
+    HistoriqueOutboxStore historiqueOutboxStore;
+    @Autowired
+    DescriptionRevisionStore descriptionRevisionStore;
+    @Autowired
+    ProjectSnapshotStore projectSnapshotStore;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    CacheManager cacheManager;
+
+    /**
+     * Nombre de tâches supprimées par transaction.
+     */
+    @Value("${pmt.project.purge-chunk-size:1000}")
+    int chunkSize;
+
+    /**
+     * Purge périodiquement les projets marqués comme supprimés.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${pmt.project.purge-delay:PT1M}")
+    public void purgeDeletedProjects() {
+        for (Long projectId : projectStore.findDeletedIds()) {
+            try {
+                purge(projectId);
+            } catch (RuntimeException e) {
+                // Le projet reste marqué : il sera repris au prochain passage
+                logger.error("Erreur lors de la purge du projet {}", projectId, e);
+            }
+        }
+    }
+
+    /**
+     * Purge un projet marqué comme supprimé, lot par lot.
+     * Les tâches de chaque lot sont retirées du cache après sa validation.
+     * @param projectId L'identifiant du projet à purger.
+     */
+    @Override
+    public void purge(Long projectId) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS);
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> taskIds = taskStore.findIdsByProjectId(projectId, Limit.of(chunkSize));
+                if (taskIds.isEmpty()) {
+                    return 0;
+                }
+                // La table d'attente d'abord : une entrée déplacée en même temps est attendue, puis supprimée
+                historiqueOutboxStore.deleteAllByTaskIdIn(taskIds);
+                historiqueStore.deleteAllByTaskIdIn(taskIds);
+                descriptionRevisionStore.deleteAllByTaskIdIn(taskIds);
+                taskAssignStore.deleteAllByTaskIdIn(taskIds);
+                taskIds.forEach(cache::evict);
+                return taskStore.deleteAllByIdIn(taskIds);
+            });
+        } while (deleted == chunkSize);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            historiqueOutboxStore.deleteAllByProjectId(projectId);
+            historiqueStore.deleteAllByProjectId(projectId);
+            descriptionRevisionStore.deleteAllByProjectId(projectId);
+            projectSnapshotStore.deleteAllByProjectId(projectId);
+            projectStore.purgeById(projectId);
+        });
+        logger.info("Projet {} purgé", projectId);
+    }
+}
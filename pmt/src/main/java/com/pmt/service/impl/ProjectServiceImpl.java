@@ -3,21 +3,44 @@ package com.pmt.service.impl;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.pmt.config.CacheConfig;
+import com.pmt.dto.Assigned;
+import com.pmt.dto.ProjectBoard;
+import com.pmt.dto.ProjectMember;
+import com.pmt.dto.ProjectState;
 import com.pmt.dto.ProjectUpdate;
+import com.pmt.dto.TaskDTO;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeOperation;
+import com.pmt.model.FieldChange;
 import com.pmt.model.Historique;
 import com.pmt.model.Project;
-import com.pmt.model.Task;
 import com.pmt.model.Type;
 import com.pmt.model.User;
+import com.pmt.service.ChangeFeedService;
+import com.pmt.service.ProjectStatsService;
 import com.pmt.service.ProjectService;
 import com.pmt.service.UserService;
+import com.pmt.store.DescriptionRevisionStore;
+import com.pmt.store.HistoriqueOutboxStore;
 import com.pmt.store.HistoriqueStore;
+import com.pmt.store.ProjectSnapshotStore;
 import com.pmt.store.ProjectStore;
 import com.pmt.store.TaskStore;
 import com.pmt.store.ProjectUserStore;
@@ -40,9 +63,37 @@ public class ProjectServiceImpl implements ProjectService {
     ProjectUserStore projectUserStore;
     @Autowired
     HistoriqueStore historiqueStore;
+    @Autowired
+    HistoriqueOutboxStore historiqueOutboxStore;
+    @Autowired
+    HistoriqueWriter historiqueWriter;
+    @Autowired
+    DescriptionHistory descriptionHistory;
+    @Autowired
+    DescriptionRevisionStore descriptionRevisionStore;
+    @Autowired
+    ProjectSnapshotStore projectSnapshotStore;
+    @Autowired
+    ProjectTimeline projectTimeline;
+    @Autowired
+    ChangeFeedService changeFeedService;
+    @Autowired
+    ProjectStatsService projectStatsService;
 
     @Autowired
     UserService userService;
+    /**
+     * Le service lui-même, à travers son proxy : un appel interne à {@link #findState(Long)} passe ainsi par le cache.
+     */
+    @Autowired
+    @Lazy
+    ProjectService self;
+
+    /**
+     * Nombre de tâches au-delà duquel un projet est supprimé en arrière-plan.
+     */
+    @Value("${pmt.project.purge-threshold:5000}")
+    long purgeThreshold;
 
     /**
      * Récupère tous les projets.
@@ -68,14 +119,98 @@ public class ProjectServiceImpl implements ProjectService {
             .orElseThrow(() -> new ValidationException("Projet non trouvé avec l'ID: " + id));
     }
 
+    /**
+     * Récupère l'état courant d'un projet, sans ses tâches.
+     * Le résultat est mis en cache jusqu'à la modification ou la suppression du projet ;
+     * un projet introuvable n'est pas mis en cache.
+     * @param id L'identifiant unique du projet.
+     * @return L'état du projet.
+     * @throws ValidationException si aucun projet n'est trouvé avec l'ID spécifié.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PROJECTS, sync = true)
+    public ProjectState findState(Long id) {
+        return ProjectState.of(findById(id));
+    }
+
+    /**
+     * Reconstruit l'état d'un projet et de ses tâches à un instant passé, à partir de l'historique.
+     * @param id L'identifiant unique du projet.
+     * @param asOf L'instant demandé.
+     * @return L'état du projet à cet instant.
+     * @throws ValidationException si l'instant est manquant ou si aucun projet n'est trouvé avec l'ID spécifié.
+     */
+    @Override
+    public ProjectState findByIdAsOf(Long id, LocalDateTime asOf) {
+        if (asOf == null) {
+            throw new ValidationException("La date demandée est obligatoire.");
+        }
+        return projectTimeline.asOf(findById(id), asOf);
+    }
+
+    /**
+     * Récupère le tableau d'un projet : le projet, ses tâches, ses membres et les assignations de ses tâches.
+     * Les quatre lectures, indépendantes, sont lancées en parallèle sur des threads virtuels. La méthode
+     * rend la main dès que toutes ont abouti, ou dès la première en échec : les lectures encore en cours
+     * se terminent alors en arrière-plan et leur résultat est ignoré. Le projet est lu par
+     * {@link #findState(Long)}, donc depuis le cache des projets.
+     * <p>
+     * Chaque lecture est une projection dans sa propre transaction : aucune entité paresseuse ne traverse
+     * les threads, mais les quatre parties ne proviennent pas d'un même instantané. Une écriture validée
+     * pendant la lecture peut n'apparaître que dans certaines d'entre elles, par exemple une assignation
+     * dont la tâche est absente du tableau ; le client qui suit le journal des changements la reçoit ensuite.
+     * </p>
+     * @param id L'identifiant unique du projet.
+     * @return Le tableau du projet.
+     * @throws ValidationException si aucun projet n'est trouvé avec l'ID spécifié.
+     */
+    @Override
+    public ProjectBoard findBoard(Long id) {
+        ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletableFuture<ProjectState> project = CompletableFuture.supplyAsync(() -> self.findState(id), scope);
+            CompletableFuture<List<TaskDTO>> tasks = CompletableFuture.supplyAsync(() -> taskStore.findDtosByProjectId(id), scope);
+            CompletableFuture<List<ProjectMember>> members = CompletableFuture.supplyAsync(() -> projectUserStore.findMembersByProjectId(id), scope);
+            CompletableFuture<List<Assigned>> assignments = CompletableFuture.supplyAsync(() -> taskAssignStore.findAssignedByProjectId(id), scope);
+            // Terminé dès la première lecture en échec, sans attendre les autres
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            for (CompletableFuture<?> part : List.of(project, tasks, members, assignments)) {
+                part.whenComplete((result, e) -> {
+                    if (e != null) {
+                        failed.completeExceptionally(e);
+                    }
+                });
+            }
+            CompletableFuture.anyOf(CompletableFuture.allOf(project, tasks, members, assignments), failed).get();
+            return new ProjectBoard(project.join(), tasks.join(), members.join(), assignments.join());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lecture du tableau du projet " + id + " interrompue", e);
+        } finally {
+            // Sans attendre ni interrompre les lectures encore en cours
+            scope.shutdown();
+        }
+    }
+
     /**
      * Crée un nouveau projet.
      * Effectue une validation minimale sur le nom et la description du projet.
+     * La création est signalée au journal des changements dans la même transaction.
      * @param project L'objet Project à créer.
      * @return L'objet Project créé et sauvegardé.
      * @throws ValidationException si le nom ou la description du projet est vide.
      */
     @Override
+    @Transactional
     public Project create(Project project) {
         if(project.getNom() == null || project.getNom().isBlank()) {
             throw new ValidationException("Le projet doit avoir un nom");
@@ -85,17 +220,24 @@ public class ProjectServiceImpl implements ProjectService {
             throw new ValidationException("Le projet doit avoir une description");
         }
 
-        return projectStore.save(project);
+        Project created = projectStore.save(project);
+        changeFeedService.record(ChangeEntity.PROJECT, created.getId(), created.getId(), ChangeOperation.UPSERT);
+        return created;
     }
 
     /**
      * Met à jour un projet existant.
-     * Enregistre les modifications apportées au nom et à la description dans l'historique du projet.
+     * Enregistre une seule entrée d'historique listant tous les champs modifiés (nom, description, dates).
+     * S'exécute dans une seule transaction ; l'historique n'est écrit qu'après la validation,
+     * en arrière-plan ; l'auteur est vérifié depuis le cache des utilisateurs avant toute écriture.
+     * Le projet est retiré du cache après la validation.
      * @param project L'objet ProjectUpdate contenant l'ID du projet et les nouvelles données.
      * @return L'objet Project mis à jour.
-     * @throws ValidationException si l'ID du projet est manquant ou si le projet n'existe pas.
+     * @throws ValidationException si l'ID du projet est manquant, si le projet ou l'utilisateur n'existe pas.
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#project.project.id")
     public Project update(ProjectUpdate project) {
         if (project.getProject().getId() == null) {
             throw new ValidationException("L'ID du projet est requis pour la mise à jour.");
@@ -103,72 +245,98 @@ public class ProjectServiceImpl implements ProjectService {
         Project existingProject = projectStore.findById(project.getProject().getId())
                 .orElseThrow(() -> new ValidationException("Le projet avec l'ID " + project.getProject().getId() + " n'existe pas."));
 
-        User user = userService.findById(project.getUserId());
+        User user = project.getUserId() == null ? null : userService.findById(project.getUserId());
+        List<FieldChange> changes = new ArrayList<>();
 
-        // Historique pour le nom
         if (project.getProject().getNom() != null && !project.getProject().getNom().isBlank() && !project.getProject().getNom().equals(existingProject.getNom())) {
-            Historique history = new Historique();
-            history.setProjectId(existingProject.getId());
-            history.setDateM(LocalDateTime.now());
-            history.setTypeM(Type.Titre);
-            history.setOldString(existingProject.getNom());
-            history.setNewString(project.getProject().getNom());
-            history.setUser(user);
-            historiqueStore.save(history);
+            changes.add(FieldChange.of(Type.Titre, existingProject.getNom(), project.getProject().getNom()));
             existingProject.setNom(project.getProject().getNom());
         }
 
-        // Historique pour la description
         if (project.getProject().getDescription() != null && !project.getProject().getDescription().equals(existingProject.getDescription())) {
-            Historique history = new Historique();
-            history.setProjectId(existingProject.getId());
-            history.setDateM(LocalDateTime.now());
-            history.setTypeM(Type.Description);
-            history.setOldString(existingProject.getDescription());
-            history.setNewString(project.getProject().getDescription());
-            history.setUser(user);
-            historiqueStore.save(history);
+            changes.add(descriptionHistory.recordProject(existingProject.getId(), existingProject.getDescription(), project.getProject().getDescription()));
             existingProject.setDescription(project.getProject().getDescription());
         }
 
         if (project.getProject().getDateDebut() != null) {
+            if (!project.getProject().getDateDebut().equals(existingProject.getDateDebut())) {
+                changes.add(FieldChange.of(Type.DateDebut, existingProject.getDateDebut(), project.getProject().getDateDebut()));
+            }
             existingProject.setDateDebut(project.getProject().getDateDebut());
         }
 
         if (project.getProject().getDateFin() != null) {
+            if (!project.getProject().getDateFin().equals(existingProject.getDateFin())) {
+                changes.add(FieldChange.of(Type.DateFin, existingProject.getDateFin(), project.getProject().getDateFin()));
+            }
             existingProject.setDateFin(project.getProject().getDateFin());
         }
 
+        if (!changes.isEmpty()) {
+            historiqueWriter.record(List.of(newHistory(existingProject.getId(), changes, user)));
+            changeFeedService.record(ChangeEntity.PROJECT, existingProject.getId(), existingProject.getId(), ChangeOperation.UPSERT);
+        }
         return projectStore.save(existingProject);
     }
 
     /**
-     * Supprime un projet et toutes ses entités liées (tâches, assignations, associations utilisateurs-projets).
+     * Supprime un projet et toutes ses entités liées (historique, assignations, tâches, associations utilisateurs-projets).
+     * Chaque table est vidée par une seule requête ensembliste. Au-delà de {@code purgeThreshold} tâches,
+     * le projet est seulement marqué comme supprimé et retiré à ses membres : ses tâches sont purgées
+     * par lots en arrière-plan par {@link ProjectPurgeServiceImpl}. Une seule entrée du journal des
+     * changements signale la suppression du projet et de tout son contenu.
+     * Après la validation, le projet est retiré du cache, et le cache des tâches est vidé.
      * Cette opération est transactionnelle.
      * @param id L'identifiant unique du projet à supprimer.
      * @throws ValidationException si l'ID du projet est null.
      */
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true)
+    })
     public void deleteProject(Long id) {
         if (id == null) {
             throw new ValidationException("l'id ne peut pas être null");
         }
-        // Récupérer toutes les tâches du projet
-        List<Task> tasks = taskStore.findByProjectId(id);
-        
-        // Supprimer les assignations liées à chaque tâche
-        for (Task task : tasks) {
-            taskAssignStore.deleteByTaskId(task.getId());
-        }
+        // Supprimer les utilisateurs liés au projet
+        projectUserStore.deleteAllByProjectId(id);
+        changeFeedService.record(ChangeEntity.PROJECT, id, id, ChangeOperation.DELETE);
+        projectStatsService.drop(id);
 
-        // Supprimer les tâches du projet
-        taskStore.deleteByProjectId(id);
+        if (taskStore.countByProjectId(id) > purgeThreshold) {
+            // Projet volumineux : la purge se fait en arrière-plan
+            projectStore.markDeleted(id);
+            return;
+        }
 
-        // Supprimer les utilisateurs liés au projet
-        projectUserStore.deleteByProjectId(id);
+        // Supprimer l'historique du projet et de ses tâches, puis les assignations et les tâches
+        historiqueOutboxStore.deleteAllByProjectId(id);
+        historiqueStore.deleteAllByProjectId(id);
+        descriptionRevisionStore.deleteAllByProjectId(id);
+        projectSnapshotStore.deleteAllByProjectId(id);
+        taskAssignStore.deleteAllByProjectId(id);
+        taskStore.deleteAllByProjectId(id);
 
         // Supprimer le projet lui-même
         projectStore.deleteById(id);
     }
+
+    /**
+     * Construit l'entrée d'historique d'une mise à jour de projet.
+     * @param projectId L'identifiant du projet.
+     * @param changes Les champs modifiés.
+     * @param user L'utilisateur à l'origine de la modification.
+     * @return L'entrée d'historique, non encore sauvegardée.
+     */
+    private Historique newHistory(Long projectId, List<FieldChange> changes, User user) {
+        Historique history = new Historique();
+        history.setProjectId(projectId);
+        history.setDateM(LocalDateTime.now());
+        history.setTypeM(Type.Modification);
+        history.setChanges(changes);
+        history.setUser(user);
+        return history;
+    }
 }
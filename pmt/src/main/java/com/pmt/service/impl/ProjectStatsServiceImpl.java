@@ -0,0 +1,320 @@
+package com.pmt.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.pmt.dto.ProjectStats;
+import com.pmt.dto.TaskCount;
+import com.pmt.errors.ValidationException;
+import com.pmt.model.Priorite;
+import com.pmt.model.ProjectCounters;
+import com.pmt.model.Status;
+import com.pmt.service.ProjectStatsService;
+import com.pmt.store.ProjectCountersStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.TaskStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Implémentation du service des compteurs de tâches des projets.
+ * <p>
+ * Les compteurs de chaque projet (total, par statut, par priorité) sont sauvegardés dans la table
+ * {@code project_counters}, partagée par toutes les instances. Les écritures de tâches ne la modifient pas :
+ * leurs variations sont cumulées en mémoire dans des {@link LongAdder}, sans verrou ni contention, après la
+ * validation de leur transaction, puis ajoutées en base toutes les {@code pmt.stats.flush-interval} et à l'arrêt
+ * par un incrément de chaque ligne, qui n'écrase jamais les variations des autres instances.
+ * </p>
+ * Une lecture relit la ligne du projet par sa clé et y ajoute les variations de cette instance pas encore
+ * sauvegardées : celles des autres instances y apparaissent à leur prochaine sauvegarde. Les variations non
+ * sauvegardées sont perdues en cas d'arrêt brutal : si {@code pmt.stats.reconcile-on-startup} est actif, les
+ * compteurs sont recalculés à partir des tâches au démarrage, en une seule requête groupée.
+ */
+@Service
+public class ProjectStatsServiceImpl implements ProjectStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectStatsServiceImpl.class);
+
+    @Autowired
+    ProjectStore projectStore;
+    @Autowired
+    TaskStore taskStore;
+    @Autowired
+    ProjectCountersStore projectCountersStore;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    /**
+     * Recalcule les compteurs à partir des tâches au démarrage. Les compteurs remplacés perdraient les variations
+     * que les autres instances n'ont pas encore sauvegardées : à désactiver si une instance peut démarrer pendant
+     * que d'autres écrivent.
+     */
+    @Value("${pmt.stats.reconcile-on-startup:true}")
+    boolean reconcileOnStartup;
+
+    /**
+     * Compteurs de tâches d'un projet : le total, puis un compteur par statut et par priorité.
+     * Les tâches sans statut ou sans priorité ne sont comptées que dans le total.
+     */
+    static final class Counters {
+        private static final int STATUS = 1;
+        private static final int PRIORITE = STATUS + Status.values().length;
+        private final LongAdder[] adders = new LongAdder[PRIORITE + Priorite.values().length];
+
+        Counters() {
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+        }
+
+        void add(Status status, Priorite priorite, long count) {
+            adders[0].add(count);
+            if (status != null) {
+                adders[STATUS + status.ordinal()].add(count);
+            }
+            if (priorite != null) {
+                adders[PRIORITE + priorite.ordinal()].add(count);
+            }
+        }
+
+        void add(Counters other) {
+            for (int i = 0; i < adders.length; i++) {
+                adders[i].add(other.adders[i].sum());
+            }
+        }
+
+        long total() {
+            return adders[0].sum();
+        }
+
+        long get(Status status) {
+            return adders[STATUS + status.ordinal()].sum();
+        }
+
+        long get(Priorite priorite) {
+            return adders[PRIORITE + priorite.ordinal()].sum();
+        }
+
+        long[] sums() {
+            return Arrays.stream(adders).mapToLong(LongAdder::sum).toArray();
+        }
+    }
+
+    /**
+     * Variations validées des compteurs de chaque projet, pas encore sauvegardées.
+     * Elles ne sont modifiées et retirées que par les opérations atomiques de la table : une variation est
+     * ajoutée soit avant qu'une sauvegarde ne les retire, soit après, jamais perdue.
+     */
+    private final Map<Long, Counters> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Rapproche les compteurs sauvegardés des tâches si demandé.
+     */
+    @PostConstruct
+    public void init() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Recalcule les compteurs de tous les projets à partir des tâches, et remplace ceux qui diffèrent.
+     * Les compteurs remplacés perdraient les variations concurrentes : à n'appeler qu'en l'absence d'écritures.
+     * @return Le nombre de projets corrigés.
+     */
+    int reconcile() {
+        Map<Long, Counters> actual = new HashMap<>();
+        for (TaskCount count : taskStore.countByProjectStatusAndPriorite()) {
+            actual.computeIfAbsent(count.getProjectId(), id -> new Counters())
+                    .add(count.getStatus(), count.getPriorite(), count.getCount());
+        }
+        Map<Long, Counters> current = new HashMap<>();
+        for (ProjectCounters saved : projectCountersStore.findAll()) {
+            current.put(saved.getProjectId(), counters(saved));
+        }
+        Set<Long> projectIds = new HashSet<>(current.keySet());
+        projectIds.addAll(actual.keySet());
+        List<ProjectCounters> corrected = new ArrayList<>();
+        List<Long> emptied = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Long projectId : projectIds) {
+            Counters expected = actual.get(projectId);
+            long[] currentSums = current.getOrDefault(projectId, new Counters()).sums();
+            long[] expectedSums = expected == null ? new Counters().sums() : expected.sums();
+            if (Arrays.equals(currentSums, expectedSums)) {
+                continue;
+            }
+            if (expected == null) {
+                emptied.add(projectId);
+            } else {
+                corrected.add(toEntity(projectId, expected, now));
+            }
+        }
+        projectCountersStore.saveAll(corrected);
+        projectCountersStore.deleteAllById(emptied);
+        logger.info("Compteurs de {} projets rapprochés des tâches, {} corrigés", projectIds.size(),
+                corrected.size() + emptied.size());
+        return corrected.size() + emptied.size();
+    }
+
+    /**
+     * Récupère les compteurs de tâches d'un projet : ceux sauvegardés, plus les variations de cette instance
+     * pas encore sauvegardées.
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre de tâches du projet, au total, par statut et par priorité.
+     * @throws ValidationException si le projet n'existe pas.
+     */
+    @Override
+    public ProjectStats findByProjectId(Long projectId) {
+        Optional<ProjectCounters> saved = projectCountersStore.findById(projectId);
+        Counters local = pending.get(projectId);
+        // Projet sans tâche : aucune ligne sauvegardée, son existence est vérifiée
+        if (saved.isEmpty() && local == null && !projectStore.existsById(projectId)) {
+            throw new ValidationException("Projet non trouvé avec l'ID: " + projectId);
+        }
+        Counters counters = saved.map(ProjectStatsServiceImpl::counters).orElseGet(Counters::new);
+        if (local != null) {
+            counters.add(local);
+        }
+        Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            statusCounts.put(status, counters.get(status));
+        }
+        Map<Priorite, Long> prioriteCounts = new EnumMap<>(Priorite.class);
+        for (Priorite priorite : Priorite.values()) {
+            prioriteCounts.put(priorite, counters.get(priorite));
+        }
+        return new ProjectStats(projectId, counters.total(), statusCounts, prioriteCounts);
+    }
+
+    /**
+     * Reporte des variations sur les compteurs des projets. Dans une transaction, elles ne sont reportées
+     * qu'après sa validation, et ignorées en cas d'annulation ; sinon, immédiatement.
+     * @param counts Les tâches ajoutées (nombre positif) ou retirées (nombre négatif).
+     */
+    @Override
+    public void count(List<TaskCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            for (TaskCount count : counts) {
+                pending.compute(count.getProjectId(), (id, counters) -> {
+                    Counters updated = counters == null ? new Counters() : counters;
+                    updated.add(count.getStatus(), count.getPriorite(), count.getCount());
+                    return updated;
+                });
+            }
+        });
+    }
+
+    /**
+     * Supprime les compteurs sauvegardés d'un projet dans la transaction en cours, puis, après sa validation,
+     * ses variations pas encore sauvegardées. Les variations des autres instances ne recréent pas la ligne d'un
+     * projet supprimé.
+     * @param projectId L'identifiant du projet supprimé.
+     */
+    @Override
+    public void drop(Long projectId) {
+        projectCountersStore.deleteById(projectId);
+        afterCommit(() -> pending.remove(projectId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Ajoute aux compteurs sauvegardés les variations cumulées depuis la dernière sauvegarde, en une transaction.
+     * En cas d'échec, elles sont remises en attente pour le prochain passage. Pendant la sauvegarde, une lecture
+     * peut brièvement ne plus voir les variations en cours d'écriture.
+     */
+    @Scheduled(fixedDelayString = "${pmt.stats.flush-interval:PT30S}")
+    public void flush() {
+        Map<Long, Counters> flushed = new HashMap<>();
+        for (Long projectId : List.copyOf(pending.keySet())) {
+            Counters counters = pending.remove(projectId);
+            if (counters != null) {
+                flushed.put(projectId, counters);
+            }
+        }
+        if (flushed.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ProjectCounters> deltas = flushed.entrySet().stream()
+                .map(entry -> toEntity(entry.getKey(), entry.getValue(), now)).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> projectCountersStore.addAll(deltas));
+        } catch (RuntimeException e) {
+            flushed.forEach((projectId, counters) -> pending.merge(projectId, counters, (current, failed) -> {
+                current.add(failed);
+                return current;
+            }));
+            logger.error("Erreur lors de la sauvegarde des compteurs de {} projets", flushed.size(), e);
+        }
+    }
+
+    /**
+     * Sauvegarde les variations en attente à l'arrêt de l'application.
+     */
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    private static Counters counters(ProjectCounters saved) {
+        Counters counters = new Counters();
+        counters.adders[0].add(saved.getTotal());
+        counters.adders[Counters.STATUS + Status.TODO.ordinal()].add(saved.getTodo());
+        counters.adders[Counters.STATUS + Status.IN_PROGRESS.ordinal()].add(saved.getInProgress());
+        counters.adders[Counters.STATUS + Status.DONE.ordinal()].add(saved.getDone());
+        counters.adders[Counters.PRIORITE + Priorite.LOW.ordinal()].add(saved.getLow());
+        counters.adders[Counters.PRIORITE + Priorite.MEDIUM.ordinal()].add(saved.getMedium());
+        counters.adders[Counters.PRIORITE + Priorite.HIGH.ordinal()].add(saved.getHigh());
+        return counters;
+    }
+
+    private static ProjectCounters toEntity(Long projectId, Counters counters, LocalDateTime savedAt) {
+        ProjectCounters saved = new ProjectCounters();
+        saved.setProjectId(projectId);
+        saved.setTotal(counters.total());
+        saved.setTodo(counters.get(Status.TODO));
+        saved.setInProgress(counters.get(Status.IN_PROGRESS));
+        saved.setDone(counters.get(Status.DONE));
+        saved.setLow(counters.get(Priorite.LOW));
+        saved.setMedium(counters.get(Priorite.MEDIUM));
+        saved.setHigh(counters.get(Priorite.HIGH));
+        saved.setSavedAt(savedAt);
+        return saved;
+    }
+}
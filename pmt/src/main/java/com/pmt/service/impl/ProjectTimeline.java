@@ -0,0 +1,323 @@
+package com.pmt.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pmt.dto.ProjectState;
+import com.pmt.dto.TaskDTO;
+import com.pmt.model.FieldChange;
+import com.pmt.model.Historique;
+import com.pmt.model.HistoriqueOutbox;
+import com.pmt.model.Priorite;
+import com.pmt.model.Project;
+import com.pmt.model.ProjectSnapshot;
+import com.pmt.model.Status;
+import com.pmt.model.Type;
+import com.pmt.store.HistoriqueOutboxStore;
+import com.pmt.store.HistoriqueStore;
+import com.pmt.store.ProjectSnapshotStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.TaskStore;
+
+/**
+ * Reconstruit l'état passé d'un projet et de ses tâches à partir de l'historique.
+ * <p>
+ * L'état est reconstruit à rebours : on part du premier instantané pris après l'instant demandé
+ * (ou, à défaut, de l'état courant) et l'on défait, de la plus récente à la plus ancienne, les
+ * entrées d'historique intermédiaires. Une tâche créée après l'instant demandé est retirée, une
+ * tâche supprimée depuis est rétablie avec ses dernières valeurs.
+ * </p>
+ * Pour borner le nombre d'entrées à défaire, un instantané de l'état courant est pris dès qu'un projet
+ * a accumulé {@code snapshotInterval} entrées depuis le précédent ; une reconstruction qui a dû défaire
+ * au moins autant d'entrées est elle-même conservée en instantané.
+ */
+@Component
+public class ProjectTimeline {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectTimeline.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    /**
+     * Nombre maximal de tâches par requête IN sur l'historique.
+     */
+    static final int MAX_TASK_IDS = 1000;
+
+    @Autowired
+    ProjectStore projectStore;
+    @Autowired
+    TaskStore taskStore;
+    @Autowired
+    HistoriqueStore historiqueStore;
+    @Autowired
+    HistoriqueOutboxStore outboxStore;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    ProjectSnapshotStore snapshotStore;
+    @Autowired
+    DescriptionHistory descriptionHistory;
+
+    /**
+     * Nombre d'entrées d'historique d'un projet au-delà duquel un nouvel instantané est pris.
+     */
+    @Value("${pmt.history.state-snapshot-interval:500}")
+    int snapshotInterval;
+
+    /**
+     * Reconstruit l'état d'un projet et de ses tâches à un instant donné.
+     * @param project Le projet.
+     * @param asOf L'instant demandé ; un instant futur renvoie l'état courant.
+     * @return L'état du projet à cet instant.
+     */
+    public ProjectState asOf(Project project, LocalDateTime asOf) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!asOf.isBefore(now)) {
+            return current(project, now);
+        }
+        Optional<ProjectSnapshot> snapshot = snapshotStore
+                .findFirstByProjectIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(project.getId(), asOf);
+        ProjectState state;
+        LocalDateTime until;
+        if (snapshot.isPresent()) {
+            state = read(snapshot.get());
+            until = snapshot.get().getTakenAt();
+        } else {
+            state = current(project, now);
+            // Les entrées écrites après la lecture de l'état courant sont aussi défaites
+            until = HistoriqueServiceImpl.MAX_DATE;
+        }
+
+        int undone = rewind(state, asOf, until);
+        if (undone >= snapshotInterval) {
+            save(state);
+        }
+        return state;
+    }
+
+    /**
+     * Lit les entrées d'historique d'un projet et de ses tâches comprises entre deux dates, y compris
+     * celles qui attendent encore dans {@code historique_outbox}. La table d'attente est lue avant
+     * l'historique et dans la même transaction : une entrée déplacée entre les deux lectures n'est pas
+     * perdue, et l'instantané REPEATABLE READ de MySQL évite de la lire deux fois.
+     * @param state L'état de départ, dont les tâches sont aussi concernées.
+     * @param asOf La date de début, exclue.
+     * @param until La date de fin, incluse.
+     * @return Les entrées, dans un ordre quelconque.
+     */
+    private List<Historique> events(ProjectState state, LocalDateTime asOf, LocalDateTime until) {
+        List<Historique> events = new ArrayList<>(staged(outboxStore.findProjectEventsBetween(state.getId(), asOf, until)));
+        events.addAll(historiqueStore.findProjectEventsBetween(state.getId(), asOf, until));
+        Set<Long> taskIds = new HashSet<>();
+        state.getTasks().forEach(t -> taskIds.add(t.getId()));
+        events.forEach(e -> {
+            if (e.getTaskId() != null) {
+                taskIds.add(e.getTaskId());
+            }
+        });
+        List<Long> ids = new ArrayList<>(taskIds);
+        for (int i = 0; i < ids.size(); i += MAX_TASK_IDS) {
+            List<Long> chunk = ids.subList(i, Math.min(i + MAX_TASK_IDS, ids.size()));
+            events.addAll(staged(outboxStore.findTaskEventsBetween(chunk, asOf, until)));
+            events.addAll(historiqueStore.findTaskEventsBetween(chunk, asOf, until));
+        }
+        return events;
+    }
+
+    private static List<Historique> staged(List<HistoriqueOutbox> rows) {
+        return rows.stream().map(HistoriqueOutbox::toHistorique).toList();
+    }
+
+    /**
+     * Défait sur un état les entrées d'historique comprises entre deux dates.
+     * @param state L'état à la date {@code until}, modifié pour décrire l'état à la date {@code asOf}.
+     * @param asOf La date visée, exclue.
+     * @param until La date de l'état de départ, incluse.
+     * @return Le nombre d'entrées défaites.
+     */
+    int rewind(ProjectState state, LocalDateTime asOf, LocalDateTime until) {
+        List<Historique> events = transactionTemplate.execute(status -> events(state, asOf, until));
+        // Les entrées encore en attente n'ont pas d'identifiant : ce sont les plus récentes à date égale
+        events.sort(Comparator.comparing(Historique::getDateM)
+                .thenComparing(Historique::getId, Comparator.nullsLast(Comparator.naturalOrder())).reversed());
+
+        Set<Long> revisions = new HashSet<>();
+        for (Historique event : events) {
+            for (FieldChange change : changes(event)) {
+                if (change.hasRevisions() && change.getOldRevision() != null) {
+                    revisions.add(change.getOldRevision());
+                }
+            }
+        }
+        Map<Long, String> texts = revisions.isEmpty() ? Map.of() : descriptionHistory.texts(revisions);
+
+        Map<Long, TaskDTO> tasks = new LinkedHashMap<>();
+        state.getTasks().forEach(t -> tasks.put(t.getId(), t));
+        for (Historique event : events) {
+            undo(state, tasks, event, texts);
+        }
+        List<TaskDTO> remaining = new ArrayList<>(tasks.values());
+        remaining.sort(Comparator.comparing(TaskDTO::getId));
+        state.setTasks(remaining);
+        state.setAsOf(asOf);
+        return events.size();
+    }
+
+    /**
+     * Défait une entrée d'historique sur un état.
+     */
+    private static void undo(ProjectState state, Map<Long, TaskDTO> tasks, Historique event, Map<Long, String> texts) {
+        if (event.getTaskId() == null) {
+            for (FieldChange change : changes(event)) {
+                Object value = oldValue(change, texts);
+                switch (change.getField()) {
+                    case Titre -> state.setNom((String) value);
+                    case Description -> state.setDescription((String) value);
+                    case DateDebut -> state.setDateDebut((LocalDate) value);
+                    case DateFin -> state.setDateFin((LocalDate) value);
+                    default -> { }
+                }
+            }
+            return;
+        }
+        if (event.getTypeM() == Type.Creation) {
+            tasks.remove(event.getTaskId());
+            return;
+        }
+        TaskDTO task = tasks.get(event.getTaskId());
+        if (event.getTypeM() == Type.Suppression) {
+            task = new TaskDTO();
+            task.setId(event.getTaskId());
+            task.setProjectId(state.getId());
+            tasks.put(task.getId(), task);
+        }
+        if (task == null) {
+            // Tâche rattachée à un autre projet à l'instant de départ
+            return;
+        }
+        for (FieldChange change : changes(event)) {
+            Object value = oldValue(change, texts);
+            switch (change.getField()) {
+                case Titre -> task.setNom((String) value);
+                case Description -> task.setDescription((String) value);
+                case Statut -> task.setStatus((Status) value);
+                case Priorite -> task.setPriorite((Priorite) value);
+                case DateEcheance -> task.setDateEcheance((LocalDate) value);
+                case DateFin -> task.setDateFin((LocalDate) value);
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * @return Les champs modifiés d'une entrée ; une entrée antérieure aux change-sets n'en porte qu'un.
+     */
+    private static List<FieldChange> changes(Historique event) {
+        if (event.getChanges() != null) {
+            return event.getChanges();
+        }
+        if (event.getTypeM() == null || event.getTypeM() == Type.Modification) {
+            return List.of();
+        }
+        return List.of(new FieldChange(event.getTypeM(), event.getOldString(), event.getNewString()));
+    }
+
+    /**
+     * Convertit l'ancienne valeur d'un champ dans le type du champ.
+     */
+    private static Object oldValue(FieldChange change, Map<Long, String> texts) {
+        if (change.hasRevisions()) {
+            return change.getOldRevision() == null ? null : texts.get(change.getOldRevision());
+        }
+        String value = change.getOldValue();
+        if (value == null) {
+            return null;
+        }
+        return switch (change.getField()) {
+            case Statut -> Status.valueOf(value);
+            case Priorite -> Priorite.valueOf(value);
+            case DateEcheance, DateFin, DateDebut -> LocalDate.parse(value);
+            default -> value;
+        };
+    }
+
+    /**
+     * Prend un instantané des projets ayant accumulé au moins {@code snapshotInterval} entrées d'historique
+     * depuis le précédent.
+     */
+    @Scheduled(initialDelayString = "${pmt.history.state-snapshot.initial-delay:PT1M}",
+               fixedDelayString = "${pmt.history.state-snapshot.check-interval:PT1H}")
+    public void snapshotProjects() {
+        for (Project project : projectStore.findAll()) {
+            try {
+                snapshotIfDue(project);
+            } catch (RuntimeException e) {
+                // L'instantané sera retenté au prochain passage
+                logger.error("Erreur lors de l'instantané du projet {}", project.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Prend un instantané de l'état courant d'un projet s'il a accumulé assez d'entrées depuis le précédent.
+     * @param project Le projet.
+     * @return true si un instantané a été pris.
+     */
+    boolean snapshotIfDue(Project project) {
+        LocalDateTime since = snapshotStore.findLastTakenAt(project.getId()).orElse(HistoriqueServiceImpl.MIN_DATE);
+        if (historiqueStore.countEventsSince(project.getId(), since) < snapshotInterval) {
+            return false;
+        }
+        save(current(project, LocalDateTime.now()));
+        return true;
+    }
+
+    /**
+     * Lit l'état courant d'un projet et de ses tâches.
+     */
+    private ProjectState current(Project project, LocalDateTime now) {
+        ProjectState state = ProjectState.of(project);
+        state.setAsOf(now);
+        state.setTasks(new ArrayList<>(taskStore.findDtosByProjectId(project.getId())));
+        return state;
+    }
+
+    private void save(ProjectState state) {
+        ProjectSnapshot snapshot = new ProjectSnapshot();
+        snapshot.setProjectId(state.getId());
+        snapshot.setTakenAt(state.getAsOf());
+        try {
+            snapshot.setPayload(TextDelta.snapshot(MAPPER.writeValueAsString(state)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("État du projet " + state.getId() + " impossible à sérialiser", e);
+        }
+        snapshotStore.save(snapshot);
+    }
+
+    private static ProjectState read(ProjectSnapshot snapshot) {
+        try {
+            return MAPPER.readValue(TextDelta.restore(snapshot.getPayload()), ProjectState.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Instantané " + snapshot.getId() + " illisible", e);
+        }
+    }
+}
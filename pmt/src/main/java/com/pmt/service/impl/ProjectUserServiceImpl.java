@@ -1,17 +1,26 @@
 package com.pmt.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.pmt.dto.UsersProject;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
 import com.pmt.model.Project;
 import com.pmt.model.ProjectUser;
+import com.pmt.model.Role;
 import com.pmt.model.User;
+import com.pmt.service.ChangeFeedService;
 import com.pmt.service.ProjectUserService;
 import com.pmt.store.ProjectStore;
 import com.pmt.store.ProjectUserStore;
@@ -30,6 +39,8 @@ public class ProjectUserServiceImpl implements ProjectUserService {
     ProjectStore projectStore;
     @Autowired
     UserStore userStore;
+    @Autowired
+    ChangeFeedService changeFeedService;
 
     /**
      * Récupère la liste de tous les projets auxquels un utilisateur est associé.
@@ -43,28 +54,54 @@ public class ProjectUserServiceImpl implements ProjectUserService {
 
     /**
      * Ajoute un ou plusieurs utilisateurs à un projet spécifique avec un rôle défini.
+     * Les utilisateurs sont chargés en une seule requête et les associations enregistrées par lots ;
+     * un utilisateur déjà membre du projet voit seulement son rôle mis à jour. Chaque association est
+     * signalée au journal des changements dans la même transaction.
      * @param request L'objet UsersProject contenant l'ID du projet et une liste d'objets UserRoleDTO.
-     * @return Une liste des objets ProjectUser nouvellement créés.
+     * @return Une liste des objets ProjectUser créés ou mis à jour.
      * @throws ValidationException si le projet ou un utilisateur spécifié n'est pas trouvé.
      */
     @Override
+    @Transactional
     public List<ProjectUser> addUsersToProject(UsersProject request) {
-        Project project = projectStore.findById(request.getProjectId())
-                .orElseThrow(() -> new ValidationException("Project not found with ID: " + request.getProjectId()));
+        if (!projectStore.existsById(request.getProjectId())) {
+            throw new ValidationException("Project not found with ID: " + request.getProjectId());
+        }
+        if (request.getUsers() == null || request.getUsers().isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        List<ProjectUser> addedProjectUsers = new ArrayList<>();
+        // Un même utilisateur ne compte qu'une fois : le dernier rôle demandé l'emporte
+        Map<Long, Role> roles = new LinkedHashMap<>();
         for (UsersProject.UserRoleDTO userRoleDTO : request.getUsers()) {
-            User user = userStore.findById(userRoleDTO.getUserId())
-                .orElseThrow(() -> new ValidationException("User not found with ID: " + userRoleDTO.getUserId()));
+            roles.put(userRoleDTO.getUserId(), userRoleDTO.getRole());
+        }
 
+        Map<Long, User> users = new HashMap<>();
+        userStore.findAllById(roles.keySet()).forEach(u -> users.put(u.getId(), u));
+
+        Project project = projectStore.getReferenceById(request.getProjectId());
+        List<ProjectUser> projectUsers = new ArrayList<>(roles.size());
+        for (Map.Entry<Long, Role> entry : roles.entrySet()) {
+            User user = users.get(entry.getKey());
+            if (user == null) {
+                throw new ValidationException("User not found with ID: " + entry.getKey());
+            }
             ProjectUser newProjectUser = new ProjectUser();
-            newProjectUser.setId(userRoleDTO.getId());
             newProjectUser.setProject(project);
             newProjectUser.setUser(user);
-            newProjectUser.setRole(userRoleDTO.getRole());
-            addedProjectUsers.add(projectUserStore.save(newProjectUser));
+            newProjectUser.setRole(entry.getValue());
+            projectUsers.add(newProjectUser);
+        }
+
+        projectUserStore.upsertAll(projectUsers);
+        List<ProjectUser> saved = projectUserStore.findByProjectIdAndUserIdIn(request.getProjectId(), roles.keySet());
+        List<ChangeLog> changes = new ArrayList<>(saved.size());
+        for (ProjectUser projectUser : saved) {
+            changes.add(ChangeLog.of(ChangeEntity.PROJECT_USER, projectUser.getId(), request.getProjectId(), ChangeOperation.UPSERT));
         }
-        return addedProjectUsers;
+        changeFeedService.recordAll(changes);
+        return saved;
     }
 
     /**
@@ -101,10 +138,14 @@ public class ProjectUserServiceImpl implements ProjectUserService {
     }
 
     /**
-     * Supprime une association projet-utilisateur par son identifiant unique.
+     * Supprime une association projet-utilisateur par son identifiant unique,
+     * et signale la suppression au journal des changements dans la même transaction.
      * @param id L'identifiant unique de l'association ProjectUser.
      */
+    @Transactional
     public void deleteById(Long id) {
+        projectUserStore.findById(id).ifPresent(projectUser -> changeFeedService.record(
+                ChangeEntity.PROJECT_USER, id, projectUser.getProject().getId(), ChangeOperation.DELETE));
         projectUserStore.deleteById(id);
     }
 }
@@ -1,20 +1,25 @@
 package com.pmt.service.impl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.pmt.dto.Assigned;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
 import com.pmt.model.Task;
 import com.pmt.model.TaskAssign;
 import com.pmt.model.User;
-import com.pmt.service.EmailService;
+import com.pmt.service.ChangeFeedService;
+import com.pmt.service.NotificationService;
+import com.pmt.service.ProjectService;
 import com.pmt.service.TaskAssignService;
 import com.pmt.store.TaskAssignStore;
 import com.pmt.store.TaskStore;
@@ -33,22 +38,39 @@ public class TaskAssignServiceImpl implements TaskAssignService {
     @Autowired
     TaskStore taskStore;
     @Autowired
-    EmailService emailService;
+    NotificationService notificationService;
+    @Autowired
+    ChangeFeedService changeFeedService;
+    @Autowired
+    ProjectService projectService;
 
-    private static final Logger logger = LoggerFactory.getLogger(TaskAssignServiceImpl.class);
+    /**
+     * Nombre maximal de tâches par appel à {@link #getUsersByTaskIds(List)}.
+     */
+    static final int MAX_TASK_IDS = 500;
 
     /**
      * Crée une nouvelle assignation d'une tâche à un utilisateur.
-     * Envoie un e-mail de notification à l'utilisateur assigné.
+     * L'utilisateur assigné est notifié dans la même transaction, immédiatement ou dans son prochain
+     * récapitulatif selon sa préférence : l'e-mail ne part que si l'assignation est validée,
+     * sans bloquer la requête sur le serveur SMTP.
+     * L'assignation est signalée au journal des changements dans la même transaction.
      * @param taskId L'ID de la tâche à assigner.
      * @param userId L'ID de l'utilisateur à qui la tâche est assignée.
      * @return L'objet TaskAssign créé.
-     * @throws ValidationException si la tâche ou l'utilisateur n'est pas trouvé.
+     * @throws ValidationException si la tâche ou l'utilisateur n'est pas trouvé, ou si le projet de la tâche est supprimé.
      */
     @Override
+    @Transactional
     public TaskAssign create(Long taskId, Long userId) {
         Task task = taskStore.findById(taskId)
                 .orElseThrow(() -> new ValidationException("Task not found with ID: " + taskId));
+        try {
+            // Projet marqué comme supprimé : ses tâches ne sont plus visibles
+            projectService.findState(task.getProject().getId());
+        } catch (ValidationException e) {
+            throw new ValidationException("Task not found with ID: " + taskId);
+        }
         User user = userStore.findById(userId)
                 .orElseThrow(() -> new ValidationException("User not found with ID: " + userId));
         
@@ -57,38 +79,42 @@ public class TaskAssignServiceImpl implements TaskAssignService {
         taskAssign.setUser(user);
         
         TaskAssign savedTaskAssign = taskAssignStore.save(taskAssign);
+        changeFeedService.record(ChangeEntity.TASK_ASSIGN, savedTaskAssign.getId(), task.getProject().getId(), ChangeOperation.UPSERT);
 
-        try {
-            String to = user.getEmail();
-            String subject = "Nouvelle tâche assignée : " + task.getNom(); // Assurez-vous que Task a bien getTitre() ou getNom()
-            String text = "Bonjour " + user.getNom() + ",\n\n"
-                        + "Vous avez été assigné(e) à une nouvelle tâche : '" + task.getNom() + "'.\n\n" // Assurez-vous que Task a bien getTitre() ou getNom()
-                        + "L'équipe PMT.";
-
-            emailService.sendSimpleMessage(to, subject, text);
-            logger.info("Email de notification envoyé à " + to);
-        } catch (Exception e) {
-            logger.error("Erreur lors de l'envoi de l'email de notification à " + user.getEmail(), e);
+        // La notification est écrite dans la même transaction et envoyée en arrière-plan
+        if (user.getEmail() != null && !user.getEmail().isBlank()) {
+            notificationService.notifyAssignment(user, task);
         }
 
         return savedTaskAssign;
     }
 
     /**
-     * Supprime toutes les assignations liées à une tâche spécifique.
+     * Supprime toutes les assignations liées à une tâche spécifique,
+     * et signale chaque suppression au journal des changements dans la même transaction.
      * @param id L'ID de la tâche.
      * @throws ValidationException si l'ID est null.
      */
     @Override
+    @Transactional
     public void deleteByTaskId(Long id) {
         if(id == null) {
             throw new ValidationException("l'id ne peut pas être null");
         }
+        List<Assigned> assigned = taskAssignStore.findAssignedByTaskId(id);
+        if (!assigned.isEmpty()) {
+            Long projectId = taskStore.findDtoById(id).map(t -> t.getProjectId()).orElse(null);
+            List<ChangeLog> changes = new ArrayList<>(assigned.size());
+            for (Assigned a : assigned) {
+                changes.add(ChangeLog.of(ChangeEntity.TASK_ASSIGN, a.getId(), projectId, ChangeOperation.DELETE));
+            }
+            changeFeedService.recordAll(changes);
+        }
         taskAssignStore.deleteByTaskId(id);
     }
 
     /**
-     * Récupère la liste des utilisateurs assignés à une tâche spécifique.
+     * Récupère la liste des utilisateurs assignés à une tâche spécifique, en une seule requête.
      * @param taskId L'ID de la tâche.
      * @return Une liste d'objets Assigned représentant les utilisateurs assignés.
      * @throws ValidationException si l'ID de la tâche est null.
@@ -98,32 +124,44 @@ public class TaskAssignServiceImpl implements TaskAssignService {
         if(taskId == null) {
             throw new ValidationException("l'id ne peut pas être null");
         }
-        List<Assigned> users = new ArrayList<>();
-        List<TaskAssign> taskAssigns = taskAssignStore.findByTaskId(taskId);
+        return taskAssignStore.findAssignedByTaskId(taskId);
+    }
 
-        for (TaskAssign taskAssign : taskAssigns) {
-            if (taskAssign.getUser() != null) {
-                Optional<User> userOpt = userStore.findById(taskAssign.getUser().getId());
-                userOpt.ifPresent(user -> {
-                    Assigned assigned = new Assigned(taskAssign.getId(), user.getId(), taskAssign.getTask().getId(), user.getNom());
-                    users.add(assigned);
-                });
-            }
+    /**
+     * Récupère en une seule requête les utilisateurs assignés à plusieurs tâches.
+     * @param taskIds Les IDs des tâches (au plus {@code MAX_TASK_IDS}, doublons ignorés).
+     * @return Une liste d'objets Assigned, triés par tâche.
+     * @throws ValidationException si la liste est vide, trop longue ou contient un ID null.
+     */
+    @Override
+    public List<Assigned> getUsersByTaskIds(List<Long> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            throw new ValidationException("La liste des tâches est vide.");
         }
-
-        return users;
+        Set<Long> ids = new LinkedHashSet<>(taskIds);
+        if (ids.contains(null)) {
+            throw new ValidationException("l'id ne peut pas être null");
+        }
+        if (ids.size() > MAX_TASK_IDS) {
+            throw new ValidationException("Au plus " + MAX_TASK_IDS + " tâches peuvent être demandées à la fois.");
+        }
+        return taskAssignStore.findAssignedByTaskIdIn(ids);
     }
 
     /**
-     * Supprime une assignation de tâche par son identifiant unique.
+     * Supprime une assignation de tâche par son identifiant unique,
+     * et signale la suppression au journal des changements dans la même transaction.
      * @param id L'ID de l'assignation à supprimer.
      * @throws ValidationException si l'ID est null.
      */
     @Override
+    @Transactional
     public void deleteById(Long id) {
          if(id == null) {
             throw new ValidationException("l'id ne peut pas être null");
         }
+        taskAssignStore.findById(id).ifPresent(taskAssign -> changeFeedService.record(
+                ChangeEntity.TASK_ASSIGN, id, taskAssign.getTask().getProject().getId(), ChangeOperation.DELETE));
         taskAssignStore.deleteById(id);
     }
 }
@@ -2,22 +2,42 @@ package com.pmt.service.impl;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.pmt.config.CacheConfig;
+import com.pmt.dto.TaskCount;
 import com.pmt.dto.TaskDTO;
+import com.pmt.dto.TaskFilter;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
+import com.pmt.model.FieldChange;
 import com.pmt.model.Historique;
 import com.pmt.model.Project;
 import com.pmt.model.Task;
 import com.pmt.model.Type;
 import com.pmt.model.User;
+import com.pmt.service.ChangeFeedService;
+import com.pmt.service.ProjectService;
+import com.pmt.service.ProjectStatsService;
 import com.pmt.service.TaskService;
 import com.pmt.service.UserService;
-import com.pmt.store.HistoriqueStore;
 import com.pmt.store.ProjectStore;
 import com.pmt.store.TaskAssignStore;
 import com.pmt.store.TaskStore;
@@ -38,73 +58,304 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     TaskAssignStore taskAssignStore;
     @Autowired
-    HistoriqueStore historiqueStore;
+    HistoriqueWriter historiqueWriter;
+    @Autowired
+    DescriptionHistory descriptionHistory;
+    @Autowired
+    ChangeFeedService changeFeedService;
 
     @Autowired
     UserService userService;
+    @Autowired
+    ProjectService projectService;
+    @Autowired
+    ProjectStatsService projectStatsService;
+    @Autowired
+    CacheManager cacheManager;
+
+    /**
+     * Taille de page utilisée lorsque le client n'en précise pas.
+     */
+    static final int DEFAULT_PAGE_SIZE = 100;
+    /**
+     * Taille de page maximale acceptée.
+     */
+    static final int MAX_PAGE_SIZE = 500;
 
     /**
-     * Récupère la liste de toutes les tâches existantes sous forme de DTO.
+     * Récupère une page de tâches sous forme de DTO, triées par identifiant.
+     * La page suivante s'obtient en passant l'identifiant de la dernière tâche reçue comme curseur.
+     * Les tâches des projets marqués comme supprimés sont écartées après lecture, d'après le cache des
+     * projets, et la page est alors complétée : la requête de page reste sans jointure.
+     * @param filter Les critères de filtrage et le curseur de pagination.
      * @return Une liste de TaskDTO.
+     * @throws ValidationException si la taille de page ou l'intervalle de dates est invalide.
      */
     @Override
-    public List<TaskDTO> findAll() {
-        List<Task> tasks = new ArrayList<Task>();
-        taskStore.findAll().forEach(tasks::add);
-
-        List<TaskDTO> dtos = new ArrayList<TaskDTO>();
-
-        for (Task task : tasks) {
-            TaskDTO dto = new TaskDTO();
-
-            dto.setId(task.getId());
-            dto.setNom(task.getNom());
-            dto.setDescription(task.getDescription());
-            dto.setDateEcheance(task.getDateEcheance());
-            dto.setDateFin(task.getDateFin());
-            dto.setPriorite(task.getPriorite());
-            dto.setStatus(task.getStatus());
-            dto.setProjectId(task.getProject().getId());
-
-            dtos.add(dto);
+    public List<TaskDTO> findAll(TaskFilter filter) {
+        int size = filter.getSize() == null ? DEFAULT_PAGE_SIZE : filter.getSize();
+        if (size <= 0) {
+            throw new ValidationException("La taille de page doit être positive.");
+        }
+        if (filter.getEcheanceFrom() != null && filter.getEcheanceTo() != null
+                && filter.getEcheanceFrom().isAfter(filter.getEcheanceTo())) {
+            throw new ValidationException("L'intervalle de dates d'échéance est invalide.");
+        }
+        long afterId = filter.getAfterId() == null ? 0L : filter.getAfterId();
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        if (filter.getProjectId() != null && !isProjectVisible(filter.getProjectId())) {
+            return List.of();
         }
 
-        return dtos;
+        List<TaskDTO> page = new ArrayList<>(limit);
+        Map<Long, Boolean> visible = new HashMap<>();
+        while (true) {
+            int requested = limit - page.size();
+            List<TaskDTO> found = taskStore.findPage(afterId, filter.getProjectId(), filter.getStatus(),
+                    filter.getPriorite(), filter.getEcheanceFrom(), filter.getEcheanceTo(), Limit.of(requested));
+            for (TaskDTO task : found) {
+                if (visible.computeIfAbsent(task.getProjectId(), this::isProjectVisible)) {
+                    page.add(task);
+                }
+            }
+            if (found.size() < requested || page.size() == limit) {
+                return page;
+            }
+            afterId = found.get(found.size() - 1).getId();
+        }
     }
 
     /**
      * Recherche une tâche par son identifiant et la renvoie sous forme de DTO.
+     * La tâche est lue par projection : ni la tâche ni son projet ne sont chargés en entités.
+     * Le résultat est mis en cache jusqu'à la modification ou la suppression de la tâche, ou de son projet.
      * @param id L'identifiant unique de la tâche.
      * @return L'objet TaskDTO correspondant.
-     * @throws ValidationException si aucune tâche n'est trouvée avec l'ID spécifié.
+     * @throws ValidationException si aucune tâche n'est trouvée avec l'ID spécifié, ou si son projet est supprimé.
      */
+    @Cacheable(cacheNames = CacheConfig.TASKS, sync = true)
     public TaskDTO findById(Long id) {
-        Task task = taskStore.findById(id)
+        return taskStore.findDtoById(id)
+            .filter(task -> isProjectVisible(task.getProjectId()))
             .orElseThrow(() -> new ValidationException("Tâche non trouvé avec l'ID: " + id));
-
-        TaskDTO dto = new TaskDTO();
-
-        dto.setId(task.getId());
-        dto.setNom(task.getNom());
-        dto.setDescription(task.getDescription());
-        dto.setDateEcheance(task.getDateEcheance());
-        dto.setDateFin(task.getDateFin());
-        dto.setPriorite(task.getPriorite());
-        dto.setStatus(task.getStatus());
-        dto.setProjectId(task.getProject().getId());
-
-        return dto;
     }
 
     /**
      * Crée une nouvelle tâche à partir d'un objet DTO.
-     * Effectue une validation sur les champs obligatoires et l'existence du projet associé.
+     * Effectue une validation sur les champs obligatoires et l'existence du projet associé et de l'auteur,
+     * vérifiée depuis les caches ; la tâche ne référence le projet que par son identifiant.
      * @param dto L'objet TaskDTO contenant les données de la tâche à créer.
      * @return L'objet Task créé et sauvegardé.
-     * @throws ValidationException si des champs obligatoires sont manquants ou si le projet n'existe pas.
+     * @throws ValidationException si des champs obligatoires sont manquants, si le projet ou l'utilisateur n'existe pas.
      */
     @Override
+    @Transactional
     public Task create(TaskDTO dto) {
+        validateForCreate(dto);
+        checkProjectExists(dto.getProjectId(), "Le projet spécifié n'existe pas.");
+        User user = author(dto.getUserId());
+
+        Task created = taskStore.save(newTask(dto, projectStore.getReferenceById(dto.getProjectId())));
+        historiqueWriter.record(List.of(newLifecycleHistory(created.getId(), created.getProject().getId(), Type.Creation,
+                initialValues(created), user)));
+        changeFeedService.record(ChangeEntity.TASK, created.getId(), created.getProject().getId(), ChangeOperation.UPSERT);
+        projectStatsService.count(List.of(count(created, 1)));
+        return created;
+    }
+
+    /**
+     * Crée un lot de tâches.
+     * Toute la liste est validée avant la moindre écriture, chaque projet distinct n'est lu qu'une fois
+     * et les tâches sont insérées par lots JDBC dans une seule transaction.
+     * @param dtos Les tâches à créer.
+     * @return Les tâches créées, avec leurs identifiants.
+     * @throws ValidationException si la liste est vide, si une tâche est invalide, ou si un projet ou un utilisateur n'existe pas.
+     */
+    @Override
+    @Transactional
+    public List<TaskDTO> createAll(List<TaskDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new ValidationException("La liste de tâches est vide.");
+        }
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                validateForCreate(dtos.get(i));
+            } catch (ValidationException e) {
+                throw new ValidationException("Tâche n°" + (i + 1) + " : " + e.getMessage());
+            }
+        }
+
+        Map<Long, Project> projects = findProjects(dtos);
+        List<Task> tasks = new ArrayList<>(dtos.size());
+        List<User> users = new ArrayList<>(dtos.size());
+        for (TaskDTO dto : dtos) {
+            Project project = projects.get(dto.getProjectId());
+            if (project == null) {
+                throw new ValidationException("Le projet " + dto.getProjectId() + " n'existe pas.");
+            }
+            tasks.add(newTask(dto, project));
+            users.add(author(dto.getUserId()));
+        }
+
+        taskStore.insertAll(tasks);
+
+        List<Historique> history = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            history.add(newLifecycleHistory(task.getId(), task.getProject().getId(), Type.Creation,
+                    initialValues(task), users.get(i)));
+        }
+        historiqueWriter.record(history);
+        changeFeedService.recordAll(changes(tasks));
+        projectStatsService.count(tasks.stream().map(task -> count(task, 1)).toList());
+
+        List<TaskDTO> created = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            created.add(new TaskDTO(task.getId(), task.getNom(), task.getDescription(), task.getDateFin(),
+                    task.getDateEcheance(), task.getProject().getId(), task.getPriorite(), task.getStatus()));
+        }
+        return created;
+    }
+
+    /**
+     * Met à jour une tâche existante à partir d'un objet DTO.
+     * Enregistre une seule entrée d'historique listant tous les champs modifiés.
+     * S'exécute dans une seule transaction : la tâche est lue puis mise à jour au commit, et l'historique
+     * n'est écrit qu'après la validation, en arrière-plan. L'auteur est vérifié depuis le cache des utilisateurs
+     * et le projet est une simple référence.
+     * La tâche est retirée du cache après la validation.
+     * @param task L'objet TaskDTO contenant l'ID de la tâche et les nouvelles données.
+     * @return L'objet TaskDTO mis à jour.
+     * @throws ValidationException si l'ID de la tâche est manquant, si des champs obligatoires sont vides
+     * ou si l'utilisateur n'existe pas.
+     * @throws EntityNotFoundException si la tâche n'existe pas ou si son projet est supprimé.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#task.id")
+    public TaskDTO update(TaskDTO task) {
+        validateForUpdate(task);
+        Task existingTask = taskStore.findById(task.getId())
+                .filter(t -> isProjectVisible(t.getProject().getId()))
+                .orElseThrow(() -> new EntityNotFoundException("La tâche avec l'ID " + task.getId() + " n'existe pas."));
+
+        User user = author(task.getUserId());
+        Project project = projectReference(existingTask, task.getProjectId());
+
+        List<Historique> history = new ArrayList<>();
+        TaskCount before = count(existingTask, -1);
+        TaskDTO taskDTO = applyUpdate(existingTask, task, user, project, history);
+        historiqueWriter.record(history);
+        changeFeedService.record(ChangeEntity.TASK, existingTask.getId(), existingTask.getProject().getId(), ChangeOperation.UPSERT);
+        List<TaskCount> counts = new ArrayList<>(2);
+        countUpdate(before, existingTask, counts);
+        projectStatsService.count(counts);
+        taskStore.save(existingTask);
+
+        return taskDTO;
+    }
+
+    /**
+     * Met à jour un lot de tâches dans une seule transaction.
+     * Les tâches et projets concernés sont chargés une seule fois chacun, les auteurs sont vérifiés
+     * depuis le cache des utilisateurs ; les UPDATE sont regroupés par lots JDBC au moment du flush et
+     * l'historique est écrit en arrière-plan après la validation. Les tâches sont retirées du cache après la validation.
+     * @param dtos Les tâches à mettre à jour.
+     * @return Les tâches mises à jour.
+     * @throws ValidationException si la liste est vide, si une tâche est invalide ou en double, ou si un projet
+     * ou un utilisateur n'existe pas.
+     * @throws EntityNotFoundException si une tâche n'existe pas ou si son projet est supprimé.
+     */
+    @Override
+    @Transactional
+    public List<TaskDTO> updateAll(List<TaskDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new ValidationException("La liste de tâches est vide.");
+        }
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                validateForUpdate(dtos.get(i));
+            } catch (ValidationException e) {
+                throw new ValidationException("Tâche n°" + (i + 1) + " : " + e.getMessage());
+            }
+            if (!ids.add(dtos.get(i).getId())) {
+                throw new ValidationException("La tâche " + dtos.get(i).getId() + " apparaît plusieurs fois.");
+            }
+        }
+
+        Map<Long, Task> existingTasks = new HashMap<>();
+        taskStore.findAllById(ids).forEach(t -> existingTasks.put(t.getId(), t));
+        Map<Long, Project> projects = findProjects(dtos);
+
+        List<Historique> history = new ArrayList<>();
+        List<TaskDTO> updated = new ArrayList<>(dtos.size());
+        List<TaskCount> counts = new ArrayList<>();
+        for (TaskDTO dto : dtos) {
+            Task existingTask = existingTasks.get(dto.getId());
+            if (existingTask == null || !isProjectVisible(existingTask.getProject().getId())) {
+                throw new EntityNotFoundException("La tâche avec l'ID " + dto.getId() + " n'existe pas.");
+            }
+            Project project = null;
+            if (dto.getProjectId() != null) {
+                project = projects.get(dto.getProjectId());
+                if (project == null) {
+                    throw new ValidationException("Le projet " + dto.getProjectId() + " n'existe pas.");
+                }
+            }
+            User user = author(dto.getUserId());
+            TaskCount before = count(existingTask, -1);
+            updated.add(applyUpdate(existingTask, dto, user, project, history));
+            countUpdate(before, existingTask, counts);
+        }
+
+        historiqueWriter.record(history);
+        changeFeedService.recordAll(changes(existingTasks.values()));
+        projectStatsService.count(counts);
+        taskStore.saveAll(existingTasks.values());
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS);
+        ids.forEach(cache::evict);
+        return updated;
+    }
+
+    /**
+     * Supprime une tâche par son identifiant unique.
+     * Supprime également toutes les assignations liées à cette tâche, et enregistre dans l'historique
+     * ses dernières valeurs pour que son état passé reste reconstructible. Une seule entrée du journal
+     * des changements signale la suppression de la tâche et de ses assignations.
+     * La tâche est retirée du cache après la validation. Une tâche d'un projet marqué comme supprimé
+     * est laissée à la purge.
+     * @param taskId L'identifiant unique de la tâche à supprimer.
+     * @throws ValidationException si l'ID de la tâche est null.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
+    public void deleteById(Long taskId) {
+        if(taskId == null) {
+            throw new ValidationException("l'id ne peut pas être null");
+        }
+        Optional<TaskDTO> existing = taskStore.findDtoById(taskId);
+        if (existing.isPresent()) {
+            TaskDTO task = existing.get();
+            if (!isProjectVisible(task.getProjectId())) {
+                return;
+            }
+            historiqueWriter.record(List.of(
+                    newLifecycleHistory(taskId, task.getProjectId(), Type.Suppression, finalValues(task), null)));
+            changeFeedService.record(ChangeEntity.TASK, taskId, task.getProjectId(), ChangeOperation.DELETE);
+            projectStatsService.count(List.of(TaskCount.of(task.getProjectId(), task.getStatus(), task.getPriorite(), -1)));
+        }
+        taskAssignStore.deleteByTaskId(taskId);
+        taskStore.deleteById(taskId);
+    }
+
+    /**
+     * Vérifie les champs obligatoires d'une tâche à créer.
+     * @param dto La tâche à valider.
+     * @throws ValidationException si un champ obligatoire est manquant.
+     */
+    private void validateForCreate(TaskDTO dto) {
         if(dto.getNom() == null || dto.getNom().isBlank()) {
             throw new ValidationException("Le nom de la tâche est obligatoire.");
         }
@@ -115,12 +366,110 @@ public class TaskServiceImpl implements TaskService {
         if (dto.getProjectId() == null) {
             throw new ValidationException("La tâche doit être associée à un projet.");
         }
-        // Récupère le projet
-        Optional<Project> projectOptional = projectStore.findById(dto.getProjectId());
-        if (projectOptional.isEmpty()) {
-            throw new ValidationException("Le projet spécifié n'existe pas.");
+    }
+
+    /**
+     * Vérifie les champs obligatoires d'une tâche à mettre à jour.
+     * @param task La tâche à valider.
+     * @throws ValidationException si l'ID ou un champ obligatoire est manquant.
+     */
+    private void validateForUpdate(TaskDTO task) {
+        if (task.getId() == null) {
+            throw new ValidationException("L'ID de la tâche est requis pour la mise à jour.");
+        }
+        if (task.getNom() == null || task.getNom() == "") {
+            throw new ValidationException("Le nom de la tâche est obligatoire.");
         }
+        if (task.getDescription() == null || task.getDescription() == "") {
+            throw new ValidationException("La description de la tâche est obligatoire.");
+        }
+    }
+
+    /**
+     * Résout l'auteur d'une modification depuis le cache des utilisateurs, avant toute écriture.
+     * @param userId L'identifiant de l'utilisateur, ou null si l'auteur n'est pas renseigné.
+     * @return L'utilisateur, ou null si l'identifiant est null.
+     * @throws ValidationException si l'utilisateur n'existe pas.
+     */
+    private User author(Long userId) {
+        return userId == null ? null : userService.findById(userId);
+    }
+
+    /**
+     * Résout le projet demandé pour une mise à jour de tâche.
+     * Si la tâche appartient déjà à ce projet, sa référence actuelle est réutilisée sans requête ;
+     * sinon seule l'existence du nouveau projet est vérifiée, depuis le cache des projets, avant d'en prendre une référence.
+     * @param existingTask La tâche à modifier.
+     * @param projectId Le projet demandé, ou null pour conserver le projet actuel.
+     * @return Le projet à associer, ou null pour conserver le projet actuel.
+     * @throws ValidationException si le projet demandé n'existe pas.
+     */
+    private Project projectReference(Task existingTask, Long projectId) {
+        if (projectId == null) {
+            return null;
+        }
+        if (existingTask.getProject() != null && projectId.equals(existingTask.getProject().getId())) {
+            return existingTask.getProject();
+        }
+        checkProjectExists(projectId, "Le projet spécifié pour la mise à jour n'existe pas.");
+        return projectStore.getReferenceById(projectId);
+    }
+
+    /**
+     * Vérifie l'existence d'un projet depuis le cache des projets, sans requête s'il y figure.
+     * @param projectId L'identifiant du projet.
+     * @param message Le message de l'erreur levée si le projet n'existe pas.
+     * @throws ValidationException si le projet n'existe pas.
+     */
+    private void checkProjectExists(Long projectId, String message) {
+        try {
+            projectService.findState(projectId);
+        } catch (ValidationException e) {
+            throw new ValidationException(message);
+        }
+    }
+
+    /**
+     * Indique si un projet est visible, depuis le cache des projets : un projet marqué comme supprimé,
+     * en attente de purge, ne l'est plus, et ses tâches non plus.
+     * @param projectId L'identifiant du projet.
+     * @return true si le projet existe et n'est pas marqué comme supprimé.
+     */
+    private boolean isProjectVisible(Long projectId) {
+        try {
+            projectService.findState(projectId);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Charge en une seule requête les projets distincts référencés par une liste de tâches.
+     * @param dtos Les tâches.
+     * @return Les projets trouvés, indexés par identifiant.
+     */
+    private Map<Long, Project> findProjects(List<TaskDTO> dtos) {
+        Set<Long> projectIds = new HashSet<>();
+        for (TaskDTO dto : dtos) {
+            if (dto.getProjectId() != null) {
+                projectIds.add(dto.getProjectId());
+            }
+        }
+        Map<Long, Project> projects = new HashMap<>();
+        if (!projectIds.isEmpty()) {
+            projectStore.findAllById(projectIds).forEach(p -> projects.put(p.getId(), p));
+        }
+        return projects;
+    }
 
+    /**
+     * Construit une nouvelle tâche à partir d'un DTO.
+     * @param dto Les données de la tâche.
+     * @param project Le projet de la tâche.
+     * @return La tâche, non encore sauvegardée.
+     */
+    private Task newTask(TaskDTO dto, Project project) {
         Task task = new Task();
 
         task.setNom(dto.getNom());
@@ -129,108 +478,189 @@ public class TaskServiceImpl implements TaskService {
         task.setDateFin(dto.getDateFin());
         task.setPriorite(dto.getPriorite());
         task.setStatus(dto.getStatus());
-        task.setProject(projectOptional.get());
+        task.setProject(project);
 
-        return taskStore.save(task);
+        return task;
     }
 
     /**
-     * Met à jour une tâche existante à partir d'un objet DTO.
-     * Enregistre les modifications du nom et de la description dans l'historique de la tâche.
-     * @param task L'objet TaskDTO contenant l'ID de la tâche et les nouvelles données.
-     * @return L'objet TaskDTO mis à jour.
-     * @throws ValidationException si l'ID de la tâche est manquant ou si des champs obligatoires sont vides.
-     * @throws EntityNotFoundException si la tâche ou le projet associé n'existe pas.
+     * Construit la variation des compteurs du projet d'une tâche.
+     * @param task La tâche.
+     * @param count 1 pour une tâche ajoutée, -1 pour une tâche retirée.
+     * @return La variation.
      */
-    @Override
-    public TaskDTO update(TaskDTO task) {
-        if (task.getId() == null) {
-            throw new ValidationException("L'ID de la tâche est requis pour la mise à jour.");
-        }
-        if (task.getNom() == null || task.getNom() == "") {
-            throw new ValidationException("Le nom de la tâche est obligatoire.");
-        }
-        if (task.getDescription() == null || task.getDescription() == "") {
-            throw new ValidationException("La description de la tâche est obligatoire.");
+    private static TaskCount count(Task task, long count) {
+        return TaskCount.of(task.getProject().getId(), task.getStatus(), task.getPriorite(), count);
+    }
+
+    /**
+     * Ajoute les variations des compteurs de projet dues à la modification d'une tâche :
+     * aucune si son projet, son statut et sa priorité sont inchangés.
+     * @param before La tâche avant modification, comptée négativement.
+     * @param after La tâche modifiée.
+     * @param counts La liste à laquelle ajouter les variations.
+     */
+    private static void countUpdate(TaskCount before, Task after, List<TaskCount> counts) {
+        TaskCount now = count(after, 1);
+        if (!now.getProjectId().equals(before.getProjectId()) || now.getStatus() != before.getStatus()
+                || now.getPriorite() != before.getPriorite()) {
+            counts.add(before);
+            counts.add(now);
         }
-        Task existingTask = taskStore.findById(task.getId())
-                .orElseThrow(() -> new EntityNotFoundException("La tâche avec l'ID " + task.getId() + " n'existe pas."));
-                
-        User user = userService.findById(task.getUserId());
-        
+    }
+
+    /**
+     * Applique une mise à jour à une tâche existante et, si des champs suivis changent
+     * (nom, description, dates, priorité, statut), ajoute une entrée d'historique les listant tous.
+     * @param existingTask La tâche à modifier.
+     * @param task Les nouvelles données.
+     * @param user L'utilisateur à l'origine de la modification.
+     * @param project Le nouveau projet de la tâche, ou null pour conserver le projet actuel.
+     * @param history La liste à laquelle ajouter l'entrée d'historique.
+     * @return Un TaskDTO contenant l'ID et les champs modifiés.
+     * @throws ValidationException si la tâche se retrouverait sans projet.
+     */
+    private TaskDTO applyUpdate(Task existingTask, TaskDTO task, User user, Project project, List<Historique> history) {
         TaskDTO taskDTO = new TaskDTO();
-        // Historique pour le nom de la tâche
+        taskDTO.setId(existingTask.getId());
+        List<FieldChange> changes = new ArrayList<>();
+
         if (task.getNom() != null && !task.getNom().isBlank() && !task.getNom().equals(existingTask.getNom())) {
-            Historique history = new Historique();
-            history.setTaskId(existingTask.getId());
-            history.setDateM(LocalDateTime.now());
-            history.setTypeM(Type.Titre);
-            history.setOldString(existingTask.getNom());
-            history.setNewString(task.getNom());
-            history.setUser(user);
-            historiqueStore.save(history);
+            changes.add(FieldChange.of(Type.Titre, existingTask.getNom(), task.getNom()));
             existingTask.setNom(task.getNom());
             taskDTO.setNom(task.getNom());
         }
-
-        // Historique pour la description de la tâche
         if (task.getDescription() != null && !task.getDescription().equals(existingTask.getDescription())) {
-            Historique history = new Historique();
-            history.setTaskId(existingTask.getId());
-            history.setDateM(LocalDateTime.now());
-            history.setTypeM(Type.Description);
-            history.setOldString(existingTask.getDescription());
-            history.setNewString(task.getDescription());
-            history.setUser(user);
-            historiqueStore.save(history);
+            changes.add(descriptionHistory.recordTask(existingTask.getId(), existingTask.getDescription(), task.getDescription()));
             existingTask.setDescription(task.getDescription());
             taskDTO.setDescription(task.getDescription());
         }
-
         if (task.getDateFin() != null) {
+            if (!task.getDateFin().equals(existingTask.getDateFin())) {
+                changes.add(FieldChange.of(Type.DateFin, existingTask.getDateFin(), task.getDateFin()));
+            }
             existingTask.setDateFin(task.getDateFin());
             taskDTO.setDateFin(task.getDateFin());
         }
         if (task.getDateEcheance() != null) {
+            if (!task.getDateEcheance().equals(existingTask.getDateEcheance())) {
+                changes.add(FieldChange.of(Type.DateEcheance, existingTask.getDateEcheance(), task.getDateEcheance()));
+            }
             existingTask.setDateEcheance(task.getDateEcheance());
             taskDTO.setDateEcheance(task.getDateEcheance());
         }
         if (task.getPriorite() != null) {
+            if (task.getPriorite() != existingTask.getPriorite()) {
+                changes.add(FieldChange.of(Type.Priorite, existingTask.getPriorite(), task.getPriorite()));
+            }
             existingTask.setPriorite(task.getPriorite());
             taskDTO.setPriorite(task.getPriorite());
         }
         if (task.getStatus() != null) {
+            if (task.getStatus() != existingTask.getStatus()) {
+                changes.add(FieldChange.of(Type.Statut, existingTask.getStatus(), task.getStatus()));
+            }
             existingTask.setStatus(task.getStatus());
             taskDTO.setStatus(task.getStatus());
         }
+        if (!changes.isEmpty()) {
+            history.add(newHistory(existingTask.getId(), changes, user));
+        }
 
-        // Récupère et associe le projet
-        if (task.getProjectId() != null && task.getProjectId() != null) {
-            Project project = projectStore.findById(task.getProjectId())
-                    .orElseThrow(() -> new ValidationException("Le projet spécifié pour la mise à jour n'existe pas."));
+        // Associe le projet
+        if (project != null) {
             existingTask.setProject(project);
             taskDTO.setProjectId(project.getId());
         } else if (existingTask.getProject() == null) {
             throw new ValidationException("Impossible de dissocier le projet car il est requis.");
         }
 
-        taskStore.save(existingTask);
-
         return taskDTO;
     }
 
     /**
-     * Supprime une tâche par son identifiant unique.
-     * Supprime également toutes les assignations liées à cette tâche.
-     * @param taskId L'identifiant unique de la tâche à supprimer.
-     * @throws ValidationException si l'ID de la tâche est null.
+     * Construit l'entrée d'historique d'une mise à jour de tâche.
+     * @param taskId L'identifiant de la tâche.
+     * @param changes Les champs modifiés.
+     * @param user L'utilisateur à l'origine de la modification.
+     * @return L'entrée d'historique, non encore sauvegardée.
      */
-    @Override
-    public void deleteById(Long taskId) {
-        if(taskId == null) {
-            throw new ValidationException("l'id ne peut pas être null");
+    private Historique newHistory(Long taskId, List<FieldChange> changes, User user) {
+        Historique history = new Historique();
+        history.setTaskId(taskId);
+        history.setDateM(LocalDateTime.now());
+        history.setTypeM(Type.Modification);
+        history.setChanges(changes);
+        history.setUser(user);
+        return history;
+    }
+
+    /**
+     * Construit l'entrée d'historique de la création ou de la suppression d'une tâche.
+     * Elle est rattachée à la tâche et à son projet, pour que le projet retrouve les tâches supprimées.
+     * @param taskId L'identifiant de la tâche.
+     * @param projectId L'identifiant du projet de la tâche.
+     * @param type {@link Type#Creation} ou {@link Type#Suppression}.
+     * @param changes Les valeurs initiales ou finales de la tâche.
+     * @param user L'utilisateur à l'origine de l'opération, ou null.
+     * @return L'entrée d'historique, non encore sauvegardée.
+     */
+    private Historique newLifecycleHistory(Long taskId, Long projectId, Type type, List<FieldChange> changes, User user) {
+        Historique history = newHistory(taskId, changes, user);
+        history.setProjectId(projectId);
+        history.setTypeM(type);
+        return history;
+    }
+
+    /**
+     * Liste les valeurs initiales d'une tâche créée. La description n'est versionnée qu'à sa première modification.
+     * @param task La tâche créée.
+     * @return Les champs renseignés, sans ancienne valeur.
+     */
+    private static List<FieldChange> initialValues(Task task) {
+        List<FieldChange> changes = new ArrayList<>();
+        addIfPresent(changes, Type.Titre, null, task.getNom());
+        addIfPresent(changes, Type.Statut, null, task.getStatus());
+        addIfPresent(changes, Type.Priorite, null, task.getPriorite());
+        addIfPresent(changes, Type.DateEcheance, null, task.getDateEcheance());
+        addIfPresent(changes, Type.DateFin, null, task.getDateFin());
+        return changes;
+    }
+
+    /**
+     * Liste les dernières valeurs d'une tâche supprimée, description comprise.
+     * @param task La tâche supprimée.
+     * @return Les champs renseignés, sans nouvelle valeur.
+     */
+    private List<FieldChange> finalValues(TaskDTO task) {
+        List<FieldChange> changes = new ArrayList<>();
+        addIfPresent(changes, Type.Titre, task.getNom(), null);
+        if (task.getDescription() != null) {
+            changes.add(descriptionHistory.recordTask(task.getId(), task.getDescription(), null));
+        }
+        addIfPresent(changes, Type.Statut, task.getStatus(), null);
+        addIfPresent(changes, Type.Priorite, task.getPriorite(), null);
+        addIfPresent(changes, Type.DateEcheance, task.getDateEcheance(), null);
+        addIfPresent(changes, Type.DateFin, task.getDateFin(), null);
+        return changes;
+    }
+
+    /**
+     * Construit les entrées du journal des changements de tâches créées ou modifiées.
+     * @param tasks Les tâches, avec leurs identifiants et leurs projets.
+     * @return Les entrées, non encore sauvegardées.
+     */
+    private static List<ChangeLog> changes(Collection<Task> tasks) {
+        List<ChangeLog> changes = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            changes.add(ChangeLog.of(ChangeEntity.TASK, task.getId(), task.getProject().getId(), ChangeOperation.UPSERT));
+        }
+        return changes;
+    }
+
+    private static void addIfPresent(List<FieldChange> changes, Type field, Object oldValue, Object newValue) {
+        if (oldValue != null || newValue != null) {
+            changes.add(FieldChange.of(field, oldValue, newValue));
         }
-        taskAssignStore.deleteByTaskId(taskId);
-        taskStore.deleteById(taskId);
     }
 }
@@ -0,0 +1,117 @@
+package com.pmt.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodage compact des versions d'un texte : texte complet ou delta par rapport à une version de base,
+ * compressés (deflate).
+ * <p>
+ * Un delta décrit la modification comme le remplacement de la zone comprise entre le plus long
+ * préfixe commun et le plus long suffixe commun des deux versions. Les modifications d'une
+ * description portent le plus souvent sur une seule zone, que ce delta décrit exactement ;
+ * plusieurs zones éloignées sont décrites par la zone qui les englobe.
+ * </p>
+ */
+final class TextDelta {
+    private TextDelta() {
+    }
+
+    /**
+     * Compresse un texte complet.
+     * @param text Le texte, ou null.
+     * @return Le texte compressé, ou null si le texte est null.
+     */
+    static byte[] snapshot(String text) {
+        if (text == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Décompresse un texte complet.
+     * @param payload Le texte compressé, ou null.
+     * @return Le texte, ou null.
+     */
+    static String restore(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(payload))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Calcule le delta compressé qui transforme {@code base} en {@code target}.
+     * @param base La version de base, non null.
+     * @param target La nouvelle version, non null.
+     * @return Le delta compressé.
+     */
+    static byte[] diff(String base, String target) {
+        int max = Math.min(base.length(), target.length());
+        int prefix = 0;
+        while (prefix < max && base.charAt(prefix) == target.charAt(prefix)) {
+            prefix++;
+        }
+        // Ne pas couper une paire de substitution (caractère hors BMP)
+        if (prefix > 0 && Character.isHighSurrogate(base.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && base.charAt(base.length() - 1 - suffix) == target.charAt(target.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(target.charAt(target.length() - suffix))) {
+            suffix--;
+        }
+        byte[] inserted = target.substring(prefix, target.length() - suffix).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(prefix);
+            out.writeInt(suffix);
+            out.writeInt(inserted.length);
+            out.write(inserted);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Applique un delta compressé à une version de base.
+     * @param base La version de base, non null.
+     * @param delta Le delta compressé.
+     * @return La nouvelle version.
+     */
+    static String patch(String base, byte[] delta) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(delta)))) {
+            int prefix = in.readInt();
+            int suffix = in.readInt();
+            byte[] inserted = in.readNBytes(in.readInt());
+            return base.substring(0, prefix)
+                    + new String(inserted, StandardCharsets.UTF_8)
+                    + base.substring(base.length() - suffix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
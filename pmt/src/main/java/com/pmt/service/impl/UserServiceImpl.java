@@ -4,11 +4,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.pmt.config.CacheConfig;
 import com.pmt.errors.AuthException;
 import com.pmt.errors.ValidationException;
-import com.pmt.model.ProjectUser;
+import com.pmt.model.NotificationMode;
 import com.pmt.model.User;
 import com.pmt.service.UserService;
 import com.pmt.store.ProjectUserStore;
@@ -41,11 +44,14 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Recherche un utilisateur par son identifiant unique.
+     * Le résultat est mis en cache jusqu'à la modification de l'utilisateur : l'utilisateur renvoyé,
+     * partagé entre les appelants, ne doit pas être modifié.
      * @param id L'identifiant unique de l'utilisateur.
      * @return L'objet User correspondant.
      * @throws ValidationException si aucun utilisateur n'est trouvé avec l'ID spécifié.
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, sync = true)
     public User findById(Long id) {
         return userStore.findById(id)
             .orElseThrow(() -> new ValidationException("Utilisateur non trouvé avec l'ID: " + id));
@@ -104,20 +110,31 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Récupère tous les utilisateurs associés à un projet spécifique.
+     * Récupère en une seule requête tous les utilisateurs associés à un projet spécifique.
      * @param id L'identifiant unique du projet.
      * @return Une liste d'objets User associés au projet.
      */
     public List<User> findByProjectId(Long id) {
-        List<User> users = new ArrayList<User>();
-        List<ProjectUser> pUsers = projectUserStore.findByProjectId(id);
+        return projectUserStore.findAllUserByProjectId(id);
+    } 
 
-        for (ProjectUser projectUser : pUsers) {
-            if (projectUser.getUser() != null) {
-                userStore.findById(projectUser.getUser().getId()).ifPresent(users::add);
-            }
+    /**
+     * Modifie la manière dont un utilisateur reçoit ses notifications e-mail.
+     * Les notifications déjà mises de côté pour un récapitulatif sont envoyées à la fin de leur fenêtre.
+     * L'utilisateur est relu depuis la base, puis retiré du cache.
+     * @param id L'identifiant unique de l'utilisateur.
+     * @param mode Le mode de notification souhaité.
+     * @return L'objet User mis à jour.
+     * @throws ValidationException si le mode est manquant ou si l'utilisateur n'existe pas.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
+    public User updateNotificationMode(Long id, NotificationMode mode) {
+        if (mode == null) {
+            throw new ValidationException("Le mode de notification est obligatoire.");
         }
-
-        return users;
-    } 
+        User user = findById(id);
+        user.setNotificationMode(mode);
+        return userStore.save(user);
+    }
 }
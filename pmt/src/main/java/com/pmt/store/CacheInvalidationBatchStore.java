@@ -0,0 +1,19 @@
+package com.pmt.store;
+
+import java.util.List;
+
+import com.pmt.model.CacheInvalidation;
+
+/**
+ * Fragment de dépôt pour l'insertion des évictions de cache par lots JDBC.
+ * Une mise à jour de tâches en masse écrit une éviction par tâche.
+ */
+public interface CacheInvalidationBatchStore {
+    /**
+     * Insère toutes les évictions données en un seul aller-retour par lot.
+     * Les identifiants générés ne sont pas relus.
+     *
+     * @param invalidations Les évictions à insérer.
+     */
+    void insertAll(List<CacheInvalidation> invalidations);
+}
@@ -0,0 +1,46 @@
+package com.pmt.store;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pmt.model.CacheInvalidation;
+
+/**
+ * Implémentation JDBC du fragment {@link CacheInvalidationBatchStore}.
+ * Les INSERT s'exécutent sur la connexion de la transaction JPA en cours.
+ */
+public class CacheInvalidationBatchStoreImpl implements CacheInvalidationBatchStore {
+    private static final String INSERT_SQL = "INSERT INTO cache_invalidation "
+            + "(node_id, cache_name, cache_key, created_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Nombre maximal de lignes envoyées dans un même lot.
+     */
+    @Value("${pmt.jdbc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Insère les évictions par lots de {@code batchSize}.
+     * @param invalidations Les évictions à insérer.
+     */
+    @Override
+    public void insertAll(List<CacheInvalidation> invalidations) {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, invalidations, batchSize, (ps, invalidation) -> {
+            ps.setString(1, invalidation.getNodeId());
+            ps.setString(2, invalidation.getCacheName());
+            ps.setObject(3, invalidation.getCacheKey(), Types.BIGINT);
+            ps.setTimestamp(4, Timestamp.valueOf(invalidation.getCreatedAt()));
+        });
+    }
+}
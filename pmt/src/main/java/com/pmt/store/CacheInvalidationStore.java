@@ -0,0 +1,52 @@
+package com.pmt.store;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.pmt.model.CacheInvalidation;
+
+/**
+ * Interface de dépôt pour l'accès aux évictions de cache partagées entre les instances.
+ */
+public interface CacheInvalidationStore extends CrudRepository<CacheInvalidation, Long>, CacheInvalidationBatchStore {
+    /**
+     * Récupère les évictions postérieures à un curseur, dans l'ordre de leur écriture.
+     *
+     * @param since Le curseur : identifiant de la dernière éviction déjà lue.
+     * @param limit Le nombre maximal d'évictions.
+     * @return Une liste d'objets CacheInvalidation triés par identifiant.
+     */
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.id > :since ORDER BY c.id")
+    List<CacheInvalidation> findPage(@Param("since") Long since, Limit limit);
+    /**
+     * Récupère les évictions dont l'identifiant figure dans la liste.
+     *
+     * @param ids Les identifiants.
+     * @return Les évictions trouvées.
+     */
+    List<CacheInvalidation> findByIdIn(Collection<Long> ids);
+    /**
+     * Récupère l'identifiant de la plus récente éviction.
+     *
+     * @return Un Optional contenant l'identifiant, ou un Optional vide si la table est vide.
+     */
+    @Query("SELECT MAX(c.id) FROM CacheInvalidation c")
+    Optional<Long> findLastId();
+    /**
+     * Supprime en une seule requête les évictions antérieures à une date.
+     *
+     * @param before La date limite, exclue.
+     * @return Le nombre d'évictions supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,31 @@
+package com.pmt.store;
+
+import java.util.List;
+
+import com.pmt.model.ChangeLog;
+
+/**
+ * Fragment de dépôt pour l'insertion des entrées du journal des changements par lots JDBC.
+ * Une création ou une mise à jour de tâches en masse écrit une entrée par tâche.
+ */
+public interface ChangeLogBatchStore {
+    /**
+     * Insère toutes les entrées données en un seul aller-retour par lot.
+     * Les identifiants générés ne sont pas relus.
+     *
+     * @param changes Les entrées à insérer.
+     */
+    void insertAll(List<ChangeLog> changes);
+    /**
+     * Insère les entrées données juste avant la validation de la transaction en cours, sous le verrou
+     * du journal gardé jusqu'à la validation : une entrée n'obtient son identifiant qu'une fois validées
+     * toutes les entrées d'identifiant inférieur.
+     *
+     * @param changes Les entrées à insérer.
+     */
+    void insertInCommitOrder(List<ChangeLog> changes);
+    /**
+     * Crée la ligne du verrou du journal si elle n'existe pas encore.
+     */
+    void initCommitLock();
+}
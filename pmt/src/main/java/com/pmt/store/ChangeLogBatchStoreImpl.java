@@ -0,0 +1,89 @@
+package com.pmt.store;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pmt.model.ChangeLog;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implémentation JDBC du fragment {@link ChangeLogBatchStore}.
+ * Les INSERT s'exécutent sur la connexion de la transaction JPA en cours.
+ */
+public class ChangeLogBatchStoreImpl implements ChangeLogBatchStore {
+    private static final String INSERT_SQL = "INSERT INTO change_log "
+            + "(entity_type, entity_id, project_id, operation, changed_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String LOCK_SQL = "SELECT id FROM change_log_lock WHERE id = 1 FOR UPDATE";
+    private static final String INIT_LOCK_SQL = "INSERT INTO change_log_lock (id) VALUES (1)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Nombre maximal de lignes envoyées dans un même lot.
+     */
+    @Value("${pmt.jdbc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Insère les entrées par lots de {@code batchSize}.
+     * @param changes Les entrées à insérer.
+     */
+    @Override
+    public void insertAll(List<ChangeLog> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, batchSize, (ps, change) -> {
+            ps.setInt(1, change.getEntity().ordinal());
+            ps.setLong(2, change.getEntityId());
+            ps.setObject(3, change.getProjectId(), Types.BIGINT);
+            ps.setInt(4, change.getOperation().ordinal());
+            ps.setTimestamp(5, Timestamp.valueOf(change.getChangedAt()));
+        });
+    }
+
+    /**
+     * Écrit d'abord les modifications JPA en attente, pour ne pas les envoyer sous le verrou,
+     * puis verrouille la ligne du journal et insère les entrées. Le verrou est libéré à la validation.
+     * @param changes Les entrées à insérer.
+     */
+    @Override
+    public void insertInCommitOrder(List<ChangeLog> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        if (jdbcTemplate.queryForList(LOCK_SQL, Long.class).isEmpty()) {
+            // Ligne absente (démarrage sur une base vide interrompu) : elle est créée, puis verrouillée
+            initCommitLock();
+            jdbcTemplate.queryForList(LOCK_SQL, Long.class);
+        }
+        insertAll(changes);
+    }
+
+    /**
+     * Crée la ligne du verrou ; une autre instance a pu la créer au même moment.
+     */
+    @Override
+    public void initCommitLock() {
+        if (!jdbcTemplate.queryForList("SELECT id FROM change_log_lock WHERE id = 1", Long.class).isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INIT_LOCK_SQL);
+        } catch (DataIntegrityViolationException e) {
+            // Déjà créée par une autre instance
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pmt.store;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.pmt.model.ChangeLog;
+
+/**
+ * Interface de dépôt pour l'accès au journal des changements.
+ */
+public interface ChangeLogStore extends CrudRepository<ChangeLog, Long>, ChangeLogBatchStore {
+    /**
+     * Récupère les entrées postérieures à un curseur, dans l'ordre du journal.
+     *
+     * @param since Le curseur : identifiant de la dernière entrée déjà reçue.
+     * @param limit Le nombre maximal d'entrées.
+     * @return Une liste d'objets ChangeLog triés par identifiant.
+     */
+    @Query("SELECT c FROM ChangeLog c WHERE c.id > :since ORDER BY c.id")
+    List<ChangeLog> findPage(@Param("since") Long since, Limit limit);
+    /**
+     * Récupère l'identifiant de la plus ancienne entrée conservée.
+     *
+     * @return Un Optional contenant l'identifiant, ou un Optional vide si le journal est vide.
+     */
+    @Query("SELECT MIN(c.id) FROM ChangeLog c")
+    Optional<Long> findFirstId();
+    /**
+     * Récupère l'identifiant de la plus récente entrée.
+     *
+     * @return Un Optional contenant l'identifiant, ou un Optional vide si le journal est vide.
+     */
+    @Query("SELECT MAX(c.id) FROM ChangeLog c")
+    Optional<Long> findLastId();
+    /**
+     * Supprime en une seule requête les entrées antérieures à une date.
+     *
+     * @param before La date limite, exclue.
+     * @return Le nombre d'entrées supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM ChangeLog c WHERE c.changedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,62 @@
+package com.pmt.store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.pmt.model.DescriptionRevision;
+
+/**
+ * Interface de dépôt pour l'accès aux versions des descriptions.
+ */
+public interface DescriptionRevisionStore extends CrudRepository<DescriptionRevision, Long> {
+    /**
+     * Récupère la dernière version de la description d'une tâche.
+     *
+     * @param taskId L'identifiant de la tâche.
+     * @return Un Optional contenant la version si elle existe, ou un Optional vide.
+     */
+    Optional<DescriptionRevision> findFirstByTaskIdOrderByIdDesc(Long taskId);
+    /**
+     * Récupère la dernière version de la description d'un projet.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Un Optional contenant la version si elle existe, ou un Optional vide.
+     */
+    Optional<DescriptionRevision> findFirstByProjectIdOrderByIdDesc(Long projectId);
+    /**
+     * Récupère en une seule requête des instantanés et toutes les versions construites à partir d'eux.
+     *
+     * @param snapshotIds Les identifiants des instantanés.
+     * @return Une liste d'objets DescriptionRevision.
+     */
+    @Query("SELECT r FROM DescriptionRevision r WHERE r.id IN :snapshotIds OR r.snapshotId IN :snapshotIds")
+    List<DescriptionRevision> findChains(@Param("snapshotIds") Collection<Long> snapshotIds);
+    /**
+     * Supprime en une seule requête les versions des descriptions d'un projet et de toutes ses tâches.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre de versions supprimées.
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM DescriptionRevision r
+            WHERE r.projectId = :projectId
+               OR r.taskId IN (SELECT t.id FROM Task t WHERE t.project.id = :projectId)
+            """)
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+    /**
+     * Supprime en une seule requête les versions des descriptions des tâches d'identifiants donnés.
+     *
+     * @param taskIds Les identifiants des tâches.
+     * @return Le nombre de versions supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM DescriptionRevision r WHERE r.taskId IN :taskIds")
+    int deleteAllByTaskIdIn(@Param("taskIds") List<Long> taskIds);
+}
@@ -0,0 +1,20 @@
+package com.pmt.store;
+
+import java.util.List;
+
+import com.pmt.model.Historique;
+
+/**
+ * Fragment de dépôt pour l'insertion des entrées d'historique par lots JDBC.
+ * Comme pour les tâches, la clé {@code IDENTITY} empêche Hibernate de regrouper les INSERT :
+ * chaque entrée serait envoyée seule au moment du {@code save}.
+ */
+public interface HistoriqueBatchStore {
+    /**
+     * Insère toutes les entrées d'historique données en un seul aller-retour par lot.
+     * Les identifiants générés ne sont pas relus.
+     *
+     * @param entries Les entrées d'historique à insérer.
+     */
+    void insertAll(List<Historique> entries);
+}
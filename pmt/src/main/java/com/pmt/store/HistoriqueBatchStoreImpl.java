@@ -0,0 +1,64 @@
+package com.pmt.store;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pmt.model.FieldChangesConverter;
+import com.pmt.model.Historique;
+
+/**
+ * Implémentation JDBC du fragment {@link HistoriqueBatchStore}.
+ * Les INSERT s'exécutent sur la connexion de la transaction JPA en cours.
+ */
+public class HistoriqueBatchStoreImpl implements HistoriqueBatchStore {
+    private static final String INSERT_SQL = "INSERT INTO historique "
+            + "(user_id, project_id, task_id, date_m, type_m, new_string, old_string, changes) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final FieldChangesConverter CHANGES = new FieldChangesConverter();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Nombre maximal de lignes envoyées dans un même lot.
+     */
+    @Value("${pmt.jdbc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Insère les entrées d'historique par lots de {@code batchSize}.
+     * @param entries Les entrées d'historique à insérer.
+     */
+    @Override
+    public void insertAll(List<Historique> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, batchSize, HistoriqueBatchStoreImpl::bind);
+    }
+
+    /**
+     * Renseigne les paramètres d'un INSERT sur les colonnes de {@code historique},
+     * partagées par {@code historique_outbox}.
+     * @param ps La requête préparée.
+     * @param history L'entrée d'historique.
+     * @throws SQLException en cas d'erreur JDBC.
+     */
+    static void bind(PreparedStatement ps, Historique history) throws SQLException {
+        ps.setObject(1, history.getUserId(), Types.BIGINT);
+        ps.setObject(2, history.getProjectId(), Types.BIGINT);
+        ps.setObject(3, history.getTaskId(), Types.BIGINT);
+        ps.setTimestamp(4, history.getDateM() == null ? null : Timestamp.valueOf(history.getDateM()));
+        ps.setObject(5, history.getTypeM() == null ? null : history.getTypeM().ordinal(), Types.INTEGER);
+        ps.setString(6, history.getNewString());
+        ps.setString(7, history.getOldString());
+        ps.setString(8, CHANGES.convertToDatabaseColumn(history.getChanges()));
+    }
+}
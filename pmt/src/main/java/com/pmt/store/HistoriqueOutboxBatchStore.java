@@ -0,0 +1,18 @@
+package com.pmt.store;
+
+import java.util.List;
+
+import com.pmt.model.Historique;
+
+/**
+ * Fragment de dépôt pour l'insertion des entrées d'historique en attente par lots JDBC.
+ */
+public interface HistoriqueOutboxBatchStore {
+    /**
+     * Insère toutes les entrées d'historique données dans la table d'attente,
+     * en un seul aller-retour par lot. Les identifiants générés ne sont pas relus.
+     *
+     * @param entries Les entrées d'historique à mettre en attente.
+     */
+    void stageAll(List<Historique> entries);
+}
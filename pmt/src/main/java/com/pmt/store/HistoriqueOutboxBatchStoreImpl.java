@@ -0,0 +1,40 @@
+package com.pmt.store;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pmt.model.Historique;
+
+/**
+ * Implémentation JDBC du fragment {@link HistoriqueOutboxBatchStore}.
+ * Les INSERT s'exécutent sur la connexion de la transaction JPA en cours.
+ */
+public class HistoriqueOutboxBatchStoreImpl implements HistoriqueOutboxBatchStore {
+    private static final String INSERT_SQL = "INSERT INTO historique_outbox "
+            + "(user_id, project_id, task_id, date_m, type_m, new_string, old_string, changes) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Nombre maximal de lignes envoyées dans un même lot.
+     */
+    @Value("${pmt.jdbc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Insère les entrées d'historique en attente par lots de {@code batchSize}.
+     * @param entries Les entrées d'historique à mettre en attente.
+     */
+    @Override
+    public void stageAll(List<Historique> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, batchSize, HistoriqueBatchStoreImpl::bind);
+    }
+}
@@ -0,0 +1,110 @@
+package com.pmt.store;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.pmt.model.HistoriqueOutbox;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Interface de dépôt pour l'accès aux entrées d'historique en attente de regroupement.
+ */
+public interface HistoriqueOutboxStore extends CrudRepository<HistoriqueOutbox, Long>, HistoriqueOutboxBatchStore {
+    /**
+     * Récupère les identifiants des entrées en attente postérieures à un curseur.
+     *
+     * @param afterId L'identifiant de la dernière entrée déjà lue, exclu.
+     * @param limit Le nombre maximal d'entrées.
+     * @return Une liste d'identifiants, par ordre d'écriture.
+     */
+    @Query("SELECT o.id FROM HistoriqueOutbox o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+    /**
+     * Récupère et verrouille des entrées en attente (SELECT ... FOR UPDATE) : une autre instance
+     * qui les lit en même temps attend la fin de la transaction, et ne trouve plus celles qui ont été déplacées.
+     *
+     * @param ids Les identifiants des entrées.
+     * @return Une liste d'objets HistoriqueOutbox, par ordre d'écriture.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<HistoriqueOutbox> findByIdInOrderById(Collection<Long> ids);
+    /**
+     * Récupère les entrées en attente propres à un projet dans un intervalle de dates,
+     * de la plus récente à la plus ancienne.
+     *
+     * @param projectId L'identifiant du projet.
+     * @param after La date de début, exclue.
+     * @param until La date de fin, incluse.
+     * @return Une liste d'objets HistoriqueOutbox.
+     */
+    @Query("""
+            SELECT o FROM HistoriqueOutbox o
+            WHERE o.projectId = :projectId
+              AND o.dateM > :after
+              AND o.dateM <= :until
+            ORDER BY o.dateM DESC, o.id DESC
+            """)
+    List<HistoriqueOutbox> findProjectEventsBetween(@Param("projectId") Long projectId,
+                                                    @Param("after") LocalDateTime after,
+                                                    @Param("until") LocalDateTime until);
+    /**
+     * Récupère les modifications en attente de tâches données dans un intervalle de dates,
+     * de la plus récente à la plus ancienne.
+     *
+     * @param taskIds Les identifiants des tâches.
+     * @param after La date de début, exclue.
+     * @param until La date de fin, incluse.
+     * @return Une liste d'objets HistoriqueOutbox.
+     */
+    @Query("""
+            SELECT o FROM HistoriqueOutbox o
+            WHERE o.taskId IN :taskIds
+              AND o.projectId IS NULL
+              AND o.dateM > :after
+              AND o.dateM <= :until
+            ORDER BY o.dateM DESC, o.id DESC
+            """)
+    List<HistoriqueOutbox> findTaskEventsBetween(@Param("taskIds") Collection<Long> taskIds,
+                                                 @Param("after") LocalDateTime after,
+                                                 @Param("until") LocalDateTime until);
+    /**
+     * Supprime en une seule requête des entrées en attente.
+     *
+     * @param ids Les identifiants des entrées.
+     * @return Le nombre d'entrées supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM HistoriqueOutbox o WHERE o.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+    /**
+     * Supprime en une seule requête les entrées en attente d'un projet et de toutes ses tâches.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre d'entrées supprimées.
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM HistoriqueOutbox o
+            WHERE o.projectId = :projectId
+               OR o.taskId IN (SELECT t.id FROM Task t WHERE t.project.id = :projectId)
+            """)
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+    /**
+     * Supprime en une seule requête les entrées en attente des tâches d'identifiants donnés.
+     *
+     * @param taskIds Les identifiants des tâches.
+     * @return Le nombre d'entrées supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM HistoriqueOutbox o WHERE o.taskId IN :taskIds")
+    int deleteAllByTaskIdIn(@Param("taskIds") List<Long> taskIds);
+}
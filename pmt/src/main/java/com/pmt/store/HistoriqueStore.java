@@ -1,27 +1,205 @@
 package com.pmt.store;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
 import com.pmt.model.Historique;
 
 /**
  * Interface de dépôt pour l'accès aux données d'historique.
  */
-public interface HistoriqueStore extends CrudRepository<Historique, Long> {
+public interface HistoriqueStore extends CrudRepository<Historique, Long>, HistoriqueBatchStore {
+    /**
+     * Récupère la date d'une entrée d'historique, utilisée comme curseur de pagination.
+     *
+     * @param id L'identifiant de l'entrée.
+     * @return Un Optional contenant la date de l'entrée si elle existe, ou un Optional vide.
+     */
+    @Query("SELECT h.dateM FROM Historique h WHERE h.id = :id")
+    Optional<LocalDateTime> findDateMById(@Param("id") Long id);
+    /**
+     * Récupère une page de l'historique d'un projet, de la plus récente à la plus ancienne entrée,
+     * en remontant à partir de la position (untilDate, untilId) exclue. La pagination par clé
+     * parcourt l'index (project_id, date_m) : le coût d'une page ne dépend pas de l'âge du projet.
+     * Les créations et suppressions de tâches, rattachées aussi au projet, en sont exclues.
+     *
+     * @param projectId L'identifiant du projet.
+     * @param from La date la plus ancienne renvoyée.
+     * @param untilDate La date de la position de départ.
+     * @param untilId L'identifiant de la position de départ, pour départager les entrées de même date.
+     * @param limit Le nombre maximal d'entrées renvoyées.
+     * @return Une liste d'objets Historique.
+     */
+    @Query("""
+            SELECT h FROM Historique h
+            WHERE h.projectId = :projectId
+              AND h.taskId IS NULL
+              AND h.dateM >= :from
+              AND h.dateM <= :untilDate
+              AND (h.dateM < :untilDate OR h.id < :untilId)
+            ORDER BY h.dateM DESC, h.id DESC
+            """)
+    List<Historique> findPageByProjectIdBefore(@Param("projectId") Long projectId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("untilDate") LocalDateTime untilDate,
+                                               @Param("untilId") Long untilId,
+                                               Limit limit);
     /**
-     * Récupère toutes les entrées d'historique associées à un projet donné.
+     * Récupère les entrées de l'historique d'un projet postérieures à la position (sinceDate, sinceId)
+     * exclue, de la plus ancienne à la plus récente.
+     * Les créations et suppressions de tâches en sont exclues.
      *
      * @param projectId L'identifiant du projet.
+     * @param sinceDate La date de la position de départ.
+     * @param sinceId L'identifiant de la position de départ, pour départager les entrées de même date.
+     * @param to La date la plus récente renvoyée.
+     * @param limit Le nombre maximal d'entrées renvoyées.
      * @return Une liste d'objets Historique.
      */
-    List<Historique> findAllByProjectId(Long projectId);
+    @Query("""
+            SELECT h FROM Historique h
+            WHERE h.projectId = :projectId
+              AND h.taskId IS NULL
+              AND h.dateM >= :sinceDate
+              AND (h.dateM > :sinceDate OR h.id > :sinceId)
+              AND h.dateM <= :to
+            ORDER BY h.dateM, h.id
+            """)
+    List<Historique> findPageByProjectIdAfter(@Param("projectId") Long projectId,
+                                              @Param("sinceDate") LocalDateTime sinceDate,
+                                              @Param("sinceId") Long sinceId,
+                                              @Param("to") LocalDateTime to,
+                                              Limit limit);
     /**
-     * Récupère toutes les entrées d'historique associées à une tâche donnée.
+     * Récupère une page de l'historique d'une tâche, de la plus récente à la plus ancienne entrée,
+     * en remontant à partir de la position (untilDate, untilId) exclue, par l'index (task_id, date_m).
      *
      * @param taskId L'identifiant de la tâche.
+     * @param from La date la plus ancienne renvoyée.
+     * @param untilDate La date de la position de départ.
+     * @param untilId L'identifiant de la position de départ, pour départager les entrées de même date.
+     * @param limit Le nombre maximal d'entrées renvoyées.
+     * @return Une liste d'objets Historique.
+     */
+    @Query("""
+            SELECT h FROM Historique h
+            WHERE h.taskId = :taskId
+              AND h.dateM >= :from
+              AND h.dateM <= :untilDate
+              AND (h.dateM < :untilDate OR h.id < :untilId)
+            ORDER BY h.dateM DESC, h.id DESC
+            """)
+    List<Historique> findPageByTaskIdBefore(@Param("taskId") Long taskId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("untilDate") LocalDateTime untilDate,
+                                            @Param("untilId") Long untilId,
+                                            Limit limit);
+    /**
+     * Récupère les entrées de l'historique d'une tâche postérieures à la position (sinceDate, sinceId)
+     * exclue, de la plus ancienne à la plus récente.
+     *
+     * @param taskId L'identifiant de la tâche.
+     * @param sinceDate La date de la position de départ.
+     * @param sinceId L'identifiant de la position de départ, pour départager les entrées de même date.
+     * @param to La date la plus récente renvoyée.
+     * @param limit Le nombre maximal d'entrées renvoyées.
+     * @return Une liste d'objets Historique.
+     */
+    @Query("""
+            SELECT h FROM Historique h
+            WHERE h.taskId = :taskId
+              AND h.dateM >= :sinceDate
+              AND (h.dateM > :sinceDate OR h.id > :sinceId)
+              AND h.dateM <= :to
+            ORDER BY h.dateM, h.id
+            """)
+    List<Historique> findPageByTaskIdAfter(@Param("taskId") Long taskId,
+                                           @Param("sinceDate") LocalDateTime sinceDate,
+                                           @Param("sinceId") Long sinceId,
+                                           @Param("to") LocalDateTime to,
+                                           Limit limit);
+    /**
+     * Récupère les entrées propres à un projet dans un intervalle de dates : ses modifications
+     * et les créations et suppressions de ses tâches, de la plus récente à la plus ancienne.
+     *
+     * @param projectId L'identifiant du projet.
+     * @param after La date de début, exclue.
+     * @param until La date de fin, incluse.
      * @return Une liste d'objets Historique.
      */
-    List<Historique> findAllByTaskId(Long taskId);
+    @Query("""
+            SELECT h FROM Historique h
+            WHERE h.projectId = :projectId
+              AND h.dateM > :after
+              AND h.dateM <= :until
+            ORDER BY h.dateM DESC, h.id DESC
+            """)
+    List<Historique> findProjectEventsBetween(@Param("projectId") Long projectId,
+                                              @Param("after") LocalDateTime after,
+                                              @Param("until") LocalDateTime until);
+    /**
+     * Récupère les modifications de tâches données dans un intervalle de dates,
+     * de la plus récente à la plus ancienne.
+     *
+     * @param taskIds Les identifiants des tâches.
+     * @param after La date de début, exclue.
+     * @param until La date de fin, incluse.
+     * @return Une liste d'objets Historique.
+     */
+    @Query("""
+            SELECT h FROM Historique h
+            WHERE h.taskId IN :taskIds
+              AND h.projectId IS NULL
+              AND h.dateM > :after
+              AND h.dateM <= :until
+            ORDER BY h.dateM DESC, h.id DESC
+            """)
+    List<Historique> findTaskEventsBetween(@Param("taskIds") Collection<Long> taskIds,
+                                           @Param("after") LocalDateTime after,
+                                           @Param("until") LocalDateTime until);
+    /**
+     * Compte les entrées de l'historique d'un projet et de ses tâches postérieures à une date.
+     *
+     * @param projectId L'identifiant du projet.
+     * @param since La date de début, exclue.
+     * @return Le nombre d'entrées.
+     */
+    @Query("""
+            SELECT COUNT(h) FROM Historique h
+            WHERE h.dateM > :since
+              AND (h.projectId = :projectId
+                   OR h.taskId IN (SELECT t.id FROM Task t WHERE t.project.id = :projectId))
+            """)
+    long countEventsSince(@Param("projectId") Long projectId, @Param("since") LocalDateTime since);
+    /**
+     * Supprime en une seule requête l'historique d'un projet et celui de toutes ses tâches.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre d'entrées supprimées.
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM Historique h
+            WHERE h.projectId = :projectId
+               OR h.taskId IN (SELECT t.id FROM Task t WHERE t.project.id = :projectId)
+            """)
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+    /**
+     * Supprime en une seule requête l'historique des tâches d'identifiants donnés.
+     *
+     * @param taskIds Les identifiants des tâches.
+     * @return Le nombre d'entrées supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM Historique h WHERE h.taskId IN :taskIds")
+    int deleteAllByTaskIdIn(@Param("taskIds") List<Long> taskIds);
 }
\ No newline at end of file
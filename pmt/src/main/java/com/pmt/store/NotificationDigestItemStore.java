@@ -0,0 +1,49 @@
+package com.pmt.store;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.pmt.model.NotificationDigestItem;
+
+/**
+ * Interface de dépôt pour l'accès aux notifications en attente de récapitulatif.
+ */
+public interface NotificationDigestItemStore extends CrudRepository<NotificationDigestItem, Long> {
+    /**
+     * Récupère les destinataires dont la plus ancienne notification en attente date d'avant {@code cutoff}.
+     *
+     * @param cutoff La date limite : fin de la fenêtre de regroupement.
+     * @param limit Le nombre maximal de destinataires.
+     * @return Une liste d'adresses e-mail, de la plus ancienne attente à la plus récente.
+     */
+    @Query("""
+            SELECT d.recipient FROM NotificationDigestItem d
+            GROUP BY d.recipient
+            HAVING MIN(d.createdAt) <= :cutoff
+            ORDER BY MIN(d.createdAt)
+            """)
+    List<String> findDueRecipients(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+    /**
+     * Récupère les notifications en attente pour un destinataire.
+     *
+     * @param recipient L'adresse e-mail du destinataire.
+     * @return Une liste d'objets NotificationDigestItem, par ordre d'arrivée.
+     */
+    List<NotificationDigestItem> findByRecipientOrderById(String recipient);
+    /**
+     * Supprime en une seule requête des notifications en attente.
+     *
+     * @param ids Les identifiants des notifications.
+     * @return Le nombre de notifications supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM NotificationDigestItem d WHERE d.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,107 @@
+package com.pmt.store;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.pmt.model.NotificationOutbox;
+import com.pmt.model.OutboxStatus;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Interface de dépôt pour l'accès aux notifications de l'outbox.
+ */
+public interface NotificationOutboxStore extends CrudRepository<NotificationOutbox, Long> {
+    /**
+     * Récupère les identifiants des notifications à envoyer : en attente, dont la date de tentative
+     * est atteinte et qui ne sont pas réservées par une autre instance.
+     *
+     * @param now L'instant présent.
+     * @param limit Le nombre maximal de notifications.
+     * @return Une liste d'identifiants, par ordre de création.
+     */
+    @Query("""
+            SELECT o.id FROM NotificationOutbox o
+            WHERE o.status = com.pmt.model.OutboxStatus.PENDING
+              AND o.nextAttemptAt <= :now
+              AND (o.lockedUntil IS NULL OR o.lockedUntil < :now)
+            ORDER BY o.id
+            """)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Limit limit);
+    /**
+     * Réserve des notifications sous un jeton jusqu'à la fin du bail.
+     * Les notifications réservées entre-temps par une autre instance sont ignorées.
+     *
+     * @param ids Les identifiants des notifications.
+     * @param owner Le jeton de réservation, propre à l'instance et au passage.
+     * @param until La fin du bail.
+     * @param now L'instant présent.
+     * @return Le nombre de notifications réservées.
+     */
+    @Modifying
+    @Query("""
+            UPDATE NotificationOutbox o SET o.lockOwner = :owner, o.lockedUntil = :until
+            WHERE o.id IN :ids
+              AND o.status = com.pmt.model.OutboxStatus.PENDING
+              AND (o.lockedUntil IS NULL OR o.lockedUntil < :now)
+            """)
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+    /**
+     * Récupère les notifications réservées sous un jeton de réservation donné.
+     *
+     * @param owner Le jeton de réservation.
+     * @return Une liste d'objets NotificationOutbox.
+     */
+    List<NotificationOutbox> findByLockOwnerOrderById(String owner);
+    /**
+     * Marque en une seule requête des notifications comme envoyées et libère leur réservation.
+     *
+     * @param ids Les identifiants des notifications.
+     * @param sentAt La date d'envoi.
+     * @return Le nombre de notifications mises à jour.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE NotificationOutbox o
+            SET o.status = com.pmt.model.OutboxStatus.SENT, o.attempts = o.attempts + 1, o.sentAt = :sentAt,
+                o.lastError = NULL, o.lockOwner = NULL, o.lockedUntil = NULL
+            WHERE o.id IN :ids
+            """)
+    int markAllSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+    /**
+     * Enregistre l'échec d'une tentative d'envoi et libère la réservation de la notification.
+     *
+     * @param id L'identifiant de la notification.
+     * @param status Le nouvel état : PENDING pour réessayer, FAILED pour abandonner.
+     * @param attempts Le nombre de tentatives effectuées.
+     * @param nextAttemptAt La date de la prochaine tentative.
+     * @param lastError Le message de l'erreur.
+     * @return Le nombre de notifications mises à jour.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE NotificationOutbox o
+            SET o.status = :status, o.attempts = :attempts, o.nextAttemptAt = :nextAttemptAt,
+                o.lastError = :lastError, o.lockOwner = NULL, o.lockedUntil = NULL
+            WHERE o.id = :id
+            """)
+    int markFailedAttempt(@Param("id") Long id, @Param("status") OutboxStatus status,
+                          @Param("attempts") int attempts, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError);
+    /**
+     * Compte les notifications dans un état donné.
+     *
+     * @param status L'état recherché.
+     * @return Le nombre de notifications.
+     */
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,19 @@
+package com.pmt.store;
+
+import java.util.List;
+
+import com.pmt.model.ProjectCounters;
+
+/**
+ * Fragment de dépôt pour l'ajout de variations aux compteurs sauvegardés des projets par lots JDBC.
+ */
+public interface ProjectCountersBatchStore {
+    /**
+     * Ajoute des variations aux compteurs sauvegardés, par lots : chaque ligne est incrémentée en base,
+     * sans écraser les variations sauvegardées par les autres instances. Une ligne absente est créée ;
+     * les variations d'un projet supprimé ou inexistant sont ignorées.
+     *
+     * @param deltas Les variations, une par projet.
+     */
+    void addAll(List<ProjectCounters> deltas);
+}
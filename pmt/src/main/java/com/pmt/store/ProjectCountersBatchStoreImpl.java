@@ -0,0 +1,61 @@
+package com.pmt.store;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pmt.model.ProjectCounters;
+
+/**
+ * Implémentation JDBC du fragment {@link ProjectCountersBatchStore}.
+ * Utilise {@code INSERT ... SELECT ... AS new ON DUPLICATE KEY UPDATE} (MySQL 8.0.19 et suivants) :
+ * la ligne n'est créée que si le projet existe et n'est pas supprimé, et l'incrément est atomique.
+ */
+public class ProjectCountersBatchStoreImpl implements ProjectCountersBatchStore {
+    private static final String ADD_SQL = "INSERT INTO project_counters "
+            + "(project_id, total, todo, in_progress, done, low, medium, high, saved_at) "
+            + "SELECT * FROM (SELECT p.id AS project_id, ? AS total, ? AS todo, ? AS in_progress, ? AS done, "
+            + "? AS low, ? AS medium, ? AS high, ? AS saved_at FROM project p WHERE p.id = ? AND p.deleted = false) AS new "
+            + "ON DUPLICATE KEY UPDATE project_counters.total = project_counters.total + new.total, "
+            + "project_counters.todo = project_counters.todo + new.todo, "
+            + "project_counters.in_progress = project_counters.in_progress + new.in_progress, "
+            + "project_counters.done = project_counters.done + new.done, "
+            + "project_counters.low = project_counters.low + new.low, "
+            + "project_counters.medium = project_counters.medium + new.medium, "
+            + "project_counters.high = project_counters.high + new.high, "
+            + "project_counters.saved_at = new.saved_at";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Nombre maximal de lignes envoyées dans un même lot.
+     */
+    @Value("${pmt.jdbc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Ajoute les variations par lots de {@code batchSize}.
+     * @param deltas Les variations, une par projet.
+     */
+    @Override
+    public void addAll(List<ProjectCounters> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_SQL, deltas, batchSize, (ps, delta) -> {
+            ps.setLong(1, delta.getTotal());
+            ps.setLong(2, delta.getTodo());
+            ps.setLong(3, delta.getInProgress());
+            ps.setLong(4, delta.getDone());
+            ps.setLong(5, delta.getLow());
+            ps.setLong(6, delta.getMedium());
+            ps.setLong(7, delta.getHigh());
+            ps.setTimestamp(8, Timestamp.valueOf(delta.getSavedAt()));
+            ps.setLong(9, delta.getProjectId());
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.pmt.store;
+
+import org.springframework.data.repository.CrudRepository;
+
+import com.pmt.model.ProjectCounters;
+
+/**
+ * Interface de dépôt pour l'accès aux compteurs de tâches sauvegardés des projets.
+ */
+public interface ProjectCountersStore extends CrudRepository<ProjectCounters, Long>, ProjectCountersBatchStore {
+}
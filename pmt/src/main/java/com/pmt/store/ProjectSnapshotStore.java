@@ -0,0 +1,42 @@
+package com.pmt.store;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import com.pmt.model.ProjectSnapshot;
+
+/**
+ * Interface de dépôt pour l'accès aux instantanés de l'état des projets.
+ */
+public interface ProjectSnapshotStore extends CrudRepository<ProjectSnapshot, Long> {
+    /**
+     * Récupère le premier instantané d'un projet pris à une date donnée ou après.
+     *
+     * @param projectId L'identifiant du projet.
+     * @param takenAt La date recherchée.
+     * @return Un Optional contenant l'instantané s'il existe, ou un Optional vide.
+     */
+    Optional<ProjectSnapshot> findFirstByProjectIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(Long projectId, LocalDateTime takenAt);
+    /**
+     * Récupère la date du dernier instantané d'un projet.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Un Optional contenant la date si le projet a un instantané, ou un Optional vide.
+     */
+    @Query("SELECT MAX(s.takenAt) FROM ProjectSnapshot s WHERE s.projectId = :projectId")
+    Optional<LocalDateTime> findLastTakenAt(@Param("projectId") Long projectId);
+    /**
+     * Supprime en une seule requête les instantanés d'un projet.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre d'instantanés supprimés.
+     */
+    @Modifying
+    @Query("DELETE FROM ProjectSnapshot s WHERE s.projectId = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+}
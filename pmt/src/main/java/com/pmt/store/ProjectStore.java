@@ -1,11 +1,42 @@
 package com.pmt.store;
 
-import org.springframework.data.repository.CrudRepository;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.pmt.model.Project;
 
 /**
  * Interface de dépôt pour l'accès aux données des projets.
+ * Les projets marqués comme supprimés ne sont visibles que par les requêtes natives de purge.
  */
-public interface ProjectStore extends CrudRepository<Project, Long> {
-}
\ No newline at end of file
+public interface ProjectStore extends JpaRepository<Project, Long> {
+    /**
+     * Marque un projet comme supprimé ; il devient invisible et sera purgé en arrière-plan.
+     *
+     * @param id L'identifiant du projet.
+     * @return Le nombre de projets marqués.
+     */
+    @Modifying
+    @Query("UPDATE Project p SET p.deleted = true WHERE p.id = :id")
+    int markDeleted(@Param("id") Long id);
+    /**
+     * Récupère les identifiants des projets marqués comme supprimés et en attente de purge.
+     *
+     * @return Une liste d'identifiants de projets.
+     */
+    @Query(value = "SELECT id FROM project WHERE deleted = true ORDER BY id", nativeQuery = true)
+    List<Long> findDeletedIds();
+    /**
+     * Supprime définitivement un projet marqué comme supprimé.
+     *
+     * @param id L'identifiant du projet.
+     * @return Le nombre de projets supprimés.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM project WHERE id = :id AND deleted = true", nativeQuery = true)
+    int purgeById(@Param("id") Long id);
+}
@@ -0,0 +1,20 @@
+package com.pmt.store;
+
+import java.util.List;
+
+import com.pmt.model.ProjectUser;
+
+/**
+ * Fragment de dépôt pour l'ajout des membres d'un projet par lots JDBC.
+ */
+public interface ProjectUserBatchStore {
+    /**
+     * Ajoute ou met à jour les associations Projet-Utilisateur données, par lots.
+     * S'appuie sur la contrainte d'unicité (project_id, user_id) : une association déjà
+     * existante voit seulement son rôle mis à jour, ce qui rend un nouvel ajout idempotent.
+     * Le projet et l'utilisateur de chaque association doivent avoir un identifiant renseigné.
+     *
+     * @param projectUsers Les associations à enregistrer.
+     */
+    void upsertAll(List<ProjectUser> projectUsers);
+}
@@ -0,0 +1,46 @@
+package com.pmt.store;
+
+import java.sql.Types;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pmt.model.ProjectUser;
+
+/**
+ * Implémentation JDBC du fragment {@link ProjectUserBatchStore}.
+ * Utilise {@code INSERT ... AS new ON DUPLICATE KEY UPDATE} (MySQL 8.0.19 et suivants, la forme
+ * {@code VALUES(col)} étant dépréciée) ; avec {@code rewriteBatchedStatements=true}, chaque lot part
+ * en une seule requête multi-lignes.
+ */
+public class ProjectUserBatchStoreImpl implements ProjectUserBatchStore {
+    private static final String UPSERT_SQL = "INSERT INTO project_user (project_id, user_id, role) "
+            + "VALUES (?, ?, ?) AS new ON DUPLICATE KEY UPDATE role = new.role";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Nombre maximal de lignes envoyées dans un même lot.
+     */
+    @Value("${pmt.jdbc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Enregistre les associations par lots de {@code batchSize}.
+     * @param projectUsers Les associations à enregistrer.
+     */
+    @Override
+    public void upsertAll(List<ProjectUser> projectUsers) {
+        if (projectUsers.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, projectUsers, batchSize, (ps, projectUser) -> {
+            ps.setLong(1, projectUser.getProject().getId());
+            ps.setLong(2, projectUser.getUser().getId());
+            ps.setObject(3, projectUser.getRole() == null ? null : projectUser.getRole().ordinal(), Types.INTEGER);
+        });
+    }
+}
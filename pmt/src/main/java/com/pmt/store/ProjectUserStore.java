@@ -1,19 +1,23 @@
 package com.pmt.store;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import com.pmt.dto.DashboardProject;
+import com.pmt.dto.ProjectMember;
 import com.pmt.model.Project;
 import com.pmt.model.ProjectUser;
-import org.springframework.transaction.annotation.Transactional;
+import com.pmt.model.User;
 
 /**
  * Interface de dépôt pour l'accès aux données des associations Projet-Utilisateur.
  */
-public interface ProjectUserStore extends CrudRepository<ProjectUser, Long> {
+public interface ProjectUserStore extends CrudRepository<ProjectUser, Long>, ProjectUserBatchStore {
 
     /**
      * Récupère tous les projets auxquels un utilisateur est associé.
@@ -24,6 +28,75 @@ public interface ProjectUserStore extends CrudRepository<ProjectUser, Long> {
     @Query("SELECT pu.project FROM ProjectUser pu WHERE pu.user.id = :userId")
     List<Project> findAllProjectByUserId(@Param("userId") Long userId);
     
+    /**
+     * Récupère en une seule requête tous les utilisateurs associés à un projet.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Une liste d'objets User.
+     */
+    @Query("SELECT pu.user FROM ProjectUser pu WHERE pu.project.id = :projectId ORDER BY pu.id")
+    List<User> findAllUserByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Récupère en une seule requête les membres d'un projet avec leur rôle, sous forme de DTO,
+     * sans charger les entités ProjectUser, Project ni User.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Une liste d'objets ProjectMember.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.ProjectMember(pu.id, u.id, u.nom, u.email, pu.role)
+            FROM ProjectUser pu JOIN pu.user u
+            WHERE pu.project.id = :projectId
+            ORDER BY pu.id
+            """)
+    List<ProjectMember> findMembersByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Récupère en une seule requête les projets d'un utilisateur avec son rôle, pour son tableau de bord.
+     *
+     * @param userId L'identifiant de l'utilisateur.
+     * @return Une liste d'objets DashboardProject, triés par association.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.DashboardProject(pu.id, pu.user.id, p.id, p.nom, pu.role)
+            FROM ProjectUser pu JOIN pu.project p
+            WHERE pu.user.id = :userId
+            ORDER BY pu.id
+            """)
+    List<DashboardProject> findDashboardProjectsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Récupère en une seule requête des associations d'identifiants donnés, sous la forme de projets
+     * de tableau de bord.
+     *
+     * @param ids Les identifiants des associations.
+     * @return Une liste d'objets DashboardProject ; les associations inexistantes sont ignorées.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.DashboardProject(pu.id, pu.user.id, p.id, p.nom, pu.role)
+            FROM ProjectUser pu JOIN pu.project p
+            WHERE pu.id IN :ids
+            ORDER BY pu.id
+            """)
+    List<DashboardProject> findDashboardProjectsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Récupère les associations d'un projet pour les utilisateurs donnés, avec leur projet
+     * et leur utilisateur chargés dans la même requête.
+     *
+     * @param projectId L'identifiant du projet.
+     * @param userIds Les identifiants des utilisateurs.
+     * @return Une liste d'objets ProjectUser.
+     */
+    @Query("""
+            SELECT pu FROM ProjectUser pu JOIN FETCH pu.project JOIN FETCH pu.user
+            WHERE pu.project.id = :projectId AND pu.user.id IN :userIds
+            ORDER BY pu.id
+            """)
+    List<ProjectUser> findByProjectIdAndUserIdIn(@Param("projectId") Long projectId,
+                                                 @Param("userIds") Collection<Long> userIds);
+
     /**
      * Vérifie si une association existe entre un projet et un utilisateur.
      *
@@ -42,10 +115,12 @@ public interface ProjectUserStore extends CrudRepository<ProjectUser, Long> {
     List<ProjectUser> findByProjectId(Long projectId);
     
     /**
-     * Supprime toutes les associations Projet-Utilisateur pour un projet donné.
+     * Supprime en une seule requête toutes les associations Projet-Utilisateur pour un projet donné.
      *
      * @param projectId L'identifiant du projet.
+     * @return Le nombre d'associations supprimées.
      */
-    @Transactional
-    void deleteByProjectId(Long projectId);
+    @Modifying
+    @Query("DELETE FROM ProjectUser pu WHERE pu.project.id = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.pmt.store;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.pmt.dto.Assigned;
 import com.pmt.model.TaskAssign;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +22,24 @@ public interface TaskAssignStore extends CrudRepository<TaskAssign, Long> {
      */
     @Transactional
     void deleteByTaskId(Long taskId);
+    /**
+     * Supprime en une seule requête les assignations de toutes les tâches d'un projet.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre d'assignations supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM TaskAssign ta WHERE ta.task.id IN (SELECT t.id FROM Task t WHERE t.project.id = :projectId)")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+    /**
+     * Supprime en une seule requête les assignations des tâches d'identifiants donnés.
+     *
+     * @param taskIds Les identifiants des tâches.
+     * @return Le nombre d'assignations supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM TaskAssign ta WHERE ta.task.id IN :taskIds")
+    int deleteAllByTaskIdIn(@Param("taskIds") List<Long> taskIds);
     /**
      * Récupère toutes les assignations de tâches pour un identifiant de tâche donné.
      *
@@ -24,6 +47,72 @@ public interface TaskAssignStore extends CrudRepository<TaskAssign, Long> {
      * @return Une liste d'objets TaskAssign.
      */
     List<TaskAssign> findByTaskId(Long taskId);
+    /**
+     * Récupère les utilisateurs assignés à une tâche en une seule requête, sous forme de DTO,
+     * sans charger les entités TaskAssign, Task, Project ni User.
+     *
+     * @param taskId L'identifiant de la tâche.
+     * @return Une liste d'objets Assigned.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.Assigned(ta.id, u.id, ta.task.id, u.nom)
+            FROM TaskAssign ta JOIN ta.user u
+            WHERE ta.task.id = :taskId
+            ORDER BY ta.id
+            """)
+    List<Assigned> findAssignedByTaskId(@Param("taskId") Long taskId);
+    /**
+     * Récupère en une seule requête les utilisateurs assignés à plusieurs tâches, sous forme de DTO.
+     *
+     * @param taskIds Les identifiants des tâches.
+     * @return Une liste d'objets Assigned, triés par tâche.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.Assigned(ta.id, u.id, ta.task.id, u.nom)
+            FROM TaskAssign ta JOIN ta.user u
+            WHERE ta.task.id IN :taskIds
+            ORDER BY ta.task.id, ta.id
+            """)
+    List<Assigned> findAssignedByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+    /**
+     * Récupère en une seule requête les assignations de toutes les tâches d'un projet, sous forme de DTO.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Une liste d'objets Assigned, triés par tâche.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.Assigned(ta.id, u.id, ta.task.id, u.nom)
+            FROM TaskAssign ta JOIN ta.user u
+            WHERE ta.task.project.id = :projectId
+            ORDER BY ta.task.id, ta.id
+            """)
+    List<Assigned> findAssignedByProjectId(@Param("projectId") Long projectId);
+    /**
+     * Récupère en une seule requête des assignations d'identifiants donnés, sous forme de DTO.
+     *
+     * @param ids Les identifiants des assignations.
+     * @return Une liste d'objets Assigned ; les assignations inexistantes sont ignorées.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.Assigned(ta.id, u.id, ta.task.id, u.nom)
+            FROM TaskAssign ta JOIN ta.user u
+            WHERE ta.id IN :ids
+            ORDER BY ta.id
+            """)
+    List<Assigned> findAssignedByIdIn(@Param("ids") Collection<Long> ids);
+    /**
+     * Récupère en une seule requête les assignations d'un utilisateur, sous forme de DTO.
+     *
+     * @param userId L'identifiant de l'utilisateur.
+     * @return Une liste d'objets Assigned, triés par identifiant.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.Assigned(ta.id, u.id, ta.task.id, u.nom)
+            FROM TaskAssign ta JOIN ta.user u
+            WHERE u.id = :userId
+            ORDER BY ta.id
+            """)
+    List<Assigned> findAssignedByUserId(@Param("userId") Long userId);
     /**
      * Supprime une assignation de tâche par son identifiant.
      *
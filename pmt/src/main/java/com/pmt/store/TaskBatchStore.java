@@ -0,0 +1,20 @@
+package com.pmt.store;
+
+import java.util.List;
+
+import com.pmt.model.Task;
+
+/**
+ * Fragment de dépôt pour l'insertion des tâches par lots JDBC.
+ * Les tâches utilisent une clé {@code IDENTITY}, que Hibernate ne sait pas insérer par lots :
+ * ce fragment contourne cette limite en envoyant directement des lots d'INSERT.
+ */
+public interface TaskBatchStore {
+    /**
+     * Insère toutes les tâches données par lots et renseigne leurs identifiants générés.
+     * Chaque tâche doit avoir un projet dont l'identifiant est renseigné.
+     *
+     * @param tasks Les tâches à insérer.
+     */
+    void insertAll(List<Task> tasks);
+}
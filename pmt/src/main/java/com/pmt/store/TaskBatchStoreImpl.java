@@ -0,0 +1,73 @@
+package com.pmt.store;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import com.pmt.model.Task;
+
+/**
+ * Implémentation JDBC du fragment {@link TaskBatchStore}.
+ * Avec {@code rewriteBatchedStatements=true}, le pilote MySQL réécrit chaque lot
+ * en un INSERT multi-lignes.
+ */
+public class TaskBatchStoreImpl implements TaskBatchStore {
+    private static final String INSERT_SQL = "INSERT INTO task "
+            + "(nom, description, date_echeance, date_fin, priorite, status, project_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Nombre maximal de lignes envoyées dans un même lot.
+     */
+    @Value("${pmt.jdbc.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Insère les tâches par lots de {@code batchSize} et renseigne leurs identifiants générés.
+     * @param tasks Les tâches à insérer.
+     */
+    @Override
+    public void insertAll(List<Task> tasks) {
+        for (int from = 0; from < tasks.size(); from += batchSize) {
+            List<Task> chunk = tasks.subList(from, Math.min(from + batchSize, tasks.size()));
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Task task = chunk.get(i);
+                            ps.setString(1, task.getNom());
+                            ps.setString(2, task.getDescription());
+                            ps.setObject(3, task.getDateEcheance() == null ? null : Date.valueOf(task.getDateEcheance()), Types.DATE);
+                            ps.setObject(4, task.getDateFin() == null ? null : Date.valueOf(task.getDateFin()), Types.DATE);
+                            ps.setObject(5, task.getPriorite() == null ? null : task.getPriorite().ordinal(), Types.INTEGER);
+                            ps.setObject(6, task.getStatus() == null ? null : task.getStatus().ordinal(), Types.INTEGER);
+                            ps.setLong(7, task.getProject().getId());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size() && i < keys.size(); i++) {
+                chunk.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+}
@@ -1,28 +1,144 @@
 package com.pmt.store;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import com.pmt.dto.TaskCount;
+import com.pmt.dto.TaskDTO;
+import com.pmt.model.Priorite;
+import com.pmt.model.Status;
 import com.pmt.model.Task;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Interface de dépôt pour l'accès aux données des tâches.
  */
-public interface TaskStore extends CrudRepository<Task, Long> {
+public interface TaskStore extends CrudRepository<Task, Long>, TaskBatchStore {
     /**
-     * Supprime toutes les tâches associées à un projet donné.
+     * Supprime en une seule requête toutes les tâches associées à un projet donné.
      *
      * @param projectId L'identifiant du projet.
+     * @return Le nombre de tâches supprimées.
      */
-    @Transactional
-    void deleteByProjectId(Long projectId);
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
     /**
-     * Récupère toutes les tâches associées à un projet donné.
+     * Supprime en une seule requête les tâches d'identifiants donnés.
+     *
+     * @param ids Les identifiants des tâches.
+     * @return Le nombre de tâches supprimées.
+     */
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
+    /**
+     * Compte les tâches d'un projet.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Le nombre de tâches du projet.
+     */
+    long countByProjectId(Long projectId);
+    /**
+     * Compte en une seule requête les tâches de tous les projets non supprimés, par statut et par priorité.
+     *
+     * @return Une liste d'objets TaskCount, un par combinaison présente.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.TaskCount(p.id, t.status, t.priorite, COUNT(t))
+            FROM Task t JOIN t.project p
+            GROUP BY p.id, t.status, t.priorite
+            """)
+    List<TaskCount> countByProjectStatusAndPriorite();
+    /**
+     * Récupère les identifiants d'un lot de tâches d'un projet, par ordre croissant.
      *
      * @param projectId L'identifiant du projet.
-     * @return Une liste d'objets Task.
+     * @param limit La taille du lot.
+     * @return Une liste d'identifiants de tâches.
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Limit limit);
+    /**
+     * Récupère une tâche sous forme de DTO, sans charger l'entité Task ni son projet.
+     *
+     * @param id L'identifiant de la tâche.
+     * @return Un Optional contenant le TaskDTO s'il existe, ou un Optional vide.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.TaskDTO(t.id, t.nom, t.description, t.dateFin, t.dateEcheance,
+                                           t.project.id, t.priorite, t.status)
+            FROM Task t
+            WHERE t.id = :id
+            """)
+    Optional<TaskDTO> findDtoById(@Param("id") Long id);
+    /**
+     * Récupère toutes les tâches d'un projet sous forme de DTO, triées par identifiant.
+     *
+     * @param projectId L'identifiant du projet.
+     * @return Une liste d'objets TaskDTO.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.TaskDTO(t.id, t.nom, t.description, t.dateFin, t.dateEcheance,
+                                           t.project.id, t.priorite, t.status)
+            FROM Task t
+            WHERE t.project.id = :projectId
+            ORDER BY t.id
+            """)
+    List<TaskDTO> findDtosByProjectId(@Param("projectId") Long projectId);
+    /**
+     * Récupère en une seule requête plusieurs tâches sous forme de DTO, triées par identifiant.
+     *
+     * @param ids Les identifiants des tâches.
+     * @return Une liste d'objets TaskDTO ; les tâches inexistantes sont ignorées.
+     */
+    @Query("""
+            SELECT new com.pmt.dto.TaskDTO(t.id, t.nom, t.description, t.dateFin, t.dateEcheance,
+                                           t.project.id, t.priorite, t.status)
+            FROM Task t
+            WHERE t.id IN :ids
+            ORDER BY t.id
+            """)
+    List<TaskDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+    /**
+     * Récupère une page de tâches sous forme de DTO triés par identifiant, à partir d'un curseur.
+     * Chaque filtre null est ignoré. La pagination par clé (keyset) garantit un coût
+     * constant quelle que soit la position de la page dans la table, et la projection
+     * évite l'hydratation des entités Task et Project.
+     *
+     * @param afterId Le curseur : seules les tâches d'identifiant supérieur sont renvoyées.
+     * @param projectId Le projet recherché, ou null.
+     * @param status Le statut recherché, ou null.
+     * @param priorite La priorité recherchée, ou null.
+     * @param echeanceFrom La borne inférieure de la date d'échéance, ou null.
+     * @param echeanceTo La borne supérieure de la date d'échéance, ou null.
+     * @param limit Le nombre maximal de tâches renvoyées.
+     * @return Une liste d'objets TaskDTO.
      */
-    List<Task> findByProjectId(Long projectId);
-}
\ No newline at end of file
+    @Query("""
+            SELECT new com.pmt.dto.TaskDTO(t.id, t.nom, t.description, t.dateFin, t.dateEcheance,
+                                           t.project.id, t.priorite, t.status)
+            FROM Task t
+            WHERE t.id > :afterId
+              AND (:projectId IS NULL OR t.project.id = :projectId)
+              AND (:status IS NULL OR t.status = :status)
+              AND (:priorite IS NULL OR t.priorite = :priorite)
+              AND (:echeanceFrom IS NULL OR t.dateEcheance >= :echeanceFrom)
+              AND (:echeanceTo IS NULL OR t.dateEcheance <= :echeanceTo)
+            ORDER BY t.id
+            """)
+    List<TaskDTO> findPage(@Param("afterId") Long afterId,
+                           @Param("projectId") Long projectId,
+                           @Param("status") Status status,
+                           @Param("priorite") Priorite priorite,
+                           @Param("echeanceFrom") LocalDate echeanceFrom,
+                           @Param("echeanceTo") LocalDate echeanceTo,
+                           Limit limit);
+}
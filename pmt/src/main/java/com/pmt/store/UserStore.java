@@ -1,15 +1,20 @@
 package com.pmt.store;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.pmt.dto.UserSummary;
 import com.pmt.model.User;
 
 /**
  * Interface de dépôt pour l'accès aux données des utilisateurs.
  */
-public interface UserStore extends CrudRepository<User, Long> {
+public interface UserStore extends JpaRepository<User, Long> {
     /**
      * Récupère un utilisateur par son identifiant.
      *
@@ -31,4 +36,13 @@ public interface UserStore extends CrudRepository<User, Long> {
      * @return true si un utilisateur avec cette adresse email existe, false sinon.
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    /**
+     * Récupère en une seule requête l'identifiant et le nom d'un ensemble d'utilisateurs,
+     * sans charger leurs tâches ni leurs projets.
+     *
+     * @param ids Les identifiants des utilisateurs.
+     * @return Une liste d'objets UserSummary.
+     */
+    @Query("SELECT new com.pmt.dto.UserSummary(u.id, u.nom) FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -2,7 +2,8 @@ CREATE TABLE IF NOT EXISTS user_app (
     id INT AUTO_INCREMENT PRIMARY KEY,
     nom VARCHAR(100),
     email VARCHAR(100),
-    mdp VARCHAR(255)
+    mdp VARCHAR(255),
+    notification_mode INT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS project (
@@ -10,7 +11,8 @@ CREATE TABLE IF NOT EXISTS project (
     nom VARCHAR(100),
     description TEXT,
     date_debut DATE,
-    date_fin DATE
+    date_fin DATE,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE
 );
 
 CREATE TABLE IF NOT EXISTS task (
@@ -22,7 +24,11 @@ CREATE TABLE IF NOT EXISTS task (
     priorite INT,
     status INT,
     project_id INT,
-    FOREIGN KEY (project_id) REFERENCES project(id)
+    FOREIGN KEY (project_id) REFERENCES project(id),
+    INDEX idx_task_project_id (project_id, id),
+    INDEX idx_task_status_id (status, id),
+    INDEX idx_task_priorite_id (priorite, id),
+    INDEX idx_task_echeance_id (date_echeance, id)
 );
 
 CREATE TABLE IF NOT EXISTS project_user (
@@ -31,7 +37,8 @@ CREATE TABLE IF NOT EXISTS project_user (
     project_id INT,
     role INT,
     FOREIGN KEY (user_id) REFERENCES user_app(id),
-    FOREIGN KEY (project_id) REFERENCES project(id)
+    FOREIGN KEY (project_id) REFERENCES project(id),
+    UNIQUE KEY uk_project_user (project_id, user_id)
 );
 
 CREATE TABLE IF NOT EXISTS task_assign (
@@ -42,14 +49,121 @@ CREATE TABLE IF NOT EXISTS task_assign (
     FOREIGN KEY (task_id) REFERENCES task(id)
 );
 
+-- Partitionnée par mois sur date_m (voir HistoriquePartitionManager) : pas de clé étrangère,
+-- et date_m fait partie de la clé primaire. Les partitions suivantes sont créées par l'application.
 CREATE TABLE IF NOT EXISTS historique (
-    id INT AUTO_INCREMENT PRIMARY KEY,
+    id INT AUTO_INCREMENT,
     user_id INT,
     task_id INT DEFAULT NULL,
     project_id INT DEFAULT NULL,
-    date_m DATETIME,
+    date_m DATETIME NOT NULL,
     type_m INT,
     new_string TEXT, 
     old_string TEXT,
-    FOREIGN KEY (user_id) REFERENCES user_app(id)
-);
\ No newline at end of file
+    changes TEXT,
+    PRIMARY KEY (id, date_m),
+    INDEX idx_historique_project_date (project_id, date_m),
+    INDEX idx_historique_task_date (task_id, date_m)
+)
+PARTITION BY RANGE (TO_DAYS(date_m)) (
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
+
+-- Entrées d'historique écrites dans la transaction de la modification, en attente de regroupement
+-- avant leur déplacement par lots vers historique (voir HistoriqueWriter).
+CREATE TABLE IF NOT EXISTS historique_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT,
+    task_id INT DEFAULT NULL,
+    project_id INT DEFAULT NULL,
+    date_m DATETIME,
+    type_m INT,
+    new_string TEXT,
+    old_string TEXT,
+    changes TEXT,
+    INDEX idx_historique_outbox_project_date (project_id, date_m),
+    INDEX idx_historique_outbox_task_date (task_id, date_m)
+);
+
+CREATE TABLE IF NOT EXISTS project_snapshot (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    project_id INT NOT NULL,
+    taken_at DATETIME NOT NULL,
+    payload LONGBLOB,
+    INDEX idx_snapshot_project_taken_at (project_id, taken_at)
+);
+
+CREATE TABLE IF NOT EXISTS project_counters (
+    project_id INT PRIMARY KEY,
+    total BIGINT NOT NULL,
+    todo BIGINT NOT NULL,
+    in_progress BIGINT NOT NULL,
+    done BIGINT NOT NULL,
+    low BIGINT NOT NULL,
+    medium BIGINT NOT NULL,
+    high BIGINT NOT NULL,
+    saved_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type INT NOT NULL,
+    entity_id INT NOT NULL,
+    project_id INT DEFAULT NULL,
+    operation INT NOT NULL,
+    changed_at DATETIME NOT NULL,
+    INDEX idx_change_log_changed_at (changed_at)
+);
+
+-- Ligne unique verrouillée de l'insertion des entrées du journal jusqu'à la validation (voir ChangeFeedServiceImpl)
+CREATE TABLE IF NOT EXISTS change_log_lock (
+    id BIGINT PRIMARY KEY
+);
+
+CREATE TABLE IF NOT EXISTS description_revision (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    task_id INT DEFAULT NULL,
+    project_id INT DEFAULT NULL,
+    parent_id INT DEFAULT NULL,
+    snapshot_id INT DEFAULT NULL,
+    depth INT NOT NULL,
+    payload LONGBLOB,
+    INDEX idx_revision_task_id (task_id, id),
+    INDEX idx_revision_project_id (project_id, id),
+    INDEX idx_revision_snapshot_id (snapshot_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT,
+    status INT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    locked_until DATETIME(6),
+    lock_owner VARCHAR(64),
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    last_error VARCHAR(1000),
+    INDEX idx_outbox_status_next (status, next_attempt_at)
+);
+
+CREATE TABLE IF NOT EXISTS notification_digest_item (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    recipient_name VARCHAR(255),
+    task_name VARCHAR(255),
+    project_name VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_digest_recipient_created (recipient, created_at)
+);
+
+CREATE TABLE IF NOT EXISTS cache_invalidation (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    node_id VARCHAR(36) NOT NULL,
+    cache_name VARCHAR(64) NOT NULL,
+    cache_key BIGINT DEFAULT NULL,
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_cache_invalidation_created_at (created_at)
+);
@@ -0,0 +1,117 @@
+package com.pmt.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final BoundedCache cache = new BoundedCache("test", 2, Duration.ofSeconds(10), now::get);
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsed() {
+        cache.put(1L, "un");
+        cache.put(2L, "deux");
+        cache.get(1L);
+        cache.put(3L, "trois");
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void testGet_ExpiresAfterTtl() {
+        cache.put(1L, "un");
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertEquals("un", cache.get(1L, String.class));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void testGetWithLoader_LoadsOnceThenHits() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("un", cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return "un";
+        }));
+        assertEquals("un", cache.get(1L, () -> "autre"));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.putCount());
+    }
+
+    @Test
+    void testGetWithLoader_FailureIsNotCached() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        Cache.ValueRetrievalException exception = assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get(1L, () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, exception.getCause());
+        assertEquals("un", cache.get(1L, () -> "un"));
+    }
+
+    @Test
+    void testGetWithLoader_EvictedDuringLoadIsNotCached() {
+        String loaded = cache.get(1L, () -> {
+            // Écriture concurrente : l'élément lu est peut-être déjà périmé
+            cache.evict(1L);
+            return "ancien";
+        });
+
+        assertEquals("ancien", loaded);
+        assertNull(cache.get(1L));
+        assertEquals("nouveau", cache.get(1L, () -> "nouveau"));
+    }
+
+    @Test
+    void testGetWithLoader_ConcurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<String> first = executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return "un";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> cache.get(1L, () -> {
+                loads.incrementAndGet();
+                return "deux";
+            }));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("un", first.get(5, TimeUnit.SECONDS));
+            assertEquals("un", second.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+}
@@ -4,7 +4,10 @@ import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 
+import com.pmt.service.DashboardService;
+import com.pmt.service.ProjectEventService;
 import com.pmt.service.ProjectService;
+import com.pmt.service.ProjectStatsService;
 import com.pmt.service.ProjectUserService;
 import com.pmt.service.TaskAssignService;
 import com.pmt.service.TaskService;
@@ -36,4 +39,19 @@ public class TestBeansConfig {
     ProjectService projectService() {
         return Mockito.mock(ProjectService.class);
     }
+
+    @Bean
+    ProjectEventService projectEventService() {
+        return Mockito.mock(ProjectEventService.class);
+    }
+
+    @Bean
+    DashboardService dashboardService() {
+        return Mockito.mock(DashboardService.class);
+    }
+
+    @Bean
+    ProjectStatsService projectStatsService() {
+        return Mockito.mock(ProjectStatsService.class);
+    }
 }
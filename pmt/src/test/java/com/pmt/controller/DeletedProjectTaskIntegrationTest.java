@@ -0,0 +1,116 @@
+package com.pmt.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pmt.dto.TaskDTO;
+import com.pmt.model.Project;
+import com.pmt.model.Status;
+import com.pmt.service.ProjectPurgeService;
+import com.pmt.service.ProjectService;
+import com.pmt.service.TaskService;
+import com.pmt.store.TaskStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie, sur une base H2, que les tâches d'un projet marqué comme supprimé ne sont plus
+ * accessibles par l'API en attendant la purge, et que la purge les supprime bien.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:deletedproject;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "pmt.history.partitioning.enabled=false",
+        "pmt.project.purge-threshold=0",
+        "pmt.project.purge-delay=PT1H"
+})
+@AutoConfigureMockMvc
+class DeletedProjectTaskIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ProjectPurgeService projectPurgeService;
+    @Autowired
+    private TaskStore taskStore;
+
+    @Test
+    void testTaskOfDeletedProjectIsNotFound() throws Exception {
+        Project project = newProject("Projet supprimé");
+        TaskDTO task = newTask(project.getId());
+
+        mockMvc.perform(get("/task/" + task.getId()))
+                .andExpect(status().isOk());
+
+        projectService.deleteProject(project.getId());
+
+        task.setStatus(Status.DONE);
+        mockMvc.perform(put("/task")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("La tâche avec l'ID " + task.getId() + " n'existe pas."));
+        mockMvc.perform(put("/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(task))))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/task/" + task.getId()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/task").param("projectId", project.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void testPurgeDeletesTasksOfDeletedProject() {
+        Project project = newProject("Projet à purger");
+        newTask(project.getId());
+        newTask(project.getId());
+
+        projectService.deleteProject(project.getId());
+        assertEquals(2, taskStore.findIdsByProjectId(project.getId(), Limit.of(10)).size());
+
+        projectPurgeService.purge(project.getId());
+        assertTrue(taskStore.findIdsByProjectId(project.getId(), Limit.of(10)).isEmpty());
+    }
+
+    private Project newProject(String nom) {
+        Project project = new Project();
+        project.setNom(nom);
+        project.setDescription("Description");
+        project.setDateDebut(LocalDate.now());
+        return projectService.create(project);
+    }
+
+    private TaskDTO newTask(Long projectId) {
+        TaskDTO dto = new TaskDTO();
+        dto.setNom("Tâche");
+        dto.setDescription("Description");
+        dto.setProjectId(projectId);
+        dto.setStatus(Status.TODO);
+        dto.setId(taskService.create(dto).getId());
+        return dto;
+    }
+}
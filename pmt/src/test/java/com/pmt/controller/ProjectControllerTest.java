@@ -2,10 +2,16 @@ package com.pmt.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pmt.config.TestBeansConfig;
+import com.pmt.dto.ProjectBoard;
+import com.pmt.dto.ProjectState;
+import com.pmt.dto.ProjectStats;
 import com.pmt.dto.ProjectUpdate;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.Priorite;
 import com.pmt.model.Project;
+import com.pmt.model.Status;
 import com.pmt.service.ProjectService;
+import com.pmt.service.ProjectStatsService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +21,13 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,6 +43,9 @@ class ProjectControllerTest {
     @Autowired 
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectStatsService projectStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -58,21 +70,95 @@ class ProjectControllerTest {
 
     @Test
     void testGetProject_Success() throws Exception {
-        when(projectService.findById(1L)).thenReturn(project);
+        doReturn(ProjectState.of(project)).when(projectService).findState(1L);
 
         mockMvc.perform(get("/project/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.nom").value("Test Project"));
+                .andExpect(jsonPath("$.nom").value("Test Project"))
+                .andExpect(jsonPath("$.tasks").doesNotExist());
     }
 
     @Test
     void testGetProject_NotFound() throws Exception {
-        when(projectService.findById(1L)).thenThrow(new ValidationException("Not Found"));
+        doThrow(new ValidationException("Not Found")).when(projectService).findState(1L);
 
         mockMvc.perform(get("/project/1"))
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    void testGetProject_AsOf() throws Exception {
+        ProjectState state = new ProjectState();
+        state.setId(1L);
+        state.setNom("Ancien nom");
+        state.setTasks(Collections.emptyList());
+        doReturn(state).when(projectService).findByIdAsOf(1L, LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        mockMvc.perform(get("/project/1").param("asOf", "2025-03-01T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nom").value("Ancien nom"));
+    }
+
+    @Test
+    void testGetProject_AsOfNotFound() throws Exception {
+        doThrow(new ValidationException("Projet non trouvé avec l'ID: 1"))
+                .when(projectService).findByIdAsOf(1L, LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        mockMvc.perform(get("/project/1").param("asOf", "2025-03-01T12:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Projet non trouvé avec l'ID: 1"));
+    }
+
+    @Test
+    void testGetBoard_Success() throws Exception {
+        ProjectBoard board = new ProjectBoard(ProjectState.of(project), Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList());
+        doReturn(board).when(projectService).findBoard(1L);
+
+        mockMvc.perform(get("/project/1/board"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.project.nom").value("Test Project"))
+                .andExpect(jsonPath("$.tasks").isArray());
+    }
+
+    @Test
+    void testGetBoard_ProjectNotFound() throws Exception {
+        doThrow(new ValidationException("Projet non trouvé avec l'ID: 99")).when(projectService).findBoard(99L);
+
+        mockMvc.perform(get("/project/99/board"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Projet non trouvé avec l'ID: 99"));
+    }
+
+    @Test
+    void testGetStats_Success() throws Exception {
+        ProjectStats stats = new ProjectStats(1L, 3, Map.of(Status.TODO, 2L, Status.DONE, 1L), Map.of(Priorite.HIGH, 3L));
+        doReturn(stats).when(projectStatsService).findByProjectId(1L);
+
+        mockMvc.perform(get("/project/1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.statusCounts.TODO").value(2));
+    }
+
+    @Test
+    void testGetStats_ProjectNotFound() throws Exception {
+        doThrow(new ValidationException("Projet non trouvé avec l'ID: 99")).when(projectStatsService).findByProjectId(99L);
+
+        mockMvc.perform(get("/project/99/stats"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Projet non trouvé avec l'ID: 99"));
+    }
+
+    @Test
+    void testSubscribe_ProjectNotFound() throws Exception {
+        doThrow(new ValidationException("Projet non trouvé avec l'ID: 99")).when(projectService).findState(99L);
+
+        mockMvc.perform(get("/project/99/events"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Projet non trouvé avec l'ID: 99"));
+    }
+
     @Test
     void testCreateProject_Success() throws Exception {
         when(projectService.create(any(Project.class))).thenReturn(project);
@@ -16,9 +16,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -95,6 +98,24 @@ class TaskAssignControllerTest {
                 .andExpect(jsonPath("$.error").value("Invalid task ID"));
     }
 
+    @Test
+    void testGetUsersByTaskIds_Success() throws Exception {
+        doReturn(List.of(assignedDTO)).when(taskAssignService).getUsersByTaskIds(List.of(100L, 101L));
+
+        mockMvc.perform(get("/assign").param("taskIds", "100,101"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("Test User"));
+    }
+
+    @Test
+    void testGetUsersByTaskIds_BadRequest() throws Exception {
+        doThrow(new ValidationException("La liste des tâches est vide.")).when(taskAssignService).getUsersByTaskIds(anyList());
+
+        mockMvc.perform(get("/assign").param("taskIds", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("La liste des tâches est vide."));
+    }
+
     @Test
     void testDeleteById_Success() throws Exception {
         doNothing().when(taskAssignService).deleteById(1000L);
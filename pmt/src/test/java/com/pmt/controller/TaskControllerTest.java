@@ -3,10 +3,12 @@ package com.pmt.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pmt.config.TestBeansConfig;
 import com.pmt.dto.TaskDTO;
+import com.pmt.dto.TaskFilter;
 import com.pmt.errors.ValidationException;
 import com.pmt.model.Task;
 import com.pmt.model.Status;
 import com.pmt.service.TaskService;
+import jakarta.persistence.EntityNotFoundException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +23,9 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -63,13 +67,42 @@ class TaskControllerTest {
     @Test
     void testGetAll_Success() throws Exception {
         List<TaskDTO> tasks = Collections.singletonList(taskDTO);
-        when(taskService.findAll()).thenReturn(tasks);
+        when(taskService.findAll(any(TaskFilter.class))).thenReturn(tasks);
 
         mockMvc.perform(get("/task"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].nom").value("Test Task DTO"));
     }
 
+    @Test
+    void testGetAll_WithFilters() throws Exception {
+        List<TaskDTO> tasks = Collections.singletonList(taskDTO);
+        when(taskService.findAll(argThat(f -> f != null
+                && Long.valueOf(5L).equals(f.getAfterId())
+                && Integer.valueOf(20).equals(f.getSize())
+                && Long.valueOf(10L).equals(f.getProjectId())
+                && f.getStatus() == Status.TODO
+                && LocalDate.of(2025, 1, 31).equals(f.getEcheanceTo())))).thenReturn(tasks);
+
+        mockMvc.perform(get("/task")
+                        .param("afterId", "5")
+                        .param("size", "20")
+                        .param("projectId", "10")
+                        .param("status", "TODO")
+                        .param("echeanceTo", "2025-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].projectId").value(10));
+    }
+
+    @Test
+    void testGetAll_ValidationException() throws Exception {
+        when(taskService.findAll(any(TaskFilter.class))).thenThrow(new ValidationException("La taille de page doit être positive."));
+
+        mockMvc.perform(get("/task").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("La taille de page doit être positive."));
+    }
+
     @Test
     void testGetTaskById_Success() throws Exception {
         when(taskService.findById(1L)).thenReturn(taskDTO);
@@ -132,6 +165,72 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.error").value("Invalid task ID"));
     }
 
+    @Test
+    void testPutTask_NotFound() throws Exception {
+        when(taskService.update(any(TaskDTO.class))).thenThrow(new EntityNotFoundException("La tâche avec l'ID 1 n'existe pas."));
+
+        mockMvc.perform(put("/task")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskDTO)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("La tâche avec l'ID 1 n'existe pas."));
+    }
+
+    @Test
+    void testCreateTasks_Success() throws Exception {
+        doReturn(List.of(taskDTO)).when(taskService).createAll(any());
+
+        mockMvc.perform(post("/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskDTO))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].nom").value(taskDTO.getNom()));
+    }
+
+    @Test
+    void testCreateTasks_ValidationException() throws Exception {
+        doThrow(new ValidationException("La liste de tâches est vide.")).when(taskService).createAll(any());
+
+        mockMvc.perform(post("/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("La liste de tâches est vide."));
+    }
+
+    @Test
+    void testPutTasks_Success() throws Exception {
+        doReturn(List.of(taskDTO)).when(taskService).updateAll(any());
+
+        mockMvc.perform(put("/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nom").value(taskDTO.getNom()));
+    }
+
+    @Test
+    void testPutTasks_ValidationException() throws Exception {
+        doThrow(new ValidationException("Tâche n°1 : Le nom de la tâche est obligatoire.")).when(taskService).updateAll(any());
+
+        mockMvc.perform(put("/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskDTO))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Tâche n°1 : Le nom de la tâche est obligatoire."));
+    }
+
+    @Test
+    void testPutTasks_NotFound() throws Exception {
+        doThrow(new EntityNotFoundException("La tâche avec l'ID 1 n'existe pas.")).when(taskService).updateAll(any());
+
+        mockMvc.perform(put("/task/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(taskDTO))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("La tâche avec l'ID 1 n'existe pas."));
+    }
+
     @Test
     void testDeleteTask_Success() throws Exception {
         doNothing().when(taskService).deleteById(1L);
@@ -2,10 +2,16 @@ package com.pmt.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pmt.config.TestBeansConfig;
+import com.pmt.dto.DashboardProject;
 import com.pmt.dto.LoginRequest;
+import com.pmt.dto.UserDashboard;
 import com.pmt.errors.AuthException;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.NotificationMode;
+import com.pmt.model.Role;
+import com.pmt.model.Status;
 import com.pmt.model.User;
+import com.pmt.service.DashboardService;
 import com.pmt.service.UserService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,13 +24,17 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +48,9 @@ class UserControllerTest {
     @Autowired 
     private UserService userService;
 
+    @Autowired
+    private DashboardService dashboardService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -142,4 +155,45 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].nom").value("Test User"));
     }
+
+    @Test
+    void testUpdateNotificationMode_Success() throws Exception {
+        user.setNotificationMode(NotificationMode.DIGEST);
+        doReturn(user).when(userService).updateNotificationMode(1L, NotificationMode.DIGEST);
+
+        mockMvc.perform(put("/user/1/notification-mode").param("mode", "DIGEST"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notificationMode").value("DIGEST"));
+    }
+
+    @Test
+    void testUpdateNotificationMode_UserNotFound() throws Exception {
+        doThrow(new ValidationException("Utilisateur non trouvé avec l'ID: 2"))
+                .when(userService).updateNotificationMode(2L, NotificationMode.IMMEDIATE);
+
+        mockMvc.perform(put("/user/2/notification-mode").param("mode", "IMMEDIATE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Utilisateur non trouvé avec l'ID: 2"));
+    }
+
+    @Test
+    void testGetDashboard_Success() throws Exception {
+        UserDashboard dashboard = new UserDashboard(1L, List.of(new DashboardProject(5L, 1L, 2L, "Projet", Role.ADMIN)),
+                List.of(), Map.of(Status.TODO, 3L));
+        doReturn(dashboard).when(dashboardService).findByUserId(1L);
+
+        mockMvc.perform(get("/user/1/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projects[0].nom").value("Projet"))
+                .andExpect(jsonPath("$.statusCounts.TODO").value(3));
+    }
+
+    @Test
+    void testGetDashboard_UserNotFound() throws Exception {
+        doThrow(new ValidationException("Utilisateur non trouvé avec l'ID: 2")).when(dashboardService).findByUserId(2L);
+
+        mockMvc.perform(get("/user/2/dashboard"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Utilisateur non trouvé avec l'ID: 2"));
+    }
 }
@@ -0,0 +1,47 @@
+package com.pmt.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoriqueTest {
+
+    private final FieldChangesConverter converter = new FieldChangesConverter();
+
+    @Test
+    void testChanges_RoundTrip() {
+        List<FieldChange> changes = List.of(
+                new FieldChange(Type.Statut, "TODO", "DONE"),
+                new FieldChange(Type.DateFin, null, "2025-02-03"));
+
+        String json = converter.convertToDatabaseColumn(changes);
+
+        assertEquals("[{\"field\":\"Statut\",\"oldValue\":\"TODO\",\"newValue\":\"DONE\"},"
+                + "{\"field\":\"DateFin\",\"oldValue\":null,\"newValue\":\"2025-02-03\"}]", json);
+        assertEquals(changes, converter.convertToEntityAttribute(json));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void testChanges_LegacyRowIsNormalized() {
+        Historique legacy = new Historique();
+        legacy.setTypeM(Type.Titre);
+        legacy.setOldString("Ancien titre");
+        legacy.setNewString("Nouveau titre");
+
+        assertEquals(List.of(new FieldChange(Type.Titre, "Ancien titre", "Nouveau titre")), legacy.getChanges());
+    }
+
+    @Test
+    void testChanges_ChangeSetRow() {
+        Historique history = new Historique();
+        history.setTypeM(Type.Modification);
+        history.setChanges(List.of(new FieldChange(Type.Priorite, "LOW", "HIGH")));
+
+        assertEquals(1, history.getChanges().size());
+        assertEquals(Type.Priorite, history.getChanges().get(0).getField());
+    }
+}
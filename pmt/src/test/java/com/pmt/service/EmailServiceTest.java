@@ -0,0 +1,116 @@
+package com.pmt.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    @InjectMocks
+    private EmailService emailService;
+
+    @Mock
+    private JavaMailSender emailSender;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        emailService.batchSize = 2;
+        emailService.maxConnections = 1;
+        emailService.init();
+    }
+
+    private List<SimpleMailMessage> messages(int count) {
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(emailService.newMessage("user" + i + "@example.com", "Sujet", "Corps " + i));
+        }
+        return messages;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("pmt.mail.messages").tag("result", result).counter().count();
+    }
+
+    @Test
+    void testSendBatch_OneConnectionPerChunk() {
+        Map<Integer, Exception> failures = emailService.sendBatch(messages(5));
+
+        assertTrue(failures.isEmpty());
+        ArgumentCaptor<SimpleMailMessage[]> chunks = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(emailSender, times(3)).send(chunks.capture());
+        assertEquals(List.of(2, 2, 1), chunks.getAllValues().stream().map(chunk -> chunk.length).toList());
+        assertEquals(5, count("sent"));
+        assertEquals(0, count("failed"));
+        assertEquals(3, meterRegistry.get("pmt.mail.batch").timer().count());
+    }
+
+    @Test
+    void testSendBatch_PartialFailure() {
+        List<SimpleMailMessage> messages = messages(2);
+        MailSendException error = new MailSendException(Map.of(messages.get(1), new MailSendException("Adresse refusée")));
+        doThrow(error).when(emailSender).send(any(SimpleMailMessage[].class));
+
+        Map<Integer, Exception> failures = emailService.sendBatch(messages);
+
+        assertEquals(1, failures.size());
+        assertEquals("Adresse refusée", failures.get(1).getMessage());
+        assertEquals(1, count("sent"));
+        assertEquals(1, count("failed"));
+    }
+
+    @Test
+    void testSendBatch_ConnectionFailureFailsWholeChunk() {
+        doThrow(new MailAuthenticationException("Authentification refusée"))
+                .doNothing().when(emailSender).send(any(SimpleMailMessage[].class));
+
+        Map<Integer, Exception> failures = emailService.sendBatch(messages(3));
+
+        assertEquals(2, failures.size());
+        assertTrue(failures.containsKey(0));
+        assertTrue(failures.containsKey(1));
+        assertEquals(1, count("sent"));
+        assertEquals(2, count("failed"));
+    }
+
+    @Test
+    void testSendSimpleMessage_Success() {
+        emailService.sendSimpleMessage("test@example.com", "Sujet", "Corps");
+
+        ArgumentCaptor<SimpleMailMessage[]> chunk = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+        verify(emailSender).send(chunk.capture());
+        assertEquals(1, chunk.getValue().length);
+        assertEquals("test@example.com", chunk.getValue()[0].getTo()[0]);
+    }
+
+    @Test
+    void testSendSimpleMessage_FailureIsThrown() {
+        doThrow(new MailSendException("SMTP indisponible")).when(emailSender).send(any(SimpleMailMessage[].class));
+
+        MailSendException exception = assertThrows(MailSendException.class,
+                () -> emailService.sendSimpleMessage("test@example.com", "Sujet", "Corps"));
+
+        assertEquals("SMTP indisponible", exception.getMessage());
+    }
+}
@@ -0,0 +1,126 @@
+package com.pmt.service.impl;
+
+import com.pmt.config.CacheConfig;
+import com.pmt.dto.ProjectUpdate;
+import com.pmt.dto.TaskDTO;
+import com.pmt.errors.ValidationException;
+import com.pmt.model.NotificationMode;
+import com.pmt.model.Project;
+import com.pmt.model.Status;
+import com.pmt.model.User;
+import com.pmt.service.ProjectService;
+import com.pmt.service.TaskService;
+import com.pmt.service.UserService;
+import com.pmt.store.ProjectStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérifie la mise en cache des lectures unitaires et leur éviction après chaque écriture, sur une base H2.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "pmt.history.partitioning.enabled=false"
+})
+class CacheIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ProjectStore projectStore;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testProjectStateIsCachedUntilUpdatedOrDeleted() {
+        Project project = newProject("Projet");
+        double hits = gets(CacheConfig.PROJECTS, "hit");
+
+        assertEquals("Projet", projectService.findState(project.getId()).getNom());
+        assertEquals("Projet", projectService.findState(project.getId()).getNom());
+        assertEquals(hits + 1, gets(CacheConfig.PROJECTS, "hit"));
+
+        Project renamed = new Project();
+        renamed.setId(project.getId());
+        renamed.setNom("Renommé");
+        ProjectUpdate update = new ProjectUpdate();
+        update.setProject(renamed);
+        projectService.update(update);
+        assertEquals("Renommé", projectService.findState(project.getId()).getNom());
+
+        projectService.deleteProject(project.getId());
+        assertThrows(ValidationException.class, () -> projectService.findState(project.getId()));
+    }
+
+    @Test
+    void testTaskIsCachedUntilUpdatedOrDeleted() {
+        Project project = newProject("Projet des tâches");
+        TaskDTO dto = new TaskDTO();
+        dto.setNom("Tâche");
+        dto.setDescription("Description");
+        dto.setProjectId(project.getId());
+        dto.setStatus(Status.TODO);
+        Long taskId = taskService.create(dto).getId();
+        double misses = gets(CacheConfig.TASKS, "miss");
+
+        assertEquals(Status.TODO, statusOf(taskId));
+        assertEquals(misses + 1, gets(CacheConfig.TASKS, "miss"));
+
+        dto.setId(taskId);
+        dto.setStatus(Status.DONE);
+        taskService.update(dto);
+        assertEquals(Status.DONE, statusOf(taskId));
+
+        dto.setStatus(Status.IN_PROGRESS);
+        taskService.updateAll(List.of(dto));
+        assertEquals(Status.IN_PROGRESS, statusOf(taskId));
+
+        taskService.deleteById(taskId);
+        assertThrows(ValidationException.class, () -> taskService.findById(taskId));
+    }
+
+    @Test
+    void testUserIsCachedUntilUpdated() {
+        User user = new User();
+        user.setNom("Alice");
+        user.setEmail("alice.cache@example.com");
+        user.setMdp("secret");
+        Long userId = userService.create(user).getId();
+
+        assertEquals(NotificationMode.IMMEDIATE, userService.findById(userId).getNotificationMode());
+        userService.updateNotificationMode(userId, NotificationMode.DIGEST);
+
+        assertEquals(NotificationMode.DIGEST, userService.findById(userId).getNotificationMode());
+    }
+
+    private Project newProject(String nom) {
+        Project project = new Project();
+        project.setNom(nom);
+        project.setDescription("Description");
+        return projectStore.save(project);
+    }
+
+    private Status statusOf(Long taskId) {
+        return taskService.findById(taskId).getStatus();
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+}
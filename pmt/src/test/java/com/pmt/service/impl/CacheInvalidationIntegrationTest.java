@@ -0,0 +1,141 @@
+package com.pmt.service.impl;
+
+import com.pmt.PmtApplication;
+import com.pmt.dto.ProjectUpdate;
+import com.pmt.dto.TaskDTO;
+import com.pmt.errors.ValidationException;
+import com.pmt.model.NotificationMode;
+import com.pmt.model.Project;
+import com.pmt.model.Status;
+import com.pmt.model.User;
+import com.pmt.service.ProjectService;
+import com.pmt.service.TaskService;
+import com.pmt.service.UserService;
+import com.pmt.store.ProjectStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérifie la cohérence des caches entre deux instances de l'application partageant une même base H2 :
+ * une écriture sur l'une évince l'entrée mise en cache par l'autre.
+ */
+class CacheInvalidationIntegrationTest {
+
+    private static final String[] ARGS = {
+            "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1;MODE=MySQL",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=update",
+            "--spring.sql.init.mode=never",
+            "--pmt.history.partitioning.enabled=false",
+            "--pmt.cache.invalidation.poll-delay=PT0.05S"
+    };
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startNodes() {
+        first = start();
+        second = start();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        second.close();
+        first.close();
+    }
+
+    @Test
+    void testProjectUpdateAndDeleteEvictOtherNode() throws Exception {
+        Project project = new Project();
+        project.setNom("Projet");
+        project.setDescription("Description");
+        Long projectId = first.getBean(ProjectStore.class).save(project).getId();
+        ProjectService onFirst = first.getBean(ProjectService.class);
+        ProjectService onSecond = second.getBean(ProjectService.class);
+        assertEquals("Projet", onSecond.findState(projectId).getNom());
+
+        Project renamed = new Project();
+        renamed.setId(projectId);
+        renamed.setNom("Renommé");
+        ProjectUpdate update = new ProjectUpdate();
+        update.setProject(renamed);
+        onFirst.update(update);
+
+        await(() -> "Renommé".equals(onSecond.findState(projectId).getNom()));
+
+        onFirst.deleteProject(projectId);
+
+        await(() -> {
+            try {
+                onSecond.findState(projectId);
+                return false;
+            } catch (ValidationException e) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void testTaskBatchUpdateEvictsOtherNode() throws Exception {
+        Project project = new Project();
+        project.setNom("Projet des tâches");
+        project.setDescription("Description");
+        Long projectId = first.getBean(ProjectStore.class).save(project).getId();
+        TaskService onFirst = first.getBean(TaskService.class);
+        TaskService onSecond = second.getBean(TaskService.class);
+        TaskDTO dto = new TaskDTO();
+        dto.setNom("Tâche");
+        dto.setDescription("Description");
+        dto.setProjectId(projectId);
+        dto.setStatus(Status.TODO);
+        dto.setId(onFirst.create(dto).getId());
+        assertEquals(Status.TODO, onSecond.findById(dto.getId()).getStatus());
+
+        dto.setStatus(Status.DONE);
+        onFirst.updateAll(List.of(dto));
+
+        await(() -> onSecond.findById(dto.getId()).getStatus() == Status.DONE);
+    }
+
+    @Test
+    void testUserUpdateEvictsOtherNode() throws Exception {
+        User user = new User();
+        user.setNom("Bob");
+        user.setEmail("bob.cluster@example.com");
+        user.setMdp("secret");
+        Long userId = first.getBean(UserService.class).create(user).getId();
+        UserService onSecond = second.getBean(UserService.class);
+        assertEquals(NotificationMode.IMMEDIATE, onSecond.findById(userId).getNotificationMode());
+
+        first.getBean(UserService.class).updateNotificationMode(userId, NotificationMode.DIGEST);
+
+        await(() -> onSecond.findById(userId).getNotificationMode() == NotificationMode.DIGEST);
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(PmtApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(ARGS);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Éviction non propagée à temps");
+            Thread.sleep(20);
+        }
+    }
+}
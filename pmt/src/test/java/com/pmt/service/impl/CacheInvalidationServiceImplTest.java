@@ -0,0 +1,147 @@
+package com.pmt.service.impl;
+
+import com.pmt.config.BoundedCacheManager;
+import com.pmt.model.CacheInvalidation;
+import com.pmt.store.CacheInvalidationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationServiceImplTest {
+
+    @InjectMocks
+    private CacheInvalidationServiceImpl invalidationService;
+
+    @Mock
+    private CacheInvalidationStore cacheInvalidationStore;
+
+    @Mock
+    private BoundedCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        invalidationService.batchSize = 500;
+        invalidationService.gapTimeout = Duration.ofMinutes(1);
+        when(cacheInvalidationStore.findLastId()).thenReturn(Optional.of(10L));
+        invalidationService.init();
+    }
+
+    @Test
+    void testInit_SubscribesToEvictions() {
+        verify(cacheManager).setEvictionListener(invalidationService);
+    }
+
+    @Test
+    void testPoll_AppliesOtherNodesOnly() {
+        when(cacheInvalidationStore.findPage(eq(10L), any(Limit.class))).thenReturn(List.of(
+                row(11L, "autre", "projects", 1L),
+                row(12L, invalidationService.instanceId, "projects", 2L),
+                row(13L, "autre", "tasks", null)));
+
+        assertEquals(2, invalidationService.poll());
+
+        verify(cacheManager).evictLocally("projects", 1L);
+        verify(cacheManager, never()).evictLocally("projects", 2L);
+        verify(cacheManager).evictLocally("tasks", null);
+    }
+
+    @Test
+    void testPoll_RereadsSkippedIdUntilCommitted() {
+        when(cacheInvalidationStore.findPage(eq(10L), any(Limit.class))).thenReturn(List.of(row(12L, "autre", "users", 2L)));
+        when(cacheInvalidationStore.findByIdIn(Set.of(11L))).thenReturn(List.of())
+                .thenReturn(List.of(row(11L, "autre", "users", 1L)));
+        when(cacheInvalidationStore.findPage(eq(12L), any(Limit.class))).thenReturn(List.of());
+
+        assertEquals(1, invalidationService.poll());
+        assertEquals(0, invalidationService.poll());
+        assertEquals(1, invalidationService.poll());
+        assertEquals(0, invalidationService.poll());
+
+        verify(cacheManager).evictLocally("users", 1L);
+        verify(cacheInvalidationStore, times(2)).findByIdIn(anyCollection());
+    }
+
+    @Test
+    void testPoll_SkippedIdForgottenAfterTimeout() {
+        invalidationService.gapTimeout = Duration.ZERO;
+        when(cacheInvalidationStore.findPage(eq(10L), any(Limit.class))).thenReturn(List.of(row(12L, "autre", "users", 2L)));
+        when(cacheInvalidationStore.findPage(eq(12L), any(Limit.class))).thenReturn(List.of());
+
+        invalidationService.poll();
+        invalidationService.poll();
+
+        verify(cacheInvalidationStore, never()).findByIdIn(anyCollection());
+    }
+
+    @Test
+    void testPublish_OutsideTransactionWritesImmediately() {
+        invalidationService.evicted("tasks", 5L);
+        invalidationService.evicted("tasks", "clé");
+
+        verify(cacheInvalidationStore).insertAll(argThat(rows -> rows.size() == 1 && Long.valueOf(5L).equals(rows.get(0).getCacheKey())
+                && rows.get(0).getNodeId().equals(invalidationService.instanceId)));
+        verify(cacheInvalidationStore).insertAll(argThat(rows -> rows.size() == 1 && rows.get(0).getCacheKey() == null));
+    }
+
+    @Test
+    void testPublish_InTransactionWrittenOnceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            invalidationService.publish("tasks", 1L);
+            invalidationService.publish("tasks", 2L);
+            verify(cacheInvalidationStore, never()).insertAll(anyList());
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.beforeCommit(false));
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(cacheInvalidationStore).insertAll(argThat(rows -> rows.size() == 2));
+        assertNull(TransactionSynchronizationManager.getResource(invalidationService));
+    }
+
+    @Test
+    void testPublish_WriteFailureDoesNotPropagate() {
+        doThrow(new DataAccessResourceFailureException("boom")).when(cacheInvalidationStore).insertAll(anyList());
+
+        invalidationService.publish("users", 1L);
+
+        verify(cacheInvalidationStore).insertAll(anyList());
+    }
+
+    private static CacheInvalidation row(Long id, String nodeId, String cacheName, Long key) {
+        CacheInvalidation row = CacheInvalidation.of(nodeId, cacheName, key);
+        row.setId(id);
+        return row;
+    }
+}
@@ -0,0 +1,231 @@
+package com.pmt.service.impl;
+
+import com.pmt.dto.Assigned;
+import com.pmt.dto.ChangeDTO;
+import com.pmt.dto.ChangeFeed;
+import com.pmt.dto.ProjectState;
+import com.pmt.dto.TaskDTO;
+import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
+import com.pmt.model.Project;
+import com.pmt.service.DashboardService;
+import com.pmt.service.ProjectEventService;
+import com.pmt.store.ChangeLogStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.ProjectUserStore;
+import com.pmt.store.TaskAssignStore;
+import com.pmt.store.TaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceImplTest {
+
+    @InjectMocks
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @Mock
+    private ChangeLogStore changeLogStore;
+
+    @Mock
+    private ProjectStore projectStore;
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private ProjectUserStore projectUserStore;
+
+    @Mock
+    private TaskAssignStore taskAssignStore;
+
+    @Mock
+    private ProjectEventService projectEventService;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    private LocalDateTime old;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService.retention = Period.ofDays(30);
+        old = LocalDateTime.now().minusMinutes(1);
+    }
+
+    @Test
+    void testFindSince_NoCursorAsksForReset() {
+        when(changeLogStore.findLastId()).thenReturn(Optional.of(42L));
+
+        ChangeFeed feed = changeFeedService.findSince(null, null);
+
+        assertTrue(feed.isReset());
+        assertEquals(42L, feed.getCursor());
+        assertTrue(feed.getChanges().isEmpty());
+    }
+
+    @Test
+    void testFindSince_ExpiredCursorAsksForReset() {
+        when(changeLogStore.findFirstId()).thenReturn(Optional.of(100L));
+        when(changeLogStore.findLastId()).thenReturn(Optional.of(150L));
+
+        ChangeFeed feed = changeFeedService.findSince(10L, null);
+
+        assertTrue(feed.isReset());
+        assertEquals(150L, feed.getCursor());
+    }
+
+    @Test
+    void testFindSince_CollapsesAndResolvesCurrentVersions() {
+        when(changeLogStore.findFirstId()).thenReturn(Optional.of(1L));
+        when(changeLogStore.findPage(0L, Limit.of(ChangeFeedServiceImpl.DEFAULT_PAGE_SIZE + 1))).thenReturn(List.of(
+                change(1L, ChangeEntity.TASK, 5L, ChangeOperation.UPSERT),
+                change(2L, ChangeEntity.PROJECT, 1L, ChangeOperation.UPSERT),
+                change(3L, ChangeEntity.TASK, 6L, ChangeOperation.UPSERT),
+                change(4L, ChangeEntity.TASK, 5L, ChangeOperation.UPSERT),
+                change(5L, ChangeEntity.TASK_ASSIGN, 7L, ChangeOperation.DELETE)));
+        TaskDTO task = new TaskDTO();
+        task.setId(5L);
+        task.setNom("Tâche");
+        when(taskStore.findDtosByIdIn(Set.of(5L, 6L))).thenReturn(List.of(task));
+        Project project = new Project();
+        project.setId(1L);
+        project.setNom("Projet");
+        when(projectStore.findAllById(Set.of(1L))).thenReturn(List.of(project));
+
+        ChangeFeed feed = changeFeedService.findSince(0L, null);
+
+        assertFalse(feed.isReset());
+        assertFalse(feed.isHasMore());
+        assertEquals(5L, feed.getCursor());
+        List<ChangeDTO> changes = feed.getChanges();
+        assertEquals(List.of(2L, 3L, 4L, 5L), changes.stream().map(ChangeDTO::getId).toList());
+        assertEquals("Projet", ((ProjectState) changes.get(0).getData()).getNom());
+        assertNull(((ProjectState) changes.get(0).getData()).getTasks());
+        // Tâche supprimée depuis : renvoyée comme supprimée
+        assertEquals(ChangeOperation.DELETE, changes.get(1).getOperation());
+        assertNull(changes.get(1).getData());
+        assertEquals(task, changes.get(2).getData());
+        assertEquals(ChangeOperation.DELETE, changes.get(3).getOperation());
+        verifyNoInteractions(taskAssignStore, projectUserStore);
+    }
+
+    @Test
+    void testFindSince_ServesEntriesAsSoonAsVisible() {
+        when(changeLogStore.findFirstId()).thenReturn(Optional.of(1L));
+        ChangeLog recent = change(12L, ChangeEntity.TASK_ASSIGN, 3L, ChangeOperation.DELETE);
+        recent.setChangedAt(LocalDateTime.now());
+        when(changeLogStore.findPage(10L, Limit.of(3))).thenReturn(List.of(
+                change(11L, ChangeEntity.TASK_ASSIGN, 2L, ChangeOperation.UPSERT), recent));
+        when(taskAssignStore.findAssignedByIdIn(Set.of(2L))).thenReturn(List.of(new Assigned(2L, 10L, 5L, "user")));
+
+        ChangeFeed feed = changeFeedService.findSince(10L, 2);
+
+        assertEquals(12L, feed.getCursor());
+        assertEquals(2, feed.getChanges().size());
+        assertFalse(feed.isHasMore());
+    }
+
+    @Test
+    void testFindSince_HasMore() {
+        when(changeLogStore.findFirstId()).thenReturn(Optional.of(1L));
+        when(changeLogStore.findPage(0L, Limit.of(2))).thenReturn(List.of(
+                change(1L, ChangeEntity.PROJECT, 1L, ChangeOperation.DELETE),
+                change(2L, ChangeEntity.PROJECT, 2L, ChangeOperation.DELETE)));
+
+        ChangeFeed feed = changeFeedService.findSince(0L, 1);
+
+        assertTrue(feed.isHasMore());
+        assertEquals(1L, feed.getCursor());
+        assertEquals(1, feed.getChanges().size());
+    }
+
+    @Test
+    void testFindSince_NothingNewKeepsCursor() {
+        when(changeLogStore.findFirstId()).thenReturn(Optional.of(1L));
+        when(changeLogStore.findPage(8L, Limit.of(ChangeFeedServiceImpl.DEFAULT_PAGE_SIZE + 1))).thenReturn(List.of());
+
+        ChangeFeed feed = changeFeedService.findSince(8L, null);
+
+        assertEquals(8L, feed.getCursor());
+        assertTrue(feed.getChanges().isEmpty());
+    }
+
+    @Test
+    void testFindSince_InvalidParameters() {
+        Exception size = assertThrows(ValidationException.class, () -> changeFeedService.findSince(0L, 0));
+        assertEquals("La taille de page doit être positive.", size.getMessage());
+        Exception cursor = assertThrows(ValidationException.class, () -> changeFeedService.findSince(-1L, null));
+        assertEquals("Le curseur ne peut pas être négatif.", cursor.getMessage());
+        verifyNoInteractions(changeLogStore);
+    }
+
+    @Test
+    void testRecord_PublishesToProjectSubscribersAndDashboards() {
+        changeFeedService.record(ChangeEntity.TASK, 5L, 1L, ChangeOperation.DELETE);
+
+        verify(changeLogStore).insertInCommitOrder(argThat(changes -> changes.size() == 1
+                && changes.get(0).getEntityId().equals(5L) && changes.get(0).getOperation() == ChangeOperation.DELETE));
+        verify(projectEventService).publish(argThat(events -> events.size() == 1
+                && events.get(0).getProjectId().equals(1L) && events.get(0).getEntity() == ChangeEntity.TASK));
+        verify(dashboardService).apply(argThat(changes -> changes.size() == 1 && changes.get(0).getEntityId().equals(5L)));
+    }
+
+    @Test
+    void testRecordAll_InsertedJustBeforeCommit() {
+        List<ChangeLog> changes = List.of(change(null, ChangeEntity.TASK, 5L, ChangeOperation.UPSERT));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            changeFeedService.recordAll(changes);
+            verify(changeLogStore, never()).insertInCommitOrder(anyList());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+            verify(changeLogStore).insertInCommitOrder(changes);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testPurgeExpired() {
+        when(changeLogStore.deleteOlderThan(any())).thenReturn(3);
+
+        assertEquals(3, changeFeedService.purgeExpired());
+        verify(changeLogStore).deleteOlderThan(any());
+    }
+
+    private ChangeLog change(Long id, ChangeEntity entity, Long entityId, ChangeOperation operation) {
+        ChangeLog change = ChangeLog.of(entity, entityId, 1L, operation);
+        change.setId(id);
+        change.setChangedAt(old);
+        return change;
+    }
+}
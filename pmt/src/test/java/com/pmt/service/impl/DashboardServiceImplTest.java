@@ -0,0 +1,264 @@
+package com.pmt.service.impl;
+
+import com.pmt.dto.Assigned;
+import com.pmt.dto.DashboardProject;
+import com.pmt.dto.TaskDTO;
+import com.pmt.dto.UserDashboard;
+import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeLog;
+import com.pmt.model.ChangeOperation;
+import com.pmt.model.Project;
+import com.pmt.model.Role;
+import com.pmt.model.Status;
+import com.pmt.store.ChangeLogStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.ProjectUserStore;
+import com.pmt.store.TaskAssignStore;
+import com.pmt.store.TaskStore;
+import com.pmt.store.UserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    @Mock
+    private UserStore userStore;
+
+    @Mock
+    private ProjectStore projectStore;
+
+    @Mock
+    private ProjectUserStore projectUserStore;
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private TaskAssignStore taskAssignStore;
+
+    @Mock
+    private ChangeLogStore changeLogStore;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService.cacheSize = 2;
+        dashboardService.batchSize = 2;
+        dashboardService.init();
+    }
+
+    @Test
+    void testFindByUserId_LoadsOnceThenServesFromCache() {
+        stubUser(10L);
+
+        UserDashboard first = dashboardService.findByUserId(10L);
+        UserDashboard second = dashboardService.findByUserId(10L);
+
+        assertEquals(List.of(1L), second.getProjects().stream().map(DashboardProject::getProjectId).toList());
+        assertEquals(List.of(100L, 101L), second.getTasks().stream().map(TaskDTO::getId).toList());
+        assertEquals(Map.of(Status.TODO, 1L, Status.DONE, 1L), second.getStatusCounts());
+        assertEquals(first.getStatusCounts(), second.getStatusCounts());
+        verify(taskAssignStore, times(1)).findAssignedByUserId(10L);
+        verify(userStore, times(1)).existsById(10L);
+    }
+
+    @Test
+    void testFindByUserId_UnknownUser() {
+        when(userStore.existsById(99L)).thenReturn(false);
+
+        Exception exception = assertThrows(ValidationException.class, () -> dashboardService.findByUserId(99L));
+
+        assertEquals("Utilisateur non trouvé avec l'ID: 99", exception.getMessage());
+        verifyNoInteractions(taskAssignStore);
+    }
+
+    @Test
+    void testRefresh_EmptyCacheSkipsQueries() {
+        dashboardService.refresh(List.of(change(ChangeEntity.TASK, 100L, ChangeOperation.UPSERT)));
+
+        verifyNoInteractions(taskStore, taskAssignStore);
+    }
+
+    @Test
+    void testRefresh_TaskStatusChangeUpdatesCounts() {
+        stubUser(10L);
+        dashboardService.findByUserId(10L);
+        when(taskStore.findDtosByIdIn(List.of(100L))).thenReturn(List.of(task(100L, Status.IN_PROGRESS)));
+
+        dashboardService.refresh(List.of(
+                change(ChangeEntity.TASK, 100L, ChangeOperation.UPSERT),
+                change(ChangeEntity.TASK, 500L, ChangeOperation.UPSERT)));
+
+        UserDashboard dashboard = dashboardService.findByUserId(10L);
+        assertEquals(Map.of(Status.IN_PROGRESS, 1L, Status.DONE, 1L), dashboard.getStatusCounts());
+        assertEquals(Status.IN_PROGRESS, dashboard.getTasks().get(0).getStatus());
+        verify(taskAssignStore, times(1)).findAssignedByUserId(10L);
+    }
+
+    @Test
+    void testRefresh_TaskDeletedRemovesItAndItsAssignment() {
+        stubUser(10L);
+        dashboardService.findByUserId(10L);
+
+        dashboardService.refresh(List.of(change(ChangeEntity.TASK, 101L, ChangeOperation.DELETE),
+                change(ChangeEntity.TASK_ASSIGN, 1001L, ChangeOperation.DELETE)));
+
+        UserDashboard dashboard = dashboardService.findByUserId(10L);
+        assertEquals(List.of(100L), dashboard.getTasks().stream().map(TaskDTO::getId).toList());
+        assertEquals(Map.of(Status.TODO, 1L), dashboard.getStatusCounts());
+        verify(taskStore, times(1)).findDtosByIdIn(anyCollection());
+    }
+
+    @Test
+    void testRefresh_AssignmentsAddAndRemoveTasks() {
+        stubUser(10L);
+        dashboardService.findByUserId(10L);
+        when(taskAssignStore.findAssignedByIdIn(List.of(1002L, 1003L))).thenReturn(List.of(
+                new Assigned(1002L, 10L, 102L, "Alice"), new Assigned(1003L, 11L, 103L, "Bob")));
+        when(taskStore.findDtosByIdIn(Set.of(102L))).thenReturn(List.of(task(102L, Status.TODO)));
+
+        dashboardService.refresh(List.of(
+                change(ChangeEntity.TASK_ASSIGN, 1002L, ChangeOperation.UPSERT),
+                change(ChangeEntity.TASK_ASSIGN, 1003L, ChangeOperation.UPSERT),
+                change(ChangeEntity.TASK_ASSIGN, 1000L, ChangeOperation.DELETE)));
+
+        UserDashboard dashboard = dashboardService.findByUserId(10L);
+        assertEquals(List.of(101L, 102L), dashboard.getTasks().stream().map(TaskDTO::getId).toList());
+        assertEquals(Map.of(Status.TODO, 1L, Status.DONE, 1L), dashboard.getStatusCounts());
+    }
+
+    @Test
+    void testRefresh_MembershipAndProjectChanges() {
+        stubUser(10L);
+        dashboardService.findByUserId(10L);
+        when(projectUserStore.findDashboardProjectsByIdIn(List.of(51L))).thenReturn(List.of(
+                new DashboardProject(51L, 10L, 2L, "Second", Role.MEMBER)));
+        Project renamed = new Project();
+        renamed.setId(2L);
+        renamed.setNom("Renommé");
+        when(projectStore.findAllById(Set.of(2L))).thenReturn(List.of(renamed));
+
+        dashboardService.refresh(List.of(
+                change(ChangeEntity.PROJECT_USER, 50L, ChangeOperation.DELETE),
+                change(ChangeEntity.PROJECT_USER, 51L, ChangeOperation.UPSERT)));
+        dashboardService.refresh(List.of(change(ChangeEntity.PROJECT, 2L, ChangeOperation.UPSERT)));
+
+        List<DashboardProject> projects = dashboardService.findByUserId(10L).getProjects();
+        assertEquals(1, projects.size());
+        assertEquals(2L, projects.get(0).getProjectId());
+        assertEquals("Renommé", projects.get(0).getNom());
+    }
+
+    @Test
+    void testRefresh_ProjectDeletedEvictsDashboard() {
+        stubUser(10L);
+        dashboardService.findByUserId(10L);
+
+        dashboardService.refresh(List.of(change(ChangeEntity.PROJECT, 1L, ChangeOperation.DELETE)));
+        dashboardService.findByUserId(10L);
+
+        verify(taskAssignStore, times(2)).findAssignedByUserId(10L);
+        verify(projectStore, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    void testFindByUserId_EvictsLeastRecentlyUsed() {
+        stubUser(10L);
+        when(userStore.existsById(11L)).thenReturn(true);
+        when(userStore.existsById(12L)).thenReturn(true);
+        when(projectUserStore.findDashboardProjectsByUserId(11L)).thenReturn(List.of());
+        when(projectUserStore.findDashboardProjectsByUserId(12L)).thenReturn(List.of());
+        when(taskAssignStore.findAssignedByUserId(11L)).thenReturn(List.of());
+        when(taskAssignStore.findAssignedByUserId(12L)).thenReturn(List.of());
+
+        dashboardService.findByUserId(10L);
+        dashboardService.findByUserId(11L);
+        dashboardService.findByUserId(10L);
+        dashboardService.findByUserId(12L);
+        dashboardService.findByUserId(10L);
+        dashboardService.findByUserId(11L);
+
+        verify(taskAssignStore, times(1)).findAssignedByUserId(10L);
+        verify(taskAssignStore, times(2)).findAssignedByUserId(11L);
+        assertTrue(dashboardService.findByUserId(12L).getTasks().isEmpty());
+    }
+
+    @Test
+    void testPoll_ReportsChangesOfOtherInstancesFromJournal() {
+        stubUser(10L);
+        dashboardService.findByUserId(10L);
+        when(changeLogStore.findPage(eq(0L), any(Limit.class))).thenReturn(List.of(
+                change(1L, ChangeEntity.TASK, 100L, ChangeOperation.UPSERT),
+                change(2L, ChangeEntity.TASK, 500L, ChangeOperation.UPSERT)));
+        when(changeLogStore.findPage(eq(2L), any(Limit.class))).thenReturn(List.of(
+                change(3L, ChangeEntity.TASK, 101L, ChangeOperation.DELETE)));
+        when(taskStore.findDtosByIdIn(List.of(100L))).thenReturn(List.of(task(100L, Status.IN_PROGRESS)));
+
+        assertEquals(3, dashboardService.poll());
+
+        UserDashboard dashboard = dashboardService.findByUserId(10L);
+        assertEquals(Map.of(Status.IN_PROGRESS, 1L), dashboard.getStatusCounts());
+        assertEquals(List.of(100L), dashboard.getTasks().stream().map(TaskDTO::getId).toList());
+        verify(changeLogStore, never()).findPage(eq(3L), any(Limit.class));
+    }
+
+    @Test
+    void testPoll_StartsAfterExistingEntries() {
+        when(changeLogStore.findLastId()).thenReturn(Optional.of(41L));
+        dashboardService.init();
+
+        assertEquals(0, dashboardService.poll());
+
+        verify(changeLogStore).findPage(eq(41L), any(Limit.class));
+    }
+
+    private void stubUser(Long userId) {
+        when(userStore.existsById(userId)).thenReturn(true);
+        when(projectUserStore.findDashboardProjectsByUserId(userId)).thenReturn(List.of(
+                new DashboardProject(50L, userId, 1L, "Projet", Role.ADMIN)));
+        when(taskAssignStore.findAssignedByUserId(userId)).thenReturn(List.of(
+                new Assigned(1000L, userId, 100L, "Alice"), new Assigned(1001L, userId, 101L, "Alice")));
+        when(taskStore.findDtosByIdIn(Set.of(100L, 101L))).thenReturn(List.of(
+                task(100L, Status.TODO), task(101L, Status.DONE)));
+    }
+
+    private static TaskDTO task(Long id, Status status) {
+        return new TaskDTO(id, "Tâche " + id, null, null, null, 1L, null, status);
+    }
+
+    private static ChangeLog change(ChangeEntity entity, Long entityId, ChangeOperation operation) {
+        return ChangeLog.of(entity, entityId, 1L, operation);
+    }
+
+    private static ChangeLog change(Long id, ChangeEntity entity, Long entityId, ChangeOperation operation) {
+        ChangeLog change = change(entity, entityId, operation);
+        change.setId(id);
+        return change;
+    }
+}
@@ -0,0 +1,202 @@
+package com.pmt.service.impl;
+
+import com.pmt.dto.HistoriqueDTO;
+import com.pmt.model.DescriptionRevision;
+import com.pmt.model.FieldChange;
+import com.pmt.model.Historique;
+import com.pmt.model.Type;
+import com.pmt.store.DescriptionRevisionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DescriptionHistoryTest {
+
+    @InjectMocks
+    private DescriptionHistory descriptionHistory;
+
+    @Mock
+    private DescriptionRevisionStore revisionStore;
+
+    /**
+     * Contenu de la table des versions, simulé en mémoire.
+     */
+    private final Map<Long, DescriptionRevision> table = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() {
+        descriptionHistory.snapshotInterval = 5;
+        descriptionHistory.cacheSize = 100;
+        descriptionHistory.init();
+
+        when(revisionStore.save(any(DescriptionRevision.class))).thenAnswer(inv -> {
+            DescriptionRevision revision = inv.getArgument(0);
+            revision.setId((long) table.size() + 1);
+            table.put(revision.getId(), revision);
+            return revision;
+        });
+        when(revisionStore.findFirstByTaskIdOrderByIdDesc(anyLong())).thenAnswer(inv -> table.values().stream()
+                .filter(r -> inv.getArgument(0).equals(r.getTaskId()))
+                .max(Comparator.comparing(DescriptionRevision::getId)));
+        when(revisionStore.findAllById(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().map(table::get).filter(r -> r != null).toList();
+        });
+        when(revisionStore.findChains(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> roots = inv.getArgument(0);
+            return table.values().stream()
+                    .filter(r -> roots.contains(r.getId()) || roots.contains(r.getSnapshotId()))
+                    .toList();
+        });
+    }
+
+    /**
+     * Simule un redémarrage : le cache des textes reconstruits est vide.
+     */
+    private void clearCache() {
+        descriptionHistory.init();
+    }
+
+    @Test
+    void testFirstEditStoresOldTextAsSnapshotAndNewTextAsDelta() {
+        FieldChange change = descriptionHistory.recordTask(1L, "Version initiale", "Version initiale modifiée");
+
+        assertEquals(Type.Description, change.getField());
+        assertNull(change.getOldValue());
+        assertNull(change.getNewValue());
+        DescriptionRevision snapshot = table.get(change.getOldRevision());
+        DescriptionRevision delta = table.get(change.getNewRevision());
+        assertTrue(snapshot.isSnapshot());
+        assertEquals(snapshot.getId(), delta.getParentId());
+        assertEquals(snapshot.getId(), delta.getSnapshotId());
+        assertEquals(1, delta.getDepth());
+
+        clearCache();
+        Map<Long, String> texts = descriptionHistory.texts(List.of(change.getOldRevision(), change.getNewRevision()));
+        assertEquals("Version initiale", texts.get(change.getOldRevision()));
+        assertEquals("Version initiale modifiée", texts.get(change.getNewRevision()));
+    }
+
+    @Test
+    void testConsecutiveEditsChainDeltasAndTakePeriodicSnapshots() {
+        String text = "Description. ".repeat(40);
+        List<FieldChange> changes = new ArrayList<>();
+        List<String> versions = new ArrayList<>(List.of(text));
+        for (int i = 0; i < 12; i++) {
+            String next = text + " révision " + i;
+            changes.add(descriptionHistory.recordTask(1L, text, next));
+            text = next;
+            versions.add(text);
+        }
+
+        // Une seule version de départ, puis chaque modification repart de la précédente
+        assertEquals(13, table.size());
+        for (int i = 1; i < changes.size(); i++) {
+            assertEquals(changes.get(i - 1).getNewRevision(), changes.get(i).getOldRevision());
+        }
+        long snapshots = table.values().stream().filter(DescriptionRevision::isSnapshot).count();
+        assertEquals(3, snapshots);
+        assertTrue(table.values().stream().allMatch(r -> r.getDepth() < 5));
+
+        clearCache();
+        Map<Long, String> texts = descriptionHistory.texts(changes.stream().map(FieldChange::getNewRevision).toList());
+        for (int i = 0; i < changes.size(); i++) {
+            assertEquals(versions.get(i + 1), texts.get(changes.get(i).getNewRevision()));
+        }
+        verify(revisionStore, times(1)).findChains(anyCollection());
+    }
+
+    @Test
+    void testOutOfBandChangeStartsNewSnapshot() {
+        FieldChange first = descriptionHistory.recordTask(1L, "A", "B");
+
+        // La description a été modifiée sans passer par l'historique : "C" n'est pas la dernière version
+        FieldChange second = descriptionHistory.recordTask(1L, "C", "D");
+
+        assertNotEquals(first.getNewRevision(), second.getOldRevision());
+        assertTrue(table.get(second.getOldRevision()).isSnapshot());
+        clearCache();
+        Map<Long, String> texts = descriptionHistory.texts(List.of(second.getOldRevision(), second.getNewRevision()));
+        assertEquals("C", texts.get(second.getOldRevision()));
+        assertEquals("D", texts.get(second.getNewRevision()));
+    }
+
+    @Test
+    void testNullDescriptions() {
+        FieldChange set = descriptionHistory.recordTask(1L, null, "Nouvelle");
+        FieldChange cleared = descriptionHistory.recordTask(1L, "Nouvelle", null);
+
+        assertEquals(set.getNewRevision(), cleared.getOldRevision());
+        clearCache();
+        Map<Long, String> texts = descriptionHistory.texts(List.of(set.getOldRevision(), set.getNewRevision(), cleared.getNewRevision()));
+        assertNull(texts.get(set.getOldRevision()));
+        assertEquals("Nouvelle", texts.get(set.getNewRevision()));
+        assertTrue(texts.containsKey(cleared.getNewRevision()));
+        assertNull(texts.get(cleared.getNewRevision()));
+    }
+
+    @Test
+    void testCachedTextsAreNotReloaded() {
+        FieldChange change = descriptionHistory.recordTask(1L, "A", "B");
+
+        descriptionHistory.texts(List.of(change.getOldRevision(), change.getNewRevision()));
+
+        verify(revisionStore, never()).findAllById(anyCollection());
+        verify(revisionStore, never()).findChains(anyCollection());
+    }
+
+    @Test
+    void testResolveReplacesRevisionsWithTexts() {
+        FieldChange description = descriptionHistory.recordTask(1L, "Avant", "Après");
+        FieldChange titre = FieldChange.of(Type.Titre, "T1", "T2");
+        Historique historique = new Historique();
+        historique.setTypeM(Type.Modification);
+        historique.setChanges(List.of(titre, description));
+        HistoriqueDTO dto = new HistoriqueDTO(historique, null);
+        clearCache();
+
+        descriptionHistory.resolve(List.of(dto));
+
+        assertEquals(List.of(titre, new FieldChange(Type.Description, "Avant", "Après")), dto.getChanges());
+        assertEquals(List.of(titre, description), historique.getChanges());
+    }
+
+    @Test
+    void testResolveWithoutRevisionsDoesNotQuery() {
+        Historique historique = new Historique();
+        historique.setTypeM(Type.Titre);
+        historique.setOldString("A");
+        historique.setNewString("B");
+
+        descriptionHistory.resolve(List.of(new HistoriqueDTO(historique, null)));
+
+        verifyNoInteractions(revisionStore);
+    }
+
+    @Test
+    void testUnknownRevisionIsAbsent() {
+        assertFalse(descriptionHistory.texts(List.of(42L)).containsKey(42L));
+        assertEquals(Optional.empty(), Optional.ofNullable(descriptionHistory.texts(List.of(42L)).get(42L)));
+    }
+}
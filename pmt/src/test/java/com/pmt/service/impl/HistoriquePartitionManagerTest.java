@@ -0,0 +1,186 @@
+package com.pmt.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HistoriquePartitionManagerTest {
+
+    @InjectMocks
+    private HistoriquePartitionManager partitionManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        partitionManager.enabled = true;
+        partitionManager.monthsAhead = 3;
+        partitionManager.retention = Period.ZERO;
+        partitionManager.retentionMode = HistoriquePartitionManager.RetentionMode.ARCHIVE;
+    }
+
+    @Test
+    void testPartitionDefinitions() {
+        assertEquals("PARTITION p202511 VALUES LESS THAN (TO_DAYS('2025-12-01')), "
+                + "PARTITION p202512 VALUES LESS THAN (TO_DAYS('2026-01-01')), "
+                + "PARTITION pmax VALUES LESS THAN MAXVALUE",
+                HistoriquePartitionManager.partitionDefinitions(YearMonth.of(2025, 11), YearMonth.of(2025, 12)));
+    }
+
+    @Test
+    void testExtendStatement_SplitsMaxPartition() {
+        Optional<String> statement = HistoriquePartitionManager.extendStatement(YearMonth.of(2025, 6),
+                YearMonth.of(2025, 9), List.of("p202506", "p202507", "pmax"));
+
+        assertEquals("ALTER TABLE historique REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION p202508 VALUES LESS THAN (TO_DAYS('2025-09-01')), "
+                + "PARTITION p202509 VALUES LESS THAN (TO_DAYS('2025-10-01')), "
+                + "PARTITION pmax VALUES LESS THAN MAXVALUE)", statement.orElseThrow());
+    }
+
+    @Test
+    void testExtendStatement_OnlyMaxPartitionStartsAtCurrentMonth() {
+        Optional<String> statement = HistoriquePartitionManager.extendStatement(YearMonth.of(2025, 6),
+                YearMonth.of(2025, 6), List.of("pmax"));
+
+        assertEquals("ALTER TABLE historique REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION p202506 VALUES LESS THAN (TO_DAYS('2025-07-01')), "
+                + "PARTITION pmax VALUES LESS THAN MAXVALUE)", statement.orElseThrow());
+    }
+
+    @Test
+    void testExtendStatement_UpToDate() {
+        assertTrue(HistoriquePartitionManager.extendStatement(YearMonth.of(2025, 6),
+                YearMonth.of(2025, 9), List.of("p202509", "pmax")).isEmpty());
+    }
+
+    @Test
+    void testExpiredPartitions_RetentionDisabled() {
+        assertTrue(partitionManager.expiredPartitions(YearMonth.of(2025, 6), List.of("p202401", "pmax")).isEmpty());
+    }
+
+    @Test
+    void testExpiredPartitions_OnlyWholeMonthsPastRetention() {
+        partitionManager.retention = Period.ofMonths(2);
+
+        assertEquals(List.of("p202502", "p202503"), partitionManager.expiredPartitions(YearMonth.of(2025, 6),
+                List.of("p202502", "p202503", "p202504", "p202505", "p202506", "pmax")));
+    }
+
+    @Test
+    void testMaintain_IgnoredOutsideMySql() {
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("H2");
+
+        partitionManager.maintain();
+        partitionManager.maintain();
+
+        verify(jdbcTemplate).execute(ArgumentMatchers.<ConnectionCallback<String>>any());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testMaintain_Disabled() {
+        partitionManager.enabled = false;
+
+        partitionManager.maintain();
+
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testMaintain_PopulatedUnpartitionedTableNotConvertedByDefault() {
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("MySQL");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("historique"))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM historique)", Boolean.class)).thenReturn(true);
+
+        partitionManager.maintain();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testMaintain_EmptyUnpartitionedTableIsConverted() {
+        YearMonth current = YearMonth.now();
+        List<String> converted = List.of(partition(current), partition(current.plusMonths(1)),
+                partition(current.plusMonths(2)), partition(current.plusMonths(3)), "pmax");
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("MySQL");
+        // Partitions, puis clés étrangères, puis partitions après la conversion
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("historique")))
+                .thenReturn(List.of())
+                .thenReturn(List.of())
+                .thenReturn(converted);
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM historique)", Boolean.class)).thenReturn(false);
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), eq("historique"))).thenReturn("datetime(6)");
+
+        partitionManager.maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE historique MODIFY date_m datetime(6) NOT NULL,"
+                + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, date_m)");
+        verify(jdbcTemplate).execute("ALTER TABLE historique PARTITION BY RANGE (TO_DAYS(date_m)) ("
+                + HistoriquePartitionManager.partitionDefinitions(current, current.plusMonths(3)) + ")");
+    }
+
+    @Test
+    void testMaintain_ArchiveTableAlreadyUnpartitioned() {
+        YearMonth current = YearMonth.now();
+        String expired = partition(current.minusMonths(6));
+        partitionManager.retention = Period.ofMonths(2);
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("MySQL");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("historique"))).thenReturn(List.of(expired,
+                partition(current), partition(current.plusMonths(1)), partition(current.plusMonths(2)),
+                partition(current.plusMonths(3)), "pmax"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("historique_archive_" + expired)))
+                .thenReturn(List.of());
+
+        partitionManager.maintain();
+
+        verify(jdbcTemplate, never()).execute("ALTER TABLE historique_archive_" + expired + " REMOVE PARTITIONING");
+        verify(jdbcTemplate).execute("ALTER TABLE historique EXCHANGE PARTITION " + expired
+                + " WITH TABLE historique_archive_" + expired);
+        verify(jdbcTemplate).execute("ALTER TABLE historique DROP PARTITION " + expired);
+    }
+
+    @Test
+    void testMaintain_ArchiveTablePartitioningRemoved() {
+        YearMonth current = YearMonth.now();
+        String expired = partition(current.minusMonths(6));
+        partitionManager.retention = Period.ofMonths(2);
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("MySQL");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("historique"))).thenReturn(List.of(expired,
+                partition(current), partition(current.plusMonths(1)), partition(current.plusMonths(2)),
+                partition(current.plusMonths(3)), "pmax"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("historique_archive_" + expired)))
+                .thenReturn(List.of("pmax"));
+
+        partitionManager.maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE historique_archive_" + expired + " REMOVE PARTITIONING");
+        verify(jdbcTemplate).execute("ALTER TABLE historique DROP PARTITION " + expired);
+    }
+
+    private static String partition(YearMonth month) {
+        return String.format("p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+}
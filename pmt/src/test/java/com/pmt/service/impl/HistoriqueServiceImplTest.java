@@ -1,7 +1,13 @@
 package com.pmt.service.impl;
 
+import com.pmt.dto.HistoriqueDTO;
+import com.pmt.dto.HistoriqueFilter;
+import com.pmt.dto.UserSummary;
+import com.pmt.errors.ValidationException;
 import com.pmt.model.Historique;
+import com.pmt.model.User;
 import com.pmt.store.HistoriqueStore;
+import com.pmt.store.UserStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,12 +15,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.time.Period;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -27,6 +44,12 @@ class HistoriqueServiceImplTest {
     @Mock
     private HistoriqueStore historiqueStore;
 
+    @Mock
+    private UserStore userStore;
+
+    @Mock
+    private DescriptionHistory descriptionHistory;
+
     private Historique historique;
 
     @BeforeEach
@@ -38,52 +61,247 @@ class HistoriqueServiceImplTest {
     }
 
     @Test
-    void testFindAllByProject_Success() {
+    void testFindPageByProject_Success() {
         Long projectId = 10L;
-        when(historiqueStore.findAllByProjectId(projectId)).thenReturn(Collections.singletonList(historique));
+        when(historiqueStore.findPageByProjectIdBefore(projectId, HistoriqueServiceImpl.MIN_DATE,
+                HistoriqueServiceImpl.MAX_DATE, Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(Collections.singletonList(historique));
 
-        List<Historique> result = historiqueService.findAllByProject(projectId);
+        List<HistoriqueDTO> result = historiqueService.findPageByProject(projectId, new HistoriqueFilter());
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(historique, result.get(0));
-        verify(historiqueStore).findAllByProjectId(projectId);
+        assertEquals(historique.getId(), result.get(0).getId());
     }
 
     @Test
-    void testFindAllByProject_NoResults() {
+    void testFindPageByProject_NoResults() {
         Long projectId = 10L;
-        when(historiqueStore.findAllByProjectId(projectId)).thenReturn(Collections.emptyList());
+        when(historiqueStore.findPageByProjectIdBefore(projectId, HistoriqueServiceImpl.MIN_DATE,
+                HistoriqueServiceImpl.MAX_DATE, Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
 
-        List<Historique> result = historiqueService.findAllByProject(projectId);
+        List<HistoriqueDTO> result = historiqueService.findPageByProject(projectId, new HistoriqueFilter());
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(historiqueStore).findAllByProjectId(projectId);
     }
 
     @Test
-    void testFindAllByTask_Success() {
+    void testFindPageByTask_Success() {
         Long taskId = 20L;
-        when(historiqueStore.findAllByTaskId(taskId)).thenReturn(Collections.singletonList(historique));
+        when(historiqueStore.findPageByTaskIdBefore(taskId, HistoriqueServiceImpl.MIN_DATE,
+                HistoriqueServiceImpl.MAX_DATE, Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(Collections.singletonList(historique));
 
-        List<Historique> result = historiqueService.findAllByTask(taskId);
+        List<HistoriqueDTO> result = historiqueService.findPageByTask(taskId, new HistoriqueFilter());
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(historique, result.get(0));
-        verify(historiqueStore).findAllByTaskId(taskId);
+        assertEquals(historique.getId(), result.get(0).getId());
     }
 
     @Test
-    void testFindAllByTask_NoResults() {
+    void testFindPageByTask_NoResults() {
         Long taskId = 20L;
-        when(historiqueStore.findAllByTaskId(taskId)).thenReturn(Collections.emptyList());
+        when(historiqueStore.findPageByTaskIdBefore(taskId, HistoriqueServiceImpl.MIN_DATE,
+                HistoriqueServiceImpl.MAX_DATE, Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(Collections.emptyList());
 
-        List<Historique> result = historiqueService.findAllByTask(taskId);
+        List<HistoriqueDTO> result = historiqueService.findPageByTask(taskId, new HistoriqueFilter());
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(historiqueStore).findAllByTaskId(taskId);
+    }
+
+    @Test
+    void testFindPageByProject_BeforeCursor() {
+        LocalDateTime cursorDate = LocalDateTime.of(2025, 3, 1, 12, 0);
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setBefore(42L);
+        filter.setSize(10);
+        filter.setFrom(LocalDateTime.of(2025, 1, 1, 0, 0));
+        when(historiqueStore.findDateMById(42L)).thenReturn(Optional.of(cursorDate));
+        when(historiqueStore.findPageByProjectIdBefore(10L, filter.getFrom(), cursorDate, 42L, Limit.of(10)))
+                .thenReturn(List.of(historique));
+
+        assertEquals(List.of(historique.getId()), ids(historiqueService.findPageByProject(10L, filter)));
+    }
+
+    @Test
+    void testFindPageByProject_ToBoundBeforeCursor() {
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setBefore(42L);
+        filter.setTo(LocalDateTime.of(2025, 2, 1, 0, 0));
+        when(historiqueStore.findDateMById(42L)).thenReturn(Optional.of(LocalDateTime.of(2025, 3, 1, 12, 0)));
+        when(historiqueStore.findPageByProjectIdBefore(10L, HistoriqueServiceImpl.MIN_DATE, filter.getTo(),
+                Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(historique));
+
+        assertEquals(List.of(historique.getId()), ids(historiqueService.findPageByProject(10L, filter)));
+    }
+
+    @Test
+    void testFindPageByTask_AfterCursorReturnsNewestFirst() {
+        LocalDateTime cursorDate = LocalDateTime.of(2025, 3, 1, 12, 0);
+        Historique older = new Historique();
+        older.setId(43L);
+        Historique newer = new Historique();
+        newer.setId(44L);
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setAfter(42L);
+        when(historiqueStore.findDateMById(42L)).thenReturn(Optional.of(cursorDate));
+        when(historiqueStore.findPageByTaskIdAfter(20L, cursorDate, 42L, HistoriqueServiceImpl.MAX_DATE,
+                Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(older, newer));
+
+        assertEquals(List.of(newer.getId(), older.getId()), ids(historiqueService.findPageByTask(20L, filter)));
+    }
+
+    @Test
+    void testFindPageByTask_FromBoundAfterCursor() {
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setAfter(42L);
+        filter.setFrom(LocalDateTime.of(2025, 4, 1, 0, 0));
+        when(historiqueStore.findDateMById(42L)).thenReturn(Optional.of(LocalDateTime.of(2025, 3, 1, 12, 0)));
+        when(historiqueStore.findPageByTaskIdAfter(20L, filter.getFrom(), 0L, HistoriqueServiceImpl.MAX_DATE,
+                Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(historique));
+
+        assertEquals(List.of(historique.getId()), ids(historiqueService.findPageByTask(20L, filter)));
+    }
+
+    @Test
+    void testFindPage_SizeIsCapped() {
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setSize(10_000);
+        when(historiqueStore.findPageByProjectIdBefore(10L, HistoriqueServiceImpl.MIN_DATE,
+                HistoriqueServiceImpl.MAX_DATE, Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.MAX_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        assertTrue(historiqueService.findPageByProject(10L, filter).isEmpty());
+    }
+
+    @Test
+    void testFindPage_InvalidSize() {
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setSize(0);
+
+        Exception exception = assertThrows(ValidationException.class, () -> historiqueService.findPageByProject(10L, filter));
+        assertEquals("La taille de page doit être positive.", exception.getMessage());
+        verifyNoInteractions(historiqueStore);
+    }
+
+    @Test
+    void testFindPage_BothCursors() {
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setBefore(1L);
+        filter.setAfter(2L);
+
+        Exception exception = assertThrows(ValidationException.class, () -> historiqueService.findPageByTask(20L, filter));
+        assertEquals("Les curseurs before et after ne peuvent pas être utilisés ensemble.", exception.getMessage());
+        verifyNoInteractions(historiqueStore);
+    }
+
+    @Test
+    void testFindPage_InvalidDateRange() {
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setFrom(LocalDateTime.of(2025, 2, 1, 0, 0));
+        filter.setTo(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        Exception exception = assertThrows(ValidationException.class, () -> historiqueService.findPageByTask(20L, filter));
+        assertEquals("L'intervalle de dates est invalide.", exception.getMessage());
+        verifyNoInteractions(historiqueStore);
+    }
+
+    @Test
+    void testFindPage_UnknownCursor() {
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setBefore(99L);
+        when(historiqueStore.findDateMById(99L)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(ValidationException.class, () -> historiqueService.findPageByProject(10L, filter));
+        assertEquals("Curseur d'historique inconnu : 99", exception.getMessage());
+    }
+
+    @Test
+    void testFindPage_LoadsDistinctAuthorsOnce() {
+        User author = new User();
+        author.setId(5L);
+        author.setNom("Alice");
+        author.setMdp("secret");
+        Historique first = new Historique();
+        first.setId(1L);
+        first.setUser(author);
+        Historique second = new Historique();
+        second.setId(2L);
+        second.setUser(author);
+        Historique anonymous = new Historique();
+        anonymous.setId(3L);
+        when(historiqueStore.findPageByTaskIdBefore(20L, HistoriqueServiceImpl.MIN_DATE,
+                HistoriqueServiceImpl.MAX_DATE, Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(first, second, anonymous));
+        when(userStore.findSummariesByIdIn(Set.of(5L))).thenReturn(List.of(new UserSummary(5L, "Alice")));
+
+        List<HistoriqueDTO> result = historiqueService.findPageByTask(20L, new HistoriqueFilter());
+
+        assertEquals(3, result.size());
+        assertEquals("Alice", result.get(0).getUser().getNom());
+        assertEquals(5L, result.get(1).getUser().getId());
+        assertNull(result.get(2).getUser());
+        verify(userStore).findSummariesByIdIn(Set.of(5L));
+    }
+
+    @Test
+    void testFindPage_EmptyPageSkipsUserLookup() {
+        when(historiqueStore.findPageByTaskIdBefore(20L, HistoriqueServiceImpl.MIN_DATE,
+                HistoriqueServiceImpl.MAX_DATE, Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        assertTrue(historiqueService.findPageByTask(20L, new HistoriqueFilter()).isEmpty());
+        verifyNoInteractions(userStore);
+    }
+
+    private static List<Long> ids(List<HistoriqueDTO> page) {
+        return page.stream().map(HistoriqueDTO::getId).toList();
+    }
+
+    @Test
+    void testFindPage_WidensWindowUntilPageIsFull() {
+        historiqueService.lookback = Period.ofMonths(1);
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setSize(3);
+        filter.setFrom(LocalDateTime.of(2024, 1, 1, 0, 0));
+        filter.setTo(LocalDateTime.of(2025, 6, 30, 0, 0));
+        Historique older = new Historique();
+        older.setId(2L);
+        Historique oldest = new Historique();
+        oldest.setId(3L);
+        when(historiqueStore.findPageByProjectIdBefore(10L, LocalDateTime.of(2025, 5, 30, 0, 0),
+                LocalDateTime.of(2025, 6, 30, 0, 0), Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(historique, older));
+        when(historiqueStore.findPageByProjectIdBefore(10L, LocalDateTime.of(2025, 3, 30, 0, 0),
+                LocalDateTime.of(2025, 5, 30, 0, 0), Long.MIN_VALUE, Limit.of(1)))
+                .thenReturn(List.of(oldest));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(historiqueService.findPageByProject(10L, filter)));
+        verify(historiqueStore, times(2)).findPageByProjectIdBefore(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindPage_WindowStopsAtFromBound() {
+        historiqueService.lookback = Period.ofMonths(1);
+        HistoriqueFilter filter = new HistoriqueFilter();
+        filter.setFrom(LocalDateTime.of(2025, 4, 1, 0, 0));
+        filter.setTo(LocalDateTime.of(2025, 6, 30, 0, 0));
+        when(historiqueStore.findPageByTaskIdBefore(20L, LocalDateTime.of(2025, 5, 30, 0, 0),
+                LocalDateTime.of(2025, 6, 30, 0, 0), Long.MAX_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of());
+        when(historiqueStore.findPageByTaskIdBefore(20L, LocalDateTime.of(2025, 4, 1, 0, 0),
+                LocalDateTime.of(2025, 5, 30, 0, 0), Long.MIN_VALUE, Limit.of(HistoriqueServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(historique));
+
+        assertEquals(List.of(1L), ids(historiqueService.findPageByTask(20L, filter)));
+        verify(historiqueStore, times(2)).findPageByTaskIdBefore(any(), any(), any(), any(), any());
     }
 }
@@ -0,0 +1,286 @@
+package com.pmt.service.impl;
+
+import com.pmt.model.FieldChange;
+import com.pmt.model.Historique;
+import com.pmt.model.HistoriqueOutbox;
+import com.pmt.model.Type;
+import com.pmt.store.HistoriqueOutboxStore;
+import com.pmt.store.HistoriqueStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HistoriqueWriterTest {
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @InjectMocks
+    private HistoriqueWriter writer;
+
+    @Mock
+    private HistoriqueStore historiqueStore;
+    @Mock
+    private HistoriqueOutboxStore outboxStore;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    /**
+     * Entrées reçues par le dépôt de l'historique, toutes écritures confondues.
+     */
+    private final List<Historique> written = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Lignes de la table d'attente, supprimées quand elles sont déplacées.
+     */
+    private final List<HistoriqueOutbox> staged = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        writer.batchSize = 10;
+        writer.flushInterval = Duration.ofMillis(20);
+        writer.drainTimeout = Duration.ofSeconds(2);
+        writer.coalesceWindow = Duration.ofSeconds(60);
+        doAnswer(invocation -> written.addAll(invocation.getArgument(0))).when(historiqueStore).insertAll(anyList());
+        when(outboxStore.findIdsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int max = invocation.<Limit>getArgument(1).max();
+            synchronized (staged) {
+                return staged.stream().map(HistoriqueOutbox::getId).filter(id -> id > afterId).limit(max).toList();
+            }
+        });
+        when(outboxStore.findByIdInOrderById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            synchronized (staged) {
+                return staged.stream().filter(row -> ids.contains(row.getId())).toList();
+            }
+        });
+        when(outboxStore.deleteAllByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            staged.removeIf(row -> ids.contains(row.getId()));
+            return ids.size();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    private List<Historique> entries(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            Historique history = new Historique();
+            history.setTaskId((long) i);
+            history.setTypeM(Type.Titre);
+            history.setNewString("Titre " + i);
+            return history;
+        }).toList();
+    }
+
+    private HistoriqueOutbox stage(Long userId, long taskId, Type type, LocalDateTime date, FieldChange... changes) {
+        HistoriqueOutbox row = new HistoriqueOutbox();
+        row.setId((long) staged.size() + 1);
+        row.setUserId(userId);
+        row.setTaskId(taskId);
+        row.setTypeM(type);
+        row.setDateM(date);
+        row.setChanges(List.of(changes));
+        staged.add(row);
+        return row;
+    }
+
+    private HistoriqueOutbox edit(long userId, long taskId, LocalDateTime date, FieldChange... changes) {
+        return stage(userId, taskId, Type.Modification, date, changes);
+    }
+
+    @Test
+    void testRecord_StagesInCurrentTransaction() {
+        List<Historique> entries = entries(2);
+
+        writer.record(entries);
+
+        verify(outboxStore).stageAll(entries);
+        verifyNoInteractions(historiqueStore);
+    }
+
+    @Test
+    void testRecord_EmptyListIsIgnored() {
+        writer.record(List.of());
+
+        verifyNoInteractions(outboxStore);
+    }
+
+    @Test
+    void testMoveAll_WritesStagedEntriesInOneBatch() {
+        for (long i = 1; i <= 5; i++) {
+            stage(null, i, Type.Creation, T0, FieldChange.of(Type.Titre, null, "Tâche " + i));
+        }
+
+        writer.moveAll(T0);
+
+        verify(historiqueStore).insertAll(argThat(batch -> batch.size() == 5));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), written.stream().map(Historique::getTaskId).toList());
+        assertTrue(staged.isEmpty());
+    }
+
+    @Test
+    void testMoveAll_ReadsFollowingBatches() {
+        writer.batchSize = 2;
+        for (long i = 1; i <= 3; i++) {
+            stage(null, i, Type.Creation, T0, FieldChange.of(Type.Titre, null, "Tâche " + i));
+        }
+
+        writer.moveAll(T0);
+
+        verify(historiqueStore, times(2)).insertAll(anyList());
+        assertEquals(3, written.size());
+        assertTrue(staged.isEmpty());
+    }
+
+    @Test
+    void testMoveAll_RowsMovedByAnotherInstanceAreSkipped() {
+        stage(null, 1L, Type.Creation, T0, FieldChange.of(Type.Titre, null, "Tâche"));
+        HistoriqueOutbox other = stage(null, 2L, Type.Creation, T0, FieldChange.of(Type.Titre, null, "Autre"));
+        // L'autre instance a déplacé la ligne entre la lecture des identifiants et le verrouillage
+        when(outboxStore.findByIdInOrderById(anyCollection())).thenAnswer(invocation -> {
+            staged.remove(other);
+            Collection<Long> ids = invocation.getArgument(0);
+            return staged.stream().filter(row -> ids.contains(row.getId())).toList();
+        });
+
+        writer.moveAll(T0);
+
+        assertEquals(List.of(1L), written.stream().map(Historique::getTaskId).toList());
+        verify(outboxStore).deleteAllByIdIn(List.of(1L));
+    }
+
+    @Test
+    void testMoveAll_FailingEntryStaysStaged() {
+        stage(null, 1L, Type.Creation, T0, FieldChange.of(Type.Titre, null, "Tâche 1"));
+        HistoriqueOutbox refused = stage(null, 2L, Type.Creation, T0, FieldChange.of(Type.Titre, null, "Tâche 2"));
+        stage(null, 3L, Type.Creation, T0, FieldChange.of(Type.Titre, null, "Tâche 3"));
+        doAnswer(invocation -> {
+            List<Historique> entries = invocation.getArgument(0);
+            if (entries.stream().anyMatch(entry -> entry.getTaskId() == 2L)) {
+                throw new IllegalStateException("valeur refusée");
+            }
+            return written.addAll(entries);
+        }).when(historiqueStore).insertAll(anyList());
+
+        writer.moveAll(T0);
+
+        assertEquals(List.of(1L, 3L), written.stream().map(Historique::getTaskId).toList());
+        assertEquals(List.of(refused), staged);
+    }
+
+    @Test
+    void testStart_MovesStagedEntriesInBackground() {
+        stage(null, 1L, Type.Creation, LocalDateTime.now(), FieldChange.of(Type.Titre, null, "Tâche"));
+
+        writer.start();
+
+        verify(historiqueStore, timeout(2000)).insertAll(argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void testCoalesce_EditsWithinWindowBecomeOneEntry() {
+        edit(1, 10, T0, FieldChange.of(Type.Titre, "A", "B"));
+        edit(1, 10, T0.plusSeconds(30), FieldChange.of(Type.Titre, "B", "C"), FieldChange.of(Type.Statut, "TODO", "DONE"));
+
+        HistoriqueWriter.Moves moves = writer.coalesce(staged, T0.plusSeconds(60));
+
+        assertEquals(1, moves.ready().size());
+        assertEquals(List.of(FieldChange.of(Type.Titre, "A", "C"), FieldChange.of(Type.Statut, "TODO", "DONE")),
+                moves.ready().get(0).getChanges());
+        assertEquals(T0.plusSeconds(30), moves.ready().get(0).getDateM());
+        assertEquals(1L, moves.ready().get(0).getUserId());
+        assertEquals(List.of(1L, 2L), moves.moved());
+    }
+
+    @Test
+    void testCoalesce_OpenWindowStaysStaged() {
+        edit(1, 10, T0, FieldChange.of(Type.Titre, "A", "B"));
+        stage(null, 11, Type.Creation, T0, FieldChange.of(Type.Titre, null, "Créée"));
+
+        HistoriqueWriter.Moves moves = writer.coalesce(staged, T0.plusSeconds(30));
+
+        assertEquals(List.of(11L), moves.ready().stream().map(Historique::getTaskId).toList());
+        assertEquals(List.of(2L), moves.moved());
+    }
+
+    @Test
+    void testCoalesce_KeyedByUserAndTask() {
+        edit(1, 10, T0, FieldChange.of(Type.Titre, "A", "B"));
+        edit(2, 10, T0, FieldChange.of(Type.Titre, "B", "C"));
+        edit(1, 11, T0, FieldChange.of(Type.Titre, "X", "Y"));
+
+        assertEquals(3, writer.coalesce(staged, T0.plusSeconds(60)).ready().size());
+    }
+
+    @Test
+    void testCoalesce_EditAfterWindowStartsNewEntry() {
+        edit(1, 10, T0, FieldChange.of(Type.Titre, "A", "B"));
+        edit(1, 10, T0.plusSeconds(61), FieldChange.of(Type.Titre, "B", "C"));
+
+        HistoriqueWriter.Moves moves = writer.coalesce(staged, T0.plusSeconds(90));
+
+        assertEquals(1, moves.ready().size());
+        assertEquals(List.of(FieldChange.of(Type.Titre, "A", "B")), moves.ready().get(0).getChanges());
+        assertEquals(List.of(1L), moves.moved());
+    }
+
+    @Test
+    void testCoalesce_RevertedEditsWriteNothing() {
+        edit(1, 10, T0, FieldChange.of(Type.Titre, "A", "B"));
+        edit(1, 10, T0.plusSeconds(1), FieldChange.of(Type.Titre, "B", "A"));
+
+        HistoriqueWriter.Moves moves = writer.coalesce(staged, T0.plusSeconds(60));
+
+        assertTrue(moves.ready().isEmpty());
+        assertEquals(List.of(1L, 2L), moves.moved());
+    }
+
+    @Test
+    void testCoalesce_DescriptionKeepsFirstAndLastRevisions() {
+        edit(1, 10, T0, FieldChange.ofRevisions(Type.Description, 1L, 2L));
+        edit(1, 10, T0.plusSeconds(1), FieldChange.ofRevisions(Type.Description, 2L, 3L));
+
+        HistoriqueWriter.Moves moves = writer.coalesce(staged, T0.plusSeconds(60));
+
+        assertEquals(List.of(FieldChange.ofRevisions(Type.Description, 1L, 3L)), moves.ready().get(0).getChanges());
+    }
+
+    @Test
+    void testCoalesce_DisabledOrAnonymousIsWrittenAsIs() {
+        edit(1, 10, T0, FieldChange.of(Type.Titre, "A", "B"));
+        writer.coalesceWindow = Duration.ZERO;
+        assertEquals(1, writer.coalesce(staged, T0).ready().size());
+
+        writer.coalesceWindow = Duration.ofSeconds(60);
+        staged.clear();
+        stage(null, 10, Type.Modification, T0, FieldChange.of(Type.Titre, "A", "B"));
+        assertEquals(1, writer.coalesce(staged, T0).ready().size());
+    }
+}
@@ -0,0 +1,107 @@
+package com.pmt.service.impl;
+
+import com.pmt.model.NotificationDigestItem;
+import com.pmt.service.NotificationService;
+import com.pmt.store.NotificationDigestItemStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDigestDispatcherTest {
+
+    @InjectMocks
+    private NotificationDigestDispatcher dispatcher;
+
+    @Mock
+    private NotificationDigestItemStore digestItemStore;
+    @Mock
+    private NotificationService notificationService;
+
+    private final TransactionStatus transactionStatus = mock(TransactionStatus.class);
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        dispatcher.window = Duration.ofMinutes(15);
+        dispatcher.maxRecipients = 100;
+    }
+
+    private NotificationDigestItem item(long id) {
+        NotificationDigestItem item = new NotificationDigestItem();
+        item.setId(id);
+        item.setRecipient("alice@example.com");
+        item.setTaskName("Tâche " + id);
+        return item;
+    }
+
+    @Test
+    void testFlushDueDigests_OneMailPerRecipient() {
+        List<NotificationDigestItem> items = List.of(item(1L), item(2L), item(3L));
+        when(digestItemStore.findDueRecipients(any(LocalDateTime.class), eq(Limit.of(100)))).thenReturn(List.of("alice@example.com"));
+        when(digestItemStore.findByRecipientOrderById("alice@example.com")).thenReturn(items);
+        when(digestItemStore.deleteAllByIdIn(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.flushDueDigests();
+
+        verify(digestItemStore).findDueRecipients(argThat(cutoff -> !cutoff.isAfter(LocalDateTime.now().minusMinutes(15))
+                && !cutoff.isBefore(before.minusMinutes(15))), any(Limit.class));
+        verify(notificationService).enqueueSummary(items);
+    }
+
+    @Test
+    void testFlush_AlreadyHandledByAnotherInstance() {
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus))
+                .when(transactionTemplate).execute(any());
+        when(digestItemStore.findByRecipientOrderById("alice@example.com")).thenReturn(List.of(item(1L), item(2L)));
+        when(digestItemStore.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(1);
+
+        assertEquals(0, dispatcher.flush("alice@example.com"));
+
+        verify(transactionStatus).setRollbackOnly();
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testFlush_NothingPending() {
+        when(digestItemStore.findByRecipientOrderById(anyString())).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.flush("alice@example.com"));
+
+        verify(digestItemStore, never()).deleteAllByIdIn(any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testFlushDueDigests_ErrorDoesNotStopOtherRecipients() {
+        when(digestItemStore.findDueRecipients(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of("a@example.com", "b@example.com"));
+        when(digestItemStore.findByRecipientOrderById("a@example.com")).thenThrow(new RuntimeException("panne"));
+        when(digestItemStore.findByRecipientOrderById("b@example.com")).thenReturn(List.of(item(5L)));
+        when(digestItemStore.deleteAllByIdIn(List.of(5L))).thenReturn(1);
+
+        dispatcher.flushDueDigests();
+
+        verify(notificationService).enqueueSummary(any());
+    }
+}
@@ -0,0 +1,226 @@
+package com.pmt.service.impl;
+
+import com.pmt.model.NotificationOutbox;
+import com.pmt.model.OutboxStatus;
+import com.pmt.service.EmailService;
+import com.pmt.store.NotificationOutboxStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NotificationDispatcherTest {
+
+    @InjectMocks
+    private NotificationDispatcher dispatcher;
+
+    @Mock
+    private NotificationOutboxStore outboxStore;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private ThreadPoolTaskExecutor notificationExecutor;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    private NotificationOutbox notification;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher.batchSize = 50;
+        dispatcher.mailBatchSize = 1;
+        dispatcher.flushInterval = Duration.ZERO;
+        dispatcher.lease = Duration.ofMinutes(5);
+        dispatcher.maxAttempts = 3;
+        dispatcher.backoffInitial = Duration.ofSeconds(10);
+        dispatcher.backoffMax = Duration.ofSeconds(25);
+        dispatcher.drainTimeout = Duration.ofSeconds(1);
+
+        // Exécution synchrone : chaque envoi se termine avant la fin de poll()
+        when(notificationExecutor.getMaxPoolSize()).thenReturn(2);
+        when(notificationExecutor.getQueueCapacity()).thenReturn(8);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(notificationExecutor).execute(any(Runnable.class));
+
+        notification = new NotificationOutbox();
+        notification.setId(1L);
+        notification.setRecipient("test@example.com");
+        notification.setSubject("Sujet");
+        notification.setBody("Corps");
+        notification.setStatus(OutboxStatus.PENDING);
+
+        when(emailService.newMessage(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(invocation.getArgument(0, String.class));
+            message.setSubject(invocation.getArgument(1, String.class));
+            message.setText(invocation.getArgument(2, String.class));
+            return message;
+        });
+        when(emailService.sendBatch(anyList())).thenReturn(Collections.emptyMap());
+    }
+
+    private NotificationOutbox notification(long id) {
+        NotificationOutbox other = new NotificationOutbox();
+        other.setId(id);
+        other.setRecipient("user" + id + "@example.com");
+        other.setSubject("Sujet");
+        other.setBody("Corps");
+        other.setStatus(OutboxStatus.PENDING);
+        return other;
+    }
+
+    private void outboxContains(NotificationOutbox... notifications) {
+        when(outboxStore.findDueIds(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(Arrays.stream(notifications).map(NotificationOutbox::getId).toList());
+        when(outboxStore.findByLockOwnerOrderById(anyString())).thenReturn(List.of(notifications));
+    }
+
+    @Test
+    void testPoll_SendsAndMarksSent() {
+        outboxContains(notification);
+
+        dispatcher.poll();
+
+        verify(outboxStore).claim(eq(List.of(1L)), anyString(), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(emailService).newMessage("test@example.com", "Sujet", "Corps");
+        verify(emailService).sendBatch(argThat(messages -> messages.size() == 1));
+        verify(outboxStore).markAllSent(eq(List.of(1L)), any(LocalDateTime.class));
+        assertEquals(0, dispatcher.getInFlight());
+    }
+
+    @Test
+    void testPoll_NothingDue() {
+        when(outboxStore.findDueIds(any(LocalDateTime.class), any(Limit.class))).thenReturn(Collections.emptyList());
+
+        dispatcher.poll();
+
+        verify(outboxStore, never()).claim(any(), anyString(), any(), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testPoll_ClaimsNoMoreThanFreeCapacity() {
+        dispatcher.batchSize = 50;
+        when(outboxStore.findDueIds(any(LocalDateTime.class), any(Limit.class))).thenReturn(Collections.emptyList());
+
+        dispatcher.poll();
+
+        verify(outboxStore).findDueIds(any(LocalDateTime.class), eq(Limit.of(10)));
+    }
+
+    @Test
+    void testPoll_FailureIsRescheduledWithBackoff() {
+        notification.setAttempts(1);
+        outboxContains(notification);
+        doReturn(Map.of(0, new MailSendException("SMTP indisponible"))).when(emailService).sendBatch(anyList());
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.poll();
+
+        verify(outboxStore).markFailedAttempt(eq(1L), eq(OutboxStatus.PENDING), eq(2),
+                argThat(next -> !next.isBefore(before.plusSeconds(20))), eq("SMTP indisponible"));
+        verify(outboxStore, never()).markAllSent(any(), any());
+        assertEquals(0, dispatcher.getInFlight());
+    }
+
+    @Test
+    void testPoll_GivesUpAfterMaxAttempts() {
+        notification.setAttempts(2);
+        outboxContains(notification);
+        doThrow(new MailSendException("Adresse refusée")).when(emailService).sendBatch(anyList());
+
+        dispatcher.poll();
+
+        verify(outboxStore).markFailedAttempt(eq(1L), eq(OutboxStatus.FAILED), eq(3), any(LocalDateTime.class), eq("Adresse refusée"));
+    }
+
+    @Test
+    void testPoll_RejectedTaskReleasesCapacity() {
+        outboxContains(notification);
+        doThrow(new TaskRejectedException("arrêt")).when(notificationExecutor).execute(any(Runnable.class));
+
+        dispatcher.poll();
+
+        assertEquals(0, dispatcher.getInFlight());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testPoll_SendsOneBatchPerChunk() {
+        dispatcher.mailBatchSize = 2;
+        outboxContains(notification, notification(2L), notification(3L));
+        doReturn(Collections.emptyMap())
+                .doReturn(Map.of(0, new MailSendException("Adresse refusée"))).when(emailService).sendBatch(anyList());
+
+        dispatcher.poll();
+
+        verify(notificationExecutor, times(2)).execute(any(Runnable.class));
+        verify(emailService).sendBatch(argThat(messages -> messages.size() == 2));
+        verify(emailService).sendBatch(argThat(messages -> messages.size() == 1));
+        verify(outboxStore).markAllSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxStore).markFailedAttempt(eq(3L), eq(OutboxStatus.PENDING), eq(1), any(LocalDateTime.class), eq("Adresse refusée"));
+        assertEquals(0, dispatcher.getInFlight());
+    }
+
+    @Test
+    void testPoll_WaitsForFullBatchUntilFlushInterval() {
+        dispatcher.mailBatchSize = 5;
+        dispatcher.flushInterval = Duration.ofHours(1);
+        outboxContains(notification);
+
+        dispatcher.poll();
+        dispatcher.poll();
+
+        // Premier passage : aucun envoi antérieur, le lot incomplet part ; le second attend
+        verify(outboxStore, times(1)).claim(any(), anyString(), any(), any());
+        verify(emailService, times(1)).sendBatch(anyList());
+    }
+
+    @Test
+    void testBackoff_DoublesAndIsCapped() {
+        assertEquals(Duration.ofSeconds(10), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(20), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(25), dispatcher.backoff(3));
+        assertEquals(Duration.ofSeconds(25), dispatcher.backoff(60));
+    }
+
+    @Test
+    void testDrain_StopsPolling() {
+        dispatcher.drain();
+
+        dispatcher.poll();
+
+        verifyNoInteractions(outboxStore);
+    }
+}
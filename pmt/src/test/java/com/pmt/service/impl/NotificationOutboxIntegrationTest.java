@@ -0,0 +1,157 @@
+package com.pmt.service.impl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.pmt.model.NotificationMode;
+import com.pmt.model.NotificationOutbox;
+import com.pmt.model.OutboxStatus;
+import com.pmt.model.Project;
+import com.pmt.model.Task;
+import com.pmt.model.User;
+import com.pmt.service.NotificationService;
+import com.pmt.service.TaskAssignService;
+import com.pmt.store.NotificationOutboxStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.TaskStore;
+import com.pmt.store.UserStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérifie l'envoi des notifications de l'outbox de bout en bout, avec GreenMail comme serveur SMTP.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.sql.init.mode=never",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "pmt.outbox.poll-delay=PT0.1S",
+        "pmt.outbox.backoff-initial=PT0.2S",
+        "pmt.mail.flush-interval=PT0.1S",
+        "pmt.digest.window=PT0.5S",
+        "pmt.digest.poll-delay=PT0.1S"
+})
+class NotificationOutboxIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private TaskAssignService taskAssignService;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationOutboxStore outboxStore;
+    @Autowired
+    private ProjectStore projectStore;
+    @Autowired
+    private TaskStore taskStore;
+    @Autowired
+    private UserStore userStore;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testAssignmentEmailIsSentFromOutbox() throws Exception {
+        Project project = new Project();
+        project.setNom("Projet");
+        project = projectStore.save(project);
+        Task task = new Task();
+        task.setNom("Rédiger le rapport");
+        task.setProject(project);
+        task = taskStore.save(task);
+        User user = new User();
+        user.setNom("Alice");
+        user.setEmail("alice@example.com");
+        user.setMdp("secret");
+        user = userStore.save(user);
+
+        taskAssignService.create(task.getId(), user.getId());
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        assertEquals("Nouvelle tâche assignée : Rédiger le rapport", message.getSubject());
+        assertEquals("alice@example.com", message.getAllRecipients()[0].toString());
+        await(() -> outboxStore.countByStatus(OutboxStatus.SENT) >= 1);
+    }
+
+    @Test
+    void testNotificationIsRetriedWhenSmtpIsDown() throws Exception {
+        greenMail.stop();
+        NotificationOutbox notification = notificationService.enqueue("bob@example.com", "Relance", "Bonjour Bob");
+
+        await(() -> outboxStore.findById(notification.getId()).orElseThrow().getAttempts() >= 1);
+        NotificationOutbox failed = outboxStore.findById(notification.getId()).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, failed.getStatus());
+        assertNotNull(failed.getLastError());
+
+        greenMail.start();
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        assertEquals("Relance", greenMail.getReceivedMessages()[0].getSubject());
+        await(() -> outboxStore.findById(notification.getId()).orElseThrow().getStatus() == OutboxStatus.SENT);
+    }
+
+    @Test
+    void testBatchIsSentAndCounted() throws Exception {
+        double before = sentCount();
+        for (int i = 0; i < 5; i++) {
+            notificationService.enqueue("user" + i + "@example.com", "Annonce", "Message " + i);
+        }
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 5));
+        await(() -> sentCount() - before >= 5);
+        assertTrue(meterRegistry.get("pmt.mail.batch").timer().count() >= 1);
+    }
+
+    @Test
+    void testDigestUserReceivesOneSummary() throws Exception {
+        Project project = new Project();
+        project.setNom("Sprint");
+        project = projectStore.save(project);
+        User user = new User();
+        user.setNom("Carole");
+        user.setEmail("carole@example.com");
+        user.setMdp("secret");
+        user.setNotificationMode(NotificationMode.DIGEST);
+        user = userStore.save(user);
+        for (int i = 0; i < 3; i++) {
+            Task task = new Task();
+            task.setNom("Tâche " + i);
+            task.setProject(project);
+            task = taskStore.save(task);
+            taskAssignService.create(task.getId(), user.getId());
+        }
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        Thread.sleep(700);
+        MimeMessage[] received = greenMail.getReceivedMessagesForDomain("carole@example.com");
+        assertEquals(1, received.length);
+        assertEquals("3 nouvelles tâches assignées", received[0].getSubject());
+        assertTrue(((String) received[0].getContent()).contains("Tâche 2 (projet Sprint)"));
+    }
+
+    private double sentCount() {
+        return meterRegistry.get("pmt.mail.messages").tag("result", "sent").counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition non atteinte dans le délai imparti");
+            Thread.sleep(50);
+        }
+    }
+}
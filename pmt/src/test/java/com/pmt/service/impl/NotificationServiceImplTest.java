@@ -0,0 +1,143 @@
+package com.pmt.service.impl;
+
+import com.pmt.errors.ValidationException;
+import com.pmt.model.NotificationDigestItem;
+import com.pmt.model.NotificationMode;
+import com.pmt.model.NotificationOutbox;
+import com.pmt.model.OutboxStatus;
+import com.pmt.model.Project;
+import com.pmt.model.Task;
+import com.pmt.model.User;
+import com.pmt.store.NotificationDigestItemStore;
+import com.pmt.store.NotificationOutboxStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceImplTest {
+
+    @InjectMocks
+    private NotificationServiceImpl notificationService;
+
+    @Mock
+    private NotificationOutboxStore outboxStore;
+    @Mock
+    private NotificationDigestItemStore digestItemStore;
+    @Spy
+    private MailTemplates mailTemplates = new MailTemplates();
+
+    private User user;
+    private Task task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mailTemplates.compile();
+
+        user = new User();
+        user.setId(1L);
+        user.setNom("Alice");
+        user.setEmail("alice@example.com");
+
+        Project project = new Project();
+        project.setNom("Refonte");
+        task = new Task();
+        task.setNom("Rédiger le rapport");
+        task.setProject(project);
+    }
+
+    private NotificationDigestItem item(String taskName, String projectName) {
+        NotificationDigestItem item = new NotificationDigestItem();
+        item.setRecipient("alice@example.com");
+        item.setRecipientName("Alice");
+        item.setTaskName(taskName);
+        item.setProjectName(projectName);
+        return item;
+    }
+
+    @Test
+    void testEnqueue_Success() {
+        when(outboxStore.save(any(NotificationOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        NotificationOutbox notification = notificationService.enqueue("test@example.com", "Sujet", "Corps");
+
+        assertEquals("test@example.com", notification.getRecipient());
+        assertEquals(OutboxStatus.PENDING, notification.getStatus());
+        assertEquals(0, notification.getAttempts());
+        assertNotNull(notification.getNextAttemptAt());
+        verify(outboxStore).save(notification);
+    }
+
+    @Test
+    void testEnqueue_MissingRecipient() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            notificationService.enqueue(" ", "Sujet", "Corps");
+        });
+
+        assertEquals("Le destinataire de la notification est obligatoire.", exception.getMessage());
+        verifyNoInteractions(outboxStore);
+    }
+
+    @Test
+    void testNotifyAssignment_Immediate() {
+        notificationService.notifyAssignment(user, task);
+
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxStore).save(captor.capture());
+        assertEquals("alice@example.com", captor.getValue().getRecipient());
+        assertEquals("Nouvelle tâche assignée : Rédiger le rapport", captor.getValue().getSubject());
+        assertEquals("Bonjour Alice,\n\nVous avez été assigné(e) à une nouvelle tâche : 'Rédiger le rapport' (projet Refonte).\n\nL'équipe PMT.\n",
+                captor.getValue().getBody());
+        verifyNoInteractions(digestItemStore);
+    }
+
+    @Test
+    void testNotifyAssignment_Digest() {
+        user.setNotificationMode(NotificationMode.DIGEST);
+
+        notificationService.notifyAssignment(user, task);
+
+        ArgumentCaptor<NotificationDigestItem> captor = ArgumentCaptor.forClass(NotificationDigestItem.class);
+        verify(digestItemStore).save(captor.capture());
+        assertEquals("alice@example.com", captor.getValue().getRecipient());
+        assertEquals("Rédiger le rapport", captor.getValue().getTaskName());
+        assertEquals("Refonte", captor.getValue().getProjectName());
+        assertNotNull(captor.getValue().getCreatedAt());
+        verifyNoInteractions(outboxStore);
+    }
+
+    @Test
+    void testEnqueueSummary_Digest() {
+        when(outboxStore.save(any(NotificationOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        NotificationOutbox notification = notificationService.enqueueSummary(List.of(
+                item("Rédiger le rapport", "Refonte"), item("Relire la maquette", null)));
+
+        assertEquals("2 nouvelles tâches assignées", notification.getSubject());
+        assertEquals("Bonjour Alice,\n\nVous avez été assigné(e) à 2 nouvelles tâches :\n"
+                + " - Rédiger le rapport (projet Refonte)\n"
+                + " - Relire la maquette\n\nL'équipe PMT.\n", notification.getBody());
+    }
+
+    @Test
+    void testEnqueueSummary_Empty() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            notificationService.enqueueSummary(Collections.emptyList());
+        });
+
+        assertEquals("Aucune notification à envoyer.", exception.getMessage());
+        verifyNoInteractions(outboxStore);
+    }
+}
@@ -0,0 +1,152 @@
+package com.pmt.service.impl;
+
+import com.pmt.dto.ProjectEvent;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProjectEventServiceImplTest {
+    private ProjectEventServiceImpl events;
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private CountDownLatch release;
+
+    /**
+     * Flux qui garde le nom des événements envoyés au lieu de les écrire sur une connexion.
+     */
+    private class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(d -> text.append(d.getData()));
+            String line = text.toString();
+            sent.add(line.startsWith(":") ? "heartbeat" : line.substring("event:".length(), line.indexOf('\n')));
+        }
+
+        private long count(String name) {
+            return sent.stream().filter(name::equals).count();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        release = new CountDownLatch(0);
+        events = new ProjectEventServiceImpl() {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        events.queueCapacity = 4;
+        events.maxConnections = 2;
+        events.timeout = Duration.ofMinutes(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        events.stop();
+    }
+
+    @Test
+    void testPublish_DeliversOnlyToSubscribersOfTheProject() throws Exception {
+        events.subscribe(1L);
+        events.subscribe(2L);
+
+        events.publish(List.of(event(1L, 10L), event(1L, 11L)));
+
+        RecordingEmitter first = emitters.get(0);
+        awaitUntil(() -> first.count("change") == 2);
+        assertEquals(0, emitters.get(1).count("change"));
+    }
+
+    @Test
+    void testPublish_WaitsForCommit() throws Exception {
+        events.subscribe(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        events.publish(List.of(event(1L, 10L)));
+        Thread.sleep(100);
+        assertEquals(0, emitters.get(0).count("change"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        awaitUntil(() -> emitters.get(0).count("change") == 1);
+    }
+
+    @Test
+    void testOverflow_ReplacesPendingEventsWithResync() throws Exception {
+        release = new CountDownLatch(1);
+        events.subscribe(1L);
+        List<ProjectEvent> burst = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            burst.add(event(1L, i));
+        }
+
+        events.publish(burst);
+        release.countDown();
+
+        RecordingEmitter emitter = emitters.get(0);
+        awaitUntil(() -> emitter.count("resync") == 1);
+        assertTrue(emitter.count("change") < 20);
+    }
+
+    @Test
+    void testSubscribe_RejectsBeyondMaxConnections() {
+        events.subscribe(1L);
+        events.subscribe(1L);
+
+        assertThrows(IllegalStateException.class, () -> events.subscribe(1L));
+        assertEquals(2, events.connections());
+    }
+
+    @Test
+    void testHeartbeat_SentToIdleConnections() throws Exception {
+        events.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+        awaitUntil(() -> emitter.count("heartbeat") == 1);
+
+        events.heartbeat();
+
+        awaitUntil(() -> emitter.count("heartbeat") == 2);
+    }
+
+    private static ProjectEvent event(Long projectId, Long taskId) {
+        return new ProjectEvent(ChangeEntity.TASK, taskId, projectId, ChangeOperation.UPSERT);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition non atteinte");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.pmt.service.impl;
+
+import com.pmt.config.CacheConfig;
+import com.pmt.store.DescriptionRevisionStore;
+import com.pmt.store.HistoriqueOutboxStore;
+import com.pmt.store.HistoriqueStore;
+import com.pmt.store.ProjectSnapshotStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.TaskAssignStore;
+import com.pmt.store.TaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectPurgeServiceImplTest {
+
+    @InjectMocks
+    private ProjectPurgeServiceImpl purgeService;
+
+    @Mock
+    private ProjectStore projectStore;
+    @Mock
+    private TaskStore taskStore;
+    @Mock
+    private TaskAssignStore taskAssignStore;
+    @Mock
+    private HistoriqueStore historiqueStore;
+    @Mock
+    private HistoriqueOutboxStore historiqueOutboxStore;
+    @Mock
+    private DescriptionRevisionStore descriptionRevisionStore;
+    @Mock
+    private ProjectSnapshotStore projectSnapshotStore;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS);
+
+    @BeforeEach
+    void setUp() {
+        purgeService.chunkSize = 2;
+    }
+
+    @Test
+    void testPurge_DeletesInChunksThenProject() {
+        when(taskStore.findIdsByProjectId(eq(1L), any(Limit.class)))
+                .thenReturn(List.of(10L, 11L))
+                .thenReturn(List.of(12L));
+        when(taskStore.deleteAllByIdIn(List.of(10L, 11L))).thenReturn(2);
+        when(taskStore.deleteAllByIdIn(List.of(12L))).thenReturn(1);
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS);
+        List.of(10L, 12L, 99L).forEach(id -> cache.put(id, "tâche " + id));
+
+        purgeService.purge(1L);
+
+        assertNull(cache.get(10L));
+        assertNull(cache.get(12L));
+        assertNotNull(cache.get(99L));
+
+        verify(historiqueStore).deleteAllByTaskIdIn(List.of(10L, 11L));
+        verify(taskAssignStore).deleteAllByTaskIdIn(List.of(10L, 11L));
+        verify(historiqueStore).deleteAllByTaskIdIn(List.of(12L));
+        verify(descriptionRevisionStore).deleteAllByTaskIdIn(List.of(10L, 11L));
+        verify(descriptionRevisionStore).deleteAllByTaskIdIn(List.of(12L));
+        verify(taskAssignStore).deleteAllByTaskIdIn(List.of(12L));
+        verify(taskStore, times(2)).findIdsByProjectId(eq(1L), any(Limit.class));
+        verify(historiqueStore).deleteAllByProjectId(1L);
+        verify(descriptionRevisionStore).deleteAllByProjectId(1L);
+        verify(projectSnapshotStore).deleteAllByProjectId(1L);
+        verify(projectStore).purgeById(1L);
+        // Une transaction par lot, plus une pour le projet
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void testPurge_NoTasks() {
+        when(taskStore.findIdsByProjectId(eq(1L), any(Limit.class))).thenReturn(Collections.emptyList());
+
+        purgeService.purge(1L);
+
+        verify(taskStore, never()).deleteAllByIdIn(anyList());
+        verify(projectStore).purgeById(1L);
+    }
+
+    @Test
+    void testPurgeDeletedProjects_ContinuesAfterFailure() {
+        when(projectStore.findDeletedIds()).thenReturn(List.of(1L, 2L));
+        when(taskStore.findIdsByProjectId(eq(1L), any(Limit.class))).thenThrow(new IllegalStateException("verrou"));
+        when(taskStore.findIdsByProjectId(eq(2L), any(Limit.class))).thenReturn(Collections.emptyList());
+
+        purgeService.purgeDeletedProjects();
+
+        verify(projectStore, never()).purgeById(1L);
+        verify(projectStore).purgeById(2L);
+    }
+}
@@ -1,11 +1,24 @@
 package com.pmt.service.impl;
 
+import com.pmt.dto.Assigned;
+import com.pmt.dto.ProjectBoard;
+import com.pmt.dto.ProjectMember;
+import com.pmt.dto.ProjectState;
 import com.pmt.dto.ProjectUpdate;
+import com.pmt.dto.TaskDTO;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.FieldChange;
 import com.pmt.model.Project;
-import com.pmt.model.Task;
+import com.pmt.model.Role;
+import com.pmt.model.Type;
+import com.pmt.service.ChangeFeedService;
+import com.pmt.service.ProjectService;
+import com.pmt.service.ProjectStatsService;
 import com.pmt.service.UserService;
+import com.pmt.store.DescriptionRevisionStore;
+import com.pmt.store.HistoriqueOutboxStore;
 import com.pmt.store.HistoriqueStore;
+import com.pmt.store.ProjectSnapshotStore;
 import com.pmt.store.ProjectStore;
 import com.pmt.store.ProjectUserStore;
 import com.pmt.store.TaskAssignStore;
@@ -14,17 +27,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +51,9 @@ class ProjectServiceImplTest {
     @InjectMocks
     private ProjectServiceImpl projectService;
 
+    @Mock
+    private ProjectService self;
+
     @Mock
     private ProjectStore projectStore;
     @Mock
@@ -45,10 +66,26 @@ class ProjectServiceImplTest {
     private UserService userService;
     @Mock
     private HistoriqueStore historiqueStore;
+    @Mock
+    private HistoriqueOutboxStore historiqueOutboxStore;
+    @Mock
+    private HistoriqueWriter historiqueWriter;
+    @Mock
+    private DescriptionHistory descriptionHistory;
+    @Mock
+    private DescriptionRevisionStore descriptionRevisionStore;
+    @Mock
+    private ProjectSnapshotStore projectSnapshotStore;
+    @Mock
+    private ProjectTimeline projectTimeline;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private ProjectStatsService projectStatsService;
 
     private Project project;
-    private Task task1;
-    private Task task2;
 
     @BeforeEach
     void setUp() {
@@ -57,13 +94,7 @@ class ProjectServiceImplTest {
         project.setNom("Test Project");
         project.setDescription("Description for Test Project");
 
-        task1 = new Task();
-        task1.setId(101L);
-        task1.setProject(project);
-
-        task2 = new Task();
-        task2.setId(102L);
-        task2.setProject(project);
+        projectService.purgeThreshold = 5000;
     }
 
     @Test
@@ -113,6 +144,74 @@ class ProjectServiceImplTest {
         verify(projectStore).findById(1L);
     }
 
+    @Test
+    void testFindByIdAsOf_DelegatesToTimeline() {
+        LocalDateTime asOf = LocalDateTime.of(2025, 3, 1, 12, 0);
+        ProjectState state = new ProjectState();
+        when(projectStore.findById(1L)).thenReturn(Optional.of(project));
+        when(projectTimeline.asOf(project, asOf)).thenReturn(state);
+
+        assertSame(state, projectService.findByIdAsOf(1L, asOf));
+    }
+
+    @Test
+    void testFindByIdAsOf_MissingDate() {
+        Exception exception = assertThrows(ValidationException.class, () -> projectService.findByIdAsOf(1L, null));
+
+        assertEquals("La date demandée est obligatoire.", exception.getMessage());
+        verifyNoInteractions(projectTimeline);
+    }
+
+    @Test
+    void testFindBoard_AssemblesAllParts() {
+        project.setId(1L);
+        TaskDTO task = new TaskDTO();
+        task.setId(10L);
+        when(self.findState(1L)).thenReturn(ProjectState.of(project));
+        when(taskStore.findDtosByProjectId(1L)).thenReturn(List.of(task));
+        when(projectUserStore.findMembersByProjectId(1L)).thenReturn(List.of(new ProjectMember(5L, 20L, "Alice", "alice@example.com", Role.ADMIN)));
+        when(taskAssignStore.findAssignedByProjectId(1L)).thenReturn(List.of(new Assigned(7L, 20L, 10L, "Alice")));
+
+        ProjectBoard board = projectService.findBoard(1L);
+
+        assertEquals(project.getNom(), board.getProject().getNom());
+        assertNull(board.getProject().getTasks());
+        assertEquals(List.of(task), board.getTasks());
+        assertEquals(Role.ADMIN, board.getMembers().get(0).getRole());
+        assertEquals(10L, board.getAssignments().get(0).getTaskId());
+    }
+
+    @Test
+    void testFindBoard_ProjectNotFound() {
+        when(self.findState(1L)).thenThrow(new ValidationException("Projet non trouvé avec l'ID: 1"));
+        lenient().when(taskStore.findDtosByProjectId(1L)).thenReturn(List.of());
+
+        Exception exception = assertThrows(ValidationException.class, () -> projectService.findBoard(1L));
+
+        assertEquals("Projet non trouvé avec l'ID: 1", exception.getMessage());
+        verifyNoInteractions(projectStore);
+    }
+
+    @Test
+    void testFindBoard_FailsWithoutWaitingForOtherReads() {
+        CountDownLatch release = new CountDownLatch(1);
+        lenient().when(self.findState(1L)).thenReturn(ProjectState.of(project));
+        lenient().when(taskStore.findDtosByProjectId(1L)).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        when(projectUserStore.findMembersByProjectId(1L)).thenThrow(new IllegalStateException("base indisponible"));
+        lenient().when(taskAssignStore.findAssignedByProjectId(1L)).thenReturn(List.of());
+        try {
+            Exception exception = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                    () -> assertThrows(IllegalStateException.class, () -> projectService.findBoard(1L)));
+
+            assertEquals("base indisponible", exception.getMessage());
+        } finally {
+            release.countDown();
+        }
+    }
+
     @Test
     void testCreate_Success() {
         when(projectStore.save(any(Project.class))).thenReturn(project);
@@ -169,6 +268,32 @@ class ProjectServiceImplTest {
         verify(projectStore, never()).save(any(Project.class));
     }
 
+    @Test
+    void testUpdate_UnknownUser() {
+        Project existingProject = new Project();
+        existingProject.setId(1L);
+        existingProject.setNom("Old Name");
+
+        Project newProject = new Project();
+        newProject.setId(1L);
+        newProject.setNom("New Name");
+
+        ProjectUpdate updatedDTO = new ProjectUpdate();
+        updatedDTO.setProject(newProject);
+        updatedDTO.setUserId(99L);
+        when(projectStore.findById(1L)).thenReturn(Optional.of(existingProject));
+        when(userService.findById(99L)).thenThrow(new ValidationException("Utilisateur non trouvé avec l'ID: 99"));
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            projectService.update(updatedDTO);
+        });
+
+        assertEquals("Utilisateur non trouvé avec l'ID: 99", exception.getMessage());
+        assertEquals("Old Name", existingProject.getNom());
+        verify(projectStore, never()).save(any(Project.class));
+        verifyNoInteractions(historiqueWriter);
+    }
+
     @Test
     void testUpdate_Success() {
         Project existingProject = new Project();
@@ -187,6 +312,8 @@ class ProjectServiceImplTest {
 
         when(projectStore.findById(1L)).thenReturn(Optional.of(existingProject));
         when(projectStore.save(any(Project.class))).thenReturn(newProject);
+        FieldChange description = FieldChange.ofRevisions(Type.Description, 1L, 2L);
+        when(descriptionHistory.recordProject(1L, "Old Description", "New Description")).thenReturn(description);
 
         Project result = projectService.update(updatedProjectDetails);
 
@@ -195,44 +322,42 @@ class ProjectServiceImplTest {
         assertEquals("New Description", result.getDescription());
         verify(projectStore).findById(1L);
         verify(projectStore).save(existingProject); // Verify that the modified existingProject is saved
+        verify(historiqueWriter).record(argThat(h -> h.size() == 1
+                && h.get(0).getChanges().equals(List.of(FieldChange.of(Type.Titre, "Old Name", "New Name"), description))));
+        verify(userService, never()).findById(any());
     }
 
     @Test
-    void testDeleteProject_Success_WithTasksAndAssignments() {
-        List<Task> tasks = new ArrayList<>();
-        tasks.add(task1);
-        tasks.add(task2);
-
-        when(taskStore.findByProjectId(1L)).thenReturn(tasks);
-        doNothing().when(taskAssignStore).deleteByTaskId(anyLong());
-        doNothing().when(taskStore).deleteByProjectId(1L);
-        doNothing().when(projectUserStore).deleteByProjectId(1L);
-        doNothing().when(projectStore).deleteById(1L);
+    void testDeleteProject_Success_SetBasedDeletes() {
+        when(taskStore.countByProjectId(1L)).thenReturn(2L);
 
         projectService.deleteProject(1L);
 
-        verify(taskStore).findByProjectId(1L);
-        verify(taskAssignStore).deleteByTaskId(task1.getId());
-        verify(taskAssignStore).deleteByTaskId(task2.getId());
-        verify(taskStore).deleteByProjectId(1L);
-        verify(projectUserStore).deleteByProjectId(1L);
-        verify(projectStore).deleteById(1L);
+        InOrder inOrder = inOrder(projectUserStore, historiqueStore, descriptionRevisionStore, projectSnapshotStore, taskAssignStore, taskStore, projectStore);
+        inOrder.verify(projectUserStore).deleteAllByProjectId(1L);
+        inOrder.verify(historiqueStore).deleteAllByProjectId(1L);
+        inOrder.verify(descriptionRevisionStore).deleteAllByProjectId(1L);
+        inOrder.verify(projectSnapshotStore).deleteAllByProjectId(1L);
+        inOrder.verify(taskAssignStore).deleteAllByProjectId(1L);
+        inOrder.verify(taskStore).deleteAllByProjectId(1L);
+        inOrder.verify(projectStore).deleteById(1L);
+        verify(taskAssignStore, never()).deleteByTaskId(anyLong());
+        verify(projectStore, never()).markDeleted(anyLong());
     }
 
     @Test
-    void testDeleteProject_Success_NoTasks() {
-        when(taskStore.findByProjectId(1L)).thenReturn(Collections.emptyList());
-        doNothing().when(taskStore).deleteByProjectId(1L);
-        doNothing().when(projectUserStore).deleteByProjectId(1L);
-        doNothing().when(projectStore).deleteById(1L);
+    void testDeleteProject_AboveThreshold_SoftDelete() {
+        when(taskStore.countByProjectId(1L)).thenReturn(5001L);
 
         projectService.deleteProject(1L);
 
-        verify(taskStore).findByProjectId(1L);
-        verify(taskAssignStore, never()).deleteByTaskId(anyLong()); // No assignments to delete
-        verify(taskStore).deleteByProjectId(1L);
-        verify(projectUserStore).deleteByProjectId(1L);
-        verify(projectStore).deleteById(1L);
+        verify(projectUserStore).deleteAllByProjectId(1L);
+        verify(projectStore).markDeleted(1L);
+        verify(projectStatsService).drop(1L);
+        verify(taskStore, never()).deleteAllByProjectId(anyLong());
+        verify(taskAssignStore, never()).deleteAllByProjectId(anyLong());
+        verify(historiqueStore, never()).deleteAllByProjectId(anyLong());
+        verify(projectStore, never()).deleteById(anyLong());
     }
 
     @Test
@@ -243,6 +368,6 @@ class ProjectServiceImplTest {
 
         assertEquals("l'id ne peut pas être null", exception.getMessage());
         verify(projectStore, never()).deleteById(anyLong());
-        verify(taskStore, never()).findByProjectId(anyLong());
+        verify(taskStore, never()).countByProjectId(anyLong());
     }
 }
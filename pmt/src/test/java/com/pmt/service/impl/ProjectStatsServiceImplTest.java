@@ -0,0 +1,195 @@
+package com.pmt.service.impl;
+
+import com.pmt.dto.ProjectStats;
+import com.pmt.dto.TaskCount;
+import com.pmt.errors.ValidationException;
+import com.pmt.model.Priorite;
+import com.pmt.model.ProjectCounters;
+import com.pmt.model.Status;
+import com.pmt.store.ProjectCountersStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.TaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectStatsServiceImplTest {
+
+    @InjectMocks
+    private ProjectStatsServiceImpl statsService;
+
+    @Mock
+    private ProjectStore projectStore;
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private ProjectCountersStore projectCountersStore;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        statsService.reconcileOnStartup = true;
+    }
+
+    @Test
+    void testInit_CorrectsDriftOfSavedCounters() {
+        when(projectCountersStore.findAll()).thenReturn(List.of(saved(1L, 3, 3, 0), saved(2L, 1, 1, 0), saved(3L, 4, 0, 4)));
+        when(taskStore.countByProjectStatusAndPriorite()).thenReturn(List.of(
+                new TaskCount(1L, Status.TODO, Priorite.HIGH, 3L),
+                new TaskCount(2L, Status.TODO, Priorite.HIGH, 1L),
+                new TaskCount(2L, Status.DONE, null, 1L)));
+
+        statsService.init();
+
+        verify(projectCountersStore).saveAll(argThat(saved -> saved instanceof List<ProjectCounters> list
+                && list.size() == 1 && list.get(0).getProjectId().equals(2L) && list.get(0).getTotal() == 2
+                && list.get(0).getDone() == 1 && list.get(0).getHigh() == 1));
+        verify(projectCountersStore).deleteAllById(List.of(3L));
+    }
+
+    @Test
+    void testInit_WithoutReconciliation() {
+        statsService.reconcileOnStartup = false;
+
+        statsService.init();
+
+        verifyNoInteractions(taskStore, projectCountersStore);
+    }
+
+    @Test
+    void testCount_TaskMovedBetweenColumns() {
+        when(projectCountersStore.findById(1L)).thenReturn(Optional.empty());
+        statsService.count(List.of(
+                TaskCount.of(1L, Status.TODO, Priorite.LOW, 1),
+                TaskCount.of(1L, Status.TODO, Priorite.MEDIUM, 1)));
+        statsService.count(List.of(
+                TaskCount.of(1L, Status.TODO, Priorite.LOW, -1),
+                TaskCount.of(1L, Status.IN_PROGRESS, Priorite.LOW, 1)));
+
+        ProjectStats stats = statsService.findByProjectId(1L);
+
+        assertEquals(2, stats.getTotal());
+        assertEquals(Map.of(Status.TODO, 1L, Status.IN_PROGRESS, 1L, Status.DONE, 0L), stats.getStatusCounts());
+        assertEquals(Map.of(Priorite.LOW, 1L, Priorite.MEDIUM, 1L, Priorite.HIGH, 0L), stats.getPrioriteCounts());
+        verifyNoInteractions(projectStore);
+    }
+
+    @Test
+    void testFindByProjectId_AddsUnsavedVariationsToSavedCounters() {
+        // La ligne sauvegardée comprend les variations des autres instances
+        when(projectCountersStore.findById(1L)).thenReturn(Optional.of(saved(1L, 3, 3, 0)));
+        statsService.count(List.of(TaskCount.of(1L, Status.TODO, Priorite.HIGH, 1)));
+
+        ProjectStats stats = statsService.findByProjectId(1L);
+
+        assertEquals(4, stats.getTotal());
+        assertEquals(4L, stats.getStatusCounts().get(Status.TODO));
+        assertEquals(4L, stats.getPrioriteCounts().get(Priorite.HIGH));
+    }
+
+    @Test
+    void testFindByProjectId_ProjectWithoutTasks() {
+        when(projectCountersStore.findById(5L)).thenReturn(Optional.empty());
+        when(projectStore.existsById(5L)).thenReturn(true);
+
+        ProjectStats stats = statsService.findByProjectId(5L);
+
+        assertEquals(0, stats.getTotal());
+        assertEquals(0L, stats.getStatusCounts().get(Status.DONE));
+    }
+
+    @Test
+    void testFindByProjectId_UnknownProject() {
+        when(projectCountersStore.findById(9L)).thenReturn(Optional.empty());
+        when(projectStore.existsById(9L)).thenReturn(false);
+
+        Exception exception = assertThrows(ValidationException.class, () -> statsService.findByProjectId(9L));
+
+        assertEquals("Projet non trouvé avec l'ID: 9", exception.getMessage());
+    }
+
+    @Test
+    void testDrop_DeletesSavedRowAndDiscardsUnsavedVariations() {
+        statsService.count(List.of(TaskCount.of(1L, Status.TODO, null, 1)));
+        statsService.drop(1L);
+        when(projectCountersStore.findById(1L)).thenReturn(Optional.empty());
+        when(projectStore.existsById(1L)).thenReturn(false);
+
+        assertThrows(ValidationException.class, () -> statsService.findByProjectId(1L));
+        statsService.flush();
+        verify(projectCountersStore).deleteById(1L);
+        verify(projectCountersStore, never()).addAll(anyList());
+    }
+
+    @Test
+    void testFlush_AddsVariationsOnce() {
+        statsService.count(List.of(TaskCount.of(1L, Status.TODO, null, 1), TaskCount.of(1L, Status.DONE, null, 1)));
+
+        statsService.flush();
+        statsService.flush();
+
+        verify(projectCountersStore).addAll(argThat(deltas -> deltas.size() == 1
+                && deltas.get(0).getProjectId().equals(1L) && deltas.get(0).getTotal() == 2
+                && deltas.get(0).getTodo() == 1 && deltas.get(0).getDone() == 1));
+        verify(projectCountersStore, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    void testFlush_RetriesFailedVariationsWithNewOnes() {
+        statsService.count(List.of(TaskCount.of(1L, Status.TODO, null, 1)));
+        doThrow(new DataAccessResourceFailureException("boom")).doNothing().when(projectCountersStore).addAll(anyList());
+
+        statsService.flush();
+        statsService.count(List.of(TaskCount.of(1L, Status.TODO, null, 1)));
+        statsService.stop();
+
+        verify(projectCountersStore, times(2)).addAll(anyList());
+        verify(projectCountersStore).addAll(argThat(deltas -> deltas.get(0).getTotal() == 2));
+    }
+
+    @Test
+    void testFlush_NothingChanged() {
+        statsService.flush();
+
+        verifyNoInteractions(projectCountersStore);
+    }
+
+    private static ProjectCounters saved(Long projectId, long total, long todo, long done) {
+        ProjectCounters saved = new ProjectCounters();
+        saved.setProjectId(projectId);
+        saved.setTotal(total);
+        saved.setTodo(todo);
+        saved.setDone(done);
+        saved.setHigh(total);
+        return saved;
+    }
+}
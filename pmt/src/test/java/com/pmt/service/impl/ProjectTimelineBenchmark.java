@@ -0,0 +1,141 @@
+package com.pmt.service.impl;
+
+import com.pmt.dto.ProjectState;
+import com.pmt.dto.TaskDTO;
+import com.pmt.model.Project;
+import com.pmt.model.Status;
+import com.pmt.model.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mesure la reconstruction de l'état passé d'un projet de 100 000 entrées d'historique,
+ * sans instantané (tout l'historique postérieur est défait) puis avec des instantanés
+ * toutes les {@code INTERVAL} entrées.
+ * Lancement : {@code mvn test -Pbenchmark}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import({ProjectTimeline.class, DescriptionHistory.class})
+class ProjectTimelineBenchmark {
+    private static final int TASKS = 1_000;
+    private static final int EVENTS = 100_000;
+    private static final int INTERVAL = 500;
+    private static final int QUERIES = 20;
+    private static final Duration SPAN = Duration.ofDays(365);
+
+    @Autowired
+    private ProjectTimeline timeline;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Project project;
+    private LocalDateTime start;
+    private Duration step;
+
+    @BeforeEach
+    void setUp() {
+        project = new Project();
+        project.setNom("Projet");
+        project.setDescription("Description du projet");
+        entityManager.persistAndFlush(project);
+
+        // Chaque entrée fait avancer le statut d'une tâche : TODO, IN_PROGRESS, DONE, puis TODO
+        Status[] statuses = new Status[TASKS];
+        Arrays.fill(statuses, Status.TODO);
+        start = LocalDateTime.now().minus(SPAN);
+        step = SPAN.dividedBy(EVENTS + 1);
+        List<Object[]> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Object[] {"Tâche " + i, "Description " + i, project.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task (nom, description, project_id) VALUES (?, ?, ?)", tasks);
+        List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM task ORDER BY id", Long.class);
+
+        List<Object[]> rows = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            int task = i % TASKS;
+            Status old = statuses[task];
+            Status next = Status.values()[(old.ordinal() + 1) % Status.values().length];
+            statuses[task] = next;
+            rows.add(new Object[] {taskIds.get(task), Timestamp.valueOf(start.plus(step.multipliedBy(i + 1))),
+                    Type.Modification.ordinal(),
+                    "[{\"field\":\"Statut\",\"oldValue\":\"" + old + "\",\"newValue\":\"" + next + "\"}]"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO historique (task_id, date_m, type_m, changes) VALUES (?, ?, ?, ?)", rows);
+        List<Object[]> finals = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            finals.add(new Object[] {statuses[i].ordinal(), taskIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE task SET status = ? WHERE id = ?", finals);
+        entityManager.clear();
+    }
+
+    @Test
+    void compareWithAndWithoutSnapshots() {
+        Random random = new Random(42);
+        List<LocalDateTime> dates = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            dates.add(start.plus(step.multipliedBy(random.nextInt(EVENTS))));
+        }
+
+        timeline.snapshotInterval = Integer.MAX_VALUE;
+        List<ProjectState> withoutSnapshots = new ArrayList<>();
+        double without = measure(dates, withoutSnapshots);
+
+        // Instantanés toutes les INTERVAL entrées, pris en remontant le temps comme le ferait l'application
+        timeline.snapshotInterval = INTERVAL;
+        for (LocalDateTime t = LocalDateTime.now().minus(step.multipliedBy(INTERVAL)); t.isAfter(start);
+                t = t.minus(step.multipliedBy(INTERVAL))) {
+            timeline.asOf(project, t);
+            entityManager.clear();
+        }
+        timeline.snapshotInterval = Integer.MAX_VALUE;
+        List<ProjectState> withSnapshots = new ArrayList<>();
+        double with = measure(dates, withSnapshots);
+
+        for (int i = 0; i < QUERIES; i++) {
+            assertEquals(statuses(withoutSnapshots.get(i)), statuses(withSnapshots.get(i)));
+        }
+        System.out.printf("%n[benchmark] état passé d'un projet de %d tâches et %d entrées, moyenne sur %d dates%n",
+                TASKS, EVENTS, QUERIES);
+        System.out.printf("[benchmark] sans instantané          : %8.2f ms%n", without);
+        System.out.printf("[benchmark] instantané / %4d entrées : %8.2f ms%n", INTERVAL, with);
+    }
+
+    private double measure(List<LocalDateTime> dates, List<ProjectState> results) {
+        long elapsed = 0;
+        for (LocalDateTime date : dates) {
+            entityManager.clear();
+            long begin = System.nanoTime();
+            results.add(timeline.asOf(project, date));
+            elapsed += System.nanoTime() - begin;
+        }
+        return elapsed / 1_000_000.0 / dates.size();
+    }
+
+    private static List<Status> statuses(ProjectState state) {
+        return state.getTasks().stream().map(TaskDTO::getStatus).toList();
+    }
+}
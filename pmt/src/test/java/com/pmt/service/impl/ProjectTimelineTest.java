@@ -0,0 +1,257 @@
+package com.pmt.service.impl;
+
+import com.pmt.dto.ProjectState;
+import com.pmt.dto.TaskDTO;
+import com.pmt.model.FieldChange;
+import com.pmt.model.Historique;
+import com.pmt.model.HistoriqueOutbox;
+import com.pmt.model.Priorite;
+import com.pmt.model.Project;
+import com.pmt.model.ProjectSnapshot;
+import com.pmt.model.Status;
+import com.pmt.model.Type;
+import com.pmt.store.HistoriqueOutboxStore;
+import com.pmt.store.HistoriqueStore;
+import com.pmt.store.ProjectSnapshotStore;
+import com.pmt.store.ProjectStore;
+import com.pmt.store.TaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectTimelineTest {
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @InjectMocks
+    private ProjectTimeline timeline;
+
+    @Mock
+    private ProjectStore projectStore;
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private HistoriqueStore historiqueStore;
+
+    @Mock
+    private HistoriqueOutboxStore outboxStore;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Mock
+    private ProjectSnapshotStore snapshotStore;
+
+    @Mock
+    private DescriptionHistory descriptionHistory;
+
+    private Project project;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        timeline.snapshotInterval = 100;
+        project = new Project();
+        project.setId(1L);
+        project.setNom("Projet renommé");
+        project.setDescription("Description");
+        project.setDateDebut(LocalDate.of(2025, 1, 1));
+        nextId = 1;
+    }
+
+    @Test
+    void testAsOf_UndoesChangesSinceCurrentState() {
+        when(snapshotStore.findFirstByProjectIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(1L, AS_OF)).thenReturn(Optional.empty());
+        when(taskStore.findDtosByProjectId(1L)).thenReturn(List.of(
+                task(10L, "Tâche", Status.DONE), task(12L, "Créée après", Status.TODO)));
+        Historique renamed = event(null, null, Type.Modification, AS_OF.plusDays(1),
+                FieldChange.of(Type.Titre, "Projet", "Projet renommé"));
+        Historique deleted = event(11L, 1L, Type.Suppression, AS_OF.plusDays(2),
+                FieldChange.of(Type.Titre, "Supprimée", null),
+                FieldChange.ofRevisions(Type.Description, 5L, 6L),
+                FieldChange.of(Type.Priorite, "HIGH", null));
+        Historique created = event(12L, 1L, Type.Creation, AS_OF.plusDays(3),
+                FieldChange.of(Type.Titre, null, "Créée après"));
+        Historique done = event(10L, null, Type.Modification, AS_OF.plusDays(4),
+                FieldChange.of(Type.Statut, "IN_PROGRESS", "DONE"));
+        when(historiqueStore.findProjectEventsBetween(1L, AS_OF, HistoriqueServiceImpl.MAX_DATE))
+                .thenReturn(List.of(created, deleted, renamed));
+        when(historiqueStore.findTaskEventsBetween(anyCollection(), eq(AS_OF), eq(HistoriqueServiceImpl.MAX_DATE)))
+                .thenReturn(List.of(done));
+        when(descriptionHistory.texts(Set.of(5L))).thenReturn(Map.of(5L, "Texte d'origine"));
+
+        ProjectState state = timeline.asOf(project, AS_OF);
+
+        assertEquals("Projet", state.getNom());
+        assertEquals(AS_OF, state.getAsOf());
+        assertEquals(List.of(10L, 11L), state.getTasks().stream().map(TaskDTO::getId).toList());
+        assertEquals(Status.IN_PROGRESS, state.getTasks().get(0).getStatus());
+        TaskDTO restored = state.getTasks().get(1);
+        assertEquals("Supprimée", restored.getNom());
+        assertEquals("Texte d'origine", restored.getDescription());
+        assertEquals(Priorite.HIGH, restored.getPriorite());
+        assertEquals(1L, restored.getProjectId());
+        verify(snapshotStore, never()).save(any());
+    }
+
+    @Test
+    void testAsOf_UndoesLegacySingleFieldEntries() {
+        when(snapshotStore.findFirstByProjectIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(1L, AS_OF)).thenReturn(Optional.empty());
+        when(taskStore.findDtosByProjectId(1L)).thenReturn(List.of());
+        Historique legacy = event(null, null, Type.DateDebut, AS_OF.plusHours(1));
+        legacy.setOldString("2024-12-01");
+        legacy.setNewString("2025-01-01");
+        legacy.setChanges(null);
+        when(historiqueStore.findProjectEventsBetween(1L, AS_OF, HistoriqueServiceImpl.MAX_DATE)).thenReturn(List.of(legacy));
+
+        ProjectState state = timeline.asOf(project, AS_OF);
+
+        assertEquals(LocalDate.of(2024, 12, 1), state.getDateDebut());
+        verifyNoInteractions(descriptionHistory);
+    }
+
+    @Test
+    void testAsOf_UndoesEntriesStillStaged() {
+        when(snapshotStore.findFirstByProjectIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(1L, AS_OF)).thenReturn(Optional.empty());
+        when(taskStore.findDtosByProjectId(1L)).thenReturn(List.of(task(10L, "Tâche", Status.DONE)));
+        when(historiqueStore.findTaskEventsBetween(List.of(10L), AS_OF, HistoriqueServiceImpl.MAX_DATE)).thenReturn(List.of(
+                event(10L, null, Type.Modification, AS_OF.plusDays(1), FieldChange.of(Type.Statut, "TODO", "IN_PROGRESS"))));
+        HistoriqueOutbox staged = new HistoriqueOutbox();
+        staged.setId(1L);
+        staged.setTaskId(10L);
+        staged.setTypeM(Type.Modification);
+        staged.setDateM(AS_OF.plusDays(2));
+        staged.setChanges(List.of(FieldChange.of(Type.Statut, "IN_PROGRESS", "DONE")));
+        when(outboxStore.findTaskEventsBetween(List.of(10L), AS_OF, HistoriqueServiceImpl.MAX_DATE)).thenReturn(List.of(staged));
+
+        ProjectState state = timeline.asOf(project, AS_OF);
+
+        assertEquals(Status.TODO, state.getTasks().get(0).getStatus());
+    }
+
+    @Test
+    void testAsOf_SavedSnapshotIsReusedAndReplaysOnlyLaterEntries() {
+        timeline.snapshotInterval = 2;
+        LocalDateTime earlier = AS_OF.minusDays(10);
+        when(snapshotStore.findFirstByProjectIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(1L, AS_OF)).thenReturn(Optional.empty());
+        when(taskStore.findDtosByProjectId(1L)).thenReturn(List.of(task(10L, "Tâche", Status.DONE)));
+        when(historiqueStore.findProjectEventsBetween(1L, AS_OF, HistoriqueServiceImpl.MAX_DATE)).thenReturn(List.of(
+                event(null, null, Type.Modification, AS_OF.plusDays(1), FieldChange.of(Type.Titre, "Projet", "Projet renommé"))));
+        when(historiqueStore.findTaskEventsBetween(anyCollection(), eq(AS_OF), eq(HistoriqueServiceImpl.MAX_DATE))).thenReturn(List.of(
+                event(10L, null, Type.Modification, AS_OF.plusDays(2), FieldChange.of(Type.Statut, "TODO", "DONE"))));
+
+        timeline.asOf(project, AS_OF);
+        ArgumentCaptor<ProjectSnapshot> saved = ArgumentCaptor.forClass(ProjectSnapshot.class);
+        verify(snapshotStore).save(saved.capture());
+        assertEquals(AS_OF, saved.getValue().getTakenAt());
+
+        // Une requête antérieure repart de l'instantané au lieu de l'état courant
+        when(snapshotStore.findFirstByProjectIdAndTakenAtGreaterThanEqualOrderByTakenAtAsc(1L, earlier))
+                .thenReturn(Optional.of(saved.getValue()));
+        when(historiqueStore.findProjectEventsBetween(1L, earlier, AS_OF)).thenReturn(List.of());
+        when(historiqueStore.findTaskEventsBetween(List.of(10L), earlier, AS_OF)).thenReturn(List.of(
+                event(10L, null, Type.Modification, earlier.plusDays(1), FieldChange.of(Type.Titre, "Ancien nom", "Tâche"))));
+
+        ProjectState state = timeline.asOf(project, earlier);
+
+        assertEquals("Projet", state.getNom());
+        assertEquals("Ancien nom", state.getTasks().get(0).getNom());
+        assertEquals(Status.TODO, state.getTasks().get(0).getStatus());
+        verify(taskStore).findDtosByProjectId(1L);
+    }
+
+    @Test
+    void testAsOf_FutureDateReturnsCurrentState() {
+        when(taskStore.findDtosByProjectId(1L)).thenReturn(List.of(task(10L, "Tâche", Status.DONE)));
+
+        ProjectState state = timeline.asOf(project, LocalDateTime.now().plusDays(1));
+
+        assertEquals("Projet renommé", state.getNom());
+        assertEquals(1, state.getTasks().size());
+        verifyNoInteractions(historiqueStore, snapshotStore);
+    }
+
+    @Test
+    void testSnapshotIfDue_BelowInterval() {
+        when(snapshotStore.findLastTakenAt(1L)).thenReturn(Optional.of(AS_OF));
+        when(historiqueStore.countEventsSince(1L, AS_OF)).thenReturn(99L);
+
+        assertFalse(timeline.snapshotIfDue(project));
+        verify(snapshotStore, never()).save(any());
+    }
+
+    @Test
+    void testSnapshotIfDue_TakesCurrentState() {
+        when(snapshotStore.findLastTakenAt(1L)).thenReturn(Optional.empty());
+        when(historiqueStore.countEventsSince(1L, HistoriqueServiceImpl.MIN_DATE)).thenReturn(100L);
+        when(taskStore.findDtosByProjectId(1L)).thenReturn(List.of());
+
+        assertTrue(timeline.snapshotIfDue(project));
+        ArgumentCaptor<ProjectSnapshot> saved = ArgumentCaptor.forClass(ProjectSnapshot.class);
+        verify(snapshotStore).save(saved.capture());
+        assertEquals(1L, saved.getValue().getProjectId());
+    }
+
+    @Test
+    void testSnapshotProjects_ContinuesAfterFailure() {
+        Project other = new Project();
+        other.setId(2L);
+        when(projectStore.findAll()).thenReturn(List.of(project, other));
+        when(snapshotStore.findLastTakenAt(1L)).thenThrow(new IllegalStateException("boom"));
+        when(snapshotStore.findLastTakenAt(2L)).thenReturn(Optional.of(AS_OF));
+        when(historiqueStore.countEventsSince(2L, AS_OF)).thenReturn(0L);
+
+        timeline.snapshotProjects();
+
+        verify(historiqueStore).countEventsSince(2L, AS_OF);
+    }
+
+    private static TaskDTO task(Long id, String nom, Status status) {
+        TaskDTO task = new TaskDTO();
+        task.setId(id);
+        task.setNom(nom);
+        task.setStatus(status);
+        task.setProjectId(1L);
+        return task;
+    }
+
+    private Historique event(Long taskId, Long projectId, Type type, LocalDateTime date, FieldChange... changes) {
+        Historique history = new Historique();
+        history.setId(nextId++);
+        history.setTaskId(taskId);
+        history.setProjectId(taskId == null ? Long.valueOf(1L) : projectId);
+        history.setTypeM(type);
+        history.setDateM(date);
+        history.setChanges(new ArrayList<>(List.of(changes)));
+        return history;
+    }
+}
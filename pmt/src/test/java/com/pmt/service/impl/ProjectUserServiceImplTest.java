@@ -6,6 +6,7 @@ import com.pmt.model.Project;
 import com.pmt.model.ProjectUser;
 import com.pmt.model.Role;
 import com.pmt.model.User;
+import com.pmt.service.ChangeFeedService;
 import com.pmt.store.ProjectStore;
 import com.pmt.store.ProjectUserStore;
 import com.pmt.store.UserStore;
@@ -19,11 +20,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +44,9 @@ class ProjectUserServiceImplTest {
     @Mock
     private UserStore userStore;
 
+    @Mock
+    private ChangeFeedService changeFeedService;
+
     private Project project;
     private User user;
     private ProjectUser projectUser;
@@ -84,9 +90,10 @@ class ProjectUserServiceImplTest {
         request.setProjectId(1L);
         request.setUsers(Collections.singletonList(userRoleDTO));
 
-        when(projectStore.findById(1L)).thenReturn(Optional.of(project));
-        when(userStore.findById(10L)).thenReturn(Optional.of(user));
-        when(projectUserStore.save(any(ProjectUser.class))).thenReturn(projectUser);
+        when(projectStore.existsById(1L)).thenReturn(true);
+        when(projectStore.getReferenceById(1L)).thenReturn(project);
+        when(userStore.findAllById(Set.of(10L))).thenReturn(List.of(user));
+        when(projectUserStore.findByProjectIdAndUserIdIn(1L, Set.of(10L))).thenReturn(List.of(projectUser));
 
         List<ProjectUser> result = projectUserService.addUsersToProject(request);
 
@@ -94,9 +101,31 @@ class ProjectUserServiceImplTest {
         assertEquals(1, result.size());
         assertEquals(project, result.get(0).getProject());
         assertEquals(user, result.get(0).getUser());
-        verify(projectStore).findById(1L);
-        verify(userStore).findById(10L);
-        verify(projectUserStore).save(any(ProjectUser.class));
+        verify(projectUserStore).upsertAll(argThat(pus -> pus.size() == 1 && pus.get(0).getRole() == Role.MEMBER));
+        verify(userStore, never()).findById(anyLong());
+        verify(projectUserStore, never()).save(any(ProjectUser.class));
+    }
+
+    @Test
+    void testAddUsersToProject_DuplicateUserKeepsLastRole() {
+        UsersProject.UserRoleDTO first = new UsersProject.UserRoleDTO();
+        first.setUserId(10L);
+        first.setRole(Role.MEMBER);
+        UsersProject.UserRoleDTO second = new UsersProject.UserRoleDTO();
+        second.setUserId(10L);
+        second.setRole(Role.ADMIN);
+
+        UsersProject request = new UsersProject();
+        request.setProjectId(1L);
+        request.setUsers(List.of(first, second));
+
+        when(projectStore.existsById(1L)).thenReturn(true);
+        when(projectStore.getReferenceById(1L)).thenReturn(project);
+        when(userStore.findAllById(Set.of(10L))).thenReturn(List.of(user));
+
+        projectUserService.addUsersToProject(request);
+
+        verify(projectUserStore).upsertAll(argThat(pus -> pus.size() == 1 && pus.get(0).getRole() == Role.ADMIN));
     }
 
     @Test
@@ -105,16 +134,16 @@ class ProjectUserServiceImplTest {
         request.setProjectId(1L);
         request.setUsers(new ArrayList<>());
 
-        when(projectStore.findById(1L)).thenReturn(Optional.empty());
+        when(projectStore.existsById(1L)).thenReturn(false);
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             projectUserService.addUsersToProject(request);
         });
 
         assertEquals("Project not found with ID: 1", exception.getMessage());
-        verify(projectStore).findById(1L);
-        verify(userStore, never()).findById(anyLong());
-        verify(projectUserStore, never()).save(any(ProjectUser.class));
+        verify(projectStore).existsById(1L);
+        verifyNoInteractions(userStore);
+        verify(projectUserStore, never()).upsertAll(anyList());
     }
     
     @Test
@@ -127,17 +156,16 @@ class ProjectUserServiceImplTest {
         request.setProjectId(1L);
         request.setUsers(Collections.singletonList(userRoleDTO));
 
-        when(projectStore.findById(1L)).thenReturn(Optional.of(project));
-        when(userStore.findById(10L)).thenReturn(Optional.empty());
+        when(projectStore.existsById(1L)).thenReturn(true);
+        when(userStore.findAllById(Set.of(10L))).thenReturn(Collections.emptyList());
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             projectUserService.addUsersToProject(request);
         });
 
         assertEquals("User not found with ID: 10", exception.getMessage());
-        verify(projectStore).findById(1L);
-        verify(userStore).findById(10L);
-        verify(projectUserStore, never()).save(any(ProjectUser.class));
+        verify(userStore).findAllById(Set.of(10L));
+        verify(projectUserStore, never()).upsertAll(anyList());
     }
 
     @Test
@@ -2,9 +2,15 @@ package com.pmt.service.impl;
 
 import com.pmt.dto.Assigned;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeOperation;
+import com.pmt.model.Project;
 import com.pmt.model.Task;
 import com.pmt.model.TaskAssign;
 import com.pmt.model.User;
+import com.pmt.service.ChangeFeedService;
+import com.pmt.service.NotificationService;
+import com.pmt.service.ProjectService;
 import com.pmt.store.TaskAssignStore;
 import com.pmt.store.TaskStore;
 import com.pmt.store.UserStore;
@@ -18,6 +24,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +46,15 @@ class TaskAssignServiceImplTest {
     @Mock
     private TaskStore taskStore;
 
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
     private User user;
     private Task task;
     private TaskAssign taskAssign;
@@ -47,10 +64,14 @@ class TaskAssignServiceImplTest {
         user = new User();
         user.setId(10L);
         user.setNom("Test User");
+        user.setEmail("test@example.com");
 
         task = new Task();
         task.setId(100L);
         task.setNom("Test Task");
+        Project project = new Project();
+        project.setId(1L);
+        task.setProject(project);
 
         taskAssign = new TaskAssign();
         taskAssign.setId(1000L);
@@ -72,6 +93,19 @@ class TaskAssignServiceImplTest {
         verify(taskStore).findById(100L);
         verify(userStore).findById(10L);
         verify(taskAssignStore).save(any(TaskAssign.class));
+        verify(notificationService).notifyAssignment(user, task);
+        verify(changeFeedService).record(ChangeEntity.TASK_ASSIGN, 1000L, 1L, ChangeOperation.UPSERT);
+    }
+
+    @Test
+    void testCreate_UserWithoutEmail() {
+        user.setEmail(null);
+        when(taskStore.findById(100L)).thenReturn(Optional.of(task));
+        when(userStore.findById(10L)).thenReturn(Optional.of(user));
+        when(taskAssignStore.save(any(TaskAssign.class))).thenReturn(taskAssign);
+
+        assertNotNull(taskAssignService.create(100L, 10L));
+        verifyNoInteractions(notificationService);
     }
 
     @Test
@@ -86,6 +120,7 @@ class TaskAssignServiceImplTest {
         verify(taskStore).findById(100L);
         verify(userStore, never()).findById(anyLong());
         verify(taskAssignStore, never()).save(any(TaskAssign.class));
+        verifyNoInteractions(notificationService);
     }
 
     @Test
@@ -105,29 +140,61 @@ class TaskAssignServiceImplTest {
 
     @Test
     void testGetUsersByTaskId_Success() {
-        when(taskAssignStore.findByTaskId(100L)).thenReturn(Collections.singletonList(taskAssign));
-        when(userStore.findById(10L)).thenReturn(Optional.of(user));
+        Assigned assigned = new Assigned(1000L, 10L, 100L, user.getNom());
+        when(taskAssignStore.findAssignedByTaskId(100L)).thenReturn(Collections.singletonList(assigned));
 
         List<Assigned> result = taskAssignService.getUsersByTaskId(100L);
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
         assertEquals(user.getNom(), result.get(0).getUsername());
-        verify(taskAssignStore).findByTaskId(100L);
-        verify(userStore).findById(10L);
+        verify(taskAssignStore).findAssignedByTaskId(100L);
+        verify(taskAssignStore, never()).findByTaskId(anyLong());
+        verify(userStore, never()).findById(anyLong());
     }
     
     @Test
     void testGetUsersByTaskId_NoAssignments() {
-        when(taskAssignStore.findByTaskId(100L)).thenReturn(Collections.emptyList());
+        when(taskAssignStore.findAssignedByTaskId(100L)).thenReturn(Collections.emptyList());
 
         List<Assigned> result = taskAssignService.getUsersByTaskId(100L);
 
         assertTrue(result.isEmpty());
-        verify(taskAssignStore).findByTaskId(100L);
+        verify(taskAssignStore).findAssignedByTaskId(100L);
         verify(userStore, never()).findById(anyLong());
     }
 
+    @Test
+    void testGetUsersByTaskIds_Success() {
+        List<Assigned> assigned = List.of(new Assigned(1000L, 10L, 100L, "A"), new Assigned(1001L, 11L, 101L, "B"));
+        when(taskAssignStore.findAssignedByTaskIdIn(Set.of(100L, 101L))).thenReturn(assigned);
+
+        List<Assigned> result = taskAssignService.getUsersByTaskIds(List.of(100L, 101L, 100L));
+
+        assertEquals(2, result.size());
+        verify(taskAssignStore).findAssignedByTaskIdIn(Set.of(100L, 101L));
+    }
+
+    @Test
+    void testGetUsersByTaskIds_Empty() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskAssignService.getUsersByTaskIds(Collections.emptyList());
+        });
+        assertEquals("La liste des tâches est vide.", exception.getMessage());
+        verifyNoInteractions(taskAssignStore);
+    }
+
+    @Test
+    void testGetUsersByTaskIds_TooMany() {
+        List<Long> ids = LongStream.rangeClosed(1, TaskAssignServiceImpl.MAX_TASK_IDS + 1).boxed().toList();
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskAssignService.getUsersByTaskIds(ids);
+        });
+        assertEquals("Au plus 500 tâches peuvent être demandées à la fois.", exception.getMessage());
+        verifyNoInteractions(taskAssignStore);
+    }
+
     @Test
     void testDeleteByTaskId_Success() {
         doNothing().when(taskAssignStore).deleteByTaskId(100L);
@@ -146,9 +213,11 @@ class TaskAssignServiceImplTest {
 
     @Test
     void testDeleteById_Success() {
+        when(taskAssignStore.findById(1000L)).thenReturn(Optional.of(taskAssign));
         doNothing().when(taskAssignStore).deleteById(1000L);
         taskAssignService.deleteById(1000L);
         verify(taskAssignStore).deleteById(1000L);
+        verify(changeFeedService).record(ChangeEntity.TASK_ASSIGN, 1000L, 1L, ChangeOperation.DELETE);
     }
 
     @Test
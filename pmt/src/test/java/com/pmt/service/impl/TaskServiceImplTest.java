@@ -1,11 +1,23 @@
 package com.pmt.service.impl;
 
+import com.pmt.config.CacheConfig;
+import com.pmt.dto.ProjectState;
 import com.pmt.dto.TaskDTO;
+import com.pmt.dto.TaskFilter;
 import com.pmt.errors.ValidationException;
+import com.pmt.model.ChangeEntity;
+import com.pmt.model.ChangeOperation;
+import com.pmt.model.FieldChange;
+import com.pmt.model.Priorite;
 import com.pmt.model.Project;
+import com.pmt.model.Status;
 import com.pmt.model.Task;
+import com.pmt.model.Type;
+import com.pmt.model.User;
+import com.pmt.service.ChangeFeedService;
+import com.pmt.service.ProjectService;
+import com.pmt.service.ProjectStatsService;
 import com.pmt.service.UserService;
-import com.pmt.store.HistoriqueStore;
 import com.pmt.store.ProjectStore;
 import com.pmt.store.TaskAssignStore;
 import com.pmt.store.TaskStore;
@@ -15,15 +27,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
 import java.util.Optional;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,7 +69,22 @@ class TaskServiceImplTest {
     private UserService userService;
 
     @Mock 
-    private HistoriqueStore historiqueStore;
+    private HistoriqueWriter historiqueWriter;
+
+    @Mock
+    private DescriptionHistory descriptionHistory;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private ProjectStatsService projectStatsService;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS);
 
     private Task task;
     private Project project;
@@ -72,43 +111,132 @@ class TaskServiceImplTest {
 
     @Test
     void testFindById_TaskExists() {
-        when(taskStore.findById(101L)).thenReturn(Optional.of(task));
+        when(taskStore.findDtoById(101L)).thenReturn(Optional.of(projected()));
 
         TaskDTO foundDto = taskService.findById(101L);
 
         assertNotNull(foundDto);
         assertEquals(task.getId(), foundDto.getId());
         assertEquals(task.getNom(), foundDto.getNom());
-        verify(taskStore).findById(101L);
+        assertEquals(project.getId(), foundDto.getProjectId());
+        verify(taskStore).findDtoById(101L);
+        verify(taskStore, never()).findById(anyLong());
     }
 
     @Test
     void testFindById_TaskNotFound() {
-        when(taskStore.findById(101L)).thenReturn(Optional.empty());
+        when(taskStore.findDtoById(101L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             taskService.findById(101L);
         });
 
         assertEquals("Tâche non trouvé avec l'ID: 101", exception.getMessage());
-        verify(taskStore).findById(101L);
+        verify(taskStore).findDtoById(101L);
+    }
+
+    @Test
+    void testFindById_ProjectDeleted() {
+        when(taskStore.findDtoById(101L)).thenReturn(Optional.of(projected()));
+        when(projectService.findState(1L)).thenThrow(new ValidationException("Projet non trouvé avec l'ID: 1"));
+
+        Exception exception = assertThrows(ValidationException.class, () -> taskService.findById(101L));
+
+        assertEquals("Tâche non trouvé avec l'ID: 101", exception.getMessage());
+    }
+
+    @Test
+    void testFindAll_SkipsTasksOfDeletedProjectsAndRefillsPage() {
+        TaskFilter filter = new TaskFilter();
+        filter.setSize(2);
+        when(projectService.findState(1L)).thenReturn(ProjectState.of(project));
+        when(projectService.findState(2L)).thenThrow(new ValidationException("Projet non trouvé avec l'ID: 2"));
+        when(taskStore.findPage(0L, null, null, null, null, null, Limit.of(2)))
+                .thenReturn(List.of(dto(1L, 1L), dto(2L, 2L)));
+        when(taskStore.findPage(2L, null, null, null, null, null, Limit.of(1)))
+                .thenReturn(List.of(dto(3L, 2L)));
+        when(taskStore.findPage(3L, null, null, null, null, null, Limit.of(1)))
+                .thenReturn(List.of(dto(4L, 1L)));
+
+        List<TaskDTO> dtos = taskService.findAll(filter);
+
+        assertEquals(List.of(1L, 4L), dtos.stream().map(TaskDTO::getId).toList());
+        // Chaque projet n'est vérifié qu'une fois par page
+        verify(projectService).findState(2L);
+    }
+
+    @Test
+    void testFindAll_DeletedProjectFilter() {
+        TaskFilter filter = new TaskFilter();
+        filter.setProjectId(2L);
+        when(projectService.findState(2L)).thenThrow(new ValidationException("Projet non trouvé avec l'ID: 2"));
+
+        assertTrue(taskService.findAll(filter).isEmpty());
+        verifyNoInteractions(taskStore);
     }
 
     @Test
     void testFindAll_Success() {
-        when(taskStore.findAll()).thenReturn(Collections.singletonList(task));
+        when(taskStore.findPage(0L, null, null, null, null, null, Limit.of(TaskServiceImpl.DEFAULT_PAGE_SIZE)))
+                .thenReturn(Collections.singletonList(projected()));
 
-        List<TaskDTO> dtos = taskService.findAll();
+        List<TaskDTO> dtos = taskService.findAll(new TaskFilter());
 
         assertFalse(dtos.isEmpty());
         assertEquals(1, dtos.size());
         assertEquals(task.getNom(), dtos.get(0).getNom());
-        verify(taskStore).findAll();
+        assertEquals(project.getId(), dtos.get(0).getProjectId());
+        verify(taskStore, never()).findAll();
+    }
+
+    @Test
+    void testFindAll_WithCursorAndFilters() {
+        TaskFilter filter = new TaskFilter();
+        filter.setAfterId(100L);
+        filter.setSize(10_000);
+        filter.setProjectId(1L);
+        filter.setStatus(Status.TODO);
+        filter.setEcheanceFrom(LocalDate.of(2025, 1, 1));
+        when(taskStore.findPage(eq(100L), eq(1L), eq(Status.TODO), isNull(), eq(LocalDate.of(2025, 1, 1)), isNull(),
+                eq(Limit.of(TaskServiceImpl.MAX_PAGE_SIZE)))).thenReturn(Collections.singletonList(projected()));
+
+        List<TaskDTO> dtos = taskService.findAll(filter);
+
+        assertEquals(1, dtos.size());
+        assertEquals(task.getId(), dtos.get(0).getId());
+    }
+
+    @Test
+    void testFindAll_InvalidSize() {
+        TaskFilter filter = new TaskFilter();
+        filter.setSize(0);
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskService.findAll(filter);
+        });
+
+        assertEquals("La taille de page doit être positive.", exception.getMessage());
+        verifyNoInteractions(taskStore);
+    }
+
+    @Test
+    void testFindAll_InvalidDateRange() {
+        TaskFilter filter = new TaskFilter();
+        filter.setEcheanceFrom(LocalDate.of(2025, 2, 1));
+        filter.setEcheanceTo(LocalDate.of(2025, 1, 1));
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskService.findAll(filter);
+        });
+
+        assertEquals("L'intervalle de dates d'échéance est invalide.", exception.getMessage());
+        verifyNoInteractions(taskStore);
     }
 
     @Test
     void testCreate_Success() {
-        when(projectStore.findById(1L)).thenReturn(Optional.of(project));
+        when(projectService.findState(1L)).thenReturn(ProjectState.of(project));
+        when(projectStore.getReferenceById(1L)).thenReturn(project);
         when(taskStore.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Task createdTask = taskService.create(taskDTO);
@@ -116,20 +244,24 @@ class TaskServiceImplTest {
         assertNotNull(createdTask);
         assertEquals(taskDTO.getNom(), createdTask.getNom());
         assertEquals(project, createdTask.getProject());
-        verify(projectStore).findById(1L);
+        verify(projectStore, never()).findById(anyLong());
         verify(taskStore).save(any(Task.class));
+        verify(historiqueWriter).record(argThat(h -> h.size() == 1 && h.get(0).getTypeM() == Type.Creation
+                && h.get(0).getProjectId().equals(1L)
+                && h.get(0).getChanges().contains(FieldChange.of(Type.Titre, null, taskDTO.getNom()))));
+        verify(projectStatsService).count(argThat(c -> c.size() == 1 && c.get(0).getProjectId().equals(1L)
+                && c.get(0).getCount() == 1));
     }
 
     @Test
     void testCreate_ProjectNotFound() {
-        when(projectStore.findById(1L)).thenReturn(Optional.empty());
+        when(projectService.findState(1L)).thenThrow(new ValidationException("Projet non trouvé avec l'ID: 1"));
 
         Exception exception = assertThrows(ValidationException.class, () -> {
             taskService.create(taskDTO);
         });
 
         assertEquals("Le projet spécifié n'existe pas.", exception.getMessage());
-        verify(projectStore).findById(1L);
         verify(taskStore, never()).save(any(Task.class));
     }
 
@@ -142,7 +274,7 @@ class TaskServiceImplTest {
         });
 
         assertEquals("Le nom de la tâche est obligatoire.", exception.getMessage());
-        verify(projectStore, never()).findById(anyLong());
+        verifyNoInteractions(projectService);
         verify(taskStore, never()).save(any(Task.class));
     }
 
@@ -155,7 +287,7 @@ class TaskServiceImplTest {
         });
 
         assertEquals("La description de la tâche est obligatoire.", exception.getMessage());
-        verify(projectStore, never()).findById(anyLong());
+        verifyNoInteractions(projectService);
         verify(taskStore, never()).save(any(Task.class));
     }
 
@@ -168,7 +300,7 @@ class TaskServiceImplTest {
         });
 
         assertEquals("La tâche doit être associée à un projet.", exception.getMessage());
-        verify(projectStore, never()).findById(anyLong());
+        verifyNoInteractions(projectService);
         verify(taskStore, never()).save(any(Task.class));
     }
 
@@ -203,6 +335,130 @@ class TaskServiceImplTest {
         verify(taskStore).findById(101L);
     }
     
+    @Test
+    void testUpdate_SingleHistoryBatchAndReferences() {
+        User user = new User();
+        user.setId(7L);
+        TaskDTO updatedInfo = new TaskDTO();
+        updatedInfo.setId(101L);
+        updatedInfo.setNom("Updated Name");
+        updatedInfo.setDescription("Updated Description");
+        updatedInfo.setProjectId(1L);
+        updatedInfo.setUserId(7L);
+
+        when(taskStore.findById(101L)).thenReturn(Optional.of(task));
+        when(userService.findById(7L)).thenReturn(user);
+        FieldChange description = FieldChange.ofRevisions(Type.Description, 1L, 2L);
+        when(descriptionHistory.recordTask(101L, "Task Description", "Updated Description")).thenReturn(description);
+
+        taskService.update(updatedInfo);
+
+        // Une seule entrée par mise à jour, listant tous les champs modifiés ; la description est versionnée à part
+        verify(historiqueWriter).record(argThat(h -> h.size() == 1 && h.get(0).getUser() == user
+                && h.get(0).getTypeM() == Type.Modification
+                && h.get(0).getChanges().equals(List.of(FieldChange.of(Type.Titre, "Test Task", "Updated Name"), description))));
+        verify(projectStore, never()).findById(anyLong());
+        verify(projectService).findState(1L);
+        verifyNoMoreInteractions(projectService);
+    }
+
+    @Test
+    void testUpdate_UnknownUser() {
+        TaskDTO updatedInfo = new TaskDTO();
+        updatedInfo.setId(101L);
+        updatedInfo.setNom("Updated Name");
+        updatedInfo.setDescription("Task Description");
+        updatedInfo.setUserId(99L);
+
+        when(taskStore.findById(101L)).thenReturn(Optional.of(task));
+        when(userService.findById(99L)).thenThrow(new ValidationException("Utilisateur non trouvé avec l'ID: 99"));
+
+        Exception exception = assertThrows(ValidationException.class, () -> taskService.update(updatedInfo));
+
+        assertEquals("Utilisateur non trouvé avec l'ID: 99", exception.getMessage());
+        verify(taskStore, never()).save(any(Task.class));
+        verifyNoInteractions(historiqueWriter);
+    }
+
+    @Test
+    void testCreate_UnknownUser() {
+        taskDTO.setUserId(99L);
+        when(projectService.findState(1L)).thenReturn(ProjectState.of(project));
+        when(userService.findById(99L)).thenThrow(new ValidationException("Utilisateur non trouvé avec l'ID: 99"));
+
+        assertThrows(ValidationException.class, () -> taskService.create(taskDTO));
+
+        verify(taskStore, never()).save(any(Task.class));
+        verifyNoInteractions(historiqueWriter);
+    }
+
+    @Test
+    void testUpdate_TracksStatusPriorityAndDates() {
+        task.setStatus(Status.TODO);
+        task.setPriorite(Priorite.LOW);
+        task.setDateEcheance(LocalDate.of(2025, 1, 10));
+        TaskDTO updatedInfo = new TaskDTO();
+        updatedInfo.setId(101L);
+        updatedInfo.setNom("Test Task");
+        updatedInfo.setDescription("Task Description");
+        updatedInfo.setStatus(Status.IN_PROGRESS);
+        updatedInfo.setPriorite(Priorite.LOW);
+        updatedInfo.setDateEcheance(LocalDate.of(2025, 2, 1));
+        updatedInfo.setDateFin(LocalDate.of(2025, 2, 3));
+        updatedInfo.setProjectId(1L);
+
+        when(taskStore.findById(101L)).thenReturn(Optional.of(task));
+
+        taskService.update(updatedInfo);
+
+        // La priorité inchangée n'apparaît pas
+        verify(historiqueWriter).record(argThat(h -> h.size() == 1 && h.get(0).getChanges().equals(List.of(
+                new FieldChange(Type.DateFin, null, "2025-02-03"),
+                new FieldChange(Type.DateEcheance, "2025-01-10", "2025-02-01"),
+                new FieldChange(Type.Statut, "TODO", "IN_PROGRESS")))));
+        // Le statut passe d'une colonne à l'autre
+        verify(projectStatsService).count(argThat(c -> c.size() == 2
+                && c.get(0).getStatus() == Status.TODO && c.get(0).getCount() == -1
+                && c.get(1).getStatus() == Status.IN_PROGRESS && c.get(1).getPriorite() == Priorite.LOW && c.get(1).getCount() == 1));
+    }
+
+    @Test
+    void testUpdate_NoChangeWritesNoHistory() {
+        TaskDTO updatedInfo = new TaskDTO();
+        updatedInfo.setId(101L);
+        updatedInfo.setNom("Test Task");
+        updatedInfo.setDescription("Task Description");
+        updatedInfo.setProjectId(1L);
+
+        when(taskStore.findById(101L)).thenReturn(Optional.of(task));
+
+        taskService.update(updatedInfo);
+
+        verify(historiqueWriter).record(List.of());
+        verify(projectStatsService).count(List.of());
+    }
+
+    @Test
+    void testUpdate_NewProjectNotFound() {
+        TaskDTO updatedInfo = new TaskDTO();
+        updatedInfo.setId(101L);
+        updatedInfo.setNom("Updated Name");
+        updatedInfo.setDescription("Updated Description");
+        updatedInfo.setProjectId(2L);
+
+        when(taskStore.findById(101L)).thenReturn(Optional.of(task));
+        when(projectService.findState(1L)).thenReturn(ProjectState.of(project));
+        when(projectService.findState(2L)).thenThrow(new ValidationException("Projet non trouvé avec l'ID: 2"));
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskService.update(updatedInfo);
+        });
+
+        assertEquals("Le projet spécifié pour la mise à jour n'existe pas.", exception.getMessage());
+        verify(historiqueWriter, never()).record(any());
+        verify(taskStore, never()).save(any(Task.class));
+    }
+    
     @Test
     void testUpdate_TaskNotFound() {
         TaskDTO updatedInfo = new TaskDTO();
@@ -221,6 +477,148 @@ class TaskServiceImplTest {
         verify(taskStore, never()).save(any(Task.class));
     }
 
+    @Test
+    void testUpdate_ProjectDeleted() {
+        TaskDTO updatedInfo = new TaskDTO();
+        updatedInfo.setId(101L);
+        updatedInfo.setNom("Name");
+        updatedInfo.setDescription("Description");
+
+        when(taskStore.findById(101L)).thenReturn(Optional.of(task));
+        when(projectService.findState(1L)).thenThrow(new ValidationException("Projet non trouvé avec l'ID: 1"));
+
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> taskService.update(updatedInfo));
+
+        assertEquals("La tâche avec l'ID 101 n'existe pas.", exception.getMessage());
+        verify(taskStore, never()).save(any(Task.class));
+        verifyNoInteractions(historiqueWriter);
+    }
+
+    @Test
+    void testCreateAll_Success() {
+        TaskDTO other = new TaskDTO();
+        other.setNom("Other Task");
+        other.setDescription("Other Description");
+        other.setProjectId(1L);
+        when(projectStore.findAllById(Set.of(1L))).thenReturn(List.of(project));
+        doAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            long id = 200L;
+            for (Task t : tasks) {
+                t.setId(id++);
+            }
+            return null;
+        }).when(taskStore).insertAll(anyList());
+
+        List<TaskDTO> created = taskService.createAll(List.of(taskDTO, other));
+
+        assertEquals(2, created.size());
+        assertEquals(200L, created.get(0).getId());
+        assertEquals(201L, created.get(1).getId());
+        assertEquals("Other Task", created.get(1).getNom());
+        assertEquals(1L, created.get(1).getProjectId());
+        verify(projectStore).findAllById(Set.of(1L));
+        verify(projectStore, never()).findById(anyLong());
+        verify(taskStore, never()).save(any(Task.class));
+        verify(historiqueWriter).record(argThat(h -> h.size() == 2
+                && h.get(0).getTaskId().equals(200L) && h.get(1).getTaskId().equals(201L)
+                && h.stream().allMatch(e -> e.getTypeM() == Type.Creation)));
+    }
+
+    @Test
+    void testCreateAll_EmptyList() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskService.createAll(Collections.emptyList());
+        });
+
+        assertEquals("La liste de tâches est vide.", exception.getMessage());
+        verifyNoInteractions(taskStore);
+    }
+
+    @Test
+    void testCreateAll_InvalidItem() {
+        TaskDTO invalid = new TaskDTO();
+        invalid.setDescription("Description");
+        invalid.setProjectId(1L);
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskService.createAll(List.of(taskDTO, invalid));
+        });
+
+        assertEquals("Tâche n°2 : Le nom de la tâche est obligatoire.", exception.getMessage());
+        verifyNoInteractions(projectStore);
+        verifyNoInteractions(taskStore);
+    }
+
+    @Test
+    void testCreateAll_ProjectNotFound() {
+        when(projectStore.findAllById(Set.of(1L))).thenReturn(Collections.emptyList());
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskService.createAll(List.of(taskDTO));
+        });
+
+        assertEquals("Le projet 1 n'existe pas.", exception.getMessage());
+        verify(taskStore, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testUpdateAll_Success() {
+        Task other = new Task();
+        other.setId(102L);
+        other.setNom("Other Task");
+        other.setDescription("Other Description");
+        other.setProject(project);
+        TaskDTO otherDTO = new TaskDTO();
+        otherDTO.setId(102L);
+        otherDTO.setNom("Other Task");
+        otherDTO.setDescription("Other Description");
+        otherDTO.setStatus(Status.DONE);
+        when(taskStore.findAllById(Set.of(101L, 102L))).thenReturn(List.of(task, other));
+        when(projectStore.findAllById(Set.of(1L))).thenReturn(List.of(project));
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS);
+        List.of(101L, 102L, 103L).forEach(id -> cache.put(id, new TaskDTO()));
+
+        List<TaskDTO> updated = taskService.updateAll(List.of(taskDTO, otherDTO));
+
+        assertEquals(2, updated.size());
+        assertEquals("Test Task DTO", task.getNom());
+        assertEquals(Status.DONE, other.getStatus());
+        assertNull(updated.get(1).getNom());
+        verify(historiqueWriter).record(argThat(h -> h.size() == 2
+                && h.get(1).getChanges().equals(List.of(new FieldChange(Type.Statut, null, "DONE")))));
+        verify(taskStore).saveAll(anyCollection());
+        verify(taskStore, never()).findById(anyLong());
+        verify(userService, never()).findById(any());
+        assertNull(cache.get(101L));
+        assertNull(cache.get(102L));
+        assertNotNull(cache.get(103L));
+    }
+
+    @Test
+    void testUpdateAll_DuplicateId() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            taskService.updateAll(List.of(taskDTO, taskDTO));
+        });
+
+        assertEquals("La tâche 101 apparaît plusieurs fois.", exception.getMessage());
+        verifyNoInteractions(taskStore);
+    }
+
+    @Test
+    void testUpdateAll_TaskNotFound() {
+        when(taskStore.findAllById(Set.of(101L))).thenReturn(Collections.emptyList());
+        when(projectStore.findAllById(Set.of(1L))).thenReturn(List.of(project));
+
+        Exception exception = assertThrows(EntityNotFoundException.class, () -> {
+            taskService.updateAll(List.of(taskDTO));
+        });
+
+        assertEquals("La tâche avec l'ID 101 n'existe pas.", exception.getMessage());
+        verify(taskStore, never()).saveAll(any());
+        verify(historiqueWriter, never()).record(any());
+    }
+
     @Test
     void testDeleteById_Success() {
         doNothing().when(taskAssignStore).deleteByTaskId(101L);
@@ -230,6 +628,24 @@ class TaskServiceImplTest {
 
         verify(taskAssignStore).deleteByTaskId(101L);
         verify(taskStore).deleteById(101L);
+        verify(historiqueWriter, never()).record(any());
+    }
+
+    @Test
+    void testDeleteById_RecordsFinalValues() {
+        FieldChange description = FieldChange.ofRevisions(Type.Description, 7L, 8L);
+        when(taskStore.findDtoById(101L)).thenReturn(Optional.of(projected()));
+        when(descriptionHistory.recordTask(101L, task.getDescription(), null)).thenReturn(description);
+
+        taskService.deleteById(101L);
+
+        verify(historiqueWriter).record(argThat(h -> h.size() == 1 && h.get(0).getTypeM() == Type.Suppression
+                && h.get(0).getTaskId().equals(101L) && h.get(0).getProjectId().equals(project.getId())
+                && h.get(0).getChanges().contains(FieldChange.of(Type.Titre, task.getNom(), null))
+                && h.get(0).getChanges().contains(description)));
+        verify(changeFeedService).record(ChangeEntity.TASK, 101L, project.getId(), ChangeOperation.DELETE);
+        verify(projectStatsService).count(argThat(c -> c.size() == 1 && c.get(0).getCount() == -1));
+        verify(taskStore).deleteById(101L);
     }
 
     @Test
@@ -242,4 +658,16 @@ class TaskServiceImplTest {
         verify(taskAssignStore, never()).deleteByTaskId(any());
         verify(taskStore, never()).deleteById(any());
     }
+
+    private static TaskDTO dto(Long id, Long projectId) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(id);
+        dto.setProjectId(projectId);
+        return dto;
+    }
+
+    private TaskDTO projected() {
+        return new TaskDTO(task.getId(), task.getNom(), task.getDescription(), task.getDateFin(),
+                task.getDateEcheance(), project.getId(), task.getPriorite(), task.getStatus());
+    }
 }
@@ -0,0 +1,52 @@
+package com.pmt.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextDeltaTest {
+
+    @Test
+    void testSnapshotRoundTrip() {
+        String text = "Une description assez longue. ".repeat(50);
+
+        byte[] payload = TextDelta.snapshot(text);
+
+        assertTrue(payload.length < text.length() / 10);
+        assertEquals(text, TextDelta.restore(payload));
+    }
+
+    @Test
+    void testSnapshotOfNull() {
+        assertNull(TextDelta.snapshot(null));
+        assertNull(TextDelta.restore(null));
+    }
+
+    @Test
+    void testDiffIsSmallForLocalEdit() {
+        String base = "Paragraphe introductif. ".repeat(100);
+        String target = base.substring(0, 1000) + "ajout au milieu " + base.substring(1000);
+
+        byte[] delta = TextDelta.diff(base, target);
+
+        assertTrue(delta.length < 64, "delta de " + delta.length + " octets");
+        assertEquals(target, TextDelta.patch(base, delta));
+    }
+
+    @Test
+    void testDiffRoundTripEdgeCases() {
+        String[][] cases = {
+            {"", "nouveau"},
+            {"ancien", ""},
+            {"abc", "abc"},
+            {"aaaa", "aa"},
+            {"aa", "aaaa"},
+            {"début commun, fin différente", "début commun, autre fin"},
+            {"x😀y", "x😁y"},
+            {"😀", "😀😀"},
+        };
+        for (String[] c : cases) {
+            assertEquals(c[1], TextDelta.patch(c[0], TextDelta.diff(c[0], c[1])), c[0] + " -> " + c[1]);
+        }
+    }
+}
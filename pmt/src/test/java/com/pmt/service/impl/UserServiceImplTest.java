@@ -2,7 +2,7 @@ package com.pmt.service.impl;
 
 import com.pmt.errors.AuthException;
 import com.pmt.errors.ValidationException;
-import com.pmt.model.ProjectUser;
+import com.pmt.model.NotificationMode;
 import com.pmt.model.User;
 import com.pmt.store.ProjectUserStore;
 import com.pmt.store.UserStore;
@@ -68,29 +68,25 @@ class UserServiceImplTest {
 
     @Test
     void testFindByProjectId_Success() {
-        ProjectUser projectUser = new ProjectUser();
-        projectUser.setUser(user);
-
-        when(projectUserStore.findByProjectId(1L)).thenReturn(Collections.singletonList(projectUser));
-        when(userStore.findById(1L)).thenReturn(Optional.of(user));
+        when(projectUserStore.findAllUserByProjectId(1L)).thenReturn(Collections.singletonList(user));
 
         List<User> users = userService.findByProjectId(1L);
 
         assertFalse(users.isEmpty());
         assertEquals(1, users.size());
         assertEquals("Test User", users.get(0).getNom());
-        verify(projectUserStore).findByProjectId(1L);
-        verify(userStore).findById(1L);
+        verify(projectUserStore).findAllUserByProjectId(1L);
+        verify(userStore, never()).findById(anyLong());
     }
     
     @Test
     void testFindByProjectId_NoUsers() {
-        when(projectUserStore.findByProjectId(1L)).thenReturn(Collections.emptyList());
+        when(projectUserStore.findAllUserByProjectId(1L)).thenReturn(Collections.emptyList());
 
         List<User> users = userService.findByProjectId(1L);
 
         assertTrue(users.isEmpty());
-        verify(projectUserStore).findByProjectId(1L);
+        verify(projectUserStore).findAllUserByProjectId(1L);
         verify(userStore, never()).findById(anyLong());
     }
 
@@ -154,4 +150,25 @@ class UserServiceImplTest {
         assertEquals("Mot de passe incorrect.", exception.getMessage());
         verify(userStore).findByEmail("test@example.com");
     }
+
+    @Test
+    void testUpdateNotificationMode_Success() {
+        when(userStore.findById(1L)).thenReturn(Optional.of(user));
+        when(userStore.save(user)).thenReturn(user);
+
+        User updated = userService.updateNotificationMode(1L, NotificationMode.DIGEST);
+
+        assertEquals(NotificationMode.DIGEST, updated.getNotificationMode());
+        verify(userStore).save(user);
+    }
+
+    @Test
+    void testUpdateNotificationMode_MissingMode() {
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            userService.updateNotificationMode(1L, null);
+        });
+
+        assertEquals("Le mode de notification est obligatoire.", exception.getMessage());
+        verifyNoInteractions(userStore);
+    }
 }
@@ -0,0 +1,137 @@
+package com.pmt.store;
+
+import com.pmt.dto.TaskDTO;
+import com.pmt.model.Project;
+import com.pmt.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compare la lecture des tâches par entités (Task hydratée puis copiée dans un TaskDTO)
+ * et par projection JPQL (TaskDTO construit directement).
+ * Lancement : {@code mvn test -Pbenchmark}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+class TaskReadPathBenchmark {
+    private static final int PROJECTS = 50;
+    private static final int TASKS = 20_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> projectIds = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = new Project();
+            project.setNom("Projet " + i);
+            project.setDescription("Description du projet " + i);
+            projectIds.add(entityManager.persistAndGetId(project, Long.class));
+        }
+        entityManager.flush();
+
+        List<Object[]> rows = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            rows.add(new Object[] {"Tâche " + i, "Description de la tâche " + i,
+                    Date.valueOf(LocalDate.of(2025, 1, 1).plusDays(i % 365)), i % 3, i % 3,
+                    projectIds.get(i % PROJECTS)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task (nom, description, date_echeance, priorite, status, project_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        entityManager.clear();
+    }
+
+    @Test
+    void compareEntityAndProjectionReadPaths() {
+        List<TaskDTO> viaEntities = readViaEntities();
+        List<TaskDTO> viaProjection = readViaProjection();
+        assertEquals(TASKS, viaEntities.size());
+        assertEquals(TASKS, viaProjection.size());
+        for (int i = 0; i < TASKS; i += 997) {
+            assertEquals(viaEntities.get(i).getId(), viaProjection.get(i).getId());
+            assertEquals(viaEntities.get(i).getNom(), viaProjection.get(i).getNom());
+            assertEquals(viaEntities.get(i).getProjectId(), viaProjection.get(i).getProjectId());
+            assertEquals(viaEntities.get(i).getStatus(), viaProjection.get(i).getStatus());
+        }
+
+        Measure entities = measure(this::readViaEntities);
+        Measure projection = measure(this::readViaProjection);
+
+        System.out.printf("%n[benchmark] lecture de %d tâches, moyenne sur %d itérations%n", TASKS, ITERATIONS);
+        System.out.printf("[benchmark] entités    : %8.2f ms  %10d Ko alloués%n", entities.millis(), entities.kilobytes());
+        System.out.printf("[benchmark] projection : %8.2f ms  %10d Ko alloués%n", projection.millis(), projection.kilobytes());
+    }
+
+    /**
+     * Chemin historique : hydratation des entités puis copie champ par champ.
+     */
+    private List<TaskDTO> readViaEntities() {
+        entityManager.clear();
+        List<TaskDTO> dtos = new ArrayList<>();
+        for (Task task : taskStore.findAll()) {
+            TaskDTO dto = new TaskDTO();
+            dto.setId(task.getId());
+            dto.setNom(task.getNom());
+            dto.setDescription(task.getDescription());
+            dto.setDateEcheance(task.getDateEcheance());
+            dto.setDateFin(task.getDateFin());
+            dto.setPriorite(task.getPriorite());
+            dto.setStatus(task.getStatus());
+            dto.setProjectId(task.getProject().getId());
+            dtos.add(dto);
+        }
+        dtos.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return dtos;
+    }
+
+    /**
+     * Chemin par projection : aucune entité dans le contexte de persistance.
+     */
+    private List<TaskDTO> readViaProjection() {
+        entityManager.clear();
+        return taskStore.findPage(0L, null, null, null, null, null, Limit.of(TASKS));
+    }
+
+    private Measure measure(Supplier<List<TaskDTO>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new Measure(elapsed / 1_000_000.0 / ITERATIONS, bytes / 1024 / ITERATIONS);
+    }
+
+    private record Measure(double millis, long kilobytes) {
+    }
+}